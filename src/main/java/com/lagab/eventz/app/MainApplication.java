@@ -9,8 +9,11 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import com.lagab.eventz.app.common.config.CommonProperties;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.infrastructure.ratelimit.RateLimitProperties;
 
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
@@ -19,7 +22,8 @@ import lombok.extern.slf4j.Slf4j;
 @SpringBootApplication
 @Slf4j
 @RequiredArgsConstructor
-@EnableConfigurationProperties({ CommonProperties.class })
+@EnableConfigurationProperties({ CommonProperties.class, EventProperties.class, RateLimitProperties.class })
+@EnableScheduling
 public class MainApplication {
 
     private final Environment env;
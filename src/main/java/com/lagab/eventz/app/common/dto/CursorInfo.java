@@ -0,0 +1,11 @@
+package com.lagab.eventz.app.common.dto;
+
+//@Schema(description = "Cursor pagination information")
+public record CursorInfo(
+        //@Schema(description = "Maximum number of items per page", example = "20")
+        int size,
+        //@Schema(description = "Whether there is a next page")
+        boolean hasNext,
+        //@Schema(description = "Opaque token to pass as cursor to fetch the next page")
+        String nextCursor) {
+}
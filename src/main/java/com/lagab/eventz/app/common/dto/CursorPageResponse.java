@@ -0,0 +1,18 @@
+package com.lagab.eventz.app.common.dto;
+
+import java.util.List;
+
+//@Schema(description = "Cursor paginated response wrapper")
+public record CursorPageResponse<T>(
+        //@Schema(description = "List of items for current page")
+        List<T> data,
+        //@Schema(description = "Cursor pagination metadata")
+        CursorInfo pagination
+) {
+    public static <T> CursorPageResponse<T> of(List<T> data, int size, String nextCursor) {
+        return new CursorPageResponse<>(
+                data,
+                new CursorInfo(size, nextCursor != null, nextCursor)
+        );
+    }
+}
@@ -3,6 +3,7 @@ package com.lagab.eventz.app.common.exception;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -14,6 +15,8 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
 import com.lagab.eventz.app.common.dto.MessageResponse;
+import com.lagab.eventz.app.domain.event.exception.QueueAdmissionException;
+import com.lagab.eventz.app.domain.event.exception.TicketsSoldOutException;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
@@ -56,6 +59,26 @@ public class GlobalExceptionHandler {
                              .body(new MessageResponse(e.getMessage()));
     }
 
+    @ExceptionHandler(TicketsSoldOutException.class)
+    public ResponseEntity<MessageResponse> handleTicketsSoldOut(TicketsSoldOutException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                             .body(new MessageResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(QueueAdmissionException.class)
+    public ResponseEntity<MessageResponse> handleQueueAdmission(QueueAdmissionException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                             .body(new MessageResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<MessageResponse> handleServiceOverloaded(ServiceOverloadedException e) {
+        log.warn("Service overloaded: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                             .header(HttpHeaders.RETRY_AFTER, "1")
+                             .body(new MessageResponse(e.getMessage()));
+    }
+
     @ExceptionHandler(NoHandlerFoundException.class)
     public ResponseEntity<MessageResponse> handleHandlerNotFound(NoHandlerFoundException e) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
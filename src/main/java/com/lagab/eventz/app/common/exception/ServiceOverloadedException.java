@@ -0,0 +1,11 @@
+package com.lagab.eventz.app.common.exception;
+
+/**
+ * Thrown when a request is turned away because the resources it needs are saturated, for the caller to retry later.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.lagab.eventz.app.domain.auth.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.lagab.eventz.app.domain.auth.change.ApiKeyChange;
+import com.lagab.eventz.app.domain.auth.model.ApiKey;
+import com.lagab.eventz.app.domain.auth.repository.ApiKeyRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Active API keys by public id, with their roles, so that requests authenticated by an API key do not query the
+ * database.
+ * <p>
+ * Unknown or inactive public ids are cached too, for a shorter time, so that requests with made up keys do not reach
+ * the database either. Entries are dropped by the changes to their key once committed. Changes made through other
+ * instances are picked up after the configured maximum age at the latest.
+ */
+@Component
+public class ApiKeyCache {
+
+    public static final String CACHE_NAME = "auth.api-keys";
+
+    private final LoadingCache<String, Optional<ApiKey>> cache;
+    private final Counter invalidations;
+
+    @Autowired
+    public ApiKeyCache(ApiKeyRepository apiKeyRepository, @Value("${app.auth.api-key-cache.max-entries:10000}") long maxEntries,
+            @Value("${app.auth.api-key-cache.max-age:5m}") Duration maxAge,
+            @Value("${app.auth.api-key-cache.unknown-max-age:1m}") Duration unknownMaxAge, MeterRegistry meterRegistry) {
+        this(apiKeyRepository, maxEntries, maxAge, unknownMaxAge, meterRegistry, Ticker.systemTicker());
+    }
+
+    public ApiKeyCache(ApiKeyRepository apiKeyRepository, long maxEntries, Duration maxAge, Duration unknownMaxAge,
+            MeterRegistry meterRegistry, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(maxEntries)
+                             .expireAfter(Expiry.creating((String publicId, Optional<ApiKey> apiKey) ->
+                                     apiKey.isPresent() ? maxAge : unknownMaxAge))
+                             .ticker(ticker)
+                             .recordStats()
+                             .build(apiKeyRepository::findByPublicIdAndActiveTrue);
+        this.invalidations = Counter.builder("cache.invalidations")
+                                    .tag("cache", CACHE_NAME)
+                                    .description("Entries dropped because a write could have changed them")
+                                    .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * @return the active key with this public id, its roles loaded
+     */
+    public Optional<ApiKey> get(String publicId) {
+        return cache.get(publicId);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onApiKeyChange(ApiKeyChange change) {
+        if (cache.asMap().remove(change.publicId()) != null) {
+            invalidations.increment();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.lagab.eventz.app.domain.auth.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.lagab.eventz.app.domain.auth.dto.UserSnapshot;
+import com.lagab.eventz.app.domain.user.change.UserChange;
+import com.lagab.eventz.app.domain.user.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Snapshots of the users authenticating requests, so that an authenticated request does not load its user.
+ * <p>
+ * Entries are dropped by the changes to their user once committed. A change committed while its user was being loaded
+ * could have been read before it: the change is recorded on the load in flight, and such a load is dropped once
+ * stored instead of being served until the maximum age. Changes made through other instances are picked up after the
+ * configured maximum age at the latest.
+ */
+@Component
+public class UserSnapshotCache {
+
+    public static final String CACHE_NAME = "auth.users";
+
+    private final LoadingCache<Long, Loaded> cache;
+    // Loads in flight, at most one per user as the cache loads each key once
+    private final ConcurrentMap<Long, Load> loads = new ConcurrentHashMap<>();
+    private final Counter invalidations;
+
+    @Autowired
+    public UserSnapshotCache(UserRepository userRepository, @Value("${app.auth.user-cache.max-entries:100000}") long maxEntries,
+            @Value("${app.auth.user-cache.max-age:5m}") Duration maxAge, MeterRegistry meterRegistry) {
+        this(userRepository, maxEntries, maxAge, meterRegistry, Ticker.systemTicker());
+    }
+
+    public UserSnapshotCache(UserRepository userRepository, long maxEntries, Duration maxAge, MeterRegistry meterRegistry,
+            Ticker ticker) {
+        // Unknown users are not cached, the loader returning null
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(maxEntries)
+                             .expireAfterWrite(maxAge)
+                             .ticker(ticker)
+                             .recordStats()
+                             .build(userId -> load(userRepository, userId));
+        this.invalidations = Counter.builder("cache.invalidations")
+                                    .tag("cache", CACHE_NAME)
+                                    .description("Entries dropped because a write could have changed them")
+                                    .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<UserSnapshot> get(Long userId) {
+        Loaded loaded = cache.get(userId);
+        if (loaded == null) {
+            return Optional.empty();
+        }
+        // Settled once stored, so that a change is either recorded on the load or sees the entry
+        if (settle(userId, loaded)) {
+            cache.asMap().remove(userId, loaded);
+            return get(userId);
+        }
+        return Optional.of(loaded.snapshot());
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChange(UserChange change) {
+        // Recorded first, so that a load still running when the entry is removed is dropped once stored
+        Load load = loads.get(change.userId());
+        if (load != null) {
+            load.changed = true;
+        }
+        if (cache.asMap().remove(change.userId()) != null) {
+            invalidations.increment();
+        }
+    }
+
+    private Loaded load(UserRepository userRepository, Long userId) {
+        Load load = new Load();
+        loads.put(userId, load);
+        try {
+            Loaded loaded = userRepository.findById(userId).map(user -> new Loaded(UserSnapshot.of(user), load)).orElse(null);
+            if (loaded == null) {
+                loads.remove(userId, load);
+            }
+            return loaded;
+        } catch (RuntimeException e) {
+            loads.remove(userId, load);
+            throw e;
+        }
+    }
+
+    /**
+     * Ends the load of the user, on its first lookup.
+     *
+     * @return whether the user changed while it was loaded
+     */
+    private boolean settle(Long userId, Loaded loaded) {
+        if (!loads.remove(userId, loaded.load()) || !loaded.load().changed) {
+            return false;
+        }
+        invalidations.increment();
+        return true;
+    }
+
+    private record Loaded(UserSnapshot snapshot, Load load) {
+    }
+
+    private static final class Load {
+
+        private volatile boolean changed;
+    }
+}
@@ -0,0 +1,88 @@
+package com.lagab.eventz.app.domain.auth.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.lagab.eventz.app.domain.auth.dto.VerifiedToken;
+import com.lagab.eventz.app.domain.auth.service.JwtService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Access tokens already verified, so that each one is parsed and has its signature checked once rather than on
+ * every request it authenticates.
+ * <p>
+ * A token is signed and immutable: once verified it stays valid until it expires, so entries are kept until the
+ * expiry of their token and never need to be invalidated. Entries are keyed by a hash of the token so that the
+ * tokens themselves are not kept in memory. Tokens that fail verification are not cached.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    public static final String CACHE_NAME = "auth.verified-tokens";
+
+    private final JwtService jwtService;
+    private final Cache<String, VerifiedToken> cache;
+
+    @Autowired
+    public VerifiedTokenCache(JwtService jwtService, @Value("${app.auth.token-cache.max-entries:100000}") long maxEntries,
+            MeterRegistry meterRegistry) {
+        this(jwtService, maxEntries, meterRegistry, Clock.systemDefaultZone(), Ticker.systemTicker());
+    }
+
+    public VerifiedTokenCache(JwtService jwtService, long maxEntries, MeterRegistry meterRegistry, Clock clock, Ticker ticker) {
+        this.jwtService = jwtService;
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(maxEntries)
+                             .expireAfter(Expiry.creating((String hash, VerifiedToken token) -> {
+                                 Duration untilExpiry = Duration.between(clock.instant(), token.expiresAt());
+                                 return untilExpiry.isNegative() ? Duration.ZERO : untilExpiry;
+                             }))
+                             .ticker(ticker)
+                             .recordStats()
+                             .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * @return the user and expiry of the token, empty when it is invalid or expired
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String hash = hash(token);
+        VerifiedToken verified = cache.getIfPresent(hash);
+        if (verified != null) {
+            return Optional.of(verified);
+        }
+        Optional<VerifiedToken> parsed = jwtService.verify(token);
+        parsed.ifPresent(found -> cache.put(hash, found));
+        return parsed;
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.lagab.eventz.app.domain.auth.change;
+
+/**
+ * Application event published once an API key has been revoked or otherwise changed.
+ */
+public record ApiKeyChange(String publicId) {
+}
@@ -0,0 +1,53 @@
+package com.lagab.eventz.app.domain.auth.dto;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import com.lagab.eventz.app.domain.user.model.Role;
+import com.lagab.eventz.app.domain.user.model.User;
+
+/**
+ * What authenticating a request needs to know of a user, without its credentials.
+ */
+public record UserSnapshot(
+        Long id,
+        String email,
+        String firstName,
+        String lastName,
+        Role role,
+        String locale,
+        boolean active,
+        boolean emailVerified,
+        LocalDateTime createdAt,
+        boolean enabled,
+        List<GrantedAuthority> authorities
+) {
+
+    public static UserSnapshot of(User user) {
+        Collection<? extends GrantedAuthority> authorities = user.getAuthorities();
+        return new UserSnapshot(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(), user.getRole(),
+                user.getLocale(), Boolean.TRUE.equals(user.getIsActive()), Boolean.TRUE.equals(user.getIsEmailVerified()),
+                user.getCreatedAt(), user.isEnabled(), List.copyOf(authorities));
+    }
+
+    /**
+     * @return a detached user to authenticate requests with, a fresh one per request as users are mutable. It has
+     * no password and none of its associations, load the user to change it.
+     */
+    public User toPrincipal() {
+        return User.builder()
+                   .id(id)
+                   .email(email)
+                   .firstName(firstName)
+                   .lastName(lastName)
+                   .role(role)
+                   .locale(locale)
+                   .isActive(active)
+                   .isEmailVerified(emailVerified)
+                   .createdAt(createdAt)
+                   .build();
+    }
+}
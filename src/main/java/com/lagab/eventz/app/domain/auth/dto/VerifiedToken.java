@@ -0,0 +1,12 @@
+package com.lagab.eventz.app.domain.auth.dto;
+
+import java.time.Instant;
+
+/**
+ * Access token whose signature has been verified.
+ *
+ * @param userId    subject of the token
+ * @param expiresAt time after which the token is no longer accepted
+ */
+public record VerifiedToken(Long userId, Instant expiresAt) {
+}
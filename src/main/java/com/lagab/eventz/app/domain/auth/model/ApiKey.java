@@ -3,7 +3,6 @@ package com.lagab.eventz.app.domain.auth.model;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.UUID;
 
 import com.lagab.eventz.app.domain.user.model.Role;
 
@@ -17,6 +16,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -38,9 +38,18 @@ public class ApiKey {
     //@Column(unique = true, nullable = false)
     //private String clientId;
 
+    // Looked up by the public id of the key, none for the keys issued before keys had one
+    @Column(unique = true, length = 32)
+    private String publicId;
+
+    // Keyed digest of the secret part of the key, never the key itself
     @Column(unique = true, nullable = false)
     private String clientSecret;
 
+    // The full key, only known right after the key is created
+    @Transient
+    private String key;
+
     @Column(nullable = false)
     private String name;
 
@@ -68,7 +77,6 @@ public class ApiKey {
         this.clientType = clientType;
         this.roles = roles;
         //this.clientId = generateClientId();
-        this.clientSecret = generateApiKey();
         this.createdAt = LocalDateTime.now();
         this.active = true;
     }
@@ -77,10 +85,6 @@ public class ApiKey {
         return UUID.randomUUID().toString();
     }*/
 
-    private String generateApiKey() {
-        return "ak_" + UUID.randomUUID().toString().replace("-", "");
-    }
-
     public boolean isExpired() {
         return expiresAt != null && LocalDateTime.now().isAfter(expiresAt);
     }
@@ -10,7 +10,7 @@ import com.lagab.eventz.app.domain.auth.model.ApiKey;
 
 @Repository
 public interface ApiKeyRepository extends JpaRepository<ApiKey, Long> {
-    Optional<ApiKey> findByClientSecretAndActiveTrue(String keyValue);
+    Optional<ApiKey> findByPublicIdAndActiveTrue(String publicId);
 
     List<ApiKey> findByClientTypeAndActiveTrue(String clientType);
 }
@@ -0,0 +1,95 @@
+package com.lagab.eventz.app.domain.auth.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Issues and checks API keys of the form {@code ak_<publicId>_<secret>}.
+ * <p>
+ * The public id locates the key; only a keyed HMAC-SHA256 digest of the secret is stored. Secrets are 256 random
+ * bits, so a fast digest is as safe as a slow password hash while costing a microsecond per request.
+ */
+@Component
+public class ApiKeyCodec {
+
+    private static final String PREFIX = "ak_";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int PUBLIC_ID_BYTES = 8;
+    private static final int SECRET_BYTES = 32;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<Mac> mac;
+
+    public ApiKeyCodec(@Value("${app.auth.api-key-secret}") String apiKeySecret) {
+        if (apiKeySecret == null || apiKeySecret.isBlank()) {
+            // A key made up at startup would orphan every stored digest on the next restart
+            throw new IllegalStateException("app.auth.api-key-secret is required, set API_KEY_SECRET");
+        }
+        SecretKeySpec signingKey = new SecretKeySpec(apiKeySecret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        // Mac instances are not thread safe, each thread initializes its own once
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(signingKey);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot initialize " + ALGORITHM, e);
+            }
+        });
+    }
+
+    public ParsedApiKey generate() {
+        return new ParsedApiKey(randomHex(PUBLIC_ID_BYTES), randomHex(SECRET_BYTES));
+    }
+
+    /**
+     * @return the public id and secret of the key, empty when it is not of the form {@code ak_<publicId>_<secret>}
+     */
+    public Optional<ParsedApiKey> parse(String key) {
+        if (key == null || !key.startsWith(PREFIX)) {
+            return Optional.empty();
+        }
+        int separator = key.indexOf('_', PREFIX.length());
+        if (separator != PREFIX.length() + PUBLIC_ID_BYTES * 2 || separator == key.length() - 1) {
+            return Optional.empty();
+        }
+        return Optional.of(new ParsedApiKey(key.substring(PREFIX.length(), separator), key.substring(separator + 1)));
+    }
+
+    public String digest(String secret) {
+        return HEX.formatHex(mac.get().doFinal(secret.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Compares the digest of the secret with the stored one in constant time, so response times tell nothing of how
+     * close a guess is.
+     */
+    public boolean matches(String secret, String storedDigest) {
+        return storedDigest != null && MessageDigest.isEqual(digest(secret).getBytes(StandardCharsets.US_ASCII),
+                storedDigest.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String randomHex(int bytes) {
+        byte[] value = new byte[bytes];
+        random.nextBytes(value);
+        return HEX.formatHex(value);
+    }
+
+    public record ParsedApiKey(String publicId, String secret) {
+
+        public String key() {
+            return PREFIX + publicId + "_" + secret;
+        }
+    }
+}
@@ -5,10 +5,13 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.lagab.eventz.app.domain.auth.cache.ApiKeyCache;
+import com.lagab.eventz.app.domain.auth.change.ApiKeyChange;
 import com.lagab.eventz.app.domain.auth.model.ApiKey;
 import com.lagab.eventz.app.domain.auth.repository.ApiKeyRepository;
 import com.lagab.eventz.app.domain.user.model.Role;
@@ -24,28 +27,47 @@ import lombok.extern.slf4j.Slf4j;
 public class ApiKeyService {
 
     private final ApiKeyRepository apiKeyRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final ApiKeyCodec apiKeyCodec;
+    private final ApiKeyCache apiKeyCache;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Creates a key of the form {@code ak_<publicId>_<secret>}. The full key is only available on the returned key,
+     * a digest of its secret being stored.
+     */
     public ApiKey createApiKey(String name, String clientType, Set<Role> roles, LocalDateTime expiresAt) {
         ApiKey apiKey = new ApiKey(name, clientType, roles);
         apiKey.setExpiresAt(expiresAt);
 
-        // Hash the API key for secure storage
-        apiKey.setClientSecret(passwordEncoder.encode(apiKey.getClientSecret()));
+        ApiKeyCodec.ParsedApiKey generated = apiKeyCodec.generate();
+        apiKey.setPublicId(generated.publicId());
+        apiKey.setClientSecret(apiKeyCodec.digest(generated.secret()));
 
         log.info("Creating new API key: {} for client: {}", name, clientType);
-        return apiKeyRepository.save(apiKey);
+        ApiKey saved = apiKeyRepository.save(apiKey);
+        saved.setKey(generated.key());
+        return saved;
     }
 
+    /**
+     * Looks the key up by its public id, from memory once cached, and checks its secret against the stored digest.
+     * Runs outside of a transaction so that a cached key does not take a connection from the pool.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<ApiKey> validateApiKey(String keyValue) {
-        return apiKeyRepository.findByClientSecretAndActiveTrue(keyValue)
-                               .filter(ApiKey::isValid);
+        return apiKeyCodec.parse(keyValue)
+                          .flatMap(parsed -> apiKeyCache.get(parsed.publicId())
+                                                        .filter(apiKey -> apiKeyCodec.matches(parsed.secret(), apiKey.getClientSecret())))
+                          .filter(ApiKey::isValid);
     }
 
     public void revokeApiKey(Long id) {
         apiKeyRepository.findById(id).ifPresent(apiKey -> {
             apiKey.setActive(false);
             apiKeyRepository.save(apiKey);
+            if (apiKey.getPublicId() != null) {
+                eventPublisher.publishEvent(new ApiKeyChange(apiKey.getPublicId()));
+            }
             log.info("API key revoked: {}", apiKey.getName());
         });
     }
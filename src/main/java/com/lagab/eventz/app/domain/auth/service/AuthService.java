@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -27,6 +28,7 @@ import com.lagab.eventz.app.domain.auth.dto.TokenValidationResponse;
 import com.lagab.eventz.app.domain.auth.dto.UserResponse;
 import com.lagab.eventz.app.domain.org.dto.OrganizationDto;
 import com.lagab.eventz.app.domain.org.service.OrganizationService;
+import com.lagab.eventz.app.domain.user.change.UserChange;
 import com.lagab.eventz.app.domain.user.mapper.UserMapper;
 import com.lagab.eventz.app.domain.user.model.Role;
 import com.lagab.eventz.app.domain.user.model.Token;
@@ -50,6 +52,7 @@ public class AuthService {
     private final EmailService emailService;
     private final JwtService jwtService;
     private final OrganizationService organizationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AuthResponse login(LoginRequestDto request, String ipAddress, String userAgent) {
         try {
@@ -228,7 +231,9 @@ public class AuthService {
     public void changePassword(ChangePasswordRequest request) {
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
-        User user = (User) principal;
+        // The principal is a snapshot without credentials
+        User user = userRepository.findById(((User) principal).getId())
+                                  .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         // Verify current password
         if (!passwordEncoder.matches(request.currentPassword(), user.getPassword())) {
@@ -238,6 +243,7 @@ public class AuthService {
         // Update password
         user.setPassword(passwordEncoder.encode(request.newPassword()));
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChange(user.getId()));
 
         // Revoke all existing tokens to force re-login
         tokenService.revokeAllUserTokens(user);
@@ -282,6 +288,7 @@ public class AuthService {
         // Update password
         user.setPassword(passwordEncoder.encode(request.newPassword()));
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChange(user.getId()));
 
         // Mark token as used
         tokenService.markTokenAsUsed(resetToken);
@@ -303,6 +310,7 @@ public class AuthService {
         User user = verificationToken.getUser();
         user.setIsEmailVerified(true);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChange(user.getId()));
 
         // Mark token as used
         tokenService.markTokenAsUsed(verificationToken);
@@ -1,5 +1,6 @@
 package com.lagab.eventz.app.domain.auth.service;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -235,4 +236,53 @@ public class EmailService {
             return CompletableFuture.failedFuture(e);
         }
     }
+
+    /**
+     * Sends a waitlisted user the tickets held for them
+     *
+     * @param user           The waitlisted user
+     * @param eventName      Name of the event
+     * @param ticketTypeName Name of the ticket type
+     * @param holdId         Hold to confirm to buy the tickets
+     * @param quantity       Tickets held
+     * @param expiresAt      Deadline after which the tickets go to the next user
+     * @return CompletableFuture<Void>
+     */
+    @Async
+    public CompletableFuture<Void> sendWaitlistOffer(User user, String eventName, String ticketTypeName, String holdId,
+            int quantity, LocalDateTime expiresAt) {
+        try {
+            Locale locale = createLocale(user.getLocale());
+            String claimLink = String.format("%s/holds/%s", frontendUrl, holdId);
+
+            // Prepare template variables
+            Map<String, Object> templateModel = new HashMap<>();
+            templateModel.put("claimLink", claimLink);
+            templateModel.put("name", user.getFullName());
+            templateModel.put("eventName", eventName);
+            templateModel.put("ticketTypeName", ticketTypeName);
+            templateModel.put("quantity", quantity);
+            templateModel.put("expiresAt", expiresAt);
+            templateModel.put("logo", logoUrl);
+            templateModel.put("locale", locale.getLanguage());
+
+            // Create Thymeleaf context
+            Context context = new Context(locale, templateModel);
+
+            // Process email template
+            String htmlContent = templateEngine.process("emails/waitlist_offer", context);
+
+            // Get localized subject
+            String subject = messageSource.getMessage("emails.waitlist_offer.title", new Object[] { eventName }, locale);
+
+            // Send email
+            sendHtmlEmail(user.getEmail(), subject, htmlContent);
+
+            log.debug("Waitlist offer email sent successfully to: {}", user.getEmail());
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            log.error("Failed to send waitlist offer email to: {}", user.getEmail(), e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
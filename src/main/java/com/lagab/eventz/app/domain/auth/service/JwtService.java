@@ -5,30 +5,35 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.Map;
+import java.util.Optional;
 
 import javax.crypto.SecretKey;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.lagab.eventz.app.domain.auth.dto.VerifiedToken;
+
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import io.jsonwebtoken.security.SignatureException;
 
 @Service
 public class JwtService {
 
-    @Value("${app.auth.jwt-secret}")
-    private String jwtSecret;
+    private final Long accessTokenExpiration;
 
-    @Value("${app.auth.access-token-expiration:3600}") // in seconds
-    private Long accessTokenExpiration;
+    // Thread safe and immutable, built once rather than on every token
+    private final SecretKey signingKey;
+    private final JwtParser parser;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    public JwtService(@Value("${app.auth.jwt-secret}") String jwtSecret,
+            @Value("${app.auth.access-token-expiration:3600}") Long accessTokenExpiration) { // in seconds
+        this.accessTokenExpiration = accessTokenExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
     public String generateAccessToken(Long userId, Map<String, Object> extraClaims) {
@@ -38,34 +43,36 @@ public class JwtService {
                    .subject(String.valueOf(userId))
                    .issuedAt(Date.from(now))
                    .expiration(Date.from(now.plus(accessTokenExpiration, ChronoUnit.SECONDS)))
-                   .signWith(getSigningKey(), Jwts.SIG.HS256)
+                   .signWith(signingKey, Jwts.SIG.HS256)
                    .compact();
     }
 
     public Claims parseToken(String token) throws JwtException {
-        return Jwts.parser()
-                   .verifyWith(getSigningKey())
-                   .build()
-                   .parseSignedClaims(token)
-                   .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    public boolean isTokenValid(String token) {
+    /**
+     * Parses and verifies a token once.
+     *
+     * @return the user and expiry of the token, empty when its signature is invalid, it is expired or malformed
+     */
+    public Optional<VerifiedToken> verify(String token) {
         try {
             Claims claims = parseToken(token);
-            return !claims.getExpiration().before(new Date());
-        } catch (SignatureException e) {
-            // Invalid signature
-            return false;
-        } catch (ExpiredJwtException e) {
-            // Expired token
-            return false;
+            if (claims.getExpiration() == null || claims.getExpiration().before(new Date())) {
+                return Optional.empty();
+            }
+            return Optional.of(new VerifiedToken(Long.parseLong(claims.getSubject()), claims.getExpiration().toInstant()));
         } catch (JwtException | IllegalArgumentException e) {
-            // Other JWT errors or malformed token
-            return false;
+            // Invalid signature, expired token, other JWT errors or malformed token
+            return Optional.empty();
         }
     }
 
+    public boolean isTokenValid(String token) {
+        return verify(token).isPresent();
+    }
+
     public Long extractUserId(String token) throws JwtException {
         return Long.parseLong(parseToken(token).getSubject());
     }
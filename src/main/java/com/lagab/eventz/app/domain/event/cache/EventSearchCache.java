@@ -0,0 +1,288 @@
+package com.lagab.eventz.app.domain.event.cache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.lagab.eventz.app.domain.event.change.EventIndex;
+import com.lagab.eventz.app.domain.event.change.EventSnapshot;
+import com.lagab.eventz.app.domain.event.change.TicketTypeChange;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.EventSearchDTO;
+import com.lagab.eventz.app.domain.event.dto.EventSummaryDTO;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.service.EventSearchService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded cache of public search pages in front of {@link EventSearchService}.
+ * <p>
+ * Entries expire after a fixed time and are served stale once past the refresh delay while they are reloaded in
+ * the background. Writes invalidate only the entries they can affect: an event change drops the pages whose
+ * criteria matched the event before or after the change, a ticket type change drops the pages listing the event.
+ * To know what an event looked like before a change, the cache keeps the filterable fields of every event and is
+ * kept in sync like the other {@link EventIndex} implementations.
+ * <p>
+ * A page being loaded is not in the cache yet, so an invalidation cannot drop it. The invalidations are instead
+ * recorded on the loads in flight and checked against the page once loaded: a page they hit is handed to its
+ * caller but not kept, since it may have been read before the write it misses. Pages are reloaded on a pool of
+ * their own, as the reloads block on the database.
+ */
+@Component
+@Slf4j
+public class EventSearchCache implements EventIndex {
+
+    public static final String CACHE_NAME = "events.search";
+
+    private final Duration timeGranularity;
+    private final LoadingCache<EventSearchCacheKey, Loaded> cache;
+    private final Counter invalidations;
+    private final Map<Long, Facets> facets = new ConcurrentHashMap<>();
+    private final Set<Load> loads = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refreshes;
+    private volatile boolean ready;
+
+    @Autowired
+    public EventSearchCache(EventSearchService eventSearchService, EventProperties eventProperties, MeterRegistry meterRegistry) {
+        this(eventSearchService, eventProperties, meterRegistry, Ticker.systemTicker(),
+                Executors.newFixedThreadPool(eventProperties.getCache().getRefreshThreads(), refreshThreads()));
+        new ExecutorServiceMetrics(refreshes, "events-search-refresh", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    public EventSearchCache(EventSearchService eventSearchService, EventProperties eventProperties, MeterRegistry meterRegistry,
+            Ticker ticker, Executor executor) {
+        this(eventSearchService, eventProperties, meterRegistry, ticker, executor, null);
+    }
+
+    private EventSearchCache(EventSearchService eventSearchService, EventProperties eventProperties,
+            MeterRegistry meterRegistry, Ticker ticker, ExecutorService refreshes) {
+        this(eventSearchService, eventProperties, meterRegistry, ticker, refreshes, refreshes);
+    }
+
+    private EventSearchCache(EventSearchService eventSearchService, EventProperties eventProperties,
+            MeterRegistry meterRegistry, Ticker ticker, Executor executor, ExecutorService refreshes) {
+        EventProperties.Cache config = eventProperties.getCache();
+        this.timeGranularity = config.getTimeGranularity();
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(config.getMaxEntries())
+                             .expireAfterWrite(config.getExpireAfterWrite())
+                             .refreshAfterWrite(config.getRefreshAfterWrite())
+                             .ticker(ticker)
+                             .executor(executor)
+                             .recordStats()
+                             .build(new CacheLoader<>() {
+                                 @Override
+                                 public Loaded load(EventSearchCacheKey key) {
+                                     return EventSearchCache.this.load(eventSearchService, key);
+                                 }
+
+                                 @Override
+                                 public Loaded reload(EventSearchCacheKey key, Loaded oldValue) {
+                                     // Returning null drops the entry, the next search loads it again
+                                     Loaded reloaded = load(key);
+                                     return settle(key, reloaded) ? null : reloaded;
+                                 }
+                             });
+        this.refreshes = refreshes;
+        this.invalidations = Counter.builder("cache.invalidations")
+                                    .tag("cache", CACHE_NAME)
+                                    .description("Entries dropped because a write could have changed them")
+                                    .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Page<EventSummaryDTO> search(EventSearchDTO searchDTO, Pageable pageable) {
+        EventSearchCacheKey key = EventSearchCacheKey.of(searchDTO, pageable, timeGranularity);
+        Loaded loaded = cache.get(key);
+        // Settled once stored, so that an invalidation is either recorded on the load or sees the entry
+        if (settle(key, loaded)) {
+            cache.asMap().remove(key, loaded);
+        }
+        return loaded.page();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void rebuild(Stream<EventSnapshot> snapshots) {
+        Map<Long, Facets> rebuilt = new HashMap<>();
+        snapshots.forEach(snapshot -> rebuilt.put(snapshot.id(), Facets.of(snapshot)));
+
+        facets.clear();
+        facets.putAll(rebuilt);
+        ready = true;
+        loads.forEach(load -> load.invalidations.add((key, page) -> true));
+        cache.invalidateAll();
+        log.info("Event search cache tracking {} events", rebuilt.size());
+    }
+
+    @Override
+    public void index(EventSnapshot snapshot) {
+        Facets current = Facets.of(snapshot);
+        Facets previous = facets.put(snapshot.id(), current);
+        invalidateEvent(snapshot.id(), previous, current);
+    }
+
+    @Override
+    public void remove(Long eventId) {
+        invalidateEvent(eventId, facets.remove(eventId), null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTicketTypeChange(TicketTypeChange change) {
+        // Ticket types only feed the availability shown on the pages listing the event
+        invalidateWhere((key, page) -> lists(page, change.eventId()));
+    }
+
+    private void invalidateEvent(Long eventId, Facets previous, Facets current) {
+        if (!ready) {
+            // Without the previous state of the event there is no telling which criteria it matched
+            invalidateWhere((key, page) -> true);
+            return;
+        }
+        invalidateWhere((key, page) -> lists(page, eventId)
+                || (previous != null && previous.matches(key.criteria()))
+                || (current != null && current.matches(key.criteria())));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshes != null) {
+            refreshes.shutdownNow();
+        }
+    }
+
+    private Loaded load(EventSearchService eventSearchService, EventSearchCacheKey key) {
+        Load load = new Load();
+        loads.add(load);
+        try {
+            return new Loaded(eventSearchService.searchEvents(key.criteria(), key.pageable()), load);
+        } catch (RuntimeException e) {
+            loads.remove(load);
+            throw e;
+        }
+    }
+
+    /**
+     * Ends the load of the page, on its first lookup.
+     *
+     * @return whether an invalidation recorded during the load hit the page
+     */
+    private boolean settle(EventSearchCacheKey key, Loaded loaded) {
+        if (!loads.remove(loaded.load())) {
+            return false;
+        }
+        if (loaded.load().invalidations.stream().anyMatch(predicate -> predicate.test(key, loaded.page()))) {
+            invalidations.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private void invalidateWhere(EntryPredicate predicate) {
+        // Recorded first, so that a load still running when the entries are scanned is checked once done
+        loads.forEach(load -> load.invalidations.add(predicate));
+        Predicate<Map.Entry<EventSearchCacheKey, Loaded>> stale = entry -> {
+            if (predicate.test(entry.getKey(), entry.getValue().page())) {
+                invalidations.increment();
+                return true;
+            }
+            return false;
+        };
+        cache.asMap().entrySet().removeIf(stale);
+    }
+
+    private static boolean lists(Page<EventSummaryDTO> page, Long eventId) {
+        return page.getContent().stream().anyMatch(summary -> summary.id().equals(eventId));
+    }
+
+    private static ThreadFactory refreshThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "events-search-refresh-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A loaded page, with the load it came from.
+     */
+    private record Loaded(Page<EventSummaryDTO> page, Load load) {
+    }
+
+    /**
+     * A load in flight, collecting the invalidations that ran meanwhile.
+     */
+    private static final class Load {
+
+        private final Queue<EntryPredicate> invalidations = new ConcurrentLinkedQueue<>();
+    }
+
+    @FunctionalInterface
+    private interface EntryPredicate {
+        boolean test(EventSearchCacheKey key, Page<EventSummaryDTO> page);
+    }
+
+    /**
+     * Fields of an event the search criteria can filter on. Keyword and location are not tracked: criteria using
+     * them are considered matched, which only costs an extra invalidation.
+     */
+    private record Facets(EventType type, EventStatus status, String city, Boolean isPublic, Boolean isFree,
+                          LocalDateTime startDate, LocalDateTime endDate, Long organizerId, String organizationId) {
+
+        private static Facets of(EventSnapshot snapshot) {
+            return new Facets(snapshot.type(), snapshot.status(),
+                    snapshot.city() != null ? snapshot.city().trim().toLowerCase(Locale.ROOT) : null,
+                    snapshot.isPublic(), snapshot.isFree(), snapshot.startDate(), snapshot.endDate(),
+                    snapshot.organizerId(), snapshot.organizationId());
+        }
+
+        // Mirrors the filters of EventSpecifications.withCriteria, which always restricts to public events
+        private boolean matches(EventSearchDTO criteria) {
+            return Boolean.TRUE.equals(isPublic)
+                    && (criteria.type() == null || criteria.type() == type)
+                    && (criteria.status() == null || criteria.status() == status)
+                    && (criteria.city() == null || criteria.city().equals(city))
+                    && (criteria.isFree() == null || criteria.isFree().equals(isFree))
+                    && (criteria.organizerId() == null || criteria.organizerId().equals(organizerId))
+                    && (criteria.organizationId() == null || criteria.organizationId().equals(organizationId))
+                    && (criteria.startDate() == null || startDate == null || !startDate.isBefore(criteria.startDate()))
+                    && (criteria.endDate() == null || endDate == null || !endDate.isAfter(criteria.endDate()));
+        }
+    }
+}
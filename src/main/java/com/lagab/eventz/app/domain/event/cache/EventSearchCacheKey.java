@@ -0,0 +1,48 @@
+package com.lagab.eventz.app.domain.event.cache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Locale;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.lagab.eventz.app.domain.event.dto.EventSearchDTO;
+
+/**
+ * Normalized search criteria and page, so that requests differing only in letter case, surrounding blanks or a
+ * few seconds of "now" share the same cache entry. The normalized criteria are also the ones actually searched,
+ * which keeps a cached page exactly equal to a fresh one.
+ */
+public record EventSearchCacheKey(EventSearchDTO criteria, Pageable pageable) {
+
+    public static EventSearchCacheKey of(EventSearchDTO searchDTO, Pageable pageable, Duration timeGranularity) {
+        EventSearchDTO criteria = new EventSearchDTO(
+                normalize(searchDTO.keyword()), searchDTO.type(), searchDTO.status(), normalize(searchDTO.city()),
+                truncate(searchDTO.startDate(), timeGranularity), truncate(searchDTO.endDate(), timeGranularity),
+                searchDTO.isFree(), searchDTO.latitude(), searchDTO.longitude(), searchDTO.radius(),
+                searchDTO.organizerId(), searchDTO.organizationId()
+        );
+        Pageable page = pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort())
+                : pageable;
+        return new EventSearchCacheKey(criteria, page);
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static LocalDateTime truncate(LocalDateTime dateTime, Duration granularity) {
+        long step = granularity.toSeconds();
+        if (dateTime == null || step <= 1) {
+            return dateTime;
+        }
+        long epochSecond = dateTime.toEpochSecond(ZoneOffset.UTC);
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochSecond, step) * step, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,145 @@
+package com.lagab.eventz.app.domain.event.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.lagab.eventz.app.domain.event.change.TicketTypeChange;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketTypeDTO;
+import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapper;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ticket types of each event currently on sale, for the storefront.
+ * <p>
+ * Between two sale boundaries, the start or end of the sale of one of its ticket types, the ticket types on sale of
+ * an event only change on a write. Entries are loaded from the active ticket types of the event and expire at the
+ * next boundary, or are dropped by the writes to the ticket types of the event once committed. Writes made through
+ * other instances are picked up after the configured maximum age at the latest.
+ */
+@Component
+@Slf4j
+public class OnSaleTicketTypeCache {
+
+    public static final String CACHE_NAME = "ticket-types.on-sale";
+
+    private final TicketTypeRepository ticketTypeRepository;
+    private final TicketTypeMapper ticketTypeMapper;
+    private final Clock clock;
+    private final LoadingCache<Long, OnSale> cache;
+    private final Counter invalidations;
+
+    @Autowired
+    public OnSaleTicketTypeCache(TicketTypeRepository ticketTypeRepository, TicketTypeMapper ticketTypeMapper,
+            EventProperties eventProperties, MeterRegistry meterRegistry) {
+        this(ticketTypeRepository, ticketTypeMapper, eventProperties, meterRegistry, Clock.systemDefaultZone(),
+                Ticker.systemTicker());
+    }
+
+    public OnSaleTicketTypeCache(TicketTypeRepository ticketTypeRepository, TicketTypeMapper ticketTypeMapper,
+            EventProperties eventProperties, MeterRegistry meterRegistry, Clock clock, Ticker ticker) {
+        EventProperties.Cache config = eventProperties.getCache();
+        Duration maxAge = config.getOnSaleMaxAge();
+        this.ticketTypeRepository = ticketTypeRepository;
+        this.ticketTypeMapper = ticketTypeMapper;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(config.getOnSaleMaxEntries())
+                             .expireAfter(Expiry.creating((Long eventId, OnSale onSale) -> timeToLive(onSale, maxAge)))
+                             .ticker(ticker)
+                             .recordStats()
+                             .build(this::load);
+        this.invalidations = Counter.builder("cache.invalidations")
+                                    .tag("cache", CACHE_NAME)
+                                    .description("Entries dropped because a write could have changed them")
+                                    .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public List<TicketTypeDTO> getOnSale(Long eventId) {
+        return cache.get(eventId).ticketTypes();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTicketTypeChange(TicketTypeChange change) {
+        if (cache.asMap().remove(change.eventId()) != null) {
+            invalidations.increment();
+        }
+    }
+
+    private OnSale load(Long eventId) {
+        // One reading of the clock for the filter, the boundary and the on-sale flags of the whole list
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<TicketType> onSale = new ArrayList<>();
+        LocalDateTime nextBoundary = null;
+        for (TicketType ticketType : ticketTypeRepository.findActiveByEventId(eventId)) {
+            LocalDateTime boundary = nextBoundary(ticketType, now);
+            if (boundary != null && (nextBoundary == null || boundary.isBefore(nextBoundary))) {
+                nextBoundary = boundary;
+            }
+            if (isOnSale(ticketType, now)) {
+                onSale.add(ticketType);
+            }
+        }
+        log.trace("Event {} has {} ticket types on sale until {}", eventId, onSale.size(), nextBoundary);
+        return new OnSale(ticketTypeMapper.toDTOList(onSale, now), nextBoundary);
+    }
+
+    private Duration timeToLive(OnSale onSale, Duration maxAge) {
+        if (onSale.expiresAt() == null) {
+            return maxAge;
+        }
+        Duration untilBoundary = Duration.between(LocalDateTime.now(clock), onSale.expiresAt());
+        return untilBoundary.isNegative() ? Duration.ZERO : untilBoundary.compareTo(maxAge) < 0 ? untilBoundary : maxAge;
+    }
+
+    // Mirrors TicketTypeRepository.findOnSaleByEventId, sale windows including both their start and end
+    private static boolean isOnSale(TicketType ticketType, LocalDateTime now) {
+        return (ticketType.getSaleStart() == null || !ticketType.getSaleStart().isAfter(now))
+                && (ticketType.getSaleEnd() == null || !ticketType.getSaleEnd().isBefore(now))
+                && (ticketType.getQuantityAvailable() == null
+                || ticketType.getQuantityAvailable() > ticketType.getQuantitySold() + ticketType.getQuantityHeld());
+    }
+
+    /**
+     * @return the first time after now the ticket type goes on or off sale, {@code null} when it never does
+     */
+    private static LocalDateTime nextBoundary(TicketType ticketType, LocalDateTime now) {
+        if (ticketType.getSaleStart() != null && ticketType.getSaleStart().isAfter(now)) {
+            return ticketType.getSaleStart();
+        }
+        if (ticketType.getSaleEnd() != null && !ticketType.getSaleEnd().isBefore(now)) {
+            // Still on sale at the end of the window, off sale right after
+            return ticketType.getSaleEnd().plusNanos(1);
+        }
+        return null;
+    }
+
+    /**
+     * @param expiresAt next sale boundary of the ticket types of the event, {@code null} when there is none
+     */
+    private record OnSale(List<TicketTypeDTO> ticketTypes, LocalDateTime expiresAt) {
+    }
+}
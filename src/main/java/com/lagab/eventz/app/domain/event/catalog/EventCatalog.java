@@ -0,0 +1,503 @@
+package com.lagab.eventz.app.domain.event.catalog;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.lagab.eventz.app.domain.event.change.EventIndex;
+import com.lagab.eventz.app.domain.event.change.EventSnapshot;
+import com.lagab.eventz.app.domain.event.dto.EventSearchDTO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory column store of the public events answering the structured searches (type, status, city, free,
+ * organization and date range) without the database, which is then only asked to hydrate the page.
+ * <p>
+ * Every event is a row of primitive columns: dates as epoch microseconds, enums as ordinals, cities and
+ * organizations as dictionary ids. Each value of the equality filters has a compressed bitmap of its rows, so a
+ * search is an intersection of bitmaps followed by a scan of the date columns for the remaining rows.
+ * <p>
+ * Readers work on an immutable version of the catalog and never lock. Writes are serialized and copy-on-write:
+ * an updated event is appended as a new row and its previous row is dropped from the live rows, only the bitmaps
+ * that change are copied, and the new version is published at once. Dead rows are compacted away once they
+ * outnumber the live ones.
+ */
+@Component
+@Slf4j
+public class EventCatalog implements EventIndex {
+
+    private static final Set<String> SORTABLE = Set.of("startDate", "endDate", "id");
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final int NO_VALUE = -1;
+    private static final int MIN_DEAD_ROWS_TO_COMPACT = 1_024;
+
+    private final Object writeLock = new Object();
+    // Writer side only: row of each event in the current version
+    private Map<Long, Integer> rowOf = new HashMap<>();
+
+    private volatile Version version = Version.empty();
+    private volatile boolean ready;
+
+    /**
+     * Whether the catalog can answer the criteria on its own: it must have been loaded, and the search must not
+     * need keywords, locations, the organizer or a sort other than dates and id.
+     */
+    public boolean canServe(EventSearchDTO criteria, Pageable pageable) {
+        return ready
+                && pageable.isPaged()
+                && !criteria.hasKeyword()
+                && !criteria.hasLocation()
+                && criteria.organizerId() == null
+                && pageable.getSort().stream().allMatch(order -> SORTABLE.contains(order.getProperty()));
+    }
+
+    /**
+     * @return the ids of the requested page in display order, and the total number of matching events
+     */
+    public Result search(EventSearchDTO criteria, Pageable pageable) {
+        Version current = version;
+        RoaringBitmap candidates = current.candidates(criteria);
+        if (candidates.isEmpty()) {
+            return new Result(List.of(), 0);
+        }
+
+        long from = micros(criteria.startDate());
+        long to = criteria.endDate() != null ? micros(criteria.endDate()) : Long.MAX_VALUE;
+        long limit = pageable.getOffset() + pageable.getPageSize();
+        TopRows top = new TopRows(current.comparator(pageable.getSort()), (int) Math.min(limit, candidates.getCardinality()));
+
+        long total = 0;
+        IntIterator rows = candidates.getIntIterator();
+        while (rows.hasNext()) {
+            int row = rows.next();
+            // A missing date never matches a date filter, as in SQL
+            long start = current.starts[row];
+            long end = current.ends[row];
+            if (from != NO_DATE && (start == NO_DATE || start < from) || to != Long.MAX_VALUE && (end == NO_DATE || end > to)) {
+                continue;
+            }
+            total++;
+            top.offer(row);
+        }
+
+        int[] sorted = top.sorted();
+        List<Long> ids = new ArrayList<>(pageable.getPageSize());
+        for (long i = pageable.getOffset(); i < sorted.length; i++) {
+            ids.add(current.ids[sorted[(int) i]]);
+        }
+        return new Result(ids, total);
+    }
+
+    @Override
+    public void index(EventSnapshot snapshot) {
+        synchronized (writeLock) {
+            Version next = version.copy();
+            Integer previous = rowOf.remove(snapshot.id());
+            if (previous != null) {
+                next.live = next.live.clone();
+                next.live.remove(previous);
+            }
+            if (Boolean.TRUE.equals(snapshot.isPublic())) {
+                rowOf.put(snapshot.id(), next.append(snapshot));
+            }
+            publish(next);
+        }
+    }
+
+    @Override
+    public void remove(Long eventId) {
+        synchronized (writeLock) {
+            Integer previous = rowOf.remove(eventId);
+            if (previous == null) {
+                return;
+            }
+            Version next = version.copy();
+            next.live = next.live.clone();
+            next.live.remove(previous);
+            publish(next);
+        }
+    }
+
+    @Override
+    public void rebuild(Stream<EventSnapshot> snapshots) {
+        Version rebuilt = Version.empty();
+        Map<Long, Integer> rows = new HashMap<>();
+        snapshots.filter(snapshot -> Boolean.TRUE.equals(snapshot.isPublic()))
+                 .forEach(snapshot -> {
+                     Integer previous = rows.put(snapshot.id(), rebuilt.appendInPlace(snapshot));
+                     if (previous != null) {
+                         rebuilt.live.remove(previous);
+                     }
+                 });
+
+        synchronized (writeLock) {
+            rowOf = rows;
+            version = rebuilt;
+            ready = true;
+        }
+        log.info("Event catalog rebuilt with {} public events", rows.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return version.live.getCardinality();
+    }
+
+    private void publish(Version next) {
+        int live = next.live.getCardinality();
+        int dead = next.size - live;
+        if (dead >= MIN_DEAD_ROWS_TO_COMPACT && dead > live) {
+            Map<Long, Integer> rows = new HashMap<>();
+            next = next.compact(rows);
+            rowOf = rows;
+        }
+        version = next;
+    }
+
+    private static long micros(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return NO_DATE;
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    public record Result(List<Long> pageIds, long total) {
+    }
+
+    @FunctionalInterface
+    private interface RowComparator {
+        int compare(int left, int right);
+    }
+
+    /**
+     * Bounded max-heap keeping the best rows seen, so a page costs O(n log k) whatever the number of matches.
+     */
+    private static final class TopRows {
+
+        private final RowComparator comparator;
+        private final int[] heap;
+        private int size;
+
+        private TopRows(RowComparator comparator, int capacity) {
+            this.comparator = comparator;
+            this.heap = new int[capacity];
+        }
+
+        private void offer(int row) {
+            if (heap.length == 0) {
+                return;
+            }
+            if (size < heap.length) {
+                heap[size] = row;
+                siftUp(size++);
+            } else if (comparator.compare(row, heap[0]) < 0) {
+                heap[0] = row;
+                siftDown(0);
+            }
+        }
+
+        private int[] sorted() {
+            int[] sorted = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                sorted[i] = heap[0];
+                heap[0] = heap[--size];
+                siftDown(0);
+            }
+            return sorted;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (comparator.compare(heap[index], heap[parent]) <= 0) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int worst = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && comparator.compare(heap[left], heap[worst]) > 0) {
+                    worst = left;
+                }
+                if (right < size && comparator.compare(heap[right], heap[worst]) > 0) {
+                    worst = right;
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(index, worst);
+                index = worst;
+            }
+        }
+
+        private void swap(int left, int right) {
+            int row = heap[left];
+            heap[left] = heap[right];
+            heap[right] = row;
+        }
+    }
+
+    /**
+     * Value to dense id mapping. Append only, so versions sharing it never see an id change meaning.
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+        private int idOf(String value) {
+            return value != null ? ids.getOrDefault(value, NO_VALUE) : NO_VALUE;
+        }
+
+        private int encode(String value) {
+            return value != null ? ids.computeIfAbsent(value, key -> ids.size()) : NO_VALUE;
+        }
+    }
+
+    /**
+     * One published state of the catalog. Column arrays are shared with the next versions, which only write past
+     * the size of this one; bitmaps are never modified once published.
+     */
+    private static final class Version {
+
+        private static final int INITIAL_CAPACITY = 1_024;
+
+        private final Dictionary cityDictionary;
+        private final Dictionary organizationDictionary;
+        private int size;
+        private long[] ids;
+        private long[] starts;
+        private long[] ends;
+        private int[] types;
+        private int[] statuses;
+        private int[] cities;
+        private int[] organizations;
+        private byte[] free;
+        private RoaringBitmap live;
+        private RoaringBitmap freeRows;
+        private RoaringBitmap paidRows;
+        private RoaringBitmap[] byType;
+        private RoaringBitmap[] byStatus;
+        private RoaringBitmap[] byCity;
+        private RoaringBitmap[] byOrganization;
+
+        private Version(Dictionary cityDictionary, Dictionary organizationDictionary, int capacity) {
+            this.cityDictionary = cityDictionary;
+            this.organizationDictionary = organizationDictionary;
+            ids = new long[capacity];
+            starts = new long[capacity];
+            ends = new long[capacity];
+            types = new int[capacity];
+            statuses = new int[capacity];
+            cities = new int[capacity];
+            organizations = new int[capacity];
+            free = new byte[capacity];
+            live = new RoaringBitmap();
+            freeRows = new RoaringBitmap();
+            paidRows = new RoaringBitmap();
+            byType = new RoaringBitmap[0];
+            byStatus = new RoaringBitmap[0];
+            byCity = new RoaringBitmap[0];
+            byOrganization = new RoaringBitmap[0];
+        }
+
+        private Version(Version source) {
+            cityDictionary = source.cityDictionary;
+            organizationDictionary = source.organizationDictionary;
+            size = source.size;
+            ids = source.ids;
+            starts = source.starts;
+            ends = source.ends;
+            types = source.types;
+            statuses = source.statuses;
+            cities = source.cities;
+            organizations = source.organizations;
+            free = source.free;
+            live = source.live;
+            freeRows = source.freeRows;
+            paidRows = source.paidRows;
+            byType = source.byType;
+            byStatus = source.byStatus;
+            byCity = source.byCity;
+            byOrganization = source.byOrganization;
+        }
+
+        private static Version empty() {
+            return new Version(new Dictionary(), new Dictionary(), INITIAL_CAPACITY);
+        }
+
+        private Version copy() {
+            return new Version(this);
+        }
+
+        private RoaringBitmap candidates(EventSearchDTO criteria) {
+            List<RoaringBitmap> filters = new ArrayList<>();
+            filters.add(live);
+            if (criteria.type() != null) {
+                filters.add(valueRows(byType, criteria.type().ordinal()));
+            }
+            if (criteria.status() != null) {
+                filters.add(valueRows(byStatus, criteria.status().ordinal()));
+            }
+            // Same comparison as the database predicate: lower cased, not trimmed
+            if (criteria.city() != null && !criteria.city().trim().isEmpty()) {
+                filters.add(valueRows(byCity, cityDictionary.idOf(criteria.city().toLowerCase())));
+            }
+            if (criteria.isFree() != null) {
+                filters.add(criteria.isFree() ? freeRows : paidRows);
+            }
+            if (criteria.organizationId() != null) {
+                filters.add(valueRows(byOrganization, organizationDictionary.idOf(criteria.organizationId())));
+            }
+            return filters.size() == 1 ? live : FastAggregation.and(filters.iterator());
+        }
+
+        private static RoaringBitmap valueRows(RoaringBitmap[] index, int value) {
+            return value >= 0 && value < index.length && index[value] != null ? index[value] : new RoaringBitmap();
+        }
+
+        private RowComparator comparator(Sort sort) {
+            RowComparator comparator = null;
+            for (Sort.Order order : sort) {
+                long[] column = switch (order.getProperty()) {
+                    case "startDate" -> starts;
+                    case "endDate" -> ends;
+                    default -> ids;
+                };
+                int direction = order.isAscending() ? 1 : -1;
+                RowComparator byOrder = (left, right) -> direction * Long.compare(column[left], column[right]);
+                comparator = comparator == null ? byOrder : then(comparator, byOrder);
+            }
+            // Ties are broken by id so pages never overlap
+            RowComparator byId = (left, right) -> Long.compare(ids[left], ids[right]);
+            return comparator == null ? byId : then(comparator, byId);
+        }
+
+        private static RowComparator then(RowComparator first, RowComparator second) {
+            return (left, right) -> {
+                int result = first.compare(left, right);
+                return result != 0 ? result : second.compare(left, right);
+            };
+        }
+
+        /**
+         * Appends a row for the next version: the bitmaps it joins are copied before being modified.
+         */
+        private int append(EventSnapshot snapshot) {
+            return append(snapshot.id(), micros(snapshot.startDate()), micros(snapshot.endDate()),
+                    snapshot.type() != null ? snapshot.type().ordinal() : NO_VALUE,
+                    snapshot.status() != null ? snapshot.status().ordinal() : NO_VALUE,
+                    cityDictionary.encode(snapshot.city() != null ? snapshot.city().toLowerCase() : null),
+                    organizationDictionary.encode(snapshot.organizationId()),
+                    freeFlag(snapshot.isFree()), true);
+        }
+
+        /**
+         * Appends a row to a version that is not published yet, modifying its bitmaps directly.
+         */
+        private int appendInPlace(EventSnapshot snapshot) {
+            return append(snapshot.id(), micros(snapshot.startDate()), micros(snapshot.endDate()),
+                    snapshot.type() != null ? snapshot.type().ordinal() : NO_VALUE,
+                    snapshot.status() != null ? snapshot.status().ordinal() : NO_VALUE,
+                    cityDictionary.encode(snapshot.city() != null ? snapshot.city().toLowerCase() : null),
+                    organizationDictionary.encode(snapshot.organizationId()),
+                    freeFlag(snapshot.isFree()), false);
+        }
+
+        private int append(long id, long start, long end, int type, int status, int city, int organization,
+                byte freeFlag, boolean copyOnWrite) {
+            if (size == ids.length) {
+                grow();
+            }
+            int row = size++;
+            ids[row] = id;
+            starts[row] = start;
+            ends[row] = end;
+            types[row] = type;
+            statuses[row] = status;
+            cities[row] = city;
+            organizations[row] = organization;
+            free[row] = freeFlag;
+
+            live = with(live, row, copyOnWrite);
+            if (freeFlag == 1) {
+                freeRows = with(freeRows, row, copyOnWrite);
+            } else if (freeFlag == 0) {
+                paidRows = with(paidRows, row, copyOnWrite);
+            }
+            byType = withValue(byType, type, row, copyOnWrite);
+            byStatus = withValue(byStatus, status, row, copyOnWrite);
+            byCity = withValue(byCity, city, row, copyOnWrite);
+            byOrganization = withValue(byOrganization, organization, row, copyOnWrite);
+            return row;
+        }
+
+        private Version compact(Map<Long, Integer> rows) {
+            Version compacted = new Version(cityDictionary, organizationDictionary,
+                    Math.max(INITIAL_CAPACITY, live.getCardinality() * 2));
+            IntIterator liveRows = live.getIntIterator();
+            while (liveRows.hasNext()) {
+                int row = liveRows.next();
+                rows.put(ids[row], compacted.append(ids[row], starts[row], ends[row], types[row], statuses[row],
+                        cities[row], organizations[row], free[row], false));
+            }
+            return compacted;
+        }
+
+        private void grow() {
+            int capacity = Math.max(INITIAL_CAPACITY, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            types = Arrays.copyOf(types, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            cities = Arrays.copyOf(cities, capacity);
+            organizations = Arrays.copyOf(organizations, capacity);
+            free = Arrays.copyOf(free, capacity);
+        }
+
+        private static RoaringBitmap with(RoaringBitmap bitmap, int row, boolean copyOnWrite) {
+            RoaringBitmap target = copyOnWrite ? bitmap.clone() : bitmap;
+            target.add(row);
+            return target;
+        }
+
+        private static RoaringBitmap[] withValue(RoaringBitmap[] index, int value, int row, boolean copyOnWrite) {
+            if (value == NO_VALUE) {
+                return index;
+            }
+            RoaringBitmap[] target = value < index.length
+                    ? copyOnWrite ? index.clone() : index
+                    : Arrays.copyOf(index, Math.max(value + 1, index.length * 2));
+            target[value] = target[value] == null ? RoaringBitmap.bitmapOf(row) : with(target[value], row, copyOnWrite);
+            return target;
+        }
+
+        private static byte freeFlag(Boolean isFree) {
+            return isFree == null ? NO_VALUE : (byte) (isFree ? 1 : 0);
+        }
+    }
+}
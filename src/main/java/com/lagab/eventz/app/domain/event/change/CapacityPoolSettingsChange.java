@@ -0,0 +1,8 @@
+package com.lagab.eventz.app.domain.event.change;
+
+/**
+ * Application event published once the capacity or the members of a pool have changed, so in-memory stocks of the
+ * pool are reloaded.
+ */
+public record CapacityPoolSettingsChange(Long capacityPoolId) {
+}
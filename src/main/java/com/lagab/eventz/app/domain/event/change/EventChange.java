@@ -0,0 +1,28 @@
+package com.lagab.eventz.app.domain.event.change;
+
+import com.lagab.eventz.app.domain.event.model.Event;
+
+/**
+ * Application event published by {@code EventService} whenever an event is written.
+ * <p>
+ * Listeners keeping derived read models up to date should react after commit so a rolled back write is never
+ * visible. The snapshot is {@code null} for deletions.
+ */
+public record EventChange(Long eventId, Type type, EventSnapshot snapshot) {
+
+    public enum Type {
+        CREATED, UPDATED, PUBLISHED, CANCELLED, DELETED
+    }
+
+    public static EventChange of(Type type, Event event) {
+        return new EventChange(event.getId(), type, EventSnapshot.of(event));
+    }
+
+    public static EventChange deleted(Long eventId) {
+        return new EventChange(eventId, Type.DELETED, null);
+    }
+
+    public boolean isDeletion() {
+        return type == Type.DELETED;
+    }
+}
@@ -0,0 +1,21 @@
+package com.lagab.eventz.app.domain.event.change;
+
+import java.util.stream.Stream;
+
+/**
+ * In-memory read model derived from events, kept in sync by the {@link EventIndexSynchronizer}.
+ */
+public interface EventIndex {
+
+    /**
+     * Replaces the whole content of the index. Called once the application is ready.
+     */
+    void rebuild(Stream<EventSnapshot> snapshots);
+
+    /**
+     * Adds or replaces a single event.
+     */
+    void index(EventSnapshot snapshot);
+
+    void remove(Long eventId);
+}
@@ -0,0 +1,49 @@
+package com.lagab.eventz.app.domain.event.change;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.lagab.eventz.app.domain.event.repository.EventRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps every {@link EventIndex} in sync with the database: fully rebuilt once the application is ready, then
+ * updated from {@link EventChange} notifications once their transaction has committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventIndexSynchronizer {
+
+    private final EventRepository eventRepository;
+    private final List<EventIndex> eventIndexes;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        // One streamed pass per index so snapshots are never all held in memory at once
+        for (EventIndex eventIndex : eventIndexes) {
+            try (Stream<EventSnapshot> snapshots = eventRepository.streamAllSnapshots()) {
+                eventIndex.rebuild(snapshots);
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        for (EventIndex eventIndex : eventIndexes) {
+            if (change.isDeletion()) {
+                eventIndex.remove(change.eventId());
+            } else {
+                eventIndex.index(change.snapshot());
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.lagab.eventz.app.domain.event.change;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+import org.hibernate.Hibernate;
+
+import com.lagab.eventz.app.domain.event.model.Address;
+import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+
+/**
+ * Detached copy of the searchable state of an {@link Event}, safe to hand over to in-memory indexes once the
+ * persistence context is gone.
+ */
+public record EventSnapshot(
+        Long id,
+        String name,
+        String summary,
+        String description,
+        String city,
+        String country,
+        BigDecimal latitude,
+        BigDecimal longitude,
+        EventType type,
+        EventStatus status,
+        Boolean isPublic,
+        Boolean isFree,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        LocalDateTime createdAt,
+        Long organizerId,
+        String organizationId,
+        String organizationName,
+        // null when the ticket types were not loaded with the event
+        Integer ticketsSold
+) {
+
+    public static EventSnapshot of(Event event) {
+        Address address = event.getAddress();
+        return new EventSnapshot(
+                event.getId(), event.getName(), event.getSummary(), event.getDescription(),
+                address != null ? address.getCity() : null,
+                address != null ? address.getCountry() : null,
+                address != null ? address.getLatitude() : null,
+                address != null ? address.getLongitude() : null,
+                event.getType(), event.getStatus(), event.getIsPublic(), event.getIsFree(),
+                event.getStartDate(), event.getEndDate(), event.getCreatedAt(),
+                event.getOrganizer() != null ? event.getOrganizer().getId() : null,
+                event.getOrganization() != null ? event.getOrganization().getId() : null,
+                event.getOrganization() != null ? event.getOrganization().getName() : null,
+                ticketsSold(event)
+        );
+    }
+
+    private static Integer ticketsSold(Event event) {
+        List<TicketType> ticketTypes = event.getTicketTypes();
+        if (ticketTypes == null || !Hibernate.isInitialized(ticketTypes)) {
+            return null;
+        }
+        return ticketTypes.stream()
+                          .map(TicketType::getQuantitySold)
+                          .filter(Objects::nonNull)
+                          .mapToInt(Integer::intValue)
+                          .sum();
+    }
+}
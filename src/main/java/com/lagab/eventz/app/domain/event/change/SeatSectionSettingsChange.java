@@ -0,0 +1,7 @@
+package com.lagab.eventz.app.domain.event.change;
+
+/**
+ * Application event published once a seat section was deleted, so its in-memory seat map is dropped.
+ */
+public record SeatSectionSettingsChange(Long seatSectionId) {
+}
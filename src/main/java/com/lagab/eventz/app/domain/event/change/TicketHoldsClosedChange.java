@@ -0,0 +1,12 @@
+package com.lagab.eventz.app.domain.event.change;
+
+import java.util.List;
+
+import com.lagab.eventz.app.domain.ticket.entity.TicketHoldStatus;
+
+/**
+ * Application event published once holds were confirmed, released or expired, so that the seats they took are
+ * marked sold or put back on sale.
+ */
+public record TicketHoldsClosedChange(List<String> holdIds, TicketHoldStatus status) {
+}
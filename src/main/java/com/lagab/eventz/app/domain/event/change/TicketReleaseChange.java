@@ -0,0 +1,7 @@
+package com.lagab.eventz.app.domain.event.change;
+
+/**
+ * Application event published once sold or held tickets of a ticket type went back on sale.
+ */
+public record TicketReleaseChange(Long ticketTypeId, int quantity) {
+}
@@ -0,0 +1,7 @@
+package com.lagab.eventz.app.domain.event.change;
+
+/**
+ * Application event published once ticket types of an event have been created, modified, deleted or sold.
+ */
+public record TicketTypeChange(Long eventId) {
+}
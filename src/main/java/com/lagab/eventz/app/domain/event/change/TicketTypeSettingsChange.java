@@ -0,0 +1,8 @@
+package com.lagab.eventz.app.domain.event.change;
+
+/**
+ * Application event published once the quantity, limits, sale window or active state of a ticket type changed, or
+ * the ticket type was deleted.
+ */
+public record TicketTypeSettingsChange(Long ticketTypeId) {
+}
@@ -0,0 +1,9 @@
+package com.lagab.eventz.app.domain.event.change;
+
+/**
+ * Application event published once the waiting room of an event was turned on, off or given another admission rate.
+ *
+ * @param admissionRate buyers admitted per second, {@code null} for the default rate
+ */
+public record WaitingRoomSettingsChange(Long eventId, boolean enabled, Integer admissionRate) {
+}
@@ -0,0 +1,168 @@
+package com.lagab.eventz.app.domain.event.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@ConfigurationProperties(prefix = "app.events")
+public class EventProperties {
+    private final Search search = new Search();
+    private final Geo geo = new Geo();
+    private final Cache cache = new Cache();
+    private final Availability availability = new Availability();
+    private final Stats stats = new Stats();
+    private final Suggest suggest = new Suggest();
+    private final Reservation reservation = new Reservation();
+    private final Holds holds = new Holds();
+    private final WaitingRoom waitingRoom = new WaitingRoom();
+    private final Waitlist waitlist = new Waitlist();
+    private final Seating seating = new Seating();
+
+    @Getter
+    @Setter
+    public static class Search {
+
+        // Upper bound of keyword hits handed back to the database as an id filter
+        private int maxHits = 10_000;
+        // BM25 term frequency saturation
+        private double k1 = 1.2;
+        // BM25 document length normalization
+        private double b = 0.75;
+    }
+
+    @Getter
+    @Setter
+    public static class Geo {
+
+        // Side of the in-memory grid cells, 0.1 degree is about 11 km of latitude
+        private double cellSizeDegrees = 0.1;
+        // Upper bound of nearby hits handed back to the database as an id filter
+        private int maxHits = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        // Number of cached search pages before the least used ones are evicted
+        private long maxEntries = 1_000;
+        // Hard limit on the age of a cached page
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+        // Age after which a cached page is still served once while it is reloaded in the background
+        private Duration refreshAfterWrite = Duration.ofSeconds(30);
+        // Threads reloading the pages past the refresh delay
+        private int refreshThreads = 2;
+        // Date criteria are rounded down to this step so that "now" based listings share their entries
+        private Duration timeGranularity = Duration.ofMinutes(1);
+        // Number of events whose on-sale ticket types are cached
+        private long onSaleMaxEntries = 10_000;
+        // Hard limit on the age of the on-sale ticket types of an event, for writes made through other instances
+        private Duration onSaleMaxAge = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Availability {
+
+        // Pause between two passes repairing the tickets_remaining / sold_out counters that drifted
+        private Duration reconciliationDelay = Duration.ofMinutes(15);
+    }
+
+    @Getter
+    @Setter
+    public static class Stats {
+
+        // When the running sales totals are checked against the ticket types and repaired, nightly by default
+        private String reconciliationCron = "0 30 3 * * *";
+    }
+
+    @Getter
+    @Setter
+    public static class Suggest {
+
+        // Upper bound of the suggestions returned for one prefix
+        private int maxResults = 20;
+        // Days an upcoming event is moved forward for each e-fold of tickets sold
+        private double popularityBoostDays = 7;
+        // Pause between two passes dropping the suggestions of events that are over
+        private Duration pruneInterval = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Reservation {
+
+        // Independent counters each ticket type stock is split into, so concurrent buyers rarely compete for one
+        private int stripes = 8;
+        // Age after which a stock is reloaded from the database, catching up with sales made by other instances
+        private Duration stockTtl = Duration.ofMinutes(1);
+        // Whether concurrent general admission holds of a ticket type are written together, in one update per batch
+        private boolean coalesce = true;
+        // Time the first hold of a batch waits for others to join it
+        private Duration coalesceWindow = Duration.ofMillis(2);
+        // Holds after which a batch is written without waiting for the end of its window
+        private int coalesceMaxBatch = 64;
+        // Threads writing batches, batches of one ticket type serialize on its row anyway
+        private int coalesceThreads = 4;
+    }
+
+    @Getter
+    @Setter
+    public static class Holds {
+
+        // Time a buyer has to pay before the held tickets go back on sale
+        private Duration duration = Duration.ofMinutes(10);
+        // Resolution of the expiry wheel, holds expire at most one tick late
+        private Duration tick = Duration.ofSeconds(1);
+        // Slots of the expiry wheel, holds further away than a full turn wait in their slot for the next turns
+        private int wheelSize = 1_024;
+        // Expired holds released in one transaction
+        private int releaseBatchSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class WaitingRoom {
+
+        // Buyers let through per second by the events that do not set their own rate
+        private int admissionRate = 50;
+        // Age after which a queue token, admitted or not, has to be exchanged for a new one
+        private Duration tokenTtl = Duration.ofHours(2);
+        // Key signing the queue tokens, generated at startup when blank: set it for instances to accept each other's tokens
+        private String secret;
+        // Pause between two reloads of the waiting room settings saved through other instances
+        private Duration refreshInterval = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Waitlist {
+
+        // Time a waitlisted buyer has to confirm the tickets held for them before they go to the next one
+        private Duration claimDuration = Duration.ofMinutes(30);
+        // Pause between two allocations of the tickets freed up to the waitlists
+        private Duration allocationInterval = Duration.ofSeconds(1);
+        // Waitlisted buyers served in one transaction
+        private int allocationBatchSize = 100;
+        // Pause between two writes of the waitlist changes to the database, lost if the instance crashes
+        private Duration flushInterval = Duration.ofSeconds(1);
+        // Waitlist changes written in one transaction
+        private int flushBatchSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Seating {
+
+        // Most seats a buyer can hold at once, also bounded by the purchase limit of the ticket type
+        private int maxSeatsPerHold = 20;
+        // Pause between two writes of the sold seats to the database, read back from the holds after a crash
+        private Duration flushInterval = Duration.ofSeconds(1);
+        // Sections whose sold seats are written in one transaction
+        private int flushBatchSize = 100;
+    }
+}
@@ -0,0 +1,44 @@
+package com.lagab.eventz.app.domain.event.dto;
+
+import org.springframework.data.domain.Sort;
+
+import com.lagab.eventz.app.domain.event.pagination.EventCursor;
+import com.lagab.eventz.app.domain.event.pagination.EventSortField;
+
+public record EventCursorRequest(
+        EventCursor cursor,
+        EventSortField sortField,
+        Sort.Direction direction,
+        int size
+) {
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    public EventCursorRequest {
+        // A cursor keeps the ordering of the scroll it was issued for
+        if (cursor != null) {
+            sortField = cursor.sortField();
+            direction = cursor.direction();
+        }
+        if (sortField == null) {
+            sortField = EventSortField.START_DATE;
+        }
+        if (direction == null) {
+            direction = Sort.Direction.ASC;
+        }
+        size = size <= 0 ? DEFAULT_SIZE : Math.min(size, MAX_SIZE);
+    }
+
+    public static EventCursorRequest of(String cursor, String sort, Sort.Direction direction, Integer size) {
+        return new EventCursorRequest(
+                cursor != null && !cursor.isBlank() ? EventCursor.decode(cursor) : null,
+                sort != null && !sort.isBlank() ? EventSortField.fromProperty(sort) : null,
+                direction,
+                size != null ? size : DEFAULT_SIZE
+        );
+    }
+
+    public Sort sort() {
+        return Sort.by(direction, sortField.getProperty(), "id");
+    }
+}
@@ -23,4 +23,22 @@ public record EventSearchDTO(
     public EventSearchDTO() {
         this(null, null, null, null, null, null, null, null, null, null, null, null);
     }
+
+    public boolean hasKeyword() {
+        return keyword != null && !keyword.trim().isEmpty();
+    }
+
+    public boolean hasLocation() {
+        return latitude != null && longitude != null && radius != null;
+    }
+
+    public EventSearchDTO withoutLocation() {
+        return new EventSearchDTO(keyword, type, status, city, startDate, endDate, isFree,
+                null, null, null, organizerId, organizationId);
+    }
+
+    public EventSearchDTO withoutKeyword() {
+        return new EventSearchDTO(null, type, status, city, startDate, endDate, isFree,
+                latitude, longitude, radius, organizerId, organizationId);
+    }
 }
@@ -0,0 +1,15 @@
+package com.lagab.eventz.app.domain.event.dto;
+
+public record EventSuggestionDTO(
+        Type type,
+        String text,
+        // Set for EVENT suggestions only
+        Long eventId,
+        // Set for ORGANIZATION suggestions only
+        String organizationId
+) {
+
+    public enum Type {
+        EVENT, ORGANIZATION, CITY
+    }
+}
@@ -0,0 +1,22 @@
+package com.lagab.eventz.app.domain.event.dto.queue;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Place of a buyer in the waiting room of an event")
+public record QueueStatusDTO(
+        @Schema(description = "Signed queue token to send in the X-Queue-Token header, null when the event has no waiting room")
+        String token,
+
+        @Schema(description = "Place in the queue, 1 for the first buyer who joined", example = "1520")
+        long position,
+
+        @Schema(description = "Buyers still to be admitted before this one", example = "320")
+        long ahead,
+
+        @Schema(description = "Whether the buyer can call the reservation endpoints")
+        boolean admitted,
+
+        @Schema(description = "Estimated seconds before admission at the current rate", example = "7")
+        long estimatedWaitSeconds
+) {
+}
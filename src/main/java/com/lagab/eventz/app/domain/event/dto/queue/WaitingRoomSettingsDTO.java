@@ -0,0 +1,14 @@
+package com.lagab.eventz.app.domain.event.dto.queue;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record WaitingRoomSettingsDTO(
+        @NotNull(message = "Enabled is required")
+        Boolean enabled,
+
+        // Buyers admitted per second, null for the default rate
+        @Min(value = 1, message = "Admission rate must be at least 1")
+        Integer admissionRate
+) {
+}
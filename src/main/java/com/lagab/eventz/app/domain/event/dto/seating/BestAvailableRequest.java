@@ -0,0 +1,24 @@
+package com.lagab.eventz.app.domain.event.dto.seating;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record BestAvailableRequest(
+        @NotNull(message = "Ticket type is required")
+        Long ticketTypeId,
+
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        Integer quantity,
+
+        // Preferred zone, looked at first: a section of the ticket type, and a row and seat of it, 1-based.
+        // Defaults to the first section, front row center
+        Long sectionId,
+
+        @Min(value = 1, message = "Row must be at least 1")
+        Integer row,
+
+        @Min(value = 1, message = "Number must be at least 1")
+        Integer number
+) {
+}
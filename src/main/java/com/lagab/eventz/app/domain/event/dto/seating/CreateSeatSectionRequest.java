@@ -0,0 +1,28 @@
+package com.lagab.eventz.app.domain.event.dto.seating;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+public record CreateSeatSectionRequest(
+        @NotBlank(message = "Name is required")
+        @Size(max = 100, message = "Name cannot exceed 100 characters")
+        String name,
+
+        // Ticket type of the event the seats of the section are sold with
+        @NotNull(message = "Ticket type is required")
+        Long ticketTypeId,
+
+        @Schema(description = "Layout drawn one line per row from the stage: o for a seat, . for an aisle or no seat",
+                example = "[\"..oooo..\", \"oooooooo\"]")
+        @NotEmpty(message = "Rows are required")
+        @Size(max = 1000, message = "A section cannot have more than 1000 rows")
+        List<@NotNull @Size(min = 1, max = 1000, message = "A row must have between 1 and 1000 places")
+        @Pattern(regexp = "[o.]+", message = "Rows can only contain o for a seat and . for no seat") String> rows
+) {
+}
@@ -0,0 +1,19 @@
+package com.lagab.eventz.app.domain.event.dto.seating;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Seat of a section")
+public record SeatDTO(
+        @Schema(description = "Row, 1 for the row closest to the stage", example = "3")
+        @NotNull(message = "Row is required")
+        @Min(value = 1, message = "Row must be at least 1")
+        Integer row,
+
+        @Schema(description = "Seat number in the row, 1 for the leftmost place", example = "12")
+        @NotNull(message = "Number is required")
+        @Min(value = 1, message = "Number must be at least 1")
+        Integer number
+) {
+}
@@ -0,0 +1,16 @@
+package com.lagab.eventz.app.domain.event.dto.seating;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record SeatHoldDTO(
+        // Confirmed or released like any ticket hold
+        String id,
+        Long ticketTypeId,
+        Long sectionId,
+        String sectionName,
+        List<SeatDTO> seats,
+        // The seats go back on sale unless the hold is confirmed by then
+        LocalDateTime expiresAt
+) {
+}
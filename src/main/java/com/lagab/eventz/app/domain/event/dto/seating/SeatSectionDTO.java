@@ -0,0 +1,20 @@
+package com.lagab.eventz.app.domain.event.dto.seating;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Seated section of an event and the state of its seats")
+public record SeatSectionDTO(
+        Long id,
+        Long ticketTypeId,
+        String name,
+        int rowCount,
+        int rowWidth,
+        int seatsAvailable,
+
+        @Schema(description = "One line per row from the stage: o for an available seat, x for a seat sold or held, . for no seat",
+                example = "[\"..oooo..\", \"oooxxooo\"]")
+        List<String> rows
+) {
+}
@@ -0,0 +1,28 @@
+package com.lagab.eventz.app.domain.event.dto.ticket;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Capacity shared by several ticket types of an event, and its usage")
+public record CapacityPoolDTO(
+        @Schema(description = "Unique identifier of the pool", example = "12")
+        Long id,
+
+        @Schema(description = "Event-level pool this group pool also draws from", example = "11")
+        Long parentId,
+
+        @Schema(description = "Name of the pool", example = "Venue")
+        String name,
+
+        @Schema(description = "Tickets the ticket types of the pool can sell together", example = "500")
+        Integer capacity,
+
+        @Schema(description = "Tickets sold across the pool", example = "320")
+        Integer quantitySold,
+
+        @Schema(description = "Tickets on hold across the pool", example = "12")
+        Integer quantityHeld,
+
+        @Schema(description = "Tickets the pool still allows to sell", example = "168")
+        Integer quantityRemaining
+) {
+}
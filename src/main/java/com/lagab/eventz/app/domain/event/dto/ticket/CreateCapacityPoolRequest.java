@@ -0,0 +1,20 @@
+package com.lagab.eventz.app.domain.event.dto.ticket;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record CreateCapacityPoolRequest(
+        @NotBlank(message = "Name is required")
+        @Size(max = 100, message = "Name cannot exceed 100 characters")
+        String name,
+
+        @NotNull(message = "Capacity is required")
+        @Min(value = 0, message = "Capacity must be positive or zero")
+        Integer capacity,
+
+        // Event-level pool of the same event this group pool draws from
+        Long parentId
+) {
+}
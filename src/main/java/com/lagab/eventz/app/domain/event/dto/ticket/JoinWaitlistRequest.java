@@ -0,0 +1,14 @@
+package com.lagab.eventz.app.domain.event.dto.ticket;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record JoinWaitlistRequest(
+        @NotNull(message = "Ticket type is required")
+        Long ticketTypeId,
+
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        Integer quantity
+) {
+}
@@ -0,0 +1,25 @@
+package com.lagab.eventz.app.domain.event.dto.ticket;
+
+import java.math.BigDecimal;
+
+import com.lagab.eventz.app.domain.ticket.entity.SalesTotals;
+
+public record OrganizationSalesStatsDTO(
+        String organizationId,
+        Long totalTicketTypes,
+        Long activeTicketTypes,
+        Long soldOutTicketTypes,
+        Long totalCapacity,
+        Long totalSold,
+        Long totalRemaining,
+        BigDecimal totalRevenue,
+        Double sellThroughRate
+) {
+
+    public static OrganizationSalesStatsDTO of(String organizationId, SalesTotals totals) {
+        var sellThroughRate = totals.getCapacity() > 0 ? (double) totals.getSold() / totals.getCapacity() * 100 : 0.0;
+        return new OrganizationSalesStatsDTO(organizationId, totals.getTicketTypes(), totals.getActiveTicketTypes(),
+                totals.getSoldOutTicketTypes(), totals.getCapacity(), totals.getSold(), totals.getRemaining(),
+                SalesTotals.fromMinorUnits(totals.getRevenue()), sellThroughRate);
+    }
+}
@@ -0,0 +1,12 @@
+package com.lagab.eventz.app.domain.event.dto.ticket;
+
+import java.time.LocalDateTime;
+
+public record TicketHoldDTO(
+        String id,
+        Long ticketTypeId,
+        Integer quantity,
+        // The held tickets go back on sale unless the hold is confirmed by then
+        LocalDateTime expiresAt
+) {
+}
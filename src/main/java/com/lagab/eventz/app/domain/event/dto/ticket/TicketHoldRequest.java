@@ -0,0 +1,7 @@
+package com.lagab.eventz.app.domain.event.dto.ticket;
+
+/**
+ * Tickets to hold for a user, among several held together.
+ */
+public record TicketHoldRequest(Long userId, Integer quantity) {
+}
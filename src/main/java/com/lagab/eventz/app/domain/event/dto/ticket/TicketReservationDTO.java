@@ -0,0 +1,9 @@
+package com.lagab.eventz.app.domain.event.dto.ticket;
+
+public record TicketReservationDTO(
+        Long ticketTypeId,
+        Integer quantity,
+        // Tickets left as seen by this instance, null for unlimited ticket types
+        Integer remaining
+) {
+}
@@ -44,7 +44,7 @@ public record TicketTypeDTO(
         Integer remainingTickets,
 
         // Computed fields
-        @Schema(description = "Calculated number of tickets remaining (quantityAvailable - quantitySold)", example = "50")
+        @Schema(description = "Calculated number of tickets remaining (quantityAvailable - quantitySold - tickets on hold)", example = "50")
         Integer quantityRemaining,
 
         @Schema(description = "Calculated total price for the ticket type (price * quantitySold)", example = "9999.50")
@@ -1,6 +1,7 @@
 package com.lagab.eventz.app.domain.event.dto.ticket;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 public record TicketTypeStatsDTO(
         Long totalTicketTypes,
@@ -11,6 +12,13 @@ public record TicketTypeStatsDTO(
         Integer totalRemaining,
         BigDecimal totalRevenue,
         Double averagePrice,
-        Double sellThroughRate
+        Double sellThroughRate,
+        // Usage of the capacity pools the ticket types share
+        List<CapacityPoolDTO> capacityPools
 ) {
+
+    public TicketTypeStatsDTO withCapacityPools(List<CapacityPoolDTO> capacityPools) {
+        return new TicketTypeStatsDTO(totalTicketTypes, activeTicketTypes, soldOutTicketTypes, totalCapacity, totalSold,
+                totalRemaining, totalRevenue, averagePrice, sellThroughRate, capacityPools);
+    }
 }
@@ -0,0 +1,13 @@
+package com.lagab.eventz.app.domain.event.dto.ticket;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+
+public record UpdateCapacityPoolRequest(
+        @Size(max = 100, message = "Name cannot exceed 100 characters")
+        String name,
+
+        @Min(value = 0, message = "Capacity must be positive or zero")
+        Integer capacity
+) {
+}
@@ -0,0 +1,9 @@
+package com.lagab.eventz.app.domain.event.dto.ticket;
+
+public record WaitlistEntryDTO(
+        Long ticketTypeId,
+        Integer quantity,
+        // Buyers served before this one, plus one
+        long place
+) {
+}
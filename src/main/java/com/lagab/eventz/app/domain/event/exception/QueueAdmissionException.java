@@ -0,0 +1,13 @@
+package com.lagab.eventz.app.domain.event.exception;
+
+import com.lagab.eventz.app.common.exception.BusinessException;
+
+/**
+ * Thrown when a buyer calls the reservation endpoints of an event with a waiting room before being admitted.
+ */
+public class QueueAdmissionException extends BusinessException {
+    public QueueAdmissionException(String message) {
+        super(message);
+    }
+
+}
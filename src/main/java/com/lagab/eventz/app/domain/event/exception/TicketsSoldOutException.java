@@ -0,0 +1,10 @@
+package com.lagab.eventz.app.domain.event.exception;
+
+import com.lagab.eventz.app.common.exception.BusinessException;
+
+public class TicketsSoldOutException extends BusinessException {
+    public TicketsSoldOutException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.lagab.eventz.app.domain.event.geo;
+
+/**
+ * Smallest latitude/longitude rectangle containing a circle on the sphere. It is a cheap, indexable prefilter:
+ * points inside still need an exact distance check.
+ * <p>
+ * When the circle crosses the antimeridian {@code minLongitude > maxLongitude} and the box wraps around.
+ */
+public record BoundingBox(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+
+    public static BoundingBox around(double latitude, double longitude, double radiusKm) {
+        double angularRadius = radiusKm / GeoMath.EARTH_RADIUS_KM;
+        double deltaLatitude = Math.toDegrees(angularRadius);
+        double minLatitude = latitude - deltaLatitude;
+        double maxLatitude = latitude + deltaLatitude;
+
+        // A pole inside the circle: every longitude is reachable
+        if (minLatitude <= -90 || maxLatitude >= 90 || angularRadius >= Math.PI / 2) {
+            return new BoundingBox(Math.max(minLatitude, -90), Math.min(maxLatitude, 90), -180, 180);
+        }
+
+        double deltaLongitude = Math.toDegrees(Math.asin(Math.sin(angularRadius) / Math.cos(Math.toRadians(latitude))));
+        double minLongitude = longitude - deltaLongitude;
+        double maxLongitude = longitude + deltaLongitude;
+        if (minLongitude < -180) {
+            minLongitude += 360;
+        }
+        if (maxLongitude > 180) {
+            maxLongitude -= 360;
+        }
+        return new BoundingBox(minLatitude, maxLatitude, minLongitude, maxLongitude);
+    }
+
+    public boolean crossesAntimeridian() {
+        return minLongitude > maxLongitude;
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        if (latitude < minLatitude || latitude > maxLatitude) {
+            return false;
+        }
+        return crossesAntimeridian()
+                ? longitude >= minLongitude || longitude <= maxLongitude
+                : longitude >= minLongitude && longitude <= maxLongitude;
+    }
+}
@@ -0,0 +1,262 @@
+package com.lagab.eventz.app.domain.event.geo;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+
+import com.lagab.eventz.app.domain.event.change.EventIndex;
+import com.lagab.eventz.app.domain.event.change.EventSnapshot;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory uniform grid over event coordinates.
+ * <p>
+ * A radius query only visits the cells overlapping the bounding box of the circle, then refines the candidates
+ * with the exact haversine distance. Coordinates are stored in primitive arrays per cell to keep a million points
+ * cheap to scan and to hold.
+ */
+@Component
+@Slf4j
+public class EventGeoIndex implements EventIndex {
+
+    private final double cellSize;
+    private final int maxHits;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Grid grid = new Grid();
+    private volatile boolean ready;
+
+    public EventGeoIndex(EventProperties eventProperties) {
+        this.cellSize = eventProperties.getGeo().getCellSizeDegrees();
+        this.maxHits = eventProperties.getGeo().getMaxHits();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getMaxHits() {
+        return maxHits;
+    }
+
+    /**
+     * @return ids of the events within the radius mapped to their distance in kilometers, nearest first, capped at
+     * the configured maximum hits
+     */
+    public Map<Long, Double> search(double latitude, double longitude, double radiusKm) {
+        BoundingBox box = BoundingBox.around(latitude, longitude, radiusKm);
+        Matches matches = new Matches();
+
+        lock.readLock().lock();
+        try {
+            int minRow = row(box.minLatitude());
+            int maxRow = row(box.maxLatitude());
+            int minColumn = column(box.minLongitude());
+            int maxColumn = column(box.maxLongitude());
+            int columns = box.crossesAntimeridian()
+                    ? (column(180) - minColumn + 1) + (maxColumn - column(-180) + 1)
+                    : maxColumn - minColumn + 1;
+
+            if ((long) (maxRow - minRow + 1) * columns > grid.cells.size()) {
+                // Sparse grid or huge radius: visiting the occupied cells is cheaper than enumerating the box
+                grid.cells.values().forEach(cell -> cell.collect(box, latitude, longitude, radiusKm, matches));
+            } else {
+                for (int row = minRow; row <= maxRow; row++) {
+                    if (box.crossesAntimeridian()) {
+                        collectRow(row, minColumn, column(180), box, latitude, longitude, radiusKm, matches);
+                        collectRow(row, column(-180), maxColumn, box, latitude, longitude, radiusKm, matches);
+                    } else {
+                        collectRow(row, minColumn, maxColumn, box, latitude, longitude, radiusKm, matches);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches.nearest(maxHits);
+    }
+
+    @Override
+    public void rebuild(Stream<EventSnapshot> snapshots) {
+        Grid rebuilt = new Grid();
+        snapshots.forEach(snapshot -> add(rebuilt, snapshot));
+
+        lock.writeLock().lock();
+        try {
+            grid = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Event geo index rebuilt with {} located events in {} cells", rebuilt.cellOf.size(), rebuilt.cells.size());
+    }
+
+    @Override
+    public void index(EventSnapshot snapshot) {
+        lock.writeLock().lock();
+        try {
+            grid.remove(snapshot.id());
+            add(grid, snapshot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            grid.remove(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return grid.cellOf.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Grid target, EventSnapshot snapshot) {
+        if (snapshot.latitude() == null || snapshot.longitude() == null) {
+            return;
+        }
+        add(target, snapshot.id(), snapshot.latitude().doubleValue(), snapshot.longitude().doubleValue());
+    }
+
+    private void add(Grid target, long eventId, double latitude, double longitude) {
+        long key = key(row(latitude), column(longitude));
+        target.cells.computeIfAbsent(key, k -> new Cell()).add(eventId, latitude, longitude);
+        target.cellOf.put(eventId, key);
+    }
+
+    private void collectRow(int row, int fromColumn, int toColumn, BoundingBox box,
+            double latitude, double longitude, double radiusKm, Matches matches) {
+        for (int column = fromColumn; column <= toColumn; column++) {
+            Cell cell = grid.cells.get(key(row, column));
+            if (cell != null) {
+                cell.collect(box, latitude, longitude, radiusKm, matches);
+            }
+        }
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor((latitude + 90) / cellSize);
+    }
+
+    private int column(double longitude) {
+        return (int) Math.floor((longitude + 180) / cellSize);
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    private static final class Grid {
+
+        private final Map<Long, Cell> cells = new HashMap<>();
+        private final Map<Long, Long> cellOf = new HashMap<>();
+
+        private void remove(Long eventId) {
+            Long key = cellOf.remove(eventId);
+            if (key == null) {
+                return;
+            }
+            Cell cell = cells.get(key);
+            cell.remove(eventId);
+            if (cell.size == 0) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private static final class Cell {
+
+        private long[] ids = new long[4];
+        private double[] latitudes = new double[4];
+        private double[] longitudes = new double[4];
+        private int size;
+
+        private void add(long eventId, double latitude, double longitude) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                latitudes = Arrays.copyOf(latitudes, size * 2);
+                longitudes = Arrays.copyOf(longitudes, size * 2);
+            }
+            ids[size] = eventId;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            size++;
+        }
+
+        private void remove(long eventId) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == eventId) {
+                    // Swap with the last point, order inside a cell does not matter
+                    size--;
+                    ids[i] = ids[size];
+                    latitudes[i] = latitudes[size];
+                    longitudes[i] = longitudes[size];
+                    return;
+                }
+            }
+        }
+
+        private void collect(BoundingBox box, double latitude, double longitude, double radiusKm, Matches matches) {
+            for (int i = 0; i < size; i++) {
+                if (box.contains(latitudes[i], longitudes[i])) {
+                    double distance = GeoMath.haversineKm(latitude, longitude, latitudes[i], longitudes[i]);
+                    if (distance <= radiusKm) {
+                        matches.add(ids[i], distance);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Matches {
+
+        private long[] ids = new long[16];
+        private double[] distances = new double[16];
+        private int size;
+
+        private void add(long eventId, double distance) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+            }
+            ids[size] = eventId;
+            distances[size] = distance;
+            size++;
+        }
+
+        private Map<Long, Double> nearest(int limit) {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> {
+                int byDistance = Double.compare(distances[a], distances[b]);
+                return byDistance != 0 ? byDistance : Long.compare(ids[a], ids[b]);
+            });
+
+            Map<Long, Double> nearest = new LinkedHashMap<>();
+            for (int i = 0; i < Math.min(limit, size); i++) {
+                nearest.put(ids[order[i]], distances[order[i]]);
+            }
+            return nearest;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.lagab.eventz.app.domain.event.geo;
+
+/**
+ * Great-circle helpers on a spherical earth, distances are in kilometers and angles in degrees.
+ */
+public final class GeoMath {
+
+    // Mean earth radius (IUGG)
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private GeoMath() {
+    }
+
+    public static double haversineKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double deltaLatitude = Math.toRadians(latitude2 - latitude1);
+        double deltaLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(deltaLatitude / 2) * Math.sin(deltaLatitude / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(deltaLongitude / 2) * Math.sin(deltaLongitude / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,20 @@
+package com.lagab.eventz.app.domain.event.mapper;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import com.lagab.eventz.app.domain.event.dto.ticket.CapacityPoolDTO;
+import com.lagab.eventz.app.domain.ticket.entity.CapacityPool;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface CapacityPoolMapper {
+
+    @Mapping(target = "parentId", source = "parent.id")
+    @Mapping(target = "quantityRemaining", expression = "java(Math.max(0, pool.getCapacity() - pool.getQuantitySold() - pool.getQuantityHeld()))")
+    CapacityPoolDTO toDTO(CapacityPool pool);
+
+    List<CapacityPoolDTO> toDTOList(List<CapacityPool> pools);
+}
@@ -33,6 +33,12 @@ public interface EventMapper {
     @Mapping(target = "organizer", ignore = true)
     @Mapping(target = "organization", ignore = true)
     @Mapping(target = "ticketTypes", ignore = true)
+    // Availability counters are maintained by the sales, not by the organizer
+    @Mapping(target = "ticketsRemaining", ignore = true)
+    @Mapping(target = "soldOut", ignore = true)
+    // Waiting room settings have an endpoint of their own
+    @Mapping(target = "waitingRoomEnabled", ignore = true)
+    @Mapping(target = "waitingRoomRate", ignore = true)
         //@Mapping(target = "orders", ignore = true)
         //@Mapping(target = "reviews", ignore = true)
     Event toEntity(CreateEventDTO dto);
@@ -43,6 +49,12 @@ public interface EventMapper {
     @Mapping(target = "organizer", ignore = true)
     @Mapping(target = "organization", ignore = true)
     @Mapping(target = "ticketTypes", ignore = true)
+    // Availability counters are maintained by the sales, not by the organizer
+    @Mapping(target = "ticketsRemaining", ignore = true)
+    @Mapping(target = "soldOut", ignore = true)
+    // Waiting room settings have an endpoint of their own
+    @Mapping(target = "waitingRoomEnabled", ignore = true)
+    @Mapping(target = "waitingRoomRate", ignore = true)
     //@Mapping(target = "orders", ignore = true)
     //@Mapping(target = "reviews", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.mapstruct.BeanMapping;
+import org.mapstruct.Context;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -16,7 +17,7 @@ import com.lagab.eventz.app.domain.event.dto.ticket.CreateTicketTypeRequest;
 import com.lagab.eventz.app.domain.event.dto.ticket.TicketTypeDTO;
 import com.lagab.eventz.app.domain.event.dto.ticket.TicketTypeStatsDTO;
 import com.lagab.eventz.app.domain.event.dto.ticket.UpdateTicketTypeRequest;
-import com.lagab.eventz.app.domain.event.projection.TicketTypeStatsProjection;
+import com.lagab.eventz.app.domain.ticket.entity.SalesTotals;
 import com.lagab.eventz.app.domain.ticket.entity.TicketType;
 
 @Mapper(
@@ -30,20 +31,40 @@ public interface TicketTypeMapper {
     @Mapping(target = "totalPrice", source = ".", qualifiedByName = "calculateTotalPrice")
     @Mapping(target = "isOnSale", source = ".", qualifiedByName = "calculateIsOnSale")
     @Mapping(target = "isSoldOut", source = ".", qualifiedByName = "calculateIsSoldOut")
-    TicketTypeDTO toDTO(TicketType ticketType);
+    TicketTypeDTO toDTO(TicketType ticketType, @Context LocalDateTime now);
 
-    List<TicketTypeDTO> toDTOList(List<TicketType> ticketTypes);
+    default TicketTypeDTO toDTO(TicketType ticketType) {
+        return toDTO(ticketType, LocalDateTime.now());
+    }
+
+    /**
+     * @param now time the ticket types are on sale at, read once for the whole list
+     */
+    default List<TicketTypeDTO> toDTOList(List<TicketType> ticketTypes, LocalDateTime now) {
+        if (ticketTypes == null) {
+            return null;
+        }
+        return ticketTypes.stream().map(ticketType -> toDTO(ticketType, now)).toList();
+    }
+
+    default List<TicketTypeDTO> toDTOList(List<TicketType> ticketTypes) {
+        return toDTOList(ticketTypes, LocalDateTime.now());
+    }
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "quantitySold", constant = "0")
+    @Mapping(target = "quantityHeld", constant = "0")
     @Mapping(target = "event", ignore = true)
+    @Mapping(target = "capacityPool", ignore = true)
         //@Mapping(target = "orderItems", ignore = true)
     TicketType toEntity(CreateTicketTypeRequest request);
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "quantitySold", ignore = true)
+    @Mapping(target = "quantityHeld", ignore = true)
     @Mapping(target = "event", ignore = true)
+    @Mapping(target = "capacityPool", ignore = true)
         //@Mapping(target = "orderItems", ignore = true)
     void updateEntityFromDTO(UpdateTicketTypeRequest request, @MappingTarget TicketType ticketType);
 
@@ -55,7 +76,8 @@ public interface TicketTypeMapper {
             return null;
         }
         int sold = ticketType.getQuantitySold() != null ? ticketType.getQuantitySold() : 0;
-        return ticketType.getQuantityAvailable() - sold;
+        int held = ticketType.getQuantityHeld() != null ? ticketType.getQuantityHeld() : 0;
+        return ticketType.getQuantityAvailable() - sold - held;
     }
 
     @Named("calculateTotalPrice")
@@ -68,11 +90,10 @@ public interface TicketTypeMapper {
     }
 
     @Named("calculateIsOnSale")
-    default Boolean calculateIsOnSale(TicketType ticketType) {
+    default Boolean calculateIsOnSale(TicketType ticketType, @Context LocalDateTime now) {
         if (ticketType == null || !Boolean.TRUE.equals(ticketType.getIsActive())) {
             return false;
         }
-        LocalDateTime now = LocalDateTime.now();
         boolean afterStart = ticketType.getSaleStart() == null || !ticketType.getSaleStart().isAfter(now);
         boolean beforeEnd = ticketType.getSaleEnd() == null || !ticketType.getSaleEnd().isBefore(now);
         return afterStart && beforeEnd;
@@ -84,34 +105,16 @@ public interface TicketTypeMapper {
             return false;
         }
         int sold = ticketType.getQuantitySold() != null ? ticketType.getQuantitySold() : 0;
-        return ticketType.getQuantityAvailable() <= sold;
-    }
-
-    @Mapping(target = "sellThroughRate", source = ".", qualifiedByName = "calculateSellThroughRate")
-    @Mapping(target = "totalRevenue", source = ".", qualifiedByName = "safeTotalRevenue")
-    @Mapping(target = "averagePrice", source = ".", qualifiedByName = "safeAveragePrice")
-    TicketTypeStatsDTO toDTO(TicketTypeStatsProjection projection);
-
-    @Named("calculateSellThroughRate")
-    default Double calculateSellThroughRate(TicketTypeStatsProjection projection) {
-        if (projection == null || projection.getTotalCapacity() == null || projection.getTotalCapacity() == 0) {
-            return 0.0;
-        }
-        int totalSold = projection.getTotalSold() != null ? projection.getTotalSold() : 0;
-        return (double) totalSold / projection.getTotalCapacity() * 100;
-    }
-
-    @Named("safeTotalRevenue")
-    default BigDecimal safeTotalRevenue(TicketTypeStatsProjection projection) {
-        return projection != null && projection.getTotalRevenue() != null
-                ? projection.getTotalRevenue()
-                : BigDecimal.ZERO;
+        int held = ticketType.getQuantityHeld() != null ? ticketType.getQuantityHeld() : 0;
+        return ticketType.getQuantityAvailable() <= sold + held;
     }
 
-    @Named("safeAveragePrice")
-    default Double safeAveragePrice(TicketTypeStatsProjection projection) {
-        return projection != null && projection.getAveragePrice() != null
-                ? projection.getAveragePrice()
-                : 0.0;
+    // Totals fit in an int for one event, amounts come in minor units
+    default TicketTypeStatsDTO toDTO(SalesTotals totals) {
+        var averagePrice = totals.getTicketTypes() > 0 ? totals.getPriceTotal() / 100.0 / totals.getTicketTypes() : 0.0;
+        var sellThroughRate = totals.getCapacity() > 0 ? (double) totals.getSold() / totals.getCapacity() * 100 : 0.0;
+        return new TicketTypeStatsDTO(totals.getTicketTypes(), totals.getActiveTicketTypes(), totals.getSoldOutTicketTypes(),
+                Math.toIntExact(totals.getCapacity()), Math.toIntExact(totals.getSold()), Math.toIntExact(totals.getRemaining()),
+                SalesTotals.fromMinorUnits(totals.getRevenue()), averagePrice, sellThroughRate, List.of());
     }
 }
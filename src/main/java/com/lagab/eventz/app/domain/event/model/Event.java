@@ -19,6 +19,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -29,11 +31,21 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "events")
+@NamedEntityGraph(name = Event.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("organizer"),
+        @NamedAttributeNode("organization"),
+        @NamedAttributeNode("address"),
+        @NamedAttributeNode("ticketTypes")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Event {
+
+    // Everything EventMapper.toDto reads, fetched with the event in a single statement
+    public static final String DETAIL_GRAPH = "Event.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -95,6 +107,21 @@ public class Event {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
 
+    // Maintained in SQL from the ticket types, see EventRepository.refreshAvailability
+    @Column(name = "tickets_remaining", insertable = false, updatable = false)
+    private Integer ticketsRemaining = 0;
+
+    @Column(name = "sold_out", insertable = false, updatable = false)
+    private Boolean soldOut = false;
+
+    // Buyers queue for admission during on-sales, see WaitingRoom
+    @Column(name = "waiting_room_enabled", nullable = false)
+    private Boolean waitingRoomEnabled = false;
+
+    // Buyers admitted per second, null for the default rate
+    @Column(name = "waiting_room_rate")
+    private Integer waitingRoomRate;
+
     // Relations
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organizer_id", nullable = false)
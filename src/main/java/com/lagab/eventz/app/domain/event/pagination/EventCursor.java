@@ -0,0 +1,51 @@
+package com.lagab.eventz.app.domain.event.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.data.domain.Sort;
+
+import com.lagab.eventz.app.common.exception.ValidationException;
+import com.lagab.eventz.app.domain.event.model.Event;
+
+/**
+ * Position of the last row of a page in a keyset scroll: the sort key value and the id used as tie-breaker.
+ * <p>
+ * Clients only see the {@link #encode() encoded} form, which they pass back unchanged to fetch the next page.
+ */
+public record EventCursor(
+        EventSortField sortField,
+        Sort.Direction direction,
+        Long id,
+        Comparable<?> value
+) {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    public static EventCursor after(Event event, EventSortField sortField, Sort.Direction direction) {
+        return new EventCursor(sortField, direction, event.getId(), sortField.valueOf(event));
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, VERSION, sortField.name(), direction.name(), String.valueOf(id), String.valueOf(value));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EventCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // The value goes last as names may contain the separator
+            String[] parts = raw.split("\\" + SEPARATOR, 5);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new ValidationException("Invalid cursor");
+            }
+            EventSortField sortField = EventSortField.valueOf(parts[1]);
+            return new EventCursor(sortField, Sort.Direction.valueOf(parts[2]), Long.valueOf(parts[3]), sortField.parse(parts[4]));
+        } catch (ValidationException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.lagab.eventz.app.domain.event.pagination;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import com.lagab.eventz.app.common.exception.ValidationException;
+import com.lagab.eventz.app.domain.event.model.Event;
+
+/**
+ * Sort keys supported by cursor pagination. Each one is backed by a ({@code column}, {@code id}) index.
+ */
+public enum EventSortField {
+    START_DATE("startDate") {
+        @Override
+        public Comparable<?> valueOf(Event event) {
+            return event.getStartDate();
+        }
+
+        @Override
+        public Comparable<?> parse(String value) {
+            return LocalDateTime.parse(value);
+        }
+    },
+    CREATED_AT("createdAt") {
+        @Override
+        public Comparable<?> valueOf(Event event) {
+            return event.getCreatedAt();
+        }
+
+        @Override
+        public Comparable<?> parse(String value) {
+            return LocalDateTime.parse(value);
+        }
+    },
+    NAME("name") {
+        @Override
+        public Comparable<?> valueOf(Event event) {
+            return event.getName();
+        }
+
+        @Override
+        public Comparable<?> parse(String value) {
+            return value;
+        }
+    };
+
+    private final String property;
+
+    EventSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public abstract Comparable<?> valueOf(Event event);
+
+    public abstract Comparable<?> parse(String value);
+
+    public static EventSortField fromProperty(String property) {
+        return Arrays.stream(values())
+                     .filter(field -> field.property.equalsIgnoreCase(property) || field.name().equalsIgnoreCase(property))
+                     .findFirst()
+                     .orElseThrow(() -> new ValidationException("Unsupported sort for cursor pagination: " + property));
+    }
+}
@@ -0,0 +1,7 @@
+package com.lagab.eventz.app.domain.event.projection;
+
+public interface EventAvailabilityProjection {
+    Long getEventId();
+
+    Long getAvailableTickets();
+}
@@ -0,0 +1,32 @@
+package com.lagab.eventz.app.domain.event.projection;
+
+import com.lagab.eventz.app.domain.ticket.entity.SalesTotals;
+
+/**
+ * Sales totals of the events of an organization, summed from the stats of its events.
+ */
+public interface OrganizationSalesTotalsProjection {
+
+    String getOrganizationId();
+
+    long getTicketTypes();
+
+    long getActiveTicketTypes();
+
+    long getSoldOutTicketTypes();
+
+    long getCapacity();
+
+    long getSold();
+
+    long getRemaining();
+
+    long getRevenue();
+
+    long getPriceTotal();
+
+    default SalesTotals toTotals() {
+        return new SalesTotals(getTicketTypes(), getActiveTicketTypes(), getSoldOutTicketTypes(), getCapacity(),
+                getSold(), getRemaining(), getRevenue(), getPriceTotal());
+    }
+}
@@ -0,0 +1,41 @@
+package com.lagab.eventz.app.domain.event.projection;
+
+import java.math.BigDecimal;
+
+import com.lagab.eventz.app.domain.ticket.entity.SalesTotals;
+
+/**
+ * Sales totals of the ticket types of an event, aggregated from the ticket types themselves.
+ */
+public interface SalesTotalsProjection {
+
+    Long getEventId();
+
+    String getOrganizationId();
+
+    Long getTicketTypes();
+
+    Long getActiveTicketTypes();
+
+    Long getSoldOutTicketTypes();
+
+    Long getCapacity();
+
+    Long getSold();
+
+    Long getRemaining();
+
+    BigDecimal getRevenue();
+
+    BigDecimal getPriceTotal();
+
+    default SalesTotals toTotals() {
+        return new SalesTotals(value(getTicketTypes()), value(getActiveTicketTypes()), value(getSoldOutTicketTypes()),
+                value(getCapacity()), value(getSold()), value(getRemaining()), SalesTotals.toMinorUnits(getRevenue()),
+                SalesTotals.toMinorUnits(getPriceTotal()));
+    }
+
+    private static long value(Long value) {
+        return value != null ? value : 0;
+    }
+}
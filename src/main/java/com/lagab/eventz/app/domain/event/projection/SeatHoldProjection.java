@@ -0,0 +1,11 @@
+package com.lagab.eventz.app.domain.event.projection;
+
+import com.lagab.eventz.app.domain.ticket.entity.TicketHoldStatus;
+
+public interface SeatHoldProjection {
+    String getId();
+
+    String getSeats();
+
+    TicketHoldStatus getStatus();
+}
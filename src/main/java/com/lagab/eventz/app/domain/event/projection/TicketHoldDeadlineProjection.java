@@ -0,0 +1,9 @@
+package com.lagab.eventz.app.domain.event.projection;
+
+import java.time.LocalDateTime;
+
+public interface TicketHoldDeadlineProjection {
+    String getId();
+
+    LocalDateTime getExpiresAt();
+}
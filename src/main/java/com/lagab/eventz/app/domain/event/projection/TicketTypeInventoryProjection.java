@@ -0,0 +1,28 @@
+package com.lagab.eventz.app.domain.event.projection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Where the sales of a ticket type are counted besides the ticket type itself.
+ */
+public interface TicketTypeInventoryProjection {
+
+    Long getEventId();
+
+    Long getCapacityPoolId();
+
+    Long getParentCapacityPoolId();
+
+    // The pool first, then its parent, the order in which sales take from them
+    default List<Long> getCapacityPoolIds() {
+        List<Long> ids = new ArrayList<>(2);
+        if (getCapacityPoolId() != null) {
+            ids.add(getCapacityPoolId());
+        }
+        if (getParentCapacityPoolId() != null) {
+            ids.add(getParentCapacityPoolId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,7 @@
+package com.lagab.eventz.app.domain.event.projection;
+
+public interface TicketTypeNameProjection {
+    String getName();
+
+    String getEventName();
+}
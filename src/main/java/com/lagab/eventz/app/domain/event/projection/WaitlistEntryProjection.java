@@ -0,0 +1,17 @@
+package com.lagab.eventz.app.domain.event.projection;
+
+import java.time.LocalDateTime;
+
+public interface WaitlistEntryProjection {
+    String getId();
+
+    Long getTicketTypeId();
+
+    Long getUserId();
+
+    Integer getQuantity();
+
+    Long getPosition();
+
+    LocalDateTime getCreatedAt();
+}
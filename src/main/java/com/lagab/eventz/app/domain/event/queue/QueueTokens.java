@@ -0,0 +1,99 @@
+package com.lagab.eventz.app.domain.event.queue;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Issues and verifies queue tokens: the place of a buyer in the queue of an event, signed with HMAC-SHA256 so that
+ * buyers cannot move themselves forward or hand their place to another user, and checked without any storage.
+ */
+public final class QueueTokens {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    // Mac instances are not thread safe and costly to look up
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * @param secret signing key, a random one is generated when blank
+     */
+    public QueueTokens(String secret) {
+        byte[] bytes;
+        if (secret == null || secret.isBlank()) {
+            bytes = new byte[32];
+            new SecureRandom().nextBytes(bytes);
+        } else {
+            bytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(bytes, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String issue(QueueToken token) {
+        String payload = ENCODER.encodeToString((token.eventId() + ":" + token.userId() + ":" + token.epoch() + ":"
+                + token.position() + ":" + token.issuedAt()).getBytes(StandardCharsets.UTF_8));
+        return payload + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * @return the token, empty when it is malformed or was not signed with the key of this instance
+     */
+    public Optional<QueueToken> verify(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        int dot = value.indexOf('.');
+        if (dot <= 0) {
+            return Optional.empty();
+        }
+        String payload = value.substring(0, dot);
+        try {
+            if (!MessageDigest.isEqual(sign(payload), DECODER.decode(value.substring(dot + 1)))) {
+                return Optional.empty();
+            }
+            String[] fields = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split(":");
+            if (fields.length != 5) {
+                return Optional.empty();
+            }
+            return Optional.of(new QueueToken(Long.valueOf(fields[0]), Long.valueOf(fields[1]), Long.parseLong(fields[2]),
+                    Long.parseLong(fields[3]), Long.parseLong(fields[4])));
+        } catch (IllegalArgumentException e) {
+            // Not base64 or not numbers
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign queue tokens", e);
+        }
+    }
+
+    /**
+     * Place of a buyer in the queue of an event.
+     *
+     * @param userId   buyer who joined, the only one the place serves
+     * @param epoch    identifies the queue the place was taken in, places of a queue that was reset are void
+     * @param issuedAt epoch millis
+     */
+    public record QueueToken(Long eventId, Long userId, long epoch, long position, long issuedAt) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.lagab.eventz.app.domain.event.queue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * Lock-free token bucket refilled at a fixed rate, holding at most the tokens of one refill period.
+ * <p>
+ * The whole state is the time at which the bucket will next hold a token, in the spirit of the generic cell rate
+ * algorithm: tokens available are the time elapsed since then divided by the refill interval, and taking tokens moves
+ * that time forward with one compare-and-set. Nothing is stored per token and no thread refills the bucket.
+ */
+public final class TokenBucket {
+
+    private final Ticker ticker;
+    private final long interval;
+    private final long capacity;
+    // Time from which tokens accumulate, never further back than a full bucket
+    private final AtomicLong origin;
+
+    /**
+     * @param ratePerSecond tokens added per second, also the capacity of the bucket
+     */
+    public TokenBucket(int ratePerSecond, Ticker ticker) {
+        this(ratePerSecond, Duration.ofSeconds(1), ticker);
+    }
+
+    /**
+     * @param capacity tokens the bucket holds when full, all of them added back over the period
+     * @param period   time a bucket takes to refill from empty
+     */
+    public TokenBucket(long capacity, Duration period, Ticker ticker) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + capacity);
+        }
+        this.ticker = ticker;
+        this.interval = Math.max(1, period.toNanos() / capacity);
+        this.capacity = capacity;
+        this.origin = new AtomicLong(ticker.read() - capacity * interval);
+    }
+
+    /**
+     * Takes up to the given number of tokens.
+     *
+     * @return the tokens taken, from zero when the bucket is empty up to {@code permits}
+     */
+    public long tryAcquire(long permits) {
+        if (permits <= 0) {
+            return 0;
+        }
+        while (true) {
+            long now = ticker.read();
+            long current = origin.get();
+            long from = Math.max(current, now - capacity * interval);
+            long available = (now - from) / interval;
+            if (available <= 0) {
+                return 0;
+            }
+            long taken = Math.min(available, permits);
+            if (origin.compareAndSet(current, from + taken * interval)) {
+                return taken;
+            }
+        }
+    }
+
+    /**
+     * Takes tokens spent elsewhere, going into debt when there are not enough of them. The debt is paid back by the
+     * next refills, a full period at most.
+     */
+    public void charge(long permits) {
+        if (permits <= 0) {
+            return;
+        }
+        origin.updateAndGet(current -> {
+            long now = ticker.read();
+            long from = Math.max(current, now - capacity * interval);
+            return Math.min(from + permits * interval, now + capacity * interval);
+        });
+    }
+
+    /**
+     * @return the tokens that could be taken now
+     */
+    public long available() {
+        long now = ticker.read();
+        return Math.max(0, (now - Math.max(origin.get(), now - capacity * interval)) / interval);
+    }
+
+    /**
+     * @return the nanoseconds until the bucket holds the given number of tokens, zero when it already does
+     */
+    public long nanosUntilAvailable(long permits) {
+        long now = ticker.read();
+        long from = Math.max(origin.get(), now - capacity * interval);
+        return Math.max(0, from + Math.min(permits, capacity) * interval - now);
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+}
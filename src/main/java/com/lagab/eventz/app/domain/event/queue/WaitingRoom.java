@@ -0,0 +1,359 @@
+package com.lagab.eventz.app.domain.event.queue;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.lagab.eventz.app.domain.event.change.WaitingRoomSettingsChange;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.queue.QueueStatusDTO;
+import com.lagab.eventz.app.domain.event.exception.QueueAdmissionException;
+import com.lagab.eventz.app.domain.event.queue.QueueTokens.QueueToken;
+import com.lagab.eventz.app.domain.event.repository.EventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Admission queues in front of the reservation endpoints of the events that enable their waiting room.
+ * <p>
+ * Buyers join the queue of an event and get a signed {@link QueueToken} holding their position. The queue admits
+ * buyers in order, as many per second as the {@link TokenBucket} of the event lets through, and the reservation
+ * endpoints only serve admitted tokens. Joining and polling only read and update counters in memory, so the crowd
+ * waiting for an on-sale does not take database connections.
+ * <p>
+ * A place belongs to the user who joined: joining again gives back the same place, tokens only serve that user, and
+ * a place serves a single reservation, claimed when the reservation starts and given back if it fails. Places are
+ * forgotten once their tokens expire.
+ * <p>
+ * Queues live in the memory of each instance, which admits at the configured rate on its own: on-sale traffic of an
+ * event is expected to be routed to one instance, or the rate to be divided by the number of instances. Settings
+ * saved through another instance are picked up on the next refresh. A queue restarted with the instance, or turned
+ * off and on, voids the tokens it issued.
+ */
+@Component
+@Slf4j
+public class WaitingRoom {
+
+    private static final String NOT_ADMITTED = "not_admitted";
+    private static final String INVALID = "invalid";
+    private static final String EXPIRED = "expired";
+    private static final String USED = "used";
+
+    private final EventRepository eventRepository;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Ticker ticker;
+    private final QueueTokens queueTokens;
+    private final int defaultAdmissionRate;
+    private final long tokenTtlMillis;
+    private final AtomicLong epochs;
+    private final Map<Long, EventQueue> queues = new ConcurrentHashMap<>();
+
+    @Autowired
+    public WaitingRoom(EventRepository eventRepository, EventProperties eventProperties, MeterRegistry meterRegistry) {
+        this(eventRepository, eventProperties, meterRegistry, Clock.systemDefaultZone(), Ticker.systemTicker());
+    }
+
+    public WaitingRoom(EventRepository eventRepository, EventProperties eventProperties, MeterRegistry meterRegistry,
+            Clock clock, Ticker ticker) {
+        EventProperties.WaitingRoom config = eventProperties.getWaitingRoom();
+        this.eventRepository = eventRepository;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.ticker = ticker;
+        this.queueTokens = new QueueTokens(config.getSecret());
+        this.defaultAdmissionRate = config.getAdmissionRate();
+        this.tokenTtlMillis = config.getTokenTtl().toMillis();
+        this.epochs = new AtomicLong(clock.millis());
+    }
+
+    /**
+     * Catches up with the settings saved through other instances: opens and adjusts the queues of the events with a
+     * waiting room, closes the others.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.events.waiting-room.refresh-interval:PT30S}",
+            initialDelayString = "${app.events.waiting-room.refresh-interval:PT30S}")
+    public void refresh() {
+        long expiredBefore = clock.millis() - tokenTtlMillis;
+        queues.values().forEach(queue -> queue.forgetJoinedBefore(expiredBefore));
+        var settings = eventRepository.findWaitingRoomSettings();
+        Set<Long> enabled = new HashSet<>();
+        settings.forEach(change -> {
+            enabled.add(change.eventId());
+            configure(change);
+        });
+        queues.keySet().stream()
+              .filter(eventId -> !enabled.contains(eventId))
+              .toList()
+              .forEach(eventId -> configure(new WaitingRoomSettingsChange(eventId, false, null)));
+        log.debug("Waiting rooms open for {} events", settings.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWaitingRoomSettingsChange(WaitingRoomSettingsChange change) {
+        configure(change);
+    }
+
+    /**
+     * Opens, adjusts or closes the queue of an event. Changing the rate keeps the buyers in place.
+     */
+    public void configure(WaitingRoomSettingsChange settings) {
+        if (!settings.enabled()) {
+            EventQueue closed = queues.remove(settings.eventId());
+            if (closed != null) {
+                closed.meters.forEach(meterRegistry::remove);
+                log.info("Waiting room of event {} closed", settings.eventId());
+            }
+            return;
+        }
+        int rate = settings.admissionRate() != null ? settings.admissionRate() : defaultAdmissionRate;
+        queues.compute(settings.eventId(), (eventId, queue) -> {
+            if (queue == null) {
+                log.info("Waiting room of event {} opened, admitting {} buyers per second", eventId, rate);
+                return new EventQueue(eventId, epochs.incrementAndGet(), rate);
+            }
+            // Refreshes resend unchanged settings, which must not hand out another burst
+            if (queue.rate != rate) {
+                log.info("Waiting room of event {} now admitting {} buyers per second", eventId, rate);
+                queue.changeRate(rate);
+            }
+            return queue;
+        });
+    }
+
+    public boolean isEnabled(Long eventId) {
+        return queues.containsKey(eventId);
+    }
+
+    /**
+     * Gives the user the next place in the queue of the event, admitted right away when the queue is empty and the
+     * rate allows it, or the place the user already holds. Events without a waiting room admit everyone, without a
+     * token.
+     */
+    public QueueStatusDTO join(Long eventId, Long userId) {
+        EventQueue queue = queues.get(eventId);
+        if (queue == null) {
+            return new QueueStatusDTO(null, 0, 0, true, 0);
+        }
+        long now = clock.millis();
+        Place place = queue.places.compute(userId, (id, current) -> {
+            if (current != null && !current.used && now - current.joinedAt <= tokenTtlMillis) {
+                return current;
+            }
+            queue.joins.increment();
+            return new Place(queue.joined.incrementAndGet(), now);
+        });
+        String token = queueTokens.issue(new QueueToken(eventId, userId, queue.epoch, place.position, place.joinedAt));
+        return queue.status(token, place.position);
+    }
+
+    /**
+     * @throws QueueAdmissionException when the token is not a valid token of the user in the current queue of the event
+     */
+    public QueueStatusDTO status(Long eventId, String token, Long userId) {
+        EventQueue queue = queues.get(eventId);
+        if (queue == null) {
+            return new QueueStatusDTO(token, 0, 0, true, 0);
+        }
+        return queue.status(token, verify(queue, token, userId).position());
+    }
+
+    /**
+     * Lets an admitted user through for one reservation, and everyone for events without a waiting room. The place is
+     * used from then on, unless given back through {@link #release(QueueToken)} when the reservation fails.
+     *
+     * @return the place claimed, {@code null} when the event has no waiting room
+     * @throws QueueAdmissionException when the user was not admitted yet, already reserved with the place, or the token
+     *                                 is not a valid token of the user
+     */
+    public QueueToken claim(Long eventId, String token, Long userId) {
+        EventQueue queue = eventId != null ? queues.get(eventId) : null;
+        if (queue == null) {
+            return null;
+        }
+        QueueToken queueToken = verify(queue, token, userId);
+        if (queueToken.position() > queue.admit()) {
+            queue.rejected(NOT_ADMITTED);
+            throw new QueueAdmissionException("Not admitted yet, keep polling the waiting room of event: " + eventId);
+        }
+        Place place = queue.places.get(userId);
+        if (place == null || place.position != queueToken.position() || !place.claim()) {
+            queue.rejected(USED);
+            throw new QueueAdmissionException("Queue token already used, join the waiting room of event " + eventId + " again");
+        }
+        return queueToken;
+    }
+
+    /**
+     * Gives back a place claimed for a reservation that failed.
+     */
+    public void release(QueueToken claimed) {
+        EventQueue queue = claimed != null ? queues.get(claimed.eventId()) : null;
+        if (queue == null || queue.epoch != claimed.epoch()) {
+            return;
+        }
+        Place place = queue.places.get(claimed.userId());
+        if (place != null && place.position == claimed.position()) {
+            place.used = false;
+        }
+    }
+
+    private QueueToken verify(EventQueue queue, String token, Long userId) {
+        QueueToken queueToken = queueTokens.verify(token)
+                                           .filter(found -> found.eventId().equals(queue.eventId) && found.epoch() == queue.epoch
+                                                   && found.userId().equals(userId))
+                                           .orElse(null);
+        if (queueToken == null) {
+            queue.rejected(INVALID);
+            throw new QueueAdmissionException("Join the waiting room of event " + queue.eventId + " to get a valid queue token");
+        }
+        if (clock.millis() - queueToken.issuedAt() > tokenTtlMillis) {
+            queue.rejected(EXPIRED);
+            throw new QueueAdmissionException("Queue token has expired, join the waiting room of event " + queue.eventId + " again");
+        }
+        return queueToken;
+    }
+
+    private final class EventQueue {
+
+        private final Long eventId;
+        private final long epoch;
+        // Buyers who joined, the last one holds this position
+        private final AtomicLong joined = new AtomicLong();
+        // Buyers admitted, positions up to this one can reserve
+        private final AtomicLong admitted = new AtomicLong();
+        // Place of each user who joined, until their token expires
+        private final Map<Long, Place> places = new ConcurrentHashMap<>();
+        private final Counter joins;
+        private final Counter admissions;
+        private final Map<String, Counter> rejections = new HashMap<>();
+        private final List<Meter> meters = new ArrayList<>();
+        private volatile int rate;
+        private volatile TokenBucket bucket;
+
+        private EventQueue(Long eventId, long epoch, int rate) {
+            this.eventId = eventId;
+            this.epoch = epoch;
+            this.rate = rate;
+            this.bucket = new TokenBucket(rate, ticker);
+            String tag = eventId.toString();
+            this.joins = register(Counter.builder("waiting.room.joins")
+                                         .tag("event", tag)
+                                         .description("Buyers who joined the waiting room")
+                                         .register(meterRegistry));
+            this.admissions = register(Counter.builder("waiting.room.admissions")
+                                              .tag("event", tag)
+                                              .description("Buyers let through to the reservation endpoints")
+                                              .register(meterRegistry));
+            register(Gauge.builder("waiting.room.waiting", this, EventQueue::waiting)
+                          .tag("event", tag)
+                          .description("Buyers in the waiting room not admitted yet")
+                          .register(meterRegistry));
+            for (String reason : List.of(NOT_ADMITTED, INVALID, EXPIRED, USED)) {
+                rejections.put(reason, register(Counter.builder("waiting.room.rejections")
+                                                       .tag("event", tag)
+                                                       .tag("reason", reason)
+                                                       .description("Requests turned away by the waiting room")
+                                                       .register(meterRegistry)));
+            }
+        }
+
+        // The new bucket starts empty, buyers are admitted at the new rate from now on
+        private void changeRate(int rate) {
+            TokenBucket changed = new TokenBucket(rate, ticker);
+            changed.charge(rate);
+            this.rate = rate;
+            this.bucket = changed;
+        }
+
+        /**
+         * Lets through the buyers the bucket has tokens for.
+         *
+         * @return the last position admitted
+         */
+        private long admit() {
+            long current = admitted.get();
+            long waiting = joined.get() - current;
+            if (waiting <= 0) {
+                return current;
+            }
+            long granted = bucket.tryAcquire(waiting);
+            while (granted > 0) {
+                // Concurrent pollers may have admitted the same buyers in the meantime, never admit past the queue
+                long next = Math.min(current + granted, joined.get());
+                if (next <= current) {
+                    break;
+                }
+                if (admitted.compareAndSet(current, next)) {
+                    admissions.increment(next - current);
+                    return next;
+                }
+                current = admitted.get();
+            }
+            return admitted.get();
+        }
+
+        private QueueStatusDTO status(String token, long position) {
+            long ahead = Math.max(0, position - admit());
+            return new QueueStatusDTO(token, position, ahead, ahead == 0, (ahead + rate - 1) / rate);
+        }
+
+        private void forgetJoinedBefore(long millis) {
+            places.values().removeIf(place -> place.joinedAt < millis);
+        }
+
+        private double waiting() {
+            return joined.get() - admitted.get();
+        }
+
+        private void rejected(String reason) {
+            rejections.get(reason).increment();
+        }
+
+        private <M extends Meter> M register(M meter) {
+            meters.add(meter);
+            return meter;
+        }
+    }
+
+    private static final class Place {
+
+        private final long position;
+        private final long joinedAt;
+        // Set once a reservation was made with the place
+        private volatile boolean used;
+
+        private Place(long position, long joinedAt) {
+            this.position = position;
+            this.joinedAt = joinedAt;
+        }
+
+        private synchronized boolean claim() {
+            if (used) {
+                return false;
+            }
+            used = true;
+            return true;
+        }
+    }
+}
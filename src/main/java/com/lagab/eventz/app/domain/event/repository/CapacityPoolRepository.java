@@ -0,0 +1,76 @@
+package com.lagab.eventz.app.domain.event.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.lagab.eventz.app.domain.ticket.entity.CapacityPool;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface CapacityPoolRepository extends JpaRepository<CapacityPool, Long> {
+
+    List<CapacityPool> findByEventIdOrderById(Long eventId);
+
+    boolean existsByParentId(Long parentId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM CapacityPool p WHERE p.id = :capacityPoolId")
+    Optional<CapacityPool> lockById(@Param("capacityPoolId") Long capacityPoolId);
+
+    @Modifying
+    @Query("""
+            UPDATE CapacityPool p SET p.capacity = :capacity 
+            WHERE p.id = :capacityPoolId AND p.quantitySold + p.quantityHeld <= :capacity
+            """)
+    int updateCapacity(@Param("capacityPoolId") Long capacityPoolId, @Param("capacity") Integer capacity);
+
+    // Same guard as the ticket types: never below zero, never past the capacity
+    @Modifying
+    @Query("""
+            UPDATE CapacityPool p SET p.quantitySold = p.quantitySold + :quantity 
+            WHERE p.id = :capacityPoolId 
+            AND p.quantitySold + :quantity >= 0 
+            AND (:quantity <= 0 OR p.quantitySold + p.quantityHeld + :quantity <= p.capacity)
+            """)
+    int updateQuantitySold(@Param("capacityPoolId") Long capacityPoolId, @Param("quantity") Integer quantity);
+
+    @Modifying
+    @Query("""
+            UPDATE CapacityPool p SET p.quantityHeld = p.quantityHeld + :quantity 
+            WHERE p.id = :capacityPoolId 
+            AND p.quantitySold + p.quantityHeld + :quantity <= p.capacity
+            """)
+    int holdQuantity(@Param("capacityPoolId") Long capacityPoolId, @Param("quantity") Integer quantity);
+
+    @Modifying
+    @Query("""
+            UPDATE CapacityPool p SET p.quantityHeld = p.quantityHeld - :quantity, p.quantitySold = p.quantitySold + :quantity 
+            WHERE p.id = :capacityPoolId AND p.quantityHeld >= :quantity
+            """)
+    int confirmHeldQuantity(@Param("capacityPoolId") Long capacityPoolId, @Param("quantity") Integer quantity);
+
+    @Modifying
+    @Query("""
+            UPDATE CapacityPool p SET p.quantityHeld = p.quantityHeld - :quantity 
+            WHERE p.id = :capacityPoolId AND p.quantityHeld >= :quantity
+            """)
+    int releaseHeldQuantity(@Param("capacityPoolId") Long capacityPoolId, @Param("quantity") Integer quantity);
+
+    // Moves the tickets sold and held by a ticket type joining (positive) or leaving (negative) the pool
+    @Modifying
+    @Query("""
+            UPDATE CapacityPool p SET p.quantitySold = p.quantitySold + :sold, p.quantityHeld = p.quantityHeld + :held 
+            WHERE p.id = :capacityPoolId 
+            AND p.quantitySold + :sold >= 0 AND p.quantityHeld + :held >= 0 
+            AND (:sold + :held <= 0 OR p.quantitySold + p.quantityHeld + :sold + :held <= p.capacity)
+            """)
+    int transferUsage(@Param("capacityPoolId") Long capacityPoolId, @Param("sold") Integer sold, @Param("held") Integer held);
+}
@@ -1,19 +1,65 @@
 package com.lagab.eventz.app.domain.event.repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.lagab.eventz.app.domain.event.change.EventSnapshot;
+import com.lagab.eventz.app.domain.event.change.WaitingRoomSettingsChange;
 import com.lagab.eventz.app.domain.event.model.Event;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>, EventRepositoryCustom {
+
+    // Tickets left across the ticket types of the event, each bounded by the capacity pools it draws from, oversold
+    // types count as zero. Ticket types sharing a pool each count what the pool has left, so this is an upper bound
+    String TICKETS_REMAINING = """
+            (SELECT CAST(COALESCE(SUM(CASE
+                        WHEN tt.quantityAvailable > COALESCE(tt.quantitySold, 0) + tt.quantityHeld
+                         AND (p.id IS NULL OR p.capacity > p.quantitySold + p.quantityHeld)
+                         AND (pp.id IS NULL OR pp.capacity > pp.quantitySold + pp.quantityHeld)
+                        THEN least(tt.quantityAvailable - COALESCE(tt.quantitySold, 0) - tt.quantityHeld,
+                                   COALESCE(p.capacity - p.quantitySold - p.quantityHeld, tt.quantityAvailable),
+                                   COALESCE(pp.capacity - pp.quantitySold - pp.quantityHeld, tt.quantityAvailable))
+                        ELSE 0
+                    END), 0) AS Integer)
+             FROM TicketType tt LEFT JOIN tt.capacityPool p LEFT JOIN p.parent pp
+             WHERE tt.event.id = e.id)
+            """;
+
+    // Sold out once every ticket type is, on its own or through its pools; an event without ticket types is not
+    String SOLD_OUT = """
+            (CASE WHEN EXISTS (SELECT 1 FROM TicketType tt WHERE tt.event.id = e.id)
+                   AND NOT EXISTS (SELECT 1 FROM TicketType tt LEFT JOIN tt.capacityPool p LEFT JOIN p.parent pp
+                                   WHERE tt.event.id = e.id AND tt.quantityAvailable > COALESCE(tt.quantitySold, 0) + tt.quantityHeld
+                                     AND (p.id IS NULL OR p.capacity > p.quantitySold + p.quantityHeld)
+                                     AND (pp.id IS NULL OR pp.capacity > pp.quantitySold + pp.quantityHeld))
+                  THEN true ELSE false END)
+            """;
+
+    // Address is mapped on the inverse side of a one-to-one and can't be proxied: join it in the page query
+    @Override
+    @EntityGraph(attributePaths = "address")
+    Page<Event> findAll(Specification<Event> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "address")
+    List<Event> findAll(Specification<Event> spec);
+
+    // Detail, org-admin and publish use cases all map the full EventDTO
+    @EntityGraph(Event.DETAIL_GRAPH)
+    Optional<Event> findDetailById(Long id);
 
     // Count events by organizer
     long countByOrganizerId(Long organizerId);
@@ -25,4 +71,37 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
 
     @Query("SELECT e.organization.id FROM Event e WHERE e.id = :eventId")
     Optional<String> findOrganizationIdByEventId(@Param("eventId") Long eventId);
+
+    // Recomputes the availability counters of an event, to be called in the transaction that changed its ticket types
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.ticketsRemaining = " + TICKETS_REMAINING + ", e.soldOut = " + SOLD_OUT
+            + " WHERE e.id = :eventId")
+    int refreshAvailability(@Param("eventId") Long eventId);
+
+    // Repairs the counters that drifted from the ticket types, only rewriting the rows that differ
+    @Modifying
+    @Query("UPDATE Event e SET e.ticketsRemaining = " + TICKETS_REMAINING + ", e.soldOut = " + SOLD_OUT
+            + " WHERE e.ticketsRemaining <> " + TICKETS_REMAINING + " OR e.soldOut <> " + SOLD_OUT)
+    int reconcileAvailability();
+
+    // Used to rebuild the in-memory read models, must be consumed within a transaction
+    @Query("""
+            SELECT new com.lagab.eventz.app.domain.event.change.EventSnapshot(
+                e.id, e.name, e.summary, e.description, a.city, a.country, a.latitude, a.longitude,
+                e.type, e.status, e.isPublic, e.isFree, e.startDate, e.endDate, e.createdAt,
+                e.organizer.id, o.id, o.name,
+                (SELECT CAST(COALESCE(SUM(tt.quantitySold), 0) AS Integer) FROM TicketType tt WHERE tt.event.id = e.id))
+            FROM Event e
+            LEFT JOIN e.address a
+            LEFT JOIN e.organization o
+            """)
+    Stream<EventSnapshot> streamAllSnapshots();
+
+    // Used to rebuild the admission queues of the waiting rooms
+    @Query("""
+            SELECT new com.lagab.eventz.app.domain.event.change.WaitingRoomSettingsChange(e.id, e.waitingRoomEnabled, e.waitingRoomRate)
+            FROM Event e
+            WHERE e.waitingRoomEnabled = true
+            """)
+    List<WaitingRoomSettingsChange> findWaitingRoomSettings();
 }
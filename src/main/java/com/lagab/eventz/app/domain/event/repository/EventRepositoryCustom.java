@@ -0,0 +1,30 @@
+package com.lagab.eventz.app.domain.event.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.lagab.eventz.app.domain.event.dto.EventSummaryDTO;
+import com.lagab.eventz.app.domain.event.model.Event;
+
+public interface EventRepositoryCustom {
+
+    // Ids of the events matching the specification, without loading the entities
+    List<Long> findIds(Specification<Event> spec);
+
+    /**
+     * Summaries of the events matching the specification, selected column by column with the address city and
+     * country joined in the same statement. No entity is loaded, so nothing ends up in the persistence context.
+     * Aggregates ({@code averageRating}, {@code reviewCount}, {@code availableTickets}) are left {@code null}.
+     */
+    Page<EventSummaryDTO> findSummaries(Specification<Event> spec, Pageable pageable);
+
+    // Same projection for the first rows in the given order, along with the value of the key property of each row
+    List<KeyedSummary> findKeyedSummaries(Specification<Event> spec, Sort sort, String keyProperty, int limit);
+
+    record KeyedSummary(EventSummaryDTO summary, Comparable<?> key) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.lagab.eventz.app.domain.event.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.lagab.eventz.app.domain.event.dto.EventSummaryDTO;
+import com.lagab.eventz.app.domain.event.model.Address;
+import com.lagab.eventz.app.domain.event.model.Event;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class EventRepositoryCustomImpl implements EventRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIds(Specification<Event> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Event> root = query.from(Event.class);
+
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        query.select(root.get("id"));
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public Page<EventSummaryDTO> findSummaries(Specification<Event> spec, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventSummaryDTO> query = criteriaBuilder.createQuery(EventSummaryDTO.class);
+        Root<Event> root = query.from(Event.class);
+
+        query.select(summary(root, criteriaBuilder));
+        where(query, spec.toPredicate(root, query, criteriaBuilder));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        }
+
+        TypedQuery<EventSummaryDTO> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<KeyedSummary> findKeyedSummaries(Specification<Event> spec, Sort sort, String keyProperty, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Event> root = query.from(Event.class);
+
+        // The key goes first: Hibernate renders an order on a selected path as its position among the selections,
+        // which only lines up with the SQL columns when no constructor comes before it
+        query.multiselect(root.get(keyProperty).alias("key"), summary(root, criteriaBuilder).alias("summary"));
+        where(query, spec.toPredicate(root, query, criteriaBuilder));
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+
+        return entityManager.createQuery(query)
+                            .setMaxResults(limit)
+                            .getResultList()
+                            .stream()
+                            .map(row -> new KeyedSummary(row.get("summary", EventSummaryDTO.class), (Comparable<?>) row.get("key")))
+                            .toList();
+    }
+
+    private long count(Specification<Event> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Event> root = query.from(Event.class);
+
+        where(query, spec.toPredicate(root, query, criteriaBuilder));
+        query.select(query.isDistinct() ? criteriaBuilder.countDistinct(root) : criteriaBuilder.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // Column order must follow the EventSummaryDTO components
+    private static CompoundSelection<EventSummaryDTO> summary(Root<Event> root, CriteriaBuilder criteriaBuilder) {
+        Join<Event, Address> address = root.join("address", JoinType.LEFT);
+        return criteriaBuilder.construct(EventSummaryDTO.class,
+                root.get("id"), root.get("name"), root.get("summary"), root.get("startDate"),
+                root.get("endDate"), root.get("status"), root.get("type"), root.get("imageUrl"),
+                root.get("isPublic"), root.get("isFree"), root.get("currency"), address.get("city"),
+                address.get("country"), criteriaBuilder.nullLiteral(Double.class),
+                criteriaBuilder.nullLiteral(Long.class), criteriaBuilder.nullLiteral(Integer.class));
+    }
+
+    private static void where(CriteriaQuery<?> query, Predicate predicate) {
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.lagab.eventz.app.domain.event.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.lagab.eventz.app.domain.event.projection.OrganizationSalesTotalsProjection;
+import com.lagab.eventz.app.domain.ticket.entity.EventSalesStats;
+import com.lagab.eventz.app.domain.ticket.entity.SalesTotals;
+
+@Repository
+public interface EventSalesStatsRepository extends JpaRepository<EventSalesStats, Long> {
+
+    // Moves the totals of stats s by tickets of a ticket type sold and held, both negative when given back. To be run
+    // after the ticket type was updated: whether it became or stopped being sold out is read from its new counters
+    String APPLY_SALE = """
+            s.totals.sold = s.totals.sold + :sold,
+            s.totals.remaining = s.totals.remaining - :sold - :held,
+            s.totals.revenue = s.totals.revenue
+                + :sold * (SELECT CAST(tt.price * 100 AS Long) FROM TicketType tt WHERE tt.id = :ticketTypeId),
+            s.totals.soldOutTicketTypes = s.totals.soldOutTicketTypes
+                + (SELECT CASE WHEN tt.quantityAvailable <= tt.quantitySold + tt.quantityHeld THEN 1 ELSE 0 END
+                        - CASE WHEN tt.quantityAvailable <= tt.quantitySold + tt.quantityHeld - :sold - :held THEN 1 ELSE 0 END
+                   FROM TicketType tt WHERE tt.id = :ticketTypeId)
+            """;
+
+    // Adds a difference of totals to stats s
+    String ADD_TOTALS = """
+            s.totals.ticketTypes = s.totals.ticketTypes + :#{#delta.ticketTypes},
+            s.totals.activeTicketTypes = s.totals.activeTicketTypes + :#{#delta.activeTicketTypes},
+            s.totals.soldOutTicketTypes = s.totals.soldOutTicketTypes + :#{#delta.soldOutTicketTypes},
+            s.totals.capacity = s.totals.capacity + :#{#delta.capacity},
+            s.totals.sold = s.totals.sold + :#{#delta.sold},
+            s.totals.remaining = s.totals.remaining + :#{#delta.remaining},
+            s.totals.revenue = s.totals.revenue + :#{#delta.revenue},
+            s.totals.priceTotal = s.totals.priceTotal + :#{#delta.priceTotal}
+            """;
+
+    // Read from the database rather than the persistence context, which the updates below do not refresh
+    @Query("SELECT s.totals FROM EventSalesStats s WHERE s.eventId = :eventId")
+    Optional<SalesTotals> findTotalsByEventId(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query("UPDATE EventSalesStats s SET " + APPLY_SALE
+            + " WHERE s.eventId = (SELECT tt.event.id FROM TicketType tt WHERE tt.id = :ticketTypeId)")
+    int applySale(@Param("ticketTypeId") Long ticketTypeId, @Param("sold") int sold, @Param("held") int held);
+
+    @Modifying
+    @Query("UPDATE EventSalesStats s SET " + ADD_TOTALS + " WHERE s.eventId = :eventId")
+    int addTotals(@Param("eventId") Long eventId, @Param("delta") SalesTotals delta);
+
+    // Totals of the events of each organization, to check the organization stats against
+    @Query("""
+            SELECT s.organizationId AS organizationId,
+                SUM(s.totals.ticketTypes) AS ticketTypes,
+                SUM(s.totals.activeTicketTypes) AS activeTicketTypes,
+                SUM(s.totals.soldOutTicketTypes) AS soldOutTicketTypes,
+                SUM(s.totals.capacity) AS capacity,
+                SUM(s.totals.sold) AS sold,
+                SUM(s.totals.remaining) AS remaining,
+                SUM(s.totals.revenue) AS revenue,
+                SUM(s.totals.priceTotal) AS priceTotal
+            FROM EventSalesStats s
+            WHERE s.organizationId IS NOT NULL
+            GROUP BY s.organizationId
+            """)
+    List<OrganizationSalesTotalsProjection> sumTotalsByOrganization();
+}
@@ -0,0 +1,28 @@
+package com.lagab.eventz.app.domain.event.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.lagab.eventz.app.domain.ticket.entity.OrganizationSalesStats;
+import com.lagab.eventz.app.domain.ticket.entity.SalesTotals;
+
+@Repository
+public interface OrganizationSalesStatsRepository extends JpaRepository<OrganizationSalesStats, String> {
+
+    @Query("SELECT s.totals FROM OrganizationSalesStats s WHERE s.organizationId = :organizationId")
+    Optional<SalesTotals> findTotalsByOrganizationId(@Param("organizationId") String organizationId);
+
+    @Modifying
+    @Query("UPDATE OrganizationSalesStats s SET " + EventSalesStatsRepository.APPLY_SALE
+            + " WHERE s.organizationId = (SELECT tt.event.organization.id FROM TicketType tt WHERE tt.id = :ticketTypeId)")
+    int applySale(@Param("ticketTypeId") Long ticketTypeId, @Param("sold") int sold, @Param("held") int held);
+
+    @Modifying
+    @Query("UPDATE OrganizationSalesStats s SET " + EventSalesStatsRepository.ADD_TOTALS + " WHERE s.organizationId = :organizationId")
+    int addTotals(@Param("organizationId") String organizationId, @Param("delta") SalesTotals delta);
+}
@@ -0,0 +1,31 @@
+package com.lagab.eventz.app.domain.event.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.lagab.eventz.app.domain.ticket.entity.SeatSection;
+
+@Repository
+public interface SeatSectionRepository extends JpaRepository<SeatSection, Long> {
+
+    @Query("SELECT s.id FROM SeatSection s WHERE s.event.id = :eventId ORDER BY s.position, s.id")
+    List<Long> findIdsByEventId(@Param("eventId") Long eventId);
+
+    // Sections a ticket type sells, in the order best available seats are looked for
+    @Query("SELECT s.id FROM SeatSection s WHERE s.event.id = :eventId AND s.ticketType.id = :ticketTypeId ORDER BY s.position, s.id")
+    List<Long> findIdsByEventIdAndTicketTypeId(@Param("eventId") Long eventId, @Param("ticketTypeId") Long ticketTypeId);
+
+    @Query("SELECT s.id FROM SeatSection s WHERE s.ticketType.id = :ticketTypeId")
+    List<Long> findIdsByTicketTypeId(@Param("ticketTypeId") Long ticketTypeId);
+
+    long countByEventId(Long eventId);
+
+    @Modifying
+    @Query("DELETE FROM SeatSection s WHERE s.ticketType.id = :ticketTypeId")
+    int deleteByTicketTypeId(@Param("ticketTypeId") Long ticketTypeId);
+}
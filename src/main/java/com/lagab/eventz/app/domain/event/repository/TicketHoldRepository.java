@@ -0,0 +1,67 @@
+package com.lagab.eventz.app.domain.event.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.lagab.eventz.app.domain.event.projection.SeatHoldProjection;
+import com.lagab.eventz.app.domain.event.projection.TicketHoldDeadlineProjection;
+import com.lagab.eventz.app.domain.ticket.entity.TicketHold;
+import com.lagab.eventz.app.domain.ticket.entity.TicketHoldStatus;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface TicketHoldRepository extends JpaRepository<TicketHold, String> {
+
+    // Deadlines of the active holds, to rebuild the expiry wheel
+    @Query("SELECT h.id AS id, h.expiresAt AS expiresAt FROM TicketHold h WHERE h.status = com.lagab.eventz.app.domain.ticket.entity.TicketHoldStatus.ACTIVE")
+    List<TicketHoldDeadlineProjection> findActiveDeadlines();
+
+    // Locks the holds still active so that a concurrent confirmation waits for the closing transaction
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM TicketHold h WHERE h.id IN :ids AND h.status = com.lagab.eventz.app.domain.ticket.entity.TicketHoldStatus.ACTIVE")
+    List<TicketHold> lockActiveByIdIn(@Param("ids") Collection<String> ids);
+
+    @Modifying
+    @Query("UPDATE TicketHold h SET h.status = :status WHERE h.id IN :ids")
+    int updateStatus(@Param("ids") Collection<String> ids, @Param("status") TicketHoldStatus status);
+
+    // Only one of concurrent confirmations, releases and expirations of a hold can win
+    @Modifying
+    @Query("""
+            UPDATE TicketHold h SET h.status = com.lagab.eventz.app.domain.ticket.entity.TicketHoldStatus.CONFIRMED 
+            WHERE h.id = :id 
+            AND h.status = com.lagab.eventz.app.domain.ticket.entity.TicketHoldStatus.ACTIVE 
+            AND h.expiresAt > :now
+            """)
+    int confirm(@Param("id") String id, @Param("now") LocalDateTime now);
+
+    // Seats of a section held, and sold by holds confirmed before it expired past the given time
+    @Query("""
+            SELECT h.id AS id, h.seats AS seats, h.status AS status FROM TicketHold h 
+            WHERE h.seatSectionId = :seatSectionId 
+            AND (h.status = com.lagab.eventz.app.domain.ticket.entity.TicketHoldStatus.ACTIVE 
+            OR (h.status = com.lagab.eventz.app.domain.ticket.entity.TicketHoldStatus.CONFIRMED AND h.expiresAt > :confirmedSince))
+            """)
+    List<SeatHoldProjection> findSeatHolds(@Param("seatSectionId") Long seatSectionId,
+            @Param("confirmedSince") LocalDateTime confirmedSince);
+
+    boolean existsBySeatSectionIdAndStatusIn(Long seatSectionId, Collection<TicketHoldStatus> statuses);
+
+    // Released and expired holds no longer need their seats
+    @Modifying
+    @Query("UPDATE TicketHold h SET h.seatSectionId = NULL, h.seats = NULL WHERE h.seatSectionId = :seatSectionId")
+    int clearSeatSection(@Param("seatSectionId") Long seatSectionId);
+
+    @Modifying
+    @Query("DELETE FROM TicketHold h WHERE h.ticketType.id = :ticketTypeId")
+    int deleteByTicketTypeId(@Param("ticketTypeId") Long ticketTypeId);
+}
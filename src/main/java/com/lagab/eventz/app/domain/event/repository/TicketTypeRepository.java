@@ -1,22 +1,29 @@
 package com.lagab.eventz.app.domain.event.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import com.lagab.eventz.app.domain.event.projection.TicketTypeStatsProjection;
+import com.lagab.eventz.app.domain.event.projection.EventAvailabilityProjection;
+import com.lagab.eventz.app.domain.event.projection.SalesTotalsProjection;
+import com.lagab.eventz.app.domain.event.projection.TicketTypeInventoryProjection;
+import com.lagab.eventz.app.domain.event.projection.TicketTypeNameProjection;
 import com.lagab.eventz.app.domain.ticket.entity.TicketType;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
-public interface TicketTypeRepository extends JpaRepository<TicketType, Long> {
+public interface TicketTypeRepository extends JpaRepository<TicketType, Long>, TicketTypeRepositoryCustom {
 
     // Search by event
     @Query("""
@@ -43,32 +50,124 @@ public interface TicketTypeRepository extends JpaRepository<TicketType, Long> {
             AND tt.isActive = true 
             AND (tt.saleStart IS NULL OR tt.saleStart <= :now) 
             AND (tt.saleEnd IS NULL OR tt.saleEnd >= :now)
-            AND (tt.quantityAvailable IS NULL OR tt.quantityAvailable > tt.quantitySold)
+            AND (tt.quantityAvailable IS NULL OR tt.quantityAvailable > tt.quantitySold + tt.quantityHeld)
             ORDER BY tt.sortOrder ASC, tt.id ASC
             """)
     List<TicketType> findOnSaleByEventId(@Param("eventId") Long eventId, @Param("now") LocalDateTime now);
 
-    // Statistics for an event
+    // Statistics of the ticket types of events, revenue and prices as stored, to be grouped by event
+    String SALES_TOTALS = """
+            SELECT
+                tt.event.id AS eventId,
+                tt.event.organization.id AS organizationId,
+                COUNT(tt) AS ticketTypes,
+                SUM(CASE WHEN tt.isActive = true THEN 1 ELSE 0 END) AS activeTicketTypes,
+                SUM(CASE WHEN tt.quantityAvailable <= tt.quantitySold + tt.quantityHeld THEN 1 ELSE 0 END) AS soldOutTicketTypes,
+                SUM(CAST(COALESCE(tt.capacity, 0) AS Long)) AS capacity,
+                SUM(CAST(COALESCE(tt.quantitySold, 0) AS Long)) AS sold,
+                SUM(CAST(COALESCE(tt.quantityAvailable, 0) - COALESCE(tt.quantitySold, 0) - tt.quantityHeld AS Long)) AS remaining,
+                SUM(COALESCE(tt.quantitySold, 0) * tt.price) AS revenue,
+                SUM(tt.price) AS priceTotal
+            FROM TicketType tt
+            """;
+
+    // Sales totals of an event computed from its ticket types, what its stats are checked against
+    @Query(SALES_TOTALS + " WHERE tt.event.id = :eventId GROUP BY tt.event.id, tt.event.organization.id")
+    Optional<SalesTotalsProjection> findSalesTotalsByEventId(@Param("eventId") Long eventId);
+
+    // Same for every event with ticket types
+    @Query(SALES_TOTALS + " GROUP BY tt.event.id, tt.event.organization.id")
+    List<SalesTotalsProjection> findSalesTotals();
+
+    // Remaining tickets for a page of events, one row per event that has ticket types
     @Query("""
             SELECT 
-                COUNT(tt) as totalTicketTypes,
-                SUM(CASE WHEN tt.isActive = true THEN 1 ELSE 0 END) as activeTicketTypes,
-                SUM(CASE WHEN tt.quantityAvailable <= tt.quantitySold THEN 1 ELSE 0 END) as soldOutTicketTypes,
-                SUM(COALESCE(tt.capacity, 0)) as totalCapacity,
-                SUM(COALESCE(tt.quantitySold, 0)) as totalSold,
-                SUM(COALESCE(tt.quantityAvailable, 0) - COALESCE(tt.quantitySold, 0)) as totalRemaining,
-                SUM(COALESCE(tt.quantitySold, 0) * tt.price) as totalRevenue,
-                AVG(tt.price) as averagePrice
-            FROM TicketType tt 
-            WHERE tt.event.id = :eventId
+                tt.event.id as eventId,
+                SUM(CASE 
+                        WHEN tt.quantityAvailable > COALESCE(tt.quantitySold, 0) + tt.quantityHeld 
+                        THEN tt.quantityAvailable - COALESCE(tt.quantitySold, 0) - tt.quantityHeld 
+                        ELSE 0 
+                    END) as availableTickets
+            FROM TicketType tt
+            WHERE tt.event.id IN :eventIds
+            GROUP BY tt.event.id
             """)
-    Optional<TicketTypeStatsProjection> getStatsByEventId(@Param("eventId") Long eventId);
+    List<EventAvailabilityProjection> sumAvailableTicketsByEventIds(@Param("eventIds") Collection<Long> eventIds);
 
-    // Update sold quantity
+    // Update sold quantity, only when the result stays between zero and the quantity neither sold nor held
     @Modifying
-    @Query("UPDATE TicketType tt SET tt.quantitySold = tt.quantitySold + :quantity WHERE tt.id = :ticketTypeId")
+    @Query("""
+            UPDATE TicketType tt SET tt.quantitySold = tt.quantitySold + :quantity 
+            WHERE tt.id = :ticketTypeId 
+            AND tt.quantitySold + :quantity >= 0 
+            AND (tt.quantityAvailable IS NULL OR tt.quantitySold + tt.quantityHeld + :quantity <= tt.quantityAvailable)
+            """)
     int updateQuantitySold(@Param("ticketTypeId") Long ticketTypeId, @Param("quantity") Integer quantity);
 
+    // Sets tickets aside for a hold, only when enough are neither sold nor held
+    @Modifying
+    @Query("""
+            UPDATE TicketType tt SET tt.quantityHeld = tt.quantityHeld + :quantity 
+            WHERE tt.id = :ticketTypeId 
+            AND (tt.quantityAvailable IS NULL OR tt.quantitySold + tt.quantityHeld + :quantity <= tt.quantityAvailable)
+            """)
+    int holdQuantity(@Param("ticketTypeId") Long ticketTypeId, @Param("quantity") Integer quantity);
+
+    // Turns held tickets into sold ones
+    @Modifying
+    @Query("""
+            UPDATE TicketType tt SET tt.quantityHeld = tt.quantityHeld - :quantity, tt.quantitySold = tt.quantitySold + :quantity 
+            WHERE tt.id = :ticketTypeId AND tt.quantityHeld >= :quantity
+            """)
+    int confirmHeldQuantity(@Param("ticketTypeId") Long ticketTypeId, @Param("quantity") Integer quantity);
+
+    // Puts held tickets back on sale
+    @Modifying
+    @Query("""
+            UPDATE TicketType tt SET tt.quantityHeld = tt.quantityHeld - :quantity 
+            WHERE tt.id = :ticketTypeId AND tt.quantityHeld >= :quantity
+            """)
+    int releaseHeldQuantity(@Param("ticketTypeId") Long ticketTypeId, @Param("quantity") Integer quantity);
+
+    // Serializes the writers of a ticket type while they share out the tickets left
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT tt FROM TicketType tt WHERE tt.id = :ticketTypeId")
+    Optional<TicketType> lockById(@Param("ticketTypeId") Long ticketTypeId);
+
+    @Query("""
+            SELECT tt.event.id AS eventId, p.id AS capacityPoolId, pp.id AS parentCapacityPoolId
+            FROM TicketType tt
+            LEFT JOIN tt.capacityPool p
+            LEFT JOIN p.parent pp
+            WHERE tt.id = :ticketTypeId
+            """)
+    Optional<TicketTypeInventoryProjection> findInventoryById(@Param("ticketTypeId") Long ticketTypeId);
+
+    List<TicketType> findByCapacityPoolId(Long capacityPoolId);
+
+    // Names shown to buyers, without loading the ticket type and its event
+    @Query("SELECT tt.name AS name, tt.event.name AS eventName FROM TicketType tt WHERE tt.id = :ticketTypeId")
+    Optional<TicketTypeNameProjection> findNamesById(@Param("ticketTypeId") Long ticketTypeId);
+
+    @Query("SELECT tt.id FROM TicketType tt WHERE tt.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MAX(tt.sortOrder), 0) FROM TicketType tt WHERE tt.event.id = :eventId")
+    Integer findMaxSortOrderByEventId(@Param("eventId") Long eventId);
+
+    // Written on its own so that the counters of the rows, moved by concurrent sales, are left alone
+    @Modifying
+    @Query("UPDATE TicketType tt SET tt.isActive = :active WHERE tt.event.id = :eventId AND tt.id IN :ids")
+    int updateActiveStatus(@Param("eventId") Long eventId, @Param("ids") Collection<Long> ids, @Param("active") Boolean active);
+
+    // Written on its own so that the counters of the row, moved by concurrent sales, are left alone
+    @Modifying
+    @Query("UPDATE TicketType tt SET tt.capacityPool.id = :capacityPoolId WHERE tt.id = :ticketTypeId")
+    int updateCapacityPool(@Param("ticketTypeId") Long ticketTypeId, @Param("capacityPoolId") Long capacityPoolId);
+
+    @Query("SELECT CAST(COALESCE(SUM(tt.quantitySold), 0) AS Integer) FROM TicketType tt WHERE tt.event.id = :eventId")
+    Integer sumQuantitySoldByEventId(@Param("eventId") Long eventId);
+
     // Expired ticket types (sale ended)
     @Query("SELECT tt FROM TicketType tt WHERE tt.saleEnd < :currentDate AND tt.isActive = true")
     Page<TicketType> findExpiredTicketTypes(@Param("currentDate") LocalDateTime currentDate, Pageable pageable);
@@ -77,8 +176,16 @@ public interface TicketTypeRepository extends JpaRepository<TicketType, Long> {
     @Query("SELECT tt FROM TicketType tt WHERE tt.saleStart BETWEEN :now AND :futureDate AND tt.isActive = true")
     Page<TicketType> findUpcomingSaleTicketTypes(@Param("now") LocalDateTime now, @Param("futureDate") LocalDateTime futureDate, Pageable pageable);
 
-    // Check availability
-    @Query("SELECT tt.quantityAvailable - tt.quantitySold FROM TicketType tt WHERE tt.id = :ticketTypeId")
+    // Check availability, bounded by the capacity pools the ticket type draws from
+    @Query("""
+            SELECT least(tt.quantityAvailable - tt.quantitySold - tt.quantityHeld,
+                         COALESCE(p.capacity - p.quantitySold - p.quantityHeld, tt.quantityAvailable - tt.quantitySold - tt.quantityHeld),
+                         COALESCE(pp.capacity - pp.quantitySold - pp.quantityHeld, tt.quantityAvailable - tt.quantitySold - tt.quantityHeld))
+            FROM TicketType tt
+            LEFT JOIN tt.capacityPool p
+            LEFT JOIN p.parent pp
+            WHERE tt.id = :ticketTypeId
+            """)
     Optional<Integer> getAvailableQuantity(@Param("ticketTypeId") Long ticketTypeId);
 
     // Ticket types sorted by order
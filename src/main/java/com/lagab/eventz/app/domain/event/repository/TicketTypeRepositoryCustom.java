@@ -0,0 +1,15 @@
+package com.lagab.eventz.app.domain.event.repository;
+
+import java.util.List;
+
+public interface TicketTypeRepositoryCustom {
+
+    /**
+     * Gives the ticket types of an event the sort orders 1, 2, 3... in the order of the ids, with one prepared
+     * {@code UPDATE} sent in JDBC batches of fixed size, so that the statement stays the same whatever the number of
+     * ids. Only the sort order column is written, the counters moved by concurrent sales are left alone.
+     *
+     * @return the number of ticket types of the event updated
+     */
+    int updateSortOrders(Long eventId, List<Long> ticketTypeIds);
+}
@@ -0,0 +1,45 @@
+package com.lagab.eventz.app.domain.event.repository;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import org.hibernate.Session;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class TicketTypeRepositoryCustomImpl implements TicketTypeRepositoryCustom {
+
+    // Matches hibernate.jdbc.batch_size
+    private static final int BATCH_SIZE = 100;
+
+    private static final String UPDATE_SORT_ORDER = "UPDATE ticket_types SET sort_order = ? WHERE id = ? AND event_id = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updateSortOrders(Long eventId, List<Long> ticketTypeIds) {
+        if (ticketTypeIds.isEmpty()) {
+            return 0;
+        }
+        entityManager.flush();
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            int updated = 0;
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_SORT_ORDER)) {
+                for (int i = 0; i < ticketTypeIds.size(); i++) {
+                    statement.setInt(1, i + 1);
+                    statement.setLong(2, ticketTypeIds.get(i));
+                    statement.setLong(3, eventId);
+                    statement.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0 || i == ticketTypeIds.size() - 1) {
+                        for (int count : statement.executeBatch()) {
+                            updated += count;
+                        }
+                    }
+                }
+            }
+            return updated;
+        });
+    }
+}
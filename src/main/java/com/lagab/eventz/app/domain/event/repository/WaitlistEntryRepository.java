@@ -0,0 +1,39 @@
+package com.lagab.eventz.app.domain.event.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.lagab.eventz.app.domain.event.projection.WaitlistEntryProjection;
+import com.lagab.eventz.app.domain.ticket.entity.WaitlistEntry;
+import com.lagab.eventz.app.domain.ticket.entity.WaitlistEntryStatus;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, String> {
+
+    // Entries still waiting, in order, to rebuild the in-memory waitlists
+    @Query("""
+            SELECT e.id AS id, e.ticketType.id AS ticketTypeId, e.user.id AS userId, e.quantity AS quantity, 
+            e.position AS position, e.createdAt AS createdAt 
+            FROM WaitlistEntry e 
+            WHERE e.status = com.lagab.eventz.app.domain.ticket.entity.WaitlistEntryStatus.WAITING 
+            ORDER BY e.position
+            """)
+    List<WaitlistEntryProjection> findWaiting();
+
+    @Query("SELECT COALESCE(MAX(e.position), 0) FROM WaitlistEntry e")
+    long findMaxPosition();
+
+    @Modifying
+    @Query("UPDATE WaitlistEntry e SET e.status = :status WHERE e.id IN :ids")
+    int updateStatus(@Param("ids") Collection<String> ids, @Param("status") WaitlistEntryStatus status);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry e WHERE e.ticketType.id = :ticketTypeId")
+    int deleteByTicketTypeId(@Param("ticketTypeId") Long ticketTypeId);
+}
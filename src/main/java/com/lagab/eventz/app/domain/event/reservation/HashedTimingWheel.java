@@ -0,0 +1,118 @@
+package com.lagab.eventz.app.domain.event.reservation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel: deadlines are rounded up to a tick and hashed into a ring of slots, so scheduling and
+ * cancelling are O(1) and each tick only visits the entries of one slot. Deadlines more than a turn away share
+ * their slot with nearer ones and are skipped until their turn comes.
+ * <p>
+ * Thread safe, every operation holds the wheel lock for a time independent of the number of entries, except
+ * {@link #advance(long)} which is linear in the entries of the visited slots.
+ */
+public final class HashedTimingWheel<K> {
+
+    private final long tickMillis;
+    private final Entry<K>[] slots;
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    // Next tick to visit
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.slots = new Entry[wheelSize];
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Schedules the key, replacing its previous deadline. Deadlines already past expire on the next advance.
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long deadlineTick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), currentTick);
+        Entry<K> entry = new Entry<>(key, deadlineTick, slot(deadlineTick));
+        Entry<K> head = slots[entry.slot];
+        entry.next = head;
+        if (head != null) {
+            head.previous = entry;
+        }
+        slots[entry.slot] = entry;
+        entries.put(key, entry);
+    }
+
+    public synchronized boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    /**
+     * Visits the ticks up to now and removes the keys whose deadline is reached.
+     *
+     * @return the expired keys, in no particular order
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<K> expired = new ArrayList<>();
+        // After a pause longer than a turn, one visit of every slot catches up
+        long visits = Math.min(targetTick - currentTick + 1, slots.length);
+        for (long i = 0; i < visits; i++) {
+            Entry<K> entry = slots[slot(currentTick + i)];
+            while (entry != null) {
+                Entry<K> next = entry.next;
+                if (entry.deadlineTick <= targetTick) {
+                    unlink(entry);
+                    entries.remove(entry.key);
+                    expired.add(entry.key);
+                }
+                entry = next;
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick + 1);
+        return expired;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private int slot(long tick) {
+        return (int) Math.floorMod(tick, (long) slots.length);
+    }
+
+    private void unlink(Entry<K> entry) {
+        if (entry.previous != null) {
+            entry.previous.next = entry.next;
+        } else {
+            slots[entry.slot] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.previous = entry.previous;
+        }
+        entry.previous = null;
+        entry.next = null;
+    }
+
+    // Entries of a slot form an intrusive doubly linked list, for O(1) removal
+    private static final class Entry<K> {
+
+        private final K key;
+        private final long deadlineTick;
+        private final int slot;
+        private Entry<K> previous;
+        private Entry<K> next;
+
+        private Entry(K key, long deadlineTick, int slot) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+            this.slot = slot;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.lagab.eventz.app.domain.event.reservation;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Non negative counter split into stripes, so that concurrent takers mostly compare-and-set their own stripe
+ * instead of all retrying on the same one.
+ * <p>
+ * A taker first tries the stripe of its thread. Only when that stripe cannot cover the request does it gather units
+ * from the other stripes, one taker at a time: a request is never refused while the stripes together hold enough.
+ */
+final class StripedCounter {
+
+    // Stripes sit a cache line apart so that stripes updated from different cores do not share one
+    private static final int SPACING = 16;
+
+    private final AtomicIntegerArray cells;
+    private final int stripes;
+
+    StripedCounter(int total, int stripes) {
+        this.stripes = stripes;
+        this.cells = new AtomicIntegerArray(stripes * SPACING);
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            cells.set(stripe * SPACING, total / stripes + (stripe < total % stripes ? 1 : 0));
+        }
+    }
+
+    boolean tryAcquire(int quantity) {
+        int home = home();
+        int cell = home * SPACING;
+        int value;
+        while ((value = cells.get(cell)) >= quantity) {
+            if (cells.compareAndSet(cell, value, value - quantity)) {
+                return true;
+            }
+        }
+        return gather(quantity, home);
+    }
+
+    void release(int quantity) {
+        cells.addAndGet(home() * SPACING, quantity);
+    }
+
+    int sum() {
+        int sum = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            sum += cells.get(stripe * SPACING);
+        }
+        return sum;
+    }
+
+    // Units taken from the other stripes are handed back to the home stripe when they do not cover the request
+    private synchronized boolean gather(int quantity, int home) {
+        int gathered = 0;
+        for (int i = 0; i < stripes && gathered < quantity; i++) {
+            int cell = (home + i) % stripes * SPACING;
+            int value;
+            while ((value = cells.get(cell)) > 0) {
+                int taken = Math.min(value, quantity - gathered);
+                if (cells.compareAndSet(cell, value, value - taken)) {
+                    gathered += taken;
+                    break;
+                }
+            }
+        }
+        if (gathered < quantity) {
+            cells.addAndGet(home * SPACING, gathered);
+            return false;
+        }
+        return true;
+    }
+
+    private int home() {
+        return (int) (Thread.currentThread().threadId() % stripes);
+    }
+}
@@ -0,0 +1,179 @@
+package com.lagab.eventz.app.domain.event.reservation;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketHoldRequest;
+import com.lagab.eventz.app.domain.event.exception.TicketsSoldOutException;
+import com.lagab.eventz.app.domain.event.service.TicketHoldService;
+import com.lagab.eventz.app.domain.ticket.entity.TicketHold;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Group commit of the general admission holds of a ticket type.
+ * <p>
+ * During on-sales most buyers hold tickets of the same few ticket type rows, and a transaction per hold makes them
+ * queue on the row lock. Holds arriving within a short window are instead collected per ticket type and written
+ * together by {@link TicketHoldService#shareOutHolds}, one transaction and one conditional update for the whole
+ * batch. Each buyer still gets their own outcome: their hold, or a {@link TicketsSoldOutException} when the tickets
+ * left did not cover it.
+ * <p>
+ * A batch is written with the times of its first hold, so holds may expire up to a window earlier than asked. When
+ * coalescing is disabled, holds are written one by one in the caller thread.
+ */
+@Component
+@Slf4j
+public class TicketHoldCoalescer {
+
+    private final TicketHoldService ticketHoldService;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final ConcurrentMap<Long, Batch> batches = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService writers;
+
+    public TicketHoldCoalescer(TicketHoldService ticketHoldService, EventProperties eventProperties) {
+        EventProperties.Reservation reservation = eventProperties.getReservation();
+        this.ticketHoldService = ticketHoldService;
+        this.enabled = reservation.isCoalesce();
+        this.windowNanos = reservation.getCoalesceWindow().toNanos();
+        this.maxBatch = reservation.getCoalesceMaxBatch();
+        this.writers = enabled ? Executors.newScheduledThreadPool(reservation.getCoalesceThreads(), writerThreads()) : null;
+    }
+
+    /**
+     * Holds the tickets, waiting for the batch they joined to be written.
+     *
+     * @throws TicketsSoldOutException when not enough tickets were left
+     */
+    public TicketHold hold(Long ticketTypeId, TicketHoldRequest request, LocalDateTime now, LocalDateTime expiresAt) {
+        try {
+            return submit(ticketTypeId, request, now, expiresAt).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Adds the hold to the open batch of the ticket type.
+     *
+     * @return completed with the hold once the batch is written, exceptionally when this hold could not be made
+     */
+    public CompletableFuture<TicketHold> submit(Long ticketTypeId, TicketHoldRequest request, LocalDateTime now,
+            LocalDateTime expiresAt) {
+        if (request.quantity() <= 0) {
+            throw new IllegalArgumentException("Only holds of tickets can be coalesced");
+        }
+        Pending pending = new Pending(request, new CompletableFuture<>());
+        if (!enabled) {
+            try {
+                pending.result().complete(ticketHoldService.createHold(ticketTypeId, request.quantity(), request.userId(), null,
+                        null, now, expiresAt));
+            } catch (RuntimeException e) {
+                pending.result().completeExceptionally(e);
+            }
+            return pending.result();
+        }
+
+        Batch[] opened = new Batch[1];
+        Batch[] full = new Batch[1];
+        batches.compute(ticketTypeId, (id, batch) -> {
+            if (batch == null) {
+                batch = new Batch(now, expiresAt);
+                opened[0] = batch;
+            }
+            batch.holds.add(pending);
+            if (batch.holds.size() >= maxBatch) {
+                // Closed now, the next hold opens a new batch
+                full[0] = batch;
+                return null;
+            }
+            return batch;
+        });
+
+        if (full[0] != null) {
+            Batch batch = full[0];
+            writers.execute(() -> write(ticketTypeId, batch));
+        } else if (opened[0] != null) {
+            Batch batch = opened[0];
+            writers.schedule(() -> {
+                // Already written if it filled up before the end of its window
+                if (batches.remove(ticketTypeId, batch)) {
+                    write(ticketTypeId, batch);
+                }
+            }, windowNanos, TimeUnit.NANOSECONDS);
+        }
+        return pending.result();
+    }
+
+    private void write(Long ticketTypeId, Batch batch) {
+        List<Pending> pendings = batch.holds;
+        try {
+            List<TicketHold> holds = ticketHoldService.shareOutHolds(ticketTypeId,
+                    pendings.stream().map(Pending::request).toList(), batch.now, batch.expiresAt);
+            for (int i = 0; i < pendings.size(); i++) {
+                if (holds.get(i) != null) {
+                    pendings.get(i).result().complete(holds.get(i));
+                } else {
+                    pendings.get(i).result().completeExceptionally(
+                            new TicketsSoldOutException("Not enough tickets left for ticket type: " + ticketTypeId));
+                }
+            }
+            log.debug("Wrote {} holds of ticket type {} together", pendings.size(), ticketTypeId);
+        } catch (RuntimeException e) {
+            pendings.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writers != null) {
+            // Scheduled batches still run, their buyers are waiting for them
+            writers.shutdown();
+            writers.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static ThreadFactory writerThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "ticket-holds-writer-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Only mutated inside the compute of its ticket type, and read once detached from the map
+    private static final class Batch {
+
+        private final LocalDateTime now;
+        private final LocalDateTime expiresAt;
+        private final List<Pending> holds = new ArrayList<>();
+
+        private Batch(LocalDateTime now, LocalDateTime expiresAt) {
+            this.now = now;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private record Pending(TicketHoldRequest request, CompletableFuture<TicketHold> result) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.lagab.eventz.app.domain.event.reservation;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.repository.TicketHoldRepository;
+import com.lagab.eventz.app.domain.event.service.TicketHoldService;
+import com.lagab.eventz.app.domain.ticket.entity.TicketHold;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Puts the tickets of unconfirmed holds back on sale once their deadline passes.
+ * <p>
+ * Deadlines live in a {@link HashedTimingWheel}, so each tick only looks at the holds due in its slot instead of
+ * querying the table. The wheel holds the holds created by this instance, and every active hold of the table once
+ * rebuilt at startup; expiring a hold another instance already closed is a no-op.
+ */
+@Component
+@Slf4j
+public class TicketHoldExpirer {
+
+    private final TicketHoldService ticketHoldService;
+    private final TicketHoldRepository ticketHoldRepository;
+    private final TicketInventory ticketInventory;
+    private final Clock clock;
+    private final long tickMillis;
+    private final int releaseBatchSize;
+    private final HashedTimingWheel<String> wheel;
+
+    @Autowired
+    public TicketHoldExpirer(TicketHoldService ticketHoldService, TicketHoldRepository ticketHoldRepository,
+            TicketInventory ticketInventory, EventProperties eventProperties) {
+        this(ticketHoldService, ticketHoldRepository, ticketInventory, eventProperties, Clock.systemDefaultZone());
+    }
+
+    public TicketHoldExpirer(TicketHoldService ticketHoldService, TicketHoldRepository ticketHoldRepository,
+            TicketInventory ticketInventory, EventProperties eventProperties, Clock clock) {
+        this.ticketHoldService = ticketHoldService;
+        this.ticketHoldRepository = ticketHoldRepository;
+        this.ticketInventory = ticketInventory;
+        this.clock = clock;
+        this.tickMillis = eventProperties.getHolds().getTick().toMillis();
+        this.releaseBatchSize = eventProperties.getHolds().getReleaseBatchSize();
+        this.wheel = new HashedTimingWheel<>(tickMillis, eventProperties.getHolds().getWheelSize(), clock.millis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        var deadlines = ticketHoldRepository.findActiveDeadlines();
+        deadlines.forEach(deadline -> schedule(deadline.getId(), deadline.getExpiresAt()));
+        log.info("Ticket hold expiry rebuilt with {} active holds", deadlines.size());
+    }
+
+    public void schedule(String holdId, LocalDateTime expiresAt) {
+        wheel.schedule(holdId, expiresAt.atZone(clock.getZone()).toInstant().toEpochMilli());
+    }
+
+    public void cancel(String holdId) {
+        wheel.cancel(holdId);
+    }
+
+    /**
+     * @return the holds waiting for their deadline
+     */
+    public int pending() {
+        return wheel.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.holds.tick:PT1S}")
+    public void tick() {
+        List<String> expired = wheel.advance(clock.millis());
+        for (int from = 0; from < expired.size(); from += releaseBatchSize) {
+            var batch = expired.subList(from, Math.min(from + releaseBatchSize, expired.size()));
+            try {
+                for (TicketHold hold : ticketHoldService.expireHolds(batch)) {
+                    ticketInventory.release(hold.getTicketType().getId(), hold.getQuantity());
+                }
+            } catch (RuntimeException e) {
+                // Retried on the next tick, the holds stay active in the meantime
+                log.warn("Failed to expire {} ticket holds: {}", batch.size(), e.getMessage());
+                batch.forEach(holdId -> wheel.schedule(holdId, clock.millis()));
+            }
+        }
+        if (!expired.isEmpty()) {
+            log.debug("{} ticket holds reached their deadline", expired.size());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.lagab.eventz.app.domain.event.reservation;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lagab.eventz.app.domain.event.change.CapacityPoolSettingsChange;
+import com.lagab.eventz.app.domain.event.change.TicketTypeSettingsChange;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.projection.TicketTypeInventoryProjection;
+import com.lagab.eventz.app.domain.event.repository.CapacityPoolRepository;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.ticket.entity.CapacityPool;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stocks of the ticket types being bought, loaded on first use.
+ * <p>
+ * A stock only admits requests: the database stays the source of truth and checks the capacity again when the
+ * sale is written. Stocks are dropped when their ticket type settings change, when the database refuses a sale
+ * they admitted, and after a while, so they catch up with the sales made by other instances.
+ * <p>
+ * Capacity pools get one counter each, shared by the stocks of the ticket types drawing from them. Dropping a pool
+ * counter drops those stocks too, so that no stock keeps admitting against a counter the others no longer see.
+ */
+@Component
+@Slf4j
+public class TicketInventory {
+
+    private final TicketTypeRepository ticketTypeRepository;
+    private final CapacityPoolRepository capacityPoolRepository;
+    private final int stripes;
+    private final Cache<Long, TicketStock> stocks;
+    private final Cache<Long, StripedCounter> capacityPools;
+
+    public TicketInventory(TicketTypeRepository ticketTypeRepository, CapacityPoolRepository capacityPoolRepository,
+            EventProperties eventProperties) {
+        this.ticketTypeRepository = ticketTypeRepository;
+        this.capacityPoolRepository = capacityPoolRepository;
+        this.stripes = eventProperties.getReservation().getStripes();
+        this.stocks = Caffeine.newBuilder()
+                              .expireAfterWrite(eventProperties.getReservation().getStockTtl())
+                              .build();
+        this.capacityPools = Caffeine.newBuilder()
+                                     .expireAfterWrite(eventProperties.getReservation().getStockTtl())
+                                     .<Long, StripedCounter>evictionListener((id, pool, cause) -> evictStocksOf(id))
+                                     .build();
+    }
+
+    TicketStock stock(Long ticketTypeId) {
+        TicketStock stock = stocks.get(ticketTypeId, this::load);
+        if (stock == null) {
+            throw new EntityNotFoundException("Ticket type not found with ID: " + ticketTypeId);
+        }
+        return stock;
+    }
+
+    /**
+     * Gives units back to the stock of a ticket type, if it is loaded.
+     */
+    void release(Long ticketTypeId, int quantity) {
+        TicketStock stock = stocks.getIfPresent(ticketTypeId);
+        if (stock != null) {
+            stock.release(quantity);
+        }
+    }
+
+    /**
+     * @return the tickets left according to the loaded stock, or {@code null} when it is not loaded or unlimited
+     */
+    public Integer remaining(Long ticketTypeId) {
+        TicketStock stock = stocks.getIfPresent(ticketTypeId);
+        return stock != null ? stock.remaining() : null;
+    }
+
+    /**
+     * Drops the stock of a ticket type, and the counters of its pools that may be as far behind.
+     */
+    public void evict(Long ticketTypeId) {
+        TicketStock stock = stocks.asMap().remove(ticketTypeId);
+        if (stock != null) {
+            stock.capacityPoolIds().forEach(this::evictCapacityPool);
+        }
+    }
+
+    public void evictCapacityPool(Long capacityPoolId) {
+        capacityPools.invalidate(capacityPoolId);
+        evictStocksOf(capacityPoolId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTicketTypeSettingsChange(TicketTypeSettingsChange change) {
+        log.debug("Dropping the stock of ticket type {}", change.ticketTypeId());
+        evict(change.ticketTypeId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCapacityPoolSettingsChange(CapacityPoolSettingsChange change) {
+        log.debug("Dropping the stocks of capacity pool {}", change.capacityPoolId());
+        evictCapacityPool(change.capacityPoolId());
+    }
+
+    private TicketStock load(Long ticketTypeId) {
+        return ticketTypeRepository.findById(ticketTypeId).map(ticketType -> {
+            List<Long> capacityPoolIds = ticketType.getCapacityPool() != null
+                    ? ticketTypeRepository.findInventoryById(ticketTypeId)
+                                          .map(TicketTypeInventoryProjection::getCapacityPoolIds)
+                                          .orElse(List.of())
+                    : List.of();
+            List<StripedCounter> counters = capacityPoolIds.stream().map(this::capacityPool).toList();
+            return new TicketStock(ticketType, stripes, capacityPoolIds, counters);
+        }).orElse(null);
+    }
+
+    private StripedCounter capacityPool(Long capacityPoolId) {
+        StripedCounter pool = capacityPools.get(capacityPoolId, id -> capacityPoolRepository.findById(id)
+                                                                                        .map(this::counter)
+                                                                                        .orElse(null));
+        if (pool == null) {
+            throw new EntityNotFoundException("Capacity pool not found with ID: " + capacityPoolId);
+        }
+        return pool;
+    }
+
+    private StripedCounter counter(CapacityPool pool) {
+        return new StripedCounter(Math.max(0, pool.getCapacity() - pool.getQuantitySold() - pool.getQuantityHeld()), stripes);
+    }
+
+    private void evictStocksOf(Long capacityPoolId) {
+        stocks.asMap().values().removeIf(stock -> stock.capacityPoolIds().contains(capacityPoolId));
+    }
+}
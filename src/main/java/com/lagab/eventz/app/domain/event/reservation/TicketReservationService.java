@@ -0,0 +1,219 @@
+package com.lagab.eventz.app.domain.event.reservation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketHoldDTO;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketHoldRequest;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketReservationDTO;
+import com.lagab.eventz.app.domain.event.exception.TicketsSoldOutException;
+import com.lagab.eventz.app.domain.event.queue.QueueTokens.QueueToken;
+import com.lagab.eventz.app.domain.event.queue.WaitingRoom;
+import com.lagab.eventz.app.domain.event.service.TicketHoldService;
+import com.lagab.eventz.app.domain.event.service.TicketTypeService;
+import com.lagab.eventz.app.domain.ticket.entity.TicketHold;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Front door of ticket sales during on-sales.
+ * <p>
+ * Requests are first admitted against the in-memory {@link TicketInventory}: purchase limits, sale window and
+ * tickets left are checked without the database, so once a ticket type is sold out the crowd is turned away
+ * without taking a connection or a row lock. Admitted requests are written with conditional updates that never let
+ * the tickets sold and held exceed the available ones, general admission holds through the
+ * {@link TicketHoldCoalescer} so that concurrent buyers share one update.
+ * <p>
+ * Sales are written in their own transaction: calls must not be made from within a transaction that could roll
+ * back after the units were taken.
+ * <p>
+ * Events with a {@link WaitingRoom} only hold tickets for the buyers it admitted, checked in memory before anything
+ * else, each place in the queue serving one hold.
+ * <p>
+ * Buyers who need time to pay hold their tickets instead: held tickets are off sale until the hold is confirmed
+ * into a sale, released, or expires through the {@link TicketHoldExpirer}.
+ */
+@Service
+@Slf4j
+public class TicketReservationService {
+
+    private final TicketInventory ticketInventory;
+    private final TicketTypeService ticketTypeService;
+    private final TicketHoldCoalescer ticketHoldCoalescer;
+    private final TicketHoldService ticketHoldService;
+    private final TicketHoldExpirer ticketHoldExpirer;
+    private final WaitingRoom waitingRoom;
+    private final Duration holdDuration;
+    private final Clock clock;
+
+    @Autowired
+    public TicketReservationService(TicketInventory ticketInventory, TicketTypeService ticketTypeService,
+            TicketHoldCoalescer ticketHoldCoalescer, TicketHoldService ticketHoldService, TicketHoldExpirer ticketHoldExpirer,
+            WaitingRoom waitingRoom, EventProperties eventProperties) {
+        this(ticketInventory, ticketTypeService, ticketHoldCoalescer, ticketHoldService, ticketHoldExpirer, waitingRoom,
+                eventProperties, Clock.systemDefaultZone());
+    }
+
+    public TicketReservationService(TicketInventory ticketInventory, TicketTypeService ticketTypeService,
+            TicketHoldCoalescer ticketHoldCoalescer, TicketHoldService ticketHoldService, TicketHoldExpirer ticketHoldExpirer,
+            WaitingRoom waitingRoom, EventProperties eventProperties, Clock clock) {
+        this.ticketInventory = ticketInventory;
+        this.ticketTypeService = ticketTypeService;
+        this.ticketHoldCoalescer = ticketHoldCoalescer;
+        this.ticketHoldService = ticketHoldService;
+        this.ticketHoldExpirer = ticketHoldExpirer;
+        this.waitingRoom = waitingRoom;
+        this.holdDuration = eventProperties.getHolds().getDuration();
+        this.clock = clock;
+    }
+
+    /**
+     * Sells tickets outright. Not exposed to buyers, who hold tickets and confirm their holds so that every sale
+     * records its buyer: only for the order flows that record the buyer and the payment themselves. The waiting room
+     * is not checked, buyers having gone through it when they held their tickets.
+     */
+    public TicketReservationDTO reserve(Long ticketTypeId, int quantity) {
+        TicketStock stock = ticketInventory.stock(ticketTypeId);
+        admit(stock, ticketTypeId, quantity, LocalDateTime.now(clock));
+        write(ticketTypeId, quantity, stock, () -> {
+            ticketTypeService.updateQuantitySold(ticketTypeId, quantity);
+            return null;
+        });
+        return new TicketReservationDTO(ticketTypeId, quantity, stock.remaining());
+    }
+
+    /**
+     * Puts sold tickets back on sale, after a cancellation or a refund.
+     */
+    public void release(Long ticketTypeId, int quantity) {
+        ticketTypeService.updateQuantitySold(ticketTypeId, -quantity);
+        ticketInventory.release(ticketTypeId, quantity);
+    }
+
+    /**
+     * Takes tickets off sale for the user until the hold is confirmed or released, or its deadline passes.
+     */
+    public TicketHoldDTO hold(Long ticketTypeId, int quantity, Long userId) {
+        return hold(ticketTypeId, quantity, userId, null);
+    }
+
+    /**
+     * @param queueToken token of the buyer in the waiting room of the event, only checked when the event has one, and
+     *                   used by the hold
+     */
+    public TicketHoldDTO hold(Long ticketTypeId, int quantity, Long userId, String queueToken) {
+        return holdSeats(ticketTypeId, null, null, quantity, userId, queueToken);
+    }
+
+    /**
+     * Holds tickets of a seated ticket type, recording on the hold the seats the seat map set aside for it.
+     *
+     * @param seatSectionId section of the seats, {@code null} for general admission
+     * @param seats         seats of the section, as encoded by the seat map
+     */
+    public TicketHoldDTO holdSeats(Long ticketTypeId, Long seatSectionId, String seats, int quantity, Long userId,
+            String queueToken) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime expiresAt = now.plus(holdDuration);
+        TicketStock stock = ticketInventory.stock(ticketTypeId);
+        QueueToken admission = waitingRoom.claim(stock.eventId(), queueToken, userId);
+        TicketHold hold;
+        try {
+            admit(stock, ticketTypeId, quantity, now);
+            hold = write(ticketTypeId, quantity, stock, () -> seatSectionId == null && seats == null
+                    ? ticketHoldCoalescer.hold(ticketTypeId, new TicketHoldRequest(userId, quantity), now, expiresAt)
+                    : ticketHoldService.createHold(ticketTypeId, quantity, userId, seatSectionId, seats, now, expiresAt));
+        } catch (RuntimeException e) {
+            // The buyer keeps the place for another try
+            waitingRoom.release(admission);
+            throw e;
+        }
+        // A coalesced hold expires with the first hold of its batch
+        ticketHoldExpirer.schedule(hold.getId(), hold.getExpiresAt());
+        return new TicketHoldDTO(hold.getId(), ticketTypeId, quantity, hold.getExpiresAt());
+    }
+
+    /**
+     * Holds tickets for the requests in order, as long as the tickets left cover the next one, without going through
+     * the waiting room. Serves buyers who were promised the tickets, such as the waitlist of a ticket type.
+     *
+     * @param duration time the users have to confirm their holds
+     * @return the holds of the requests served, the first ones, in order
+     */
+    public List<TicketHold> holdInOrder(Long ticketTypeId, List<TicketHoldRequest> requests, Duration duration) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime expiresAt = now.plus(duration);
+        TicketStock stock = ticketInventory.stock(ticketTypeId);
+        requests.forEach(request -> stock.checkRequest(request.quantity(), now));
+        List<TicketHoldRequest> admitted = new ArrayList<>();
+        int quantity = 0;
+        for (TicketHoldRequest request : requests) {
+            if (!stock.tryAcquire(request.quantity())) {
+                break;
+            }
+            admitted.add(request);
+            quantity += request.quantity();
+        }
+        if (admitted.isEmpty()) {
+            return List.of();
+        }
+        List<TicketHold> holds = write(ticketTypeId, quantity, stock,
+                () -> ticketHoldService.createHolds(ticketTypeId, admitted, now, expiresAt));
+        holds.forEach(hold -> ticketHoldExpirer.schedule(hold.getId(), expiresAt));
+        return holds;
+    }
+
+    /**
+     * Turns a hold of the user into a sale, as long as its deadline has not passed.
+     */
+    public TicketReservationDTO confirmHold(String holdId, Long userId) {
+        TicketHold hold = ticketHoldService.confirmHold(holdId, userId, LocalDateTime.now(clock));
+        ticketHoldExpirer.cancel(holdId);
+        Long ticketTypeId = hold.getTicketType().getId();
+        return new TicketReservationDTO(ticketTypeId, hold.getQuantity(), ticketInventory.remaining(ticketTypeId));
+    }
+
+    /**
+     * Puts the tickets of holds of the user back on sale.
+     *
+     * @return the number of holds released
+     */
+    public int releaseHolds(List<String> holdIds, Long userId) {
+        List<TicketHold> released = ticketHoldService.releaseHolds(holdIds, userId);
+        for (TicketHold hold : released) {
+            ticketHoldExpirer.cancel(hold.getId());
+            ticketInventory.release(hold.getTicketType().getId(), hold.getQuantity());
+        }
+        return released.size();
+    }
+
+    private static void admit(TicketStock stock, Long ticketTypeId, int quantity, LocalDateTime now) {
+        stock.checkRequest(quantity, now);
+        if (!stock.tryAcquire(quantity)) {
+            throw new TicketsSoldOutException("Not enough tickets left for ticket type: " + ticketTypeId);
+        }
+    }
+
+    // Writes admitted units to the database, giving them back to the stock if the write fails
+    private <T> T write(Long ticketTypeId, int quantity, TicketStock stock, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (TicketsSoldOutException e) {
+            // Tickets sold elsewhere since the stock was loaded, start over from the database
+            log.debug("Stock of ticket type {} was behind the database", ticketTypeId);
+            ticketInventory.evict(ticketTypeId);
+            throw e;
+        } catch (RuntimeException e) {
+            stock.release(quantity);
+            throw e;
+        }
+    }
+}
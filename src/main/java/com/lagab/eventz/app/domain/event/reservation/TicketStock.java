@@ -0,0 +1,106 @@
+package com.lagab.eventz.app.domain.event.reservation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.lagab.eventz.app.common.exception.BusinessException;
+import com.lagab.eventz.app.common.exception.ValidationException;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+
+/**
+ * In-memory admission state of one ticket type: its purchase limits and sale window, and the tickets left as of
+ * its loading minus the ones admitted since.
+ * <p>
+ * Ticket types drawing from capacity pools share the counters of their pools with the other stocks of the pools: a
+ * request is admitted once the ticket type and every pool have covered it, and gives back what it took otherwise.
+ */
+final class TicketStock {
+
+    private final Long ticketTypeId;
+    private final Long eventId;
+    private final boolean active;
+    private final int minQuantity;
+    private final int maxQuantity;
+    private final LocalDateTime saleStart;
+    private final LocalDateTime saleEnd;
+    // null when the ticket type has no quantity limit
+    private final StripedCounter remaining;
+    private final List<Long> capacityPoolIds;
+    private final List<StripedCounter> capacityPools;
+
+    TicketStock(TicketType ticketType, int stripes) {
+        this(ticketType, stripes, List.of(), List.of());
+    }
+
+    TicketStock(TicketType ticketType, int stripes, List<Long> capacityPoolIds, List<StripedCounter> capacityPools) {
+        this.ticketTypeId = ticketType.getId();
+        this.eventId = ticketType.getEvent() != null ? ticketType.getEvent().getId() : null;
+        this.active = Boolean.TRUE.equals(ticketType.getIsActive());
+        this.minQuantity = ticketType.getMinQuantity() != null ? ticketType.getMinQuantity() : 1;
+        this.maxQuantity = ticketType.getMaxQuantity() != null ? ticketType.getMaxQuantity() : Integer.MAX_VALUE;
+        this.saleStart = ticketType.getSaleStart();
+        this.saleEnd = ticketType.getSaleEnd();
+        int sold = ticketType.getQuantitySold() != null ? ticketType.getQuantitySold() : 0;
+        int held = ticketType.getQuantityHeld() != null ? ticketType.getQuantityHeld() : 0;
+        this.remaining = ticketType.getQuantityAvailable() != null
+                ? new StripedCounter(Math.max(0, ticketType.getQuantityAvailable() - sold - held), stripes)
+                : null;
+        this.capacityPoolIds = capacityPoolIds;
+        this.capacityPools = capacityPools;
+    }
+
+    Long eventId() {
+        return eventId;
+    }
+
+    List<Long> capacityPoolIds() {
+        return capacityPoolIds;
+    }
+
+    void checkRequest(int quantity, LocalDateTime now) {
+        if (quantity < Math.max(1, minQuantity) || quantity > maxQuantity) {
+            throw new ValidationException("Quantity must be between " + Math.max(1, minQuantity) + " and " + maxQuantity
+                    + " for ticket type: " + ticketTypeId);
+        }
+        if (!active) {
+            throw new BusinessException("Ticket type is not active: " + ticketTypeId);
+        }
+        if (saleStart != null && now.isBefore(saleStart) || saleEnd != null && now.isAfter(saleEnd)) {
+            throw new BusinessException("Ticket type is not on sale: " + ticketTypeId);
+        }
+    }
+
+    boolean tryAcquire(int quantity) {
+        if (remaining != null && !remaining.tryAcquire(quantity)) {
+            return false;
+        }
+        for (int i = 0; i < capacityPools.size(); i++) {
+            if (!capacityPools.get(i).tryAcquire(quantity)) {
+                capacityPools.subList(0, i).forEach(pool -> pool.release(quantity));
+                if (remaining != null) {
+                    remaining.release(quantity);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void release(int quantity) {
+        if (remaining != null) {
+            remaining.release(quantity);
+        }
+        capacityPools.forEach(pool -> pool.release(quantity));
+    }
+
+    /**
+     * @return the tickets left according to this stock and its pools, or {@code null} when none of them has a limit
+     */
+    Integer remaining() {
+        Integer left = remaining != null ? remaining.sum() : null;
+        for (StripedCounter pool : capacityPools) {
+            left = left != null ? Math.min(left, pool.sum()) : pool.sum();
+        }
+        return left;
+    }
+}
@@ -0,0 +1,223 @@
+package com.lagab.eventz.app.domain.event.search;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+
+import com.lagab.eventz.app.domain.event.change.EventIndex;
+import com.lagab.eventz.app.domain.event.change.EventSnapshot;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory inverted index over the name, summary, description and city of events, ranked with BM25.
+ * <p>
+ * Terms of a query are combined with AND semantics; the last term also matches as a prefix so partially typed
+ * words still find results. Field weights are applied to term frequencies (name and summary count more than the
+ * description). The index only answers "which ids match, and how well": structured filters stay in the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventSearchIndex implements EventIndex {
+
+    private static final float NAME_WEIGHT = 3f;
+    private static final float SUMMARY_WEIGHT = 2f;
+    private static final float CITY_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    private final EventProperties eventProperties;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Segment segment = new Segment();
+    private volatile boolean ready;
+
+    /**
+     * Whether the index can answer the given keyword. Until the first rebuild, and for keywords made of stop words
+     * only, callers should fall back to the database.
+     */
+    public boolean canServe(String keyword) {
+        return ready && !EventTextAnalyzer.tokenize(keyword).isEmpty();
+    }
+
+    public int getMaxHits() {
+        return eventProperties.getSearch().getMaxHits();
+    }
+
+    /**
+     * @return matching event ids mapped to their BM25 score, best first, capped at the configured maximum hits
+     */
+    public Map<Long, Double> search(String keyword) {
+        List<String> terms = EventTextAnalyzer.tokenize(keyword).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Double> scores;
+        lock.readLock().lock();
+        try {
+            scores = score(terms);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<Long, Double> ranked = new LinkedHashMap<>();
+        scores.entrySet().stream()
+              .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+              .limit(getMaxHits())
+              .forEach(entry -> ranked.put(entry.getKey(), entry.getValue()));
+        return ranked;
+    }
+
+    @Override
+    public void index(EventSnapshot snapshot) {
+        lock.writeLock().lock();
+        try {
+            segment.remove(snapshot.id());
+            segment.add(snapshot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            segment.remove(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index. The new segment is built without holding the lock so searches keep being served
+     * from the previous one meanwhile.
+     */
+    @Override
+    public void rebuild(Stream<EventSnapshot> snapshots) {
+        Segment rebuilt = new Segment();
+        snapshots.forEach(rebuilt::add);
+
+        lock.writeLock().lock();
+        try {
+            segment = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Event search index rebuilt with {} events and {} terms", rebuilt.documents.size(), rebuilt.postings.size());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> score(List<String> terms) {
+        if (segment.documents.isEmpty()) {
+            return Map.of();
+        }
+        double k1 = eventProperties.getSearch().getK1();
+        double b = eventProperties.getSearch().getB();
+        int documentCount = segment.documents.size();
+        double averageLength = segment.totalLength / documentCount;
+
+        Map<Long, Double> scores = null;
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            Map<String, Map<Long, Float>> matches = i == terms.size() - 1
+                    ? segment.postings.subMap(term, true, term + Character.MAX_VALUE, false)
+                    : postingsOf(term);
+
+            Map<Long, Double> termScores = new HashMap<>();
+            for (Map<Long, Float> postings : matches.values()) {
+                double idf = Math.log(1 + (documentCount - postings.size() + 0.5) / (postings.size() + 0.5));
+                postings.forEach((eventId, frequency) -> {
+                    double length = segment.documents.get(eventId).length();
+                    double saturation = frequency * (k1 + 1) / (frequency + k1 * (1 - b + b * length / averageLength));
+                    // Several expansions of a prefix must not add up
+                    termScores.merge(eventId, idf * saturation, Math::max);
+                });
+            }
+
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((eventId, score) -> score + termScores.get(eventId));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    private Map<String, Map<Long, Float>> postingsOf(String term) {
+        Map<Long, Float> postings = segment.postings.get(term);
+        return postings != null ? Map.of(term, postings) : Map.of();
+    }
+
+    private record Document(Set<String> terms, float length) {
+    }
+
+    private static final class Segment {
+
+        private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+        private final Map<Long, Document> documents = new HashMap<>();
+        private double totalLength;
+
+        private void add(EventSnapshot snapshot) {
+            Map<String, Float> frequencies = new HashMap<>();
+            addField(frequencies, snapshot.name(), NAME_WEIGHT);
+            addField(frequencies, snapshot.summary(), SUMMARY_WEIGHT);
+            addField(frequencies, snapshot.description(), DESCRIPTION_WEIGHT);
+            addField(frequencies, snapshot.city(), CITY_WEIGHT);
+
+            float length = 0;
+            for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(snapshot.id(), entry.getValue());
+                length += entry.getValue();
+            }
+            documents.put(snapshot.id(), new Document(frequencies.keySet(), length));
+            totalLength += length;
+        }
+
+        private void remove(Long eventId) {
+            Document document = documents.remove(eventId);
+            if (document == null) {
+                return;
+            }
+            for (String term : document.terms()) {
+                Map<Long, Float> termPostings = postings.get(term);
+                termPostings.remove(eventId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            totalLength -= document.length();
+        }
+
+        private static void addField(Map<String, Float> frequencies, String text, float weight) {
+            for (String term : EventTextAnalyzer.tokenize(text)) {
+                frequencies.merge(term, weight, Float::sum);
+            }
+        }
+    }
+}
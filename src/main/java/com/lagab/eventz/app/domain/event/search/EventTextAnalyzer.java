@@ -0,0 +1,44 @@
+package com.lagab.eventz.app.domain.event.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns free text into index terms: accents are folded, text is lower cased and split on anything that is not a
+ * letter or a digit. Very short tokens and the most common English and French stop words are dropped.
+ */
+public final class EventTextAnalyzer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "at", "by", "for", "in", "of", "on", "or", "the", "to", "with",
+            "au", "aux", "de", "des", "du", "en", "et", "la", "le", "les", "ou", "un", "une"
+    );
+
+    private EventTextAnalyzer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return folded.toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalize(text))) {
+            if (token.length() >= MIN_TERM_LENGTH && !STOP_WORDS.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+}
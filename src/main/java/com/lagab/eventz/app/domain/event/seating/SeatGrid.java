@@ -0,0 +1,247 @@
+package com.lagab.eventz.app.domain.event.seating;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Seats of a section kept as bitsets: seat {@code number} of {@code row} is bit {@code row * width + number}, rows
+ * counted from the stage and numbers from the left, both from zero.
+ * <p>
+ * A 50,000 seat section takes a few kilobytes per bitset, and looking for adjacent seats walks the runs of free
+ * seats a word at a time instead of the seats one by one. Every method locks the grid, so finding seats and taking
+ * them is atomic: buyers of the same section never get the same seat.
+ */
+public final class SeatGrid {
+
+    // One row further from the preferred seat weighs as much as this many seats sideways
+    private static final int ROW_WEIGHT = 4;
+    // Leaving a single seat between a block and a taken seat weighs as much as this many seats sideways
+    private static final int ORPHAN_WEIGHT = 2;
+
+    private final int rows;
+    private final int width;
+    private final BitSet layout;
+    private final BitSet sold;
+    // Seats of the layout neither sold nor held
+    private final BitSet available;
+
+    /**
+     * @param layout places of the grid that are seats
+     * @param sold   seats sold, places of the grid that are not seats are ignored
+     */
+    public SeatGrid(int rows, int width, BitSet layout, BitSet sold) {
+        if (rows <= 0 || width <= 0) {
+            throw new IllegalArgumentException("A seat grid needs rows and seats: " + rows + "x" + width);
+        }
+        this.rows = rows;
+        this.width = width;
+        this.layout = layout.get(0, rows * width);
+        this.sold = sold.get(0, rows * width);
+        this.sold.and(this.layout);
+        this.available = (BitSet) this.layout.clone();
+        this.available.andNot(this.sold);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    /**
+     * @return the seat at the given place, or {@code -1} when there is no seat there
+     */
+    public int seat(int row, int number) {
+        if (row < 0 || row >= rows || number < 0 || number >= width || !layout.get(row * width + number)) {
+            return -1;
+        }
+        return row * width + number;
+    }
+
+    public int row(int seat) {
+        return seat / width;
+    }
+
+    public int number(int seat) {
+        return seat % width;
+    }
+
+    public synchronized int available() {
+        return available.cardinality();
+    }
+
+    public synchronized boolean isAvailable(int seat) {
+        return available.get(seat);
+    }
+
+    /**
+     * Takes the given seats if they are all available, none of them otherwise.
+     */
+    public synchronized boolean take(int[] seats) {
+        for (int seat : seats) {
+            if (seat < 0 || !available.get(seat)) {
+                return false;
+            }
+        }
+        for (int seat : seats) {
+            available.clear(seat);
+        }
+        return true;
+    }
+
+    /**
+     * Takes the best block of adjacent seats of one row: the closest to the preferred seat, rows away from it
+     * weighing more than seats sideways, and avoiding to leave a single seat alone next to the block.
+     *
+     * @param preferredRow    row to look around, clamped to the grid
+     * @param preferredNumber seat the block is centered on when possible, clamped to the grid
+     * @return the seats taken from left to right, or {@code null} when no row has enough adjacent seats left
+     */
+    public synchronized int[] takeBest(int quantity, int preferredRow, int preferredNumber) {
+        if (quantity <= 0 || quantity > width) {
+            return null;
+        }
+        int row = Math.clamp(preferredRow, 0, rows - 1);
+        int number = Math.clamp(preferredNumber, 0, width - 1);
+        // Costs are counted in half seats so that the center of a block of even size stays an integer
+        long bestCost = Long.MAX_VALUE;
+        int bestStart = -1;
+        for (int distance = 0; distance < rows; distance++) {
+            long rowCost = 2L * ROW_WEIGHT * distance;
+            if (rowCost >= bestCost) {
+                break;
+            }
+            for (int candidate : distance == 0 ? new int[] { row } : new int[] { row - distance, row + distance }) {
+                if (candidate < 0 || candidate >= rows) {
+                    continue;
+                }
+                long found = bestInRow(candidate, quantity, number, bestCost - rowCost);
+                if (found >= 0) {
+                    bestCost = rowCost + (found >>> 32);
+                    bestStart = candidate * width + (int) found;
+                }
+            }
+        }
+        if (bestStart < 0) {
+            return null;
+        }
+        int[] seats = new int[quantity];
+        for (int i = 0; i < quantity; i++) {
+            seats[i] = bestStart + i;
+        }
+        available.clear(bestStart, bestStart + quantity);
+        return seats;
+    }
+
+    /**
+     * Looks for the block of a row cheaper than the given cost, walking the runs of available seats.
+     *
+     * @return the cost of the block in the high half and its first seat number in the low half, or {@code -1}
+     */
+    private long bestInRow(int row, int quantity, int number, long maxCost) {
+        int rowStart = row * width;
+        int rowEnd = rowStart + width;
+        // Block centered on the preferred seat
+        int ideal = rowStart + number - (quantity - 1) / 2;
+        long bestCost = maxCost;
+        int bestStart = -1;
+        int from = rowStart;
+        while (from < rowEnd) {
+            int runStart = available.nextSetBit(from);
+            if (runStart < 0 || runStart >= rowEnd) {
+                break;
+            }
+            // Runs further right only move away from the preferred seat
+            if (2L * (runStart - rowStart) + quantity - 1 - 2L * number >= bestCost) {
+                break;
+            }
+            int runEnd = Math.min(available.nextClearBit(runStart), rowEnd);
+            if (runEnd - runStart >= quantity) {
+                for (int start : new int[] { Math.clamp(ideal, runStart, runEnd - quantity), runStart, runEnd - quantity }) {
+                    long cost = Math.abs(2L * (start - rowStart) + quantity - 1 - 2L * number);
+                    if (start - runStart == 1 || runEnd - start - quantity == 1) {
+                        cost += 2L * ORPHAN_WEIGHT;
+                    }
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        bestStart = start;
+                    }
+                }
+            }
+            from = runEnd;
+        }
+        return bestStart < 0 ? -1 : bestCost << 32 | (bestStart - rowStart);
+    }
+
+    /**
+     * Puts seats back on sale, unless they were sold in the meantime.
+     */
+    public synchronized void free(int[] seats) {
+        for (int seat : seats) {
+            if (seat >= 0 && layout.get(seat) && !sold.get(seat)) {
+                available.set(seat);
+            }
+        }
+    }
+
+    /**
+     * Takes seats off sale whatever their state, for holds read back from the database.
+     */
+    public synchronized void hold(int[] seats) {
+        for (int seat : seats) {
+            if (seat >= 0 && layout.get(seat)) {
+                available.clear(seat);
+            }
+        }
+    }
+
+    public synchronized void sell(int[] seats) {
+        for (int seat : seats) {
+            if (seat >= 0 && layout.get(seat)) {
+                available.clear(seat);
+                sold.set(seat);
+            }
+        }
+    }
+
+    public synchronized byte[] soldSeats() {
+        return sold.toByteArray();
+    }
+
+    /**
+     * @return one line per row: {@code o} for an available seat, {@code x} for a seat sold or held, {@code .} for a
+     * place without a seat
+     */
+    public synchronized List<String> render() {
+        List<String> lines = new ArrayList<>(rows);
+        char[] line = new char[width];
+        for (int row = 0; row < rows; row++) {
+            for (int number = 0; number < width; number++) {
+                int seat = row * width + number;
+                line[number] = !layout.get(seat) ? '.' : available.get(seat) ? 'o' : 'x';
+            }
+            lines.add(new String(line));
+        }
+        return lines;
+    }
+
+    /**
+     * Reads a layout drawn one line per row, {@code o} for a seat and {@code .} for a place without one. Rows
+     * shorter than the widest are padded without seats.
+     */
+    public static BitSet parseLayout(List<String> lines, int width) {
+        BitSet layout = new BitSet(lines.size() * width);
+        for (int row = 0; row < lines.size(); row++) {
+            String line = lines.get(row);
+            for (int number = 0; number < line.length(); number++) {
+                if (line.charAt(number) == 'o') {
+                    layout.set(row * width + number);
+                }
+            }
+        }
+        return layout;
+    }
+}
@@ -0,0 +1,286 @@
+package com.lagab.eventz.app.domain.event.seating;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.lagab.eventz.app.common.exception.ValidationException;
+import com.lagab.eventz.app.domain.event.change.SeatSectionSettingsChange;
+import com.lagab.eventz.app.domain.event.change.TicketHoldsClosedChange;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.seating.BestAvailableRequest;
+import com.lagab.eventz.app.domain.event.dto.seating.SeatDTO;
+import com.lagab.eventz.app.domain.event.dto.seating.SeatHoldDTO;
+import com.lagab.eventz.app.domain.event.dto.seating.SeatSectionDTO;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketHoldDTO;
+import com.lagab.eventz.app.domain.event.exception.TicketsSoldOutException;
+import com.lagab.eventz.app.domain.event.repository.SeatSectionRepository;
+import com.lagab.eventz.app.domain.event.repository.TicketHoldRepository;
+import com.lagab.eventz.app.domain.event.reservation.TicketReservationService;
+import com.lagab.eventz.app.domain.event.service.SeatSectionService;
+import com.lagab.eventz.app.domain.ticket.entity.SeatSection;
+import com.lagab.eventz.app.domain.ticket.entity.TicketHoldStatus;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Seats of the seated sections being sold, in memory, loaded on first use.
+ * <p>
+ * Seats are taken in the {@link SeatGrid} of their section first, so concurrent buyers never get the same seat,
+ * then held like any tickets of the ticket type of the section: the hold records its seats and is confirmed,
+ * released or expires as usual, which marks the seats sold or puts them back on sale. A ticket type bounds the seats
+ * sold in its sections with its own quantity.
+ * <p>
+ * Sold seats are written to their section as bitsets by a periodic flush, one batch for all the sections changed in
+ * the meantime. A section loads its last snapshot, then the seats of the active holds and of the holds confirmed
+ * since the snapshot, so nothing is lost if the instance stops before a flush.
+ * <p>
+ * Seat maps live in the memory of each instance: as for the waiting room, the on-sale traffic of an event is
+ * expected to be routed to one instance.
+ */
+@Component
+@Slf4j
+public class SeatMap {
+
+    // Holds confirmed this long before a snapshot was taken are read again, in case the snapshot missed them
+    private static final Duration SNAPSHOT_OVERLAP = Duration.ofMinutes(1);
+
+    private final SeatSectionRepository seatSectionRepository;
+    private final TicketHoldRepository ticketHoldRepository;
+    private final SeatSectionService seatSectionService;
+    private final TicketReservationService ticketReservationService;
+    private final Clock clock;
+    private final int maxSeatsPerHold;
+    private final int flushBatchSize;
+    private final Map<Long, Section> sections = new ConcurrentHashMap<>();
+    // Seats of the active holds, by hold
+    private final Map<String, SeatedHold> holds = new ConcurrentHashMap<>();
+    // Sections with seats sold since the last flush
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public SeatMap(SeatSectionRepository seatSectionRepository, TicketHoldRepository ticketHoldRepository,
+            SeatSectionService seatSectionService, TicketReservationService ticketReservationService,
+            EventProperties eventProperties) {
+        this(seatSectionRepository, ticketHoldRepository, seatSectionService, ticketReservationService, eventProperties,
+                Clock.systemDefaultZone());
+    }
+
+    public SeatMap(SeatSectionRepository seatSectionRepository, TicketHoldRepository ticketHoldRepository,
+            SeatSectionService seatSectionService, TicketReservationService ticketReservationService,
+            EventProperties eventProperties, Clock clock) {
+        this.seatSectionRepository = seatSectionRepository;
+        this.ticketHoldRepository = ticketHoldRepository;
+        this.seatSectionService = seatSectionService;
+        this.ticketReservationService = ticketReservationService;
+        this.clock = clock;
+        this.maxSeatsPerHold = eventProperties.getSeating().getMaxSeatsPerHold();
+        this.flushBatchSize = eventProperties.getSeating().getFlushBatchSize();
+    }
+
+    public List<SeatSectionDTO> getSeatSections(Long eventId) {
+        return seatSectionRepository.findIdsByEventId(eventId)
+                                    .stream()
+                                    .map(this::section)
+                                    .map(section -> new SeatSectionDTO(section.id, section.ticketTypeId, section.name,
+                                            section.grid.rows(), section.grid.width(), section.grid.available(),
+                                            section.grid.render()))
+                                    .toList();
+    }
+
+    /**
+     * Holds the best block of adjacent seats of the ticket type, looking at the preferred section first and then at
+     * the others in order.
+     *
+     * @param queueToken token of the buyer in the waiting room of the event, only checked when the event has one
+     * @throws TicketsSoldOutException when no section has enough adjacent seats left
+     */
+    public SeatHoldDTO holdBestAvailable(Long eventId, BestAvailableRequest request, Long userId, String queueToken) {
+        checkQuantity(request.quantity());
+        List<Long> sectionIds = new ArrayList<>(seatSectionRepository.findIdsByEventIdAndTicketTypeId(eventId, request.ticketTypeId()));
+        if (sectionIds.isEmpty()) {
+            throw new EntityNotFoundException("No seat section for ticket type: " + request.ticketTypeId());
+        }
+        if (request.sectionId() != null) {
+            if (!sectionIds.remove(request.sectionId())) {
+                throw new EntityNotFoundException("Seat section not found with ID: " + request.sectionId());
+            }
+            sectionIds.addFirst(request.sectionId());
+        }
+
+        for (Long sectionId : sectionIds) {
+            Section section = section(sectionId);
+            boolean preferred = sectionId.equals(request.sectionId());
+            int row = preferred && request.row() != null ? request.row() - 1 : 0;
+            int number = preferred && request.number() != null ? request.number() - 1 : section.grid.width() / 2;
+            int[] seats = section.grid.takeBest(request.quantity(), row, number);
+            if (seats != null) {
+                return hold(section, seats, userId, queueToken);
+            }
+        }
+        throw new TicketsSoldOutException("No " + request.quantity() + " adjacent seats left for ticket type: " + request.ticketTypeId());
+    }
+
+    /**
+     * Holds the given seats of a section, all of them or none.
+     *
+     * @throws TicketsSoldOutException when one of the seats is sold or held
+     */
+    public SeatHoldDTO holdSeats(Long eventId, Long sectionId, List<SeatDTO> seats, Long userId, String queueToken) {
+        checkQuantity(seats.size());
+        Section section = section(sectionId);
+        if (!section.eventId.equals(eventId)) {
+            throw new EntityNotFoundException("Seat section not found with ID: " + sectionId);
+        }
+        int[] taken = seats.stream().mapToInt(seat -> {
+            int index = section.grid.seat(seat.row() - 1, seat.number() - 1);
+            if (index < 0) {
+                throw new ValidationException("No seat " + seat.number() + " in row " + seat.row() + " of section " + section.name);
+            }
+            return index;
+        }).distinct().sorted().toArray();
+        if (!section.grid.take(taken)) {
+            throw new TicketsSoldOutException("Some of the seats are no longer available in section: " + section.name);
+        }
+        return hold(section, taken, userId, queueToken);
+    }
+
+    private void checkQuantity(int quantity) {
+        if (quantity > maxSeatsPerHold) {
+            throw new ValidationException("Cannot hold more than " + maxSeatsPerHold + " seats at once");
+        }
+    }
+
+    // Holds the tickets of seats taken in the grid, giving the seats back if the hold is refused
+    private SeatHoldDTO hold(Section section, int[] seats, Long userId, String queueToken) {
+        TicketHoldDTO hold;
+        try {
+            hold = ticketReservationService.holdSeats(section.ticketTypeId, section.id, encode(seats), seats.length, userId, queueToken);
+        } catch (RuntimeException e) {
+            section.grid.free(seats);
+            throw e;
+        }
+        holds.put(hold.id(), new SeatedHold(section.id, seats));
+        List<SeatDTO> held = Arrays.stream(seats)
+                                   .mapToObj(seat -> new SeatDTO(section.grid.row(seat) + 1, section.grid.number(seat) + 1))
+                                   .toList();
+        return new SeatHoldDTO(hold.id(), section.ticketTypeId, section.id, section.name, held, hold.expiresAt());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTicketHoldsClosed(TicketHoldsClosedChange change) {
+        for (String holdId : change.holdIds()) {
+            SeatedHold hold = holds.remove(holdId);
+            Section section = hold != null ? sections.get(hold.sectionId) : null;
+            if (section == null) {
+                continue;
+            }
+            if (change.status() == TicketHoldStatus.CONFIRMED) {
+                section.grid.sell(hold.seats);
+                changed.add(section.id);
+            } else {
+                section.grid.free(hold.seats);
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSeatSectionSettingsChange(SeatSectionSettingsChange change) {
+        sections.remove(change.seatSectionId());
+        changed.remove(change.seatSectionId());
+    }
+
+    /**
+     * Writes the sold seats of the sections changed since the last flush, keeping them for the next one if the
+     * write fails.
+     */
+    @Scheduled(fixedDelayString = "${app.events.seating.flush-interval:PT1S}")
+    @PreDestroy
+    public synchronized void flush() {
+        List<Long> pending = new ArrayList<>(changed);
+        changed.removeAll(pending);
+        for (int from = 0; from < pending.size(); from += flushBatchSize) {
+            var batch = pending.subList(from, Math.min(from + flushBatchSize, pending.size()));
+            // Read before the seats, so that holds confirmed while copying them are read again on load
+            LocalDateTime takenAt = LocalDateTime.now(clock);
+            Map<Long, byte[]> soldSeats = new LinkedHashMap<>();
+            batch.forEach(sectionId -> {
+                Section section = sections.get(sectionId);
+                if (section != null) {
+                    soldSeats.put(sectionId, section.grid.soldSeats());
+                }
+            });
+            try {
+                seatSectionService.saveSoldSeats(soldSeats, takenAt);
+            } catch (RuntimeException e) {
+                log.warn("Failed to write the sold seats of {} sections: {}", batch.size(), e.getMessage());
+                changed.addAll(batch);
+            }
+        }
+    }
+
+    private Section section(Long sectionId) {
+        Section section = sections.computeIfAbsent(sectionId, this::load);
+        if (section == null) {
+            throw new EntityNotFoundException("Seat section not found with ID: " + sectionId);
+        }
+        return section;
+    }
+
+    private Section load(Long sectionId) {
+        SeatSection found = seatSectionRepository.findById(sectionId).orElse(null);
+        if (found == null) {
+            return null;
+        }
+        BitSet sold = found.getSoldSeats() != null ? BitSet.valueOf(found.getSoldSeats()) : new BitSet();
+        SeatGrid grid = new SeatGrid(found.getRowCount(), found.getRowWidth(), BitSet.valueOf(found.getLayout()), sold);
+        LocalDateTime confirmedSince = found.getSeatsUpdatedAt() != null
+                ? found.getSeatsUpdatedAt().minus(SNAPSHOT_OVERLAP)
+                : LocalDateTime.of(1970, 1, 1, 0, 0);
+        ticketHoldRepository.findSeatHolds(sectionId, confirmedSince).forEach(hold -> {
+            int[] seats = decode(hold.getSeats());
+            if (hold.getStatus() == TicketHoldStatus.ACTIVE) {
+                grid.hold(seats);
+                holds.put(hold.getId(), new SeatedHold(sectionId, seats));
+            } else {
+                grid.sell(seats);
+            }
+        });
+        log.debug("Seat section {} loaded with {} seats available", sectionId, grid.available());
+        return new Section(sectionId, found.getEvent().getId(), found.getTicketType().getId(), found.getName(), grid);
+    }
+
+    static String encode(int[] seats) {
+        return Arrays.stream(seats).mapToObj(Integer::toString).collect(Collectors.joining(","));
+    }
+
+    static int[] decode(String seats) {
+        if (seats == null || seats.isEmpty()) {
+            return new int[0];
+        }
+        return Arrays.stream(seats.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private record Section(Long id, Long eventId, Long ticketTypeId, String name, SeatGrid grid) {
+    }
+
+    private record SeatedHold(Long sectionId, int[] seats) {
+    }
+}
@@ -0,0 +1,234 @@
+package com.lagab.eventz.app.domain.event.service;
+
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lagab.eventz.app.common.exception.BusinessException;
+import com.lagab.eventz.app.domain.event.change.CapacityPoolSettingsChange;
+import com.lagab.eventz.app.domain.event.change.TicketTypeChange;
+import com.lagab.eventz.app.domain.event.change.TicketTypeSettingsChange;
+import com.lagab.eventz.app.domain.event.dto.ticket.CapacityPoolDTO;
+import com.lagab.eventz.app.domain.event.dto.ticket.CreateCapacityPoolRequest;
+import com.lagab.eventz.app.domain.event.dto.ticket.UpdateCapacityPoolRequest;
+import com.lagab.eventz.app.domain.event.mapper.CapacityPoolMapper;
+import com.lagab.eventz.app.domain.event.repository.CapacityPoolRepository;
+import com.lagab.eventz.app.domain.event.repository.EventRepository;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.ticket.entity.CapacityPool;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Capacity pools of events, and the counters sales and holds take from them.
+ * <p>
+ * A sale takes from its ticket type first, then from its pool and the parent pool, always in that order so that
+ * concurrent writers lock the rows the same way. Each step is a conditional update; when one is refused, the steps
+ * already taken are given back in the same transaction, so the ticket type and its pools move together or not at
+ * all, whether or not the caller's transaction rolls back.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class CapacityPoolService {
+
+    private final CapacityPoolRepository capacityPoolRepository;
+    private final TicketTypeRepository ticketTypeRepository;
+    private final EventRepository eventRepository;
+    private final CapacityPoolMapper capacityPoolMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CapacityPoolDTO createCapacityPool(Long eventId, CreateCapacityPoolRequest request) {
+        log.debug("Creating capacity pool: {} for event: {}", request.name(), eventId);
+
+        var event = eventRepository.findById(eventId)
+                                   .orElseThrow(() -> new EntityNotFoundException("Event not found with ID: " + eventId));
+
+        var pool = new CapacityPool();
+        pool.setEvent(event);
+        pool.setName(request.name());
+        pool.setCapacity(request.capacity());
+        if (request.parentId() != null) {
+            var parent = getCapacityPool(eventId, request.parentId());
+            if (parent.getParent() != null) {
+                throw new BusinessException("A group pool can only draw from an event-level pool");
+            }
+            pool.setParent(parent);
+        }
+
+        return capacityPoolMapper.toDTO(capacityPoolRepository.save(pool));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CapacityPoolDTO> getCapacityPoolsByEventId(Long eventId) {
+        return capacityPoolMapper.toDTOList(capacityPoolRepository.findByEventIdOrderById(eventId));
+    }
+
+    public CapacityPoolDTO updateCapacityPool(Long eventId, Long capacityPoolId, UpdateCapacityPoolRequest request) {
+        log.debug("Updating capacity pool: {}", capacityPoolId);
+
+        var pool = getCapacityPool(eventId, capacityPoolId);
+        if (request.name() != null) {
+            pool.setName(request.name());
+        }
+        // Checked against the counters in the update itself, concurrent sales may have moved them
+        if (request.capacity() != null) {
+            if (capacityPoolRepository.updateCapacity(capacityPoolId, request.capacity()) == 0) {
+                throw new BusinessException("Capacity cannot be less than the quantity sold and on hold");
+            }
+            pool.setCapacity(request.capacity());
+        }
+
+        eventPublisher.publishEvent(new CapacityPoolSettingsChange(capacityPoolId));
+        refreshAvailability(eventId);
+        return capacityPoolMapper.toDTO(pool);
+    }
+
+    public void deleteCapacityPool(Long eventId, Long capacityPoolId) {
+        log.debug("Deleting capacity pool: {}", capacityPoolId);
+
+        var pool = getCapacityPool(eventId, capacityPoolId);
+        if (!ticketTypeRepository.findByCapacityPoolId(capacityPoolId).isEmpty() || capacityPoolRepository.existsByParentId(capacityPoolId)) {
+            throw new BusinessException("Cannot delete a capacity pool that ticket types or pools draw from");
+        }
+
+        capacityPoolRepository.delete(pool);
+        eventPublisher.publishEvent(new CapacityPoolSettingsChange(capacityPoolId));
+    }
+
+    /**
+     * Makes the ticket type draw from the pool, moving its tickets sold and on hold into the pool.
+     */
+    public void addTicketType(Long eventId, Long capacityPoolId, Long ticketTypeId) {
+        log.debug("Adding ticket type {} to capacity pool {}", ticketTypeId, capacityPoolId);
+
+        var pool = getCapacityPool(eventId, capacityPoolId);
+        var ticketType = getTicketType(eventId, ticketTypeId);
+        if (ticketType.getCapacityPool() != null) {
+            var previous = chain(ticketType.getCapacityPool());
+            transferUsage(ticketType, previous, -1);
+            publishChanges(previous);
+        }
+
+        if (!transferUsage(ticketType, chain(pool), 1)) {
+            throw new BusinessException("Capacity pool cannot cover the tickets already sold and on hold");
+        }
+        ticketTypeRepository.updateCapacityPool(ticketTypeId, capacityPoolId);
+
+        eventPublisher.publishEvent(new TicketTypeSettingsChange(ticketTypeId));
+        publishChanges(chain(pool));
+        refreshAvailability(eventId);
+    }
+
+    public void removeTicketType(Long eventId, Long capacityPoolId, Long ticketTypeId) {
+        log.debug("Removing ticket type {} from capacity pool {}", ticketTypeId, capacityPoolId);
+
+        var pool = getCapacityPool(eventId, capacityPoolId);
+        var ticketType = getTicketType(eventId, ticketTypeId);
+        if (ticketType.getCapacityPool() == null || !ticketType.getCapacityPool().getId().equals(capacityPoolId)) {
+            throw new BusinessException("Ticket type does not draw from capacity pool: " + capacityPoolId);
+        }
+
+        transferUsage(ticketType, chain(pool), -1);
+        ticketTypeRepository.updateCapacityPool(ticketTypeId, null);
+
+        eventPublisher.publishEvent(new TicketTypeSettingsChange(ticketTypeId));
+        publishChanges(chain(pool));
+        refreshAvailability(eventId);
+    }
+
+    /**
+     * Takes sold tickets from the pools, or gives them back for negative quantities.
+     *
+     * @return {@code false}, with nothing taken, when one of the pools had not enough tickets left
+     */
+    public boolean updateQuantitySold(List<Long> capacityPoolIds, int quantity) {
+        for (int i = 0; i < capacityPoolIds.size(); i++) {
+            if (capacityPoolRepository.updateQuantitySold(capacityPoolIds.get(i), quantity) == 0) {
+                capacityPoolIds.subList(0, i).forEach(id -> capacityPoolRepository.updateQuantitySold(id, -quantity));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return {@code false}, with nothing held, when one of the pools had not enough tickets left
+     */
+    public boolean holdQuantity(List<Long> capacityPoolIds, int quantity) {
+        for (int i = 0; i < capacityPoolIds.size(); i++) {
+            if (capacityPoolRepository.holdQuantity(capacityPoolIds.get(i), quantity) == 0) {
+                capacityPoolIds.subList(0, i).forEach(id -> capacityPoolRepository.releaseHeldQuantity(id, quantity));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void confirmHeldQuantity(List<Long> capacityPoolIds, int quantity) {
+        capacityPoolIds.forEach(id -> capacityPoolRepository.confirmHeldQuantity(id, quantity));
+    }
+
+    public void releaseHeldQuantity(List<Long> capacityPoolIds, int quantity) {
+        capacityPoolIds.forEach(id -> capacityPoolRepository.releaseHeldQuantity(id, quantity));
+    }
+
+    /**
+     * Locks the pools until the end of the transaction.
+     *
+     * @return the tickets the pools together still allow to sell, {@link Integer#MAX_VALUE} without pools
+     */
+    public int lockTicketsLeft(List<Long> capacityPoolIds) {
+        var left = Integer.MAX_VALUE;
+        for (var id : capacityPoolIds) {
+            var pool = capacityPoolRepository.lockById(id)
+                                             .orElseThrow(() -> new EntityNotFoundException("Capacity pool not found with ID: " + id));
+            left = Math.min(left, pool.getCapacity() - pool.getQuantitySold() - pool.getQuantityHeld());
+        }
+        return Math.max(0, left);
+    }
+
+    private boolean transferUsage(TicketType ticketType, List<Long> capacityPoolIds, int direction) {
+        var sold = direction * (ticketType.getQuantitySold() != null ? ticketType.getQuantitySold() : 0);
+        var held = direction * ticketType.getQuantityHeld();
+        for (int i = 0; i < capacityPoolIds.size(); i++) {
+            if (capacityPoolRepository.transferUsage(capacityPoolIds.get(i), sold, held) == 0) {
+                capacityPoolIds.subList(0, i).forEach(id -> capacityPoolRepository.transferUsage(id, -sold, -held));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Long> chain(CapacityPool pool) {
+        return pool.getParent() != null ? List.of(pool.getId(), pool.getParent().getId()) : List.of(pool.getId());
+    }
+
+    private CapacityPool getCapacityPool(Long eventId, Long capacityPoolId) {
+        return capacityPoolRepository.findById(capacityPoolId)
+                                     .filter(pool -> pool.getEvent().getId().equals(eventId))
+                                     .orElseThrow(() -> new EntityNotFoundException("Capacity pool not found with ID: " + capacityPoolId));
+    }
+
+    // Locked so that no sale of the ticket type lands between reading its counters and moving them
+    private TicketType getTicketType(Long eventId, Long ticketTypeId) {
+        return ticketTypeRepository.lockById(ticketTypeId)
+                                   .filter(ticketType -> ticketType.getEvent().getId().equals(eventId))
+                                   .orElseThrow(() -> new EntityNotFoundException("Ticket type not found with ID: " + ticketTypeId));
+    }
+
+    private void publishChanges(List<Long> capacityPoolIds) {
+        capacityPoolIds.forEach(id -> eventPublisher.publishEvent(new CapacityPoolSettingsChange(id)));
+    }
+
+    private void refreshAvailability(Long eventId) {
+        eventRepository.refreshAvailability(eventId);
+        eventPublisher.publishEvent(new TicketTypeChange(eventId));
+    }
+}
@@ -0,0 +1,38 @@
+package com.lagab.eventz.app.domain.event.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lagab.eventz.app.domain.event.repository.EventRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Safety net for the denormalized {@code tickets_remaining} / {@code sold_out} columns of events.
+ * <p>
+ * They are refreshed by {@link TicketTypeService} in the transaction that changes the ticket types, but writes
+ * that bypass it (manual SQL, imports) would leave them stale: this job periodically recomputes them and only
+ * rewrites the rows that drifted.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventAvailabilityReconciler {
+
+    private final EventRepository eventRepository;
+
+    @Scheduled(initialDelayString = "${app.events.availability.reconciliation-delay:PT15M}",
+            fixedDelayString = "${app.events.availability.reconciliation-delay:PT15M}")
+    @Transactional
+    public int reconcile() {
+        int repaired = eventRepository.reconcileAvailability();
+        if (repaired > 0) {
+            log.warn("Repaired availability counters of {} event(s)", repaired);
+        } else {
+            log.debug("Availability counters are consistent");
+        }
+        return repaired;
+    }
+}
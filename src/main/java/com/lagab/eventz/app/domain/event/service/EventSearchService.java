@@ -1,16 +1,35 @@
 package com.lagab.eventz.app.domain.event.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.lagab.eventz.app.common.dto.CursorPageResponse;
+import com.lagab.eventz.app.domain.event.catalog.EventCatalog;
+import com.lagab.eventz.app.domain.event.dto.EventCursorRequest;
 import com.lagab.eventz.app.domain.event.dto.EventSearchDTO;
 import com.lagab.eventz.app.domain.event.dto.EventSummaryDTO;
-import com.lagab.eventz.app.domain.event.mapper.EventMapper;
+import com.lagab.eventz.app.domain.event.geo.EventGeoIndex;
 import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.pagination.EventCursor;
 import com.lagab.eventz.app.domain.event.repository.EventRepository;
+import com.lagab.eventz.app.domain.event.repository.EventRepositoryCustom.KeyedSummary;
+import com.lagab.eventz.app.domain.event.search.EventSearchIndex;
 import com.lagab.eventz.app.domain.event.specification.EventSpecifications;
 
 import lombok.RequiredArgsConstructor;
@@ -19,15 +38,41 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class EventSearchService {
 
+    // Pseudo sort property ranking keyword searches by BM25 score
+    public static final String RELEVANCE = "relevance";
+    // Pseudo sort property ranking location searches by distance to the requested point
+    public static final String DISTANCE = "distance";
+
     private final EventRepository eventRepository;
-    private final EventMapper eventMapper;
-    //private final ReviewRepository reviewRepository;
+    private final EventSummaryEnricher eventSummaryEnricher;
+    private final EventSearchIndex eventSearchIndex;
+    private final EventGeoIndex eventGeoIndex;
+    private final EventCatalog eventCatalog;
 
+    /**
+     * Keywords and locations are resolved by the in-memory indexes when they can serve them: their hits are handed
+     * to the database as an id filter so the other criteria still apply. Otherwise the search falls back to the
+     * database predicates. Searches on structured filters only are answered by the catalog, leaving the database
+     * nothing but the hydration of the page.
+     */
     @Transactional(readOnly = true)
     public Page<EventSummaryDTO> searchEvents(EventSearchDTO searchDTO, Pageable pageable) {
-        Specification<Event> spec = EventSpecifications.withCriteria(searchDTO);
-        Page<Event> events = eventRepository.findAll(spec, pageable);
-        return events.map(eventMapper::toSummaryDto).map(this::enrichEventSummaryDTO);
+        Pageable sorted = withoutRankings(pageable);
+        if (eventCatalog.canServe(searchDTO, sorted)) {
+            EventCatalog.Result result = eventCatalog.search(searchDTO, sorted);
+            return hydrate(result.pageIds(), pageable, result.total());
+        }
+
+        IndexedSearch search = resolveIndexes(searchDTO);
+        if (search == null) {
+            return Page.empty(pageable);
+        }
+
+        Map<Long, Double> ranking = search.rankingFor(pageable);
+        if (ranking != null) {
+            return findRankedSummaries(search.spec(), ranking.keySet(), pageable);
+        }
+        return findSummaries(search.spec(), sorted);
     }
 
     @Transactional(readOnly = true)
@@ -36,8 +81,7 @@ public class EventSearchService {
                                                        .and(EventSpecifications.isFree(true))
                                                        .and(EventSpecifications.startsAfter(java.time.LocalDateTime.now()));
 
-        Page<Event> events = eventRepository.findAll(spec, pageable);
-        return events.map(eventMapper::toSummaryDto).map(this::enrichEventSummaryDTO);
+        return findSummaries(spec, pageable);
     }
 
     @Transactional(readOnly = true)
@@ -45,8 +89,7 @@ public class EventSearchService {
         Specification<Event> spec = EventSpecifications.publicEvents()
                                                        .and(EventSpecifications.hasOrganizer(organizerId));
 
-        Page<Event> events = eventRepository.findAll(spec, pageable);
-        return events.map(eventMapper::toSummaryDto).map(this::enrichEventSummaryDTO);
+        return findSummaries(spec, pageable);
     }
 
     @Transactional(readOnly = true)
@@ -54,8 +97,7 @@ public class EventSearchService {
         Specification<Event> spec = EventSpecifications.publicEvents()
                                                        .and(EventSpecifications.hasOrganization(orgId));
 
-        Page<Event> events = eventRepository.findAll(spec, pageable);
-        return events.map(eventMapper::toSummaryDto).map(this::enrichEventSummaryDTO);
+        return findSummaries(spec, pageable);
     }
 
     @Transactional(readOnly = true)
@@ -64,8 +106,7 @@ public class EventSearchService {
                                                        .and(EventSpecifications.hasOrganizer(organizerId))
                                                        .and(EventSpecifications.upcomingEvents());
 
-        Page<Event> events = eventRepository.findAll(spec, pageable);
-        return events.map(eventMapper::toSummaryDto).map(this::enrichEventSummaryDTO);
+        return findSummaries(spec, pageable);
     }
 
     @Transactional(readOnly = true)
@@ -74,8 +115,7 @@ public class EventSearchService {
                                                        .and(EventSpecifications.hasOrganization(orgId))
                                                        .and(EventSpecifications.upcomingEvents());
 
-        Page<Event> events = eventRepository.findAll(spec, pageable);
-        return events.map(eventMapper::toSummaryDto).map(this::enrichEventSummaryDTO);
+        return findSummaries(spec, pageable);
     }
 
     @Transactional(readOnly = true)
@@ -83,41 +123,138 @@ public class EventSearchService {
         Specification<Event> spec = EventSpecifications.publicEvents()
                                                        .and(EventSpecifications.hasAvailableTickets());
 
-        Page<Event> events = eventRepository.findAll(spec, pageable);
-        return events.map(eventMapper::toSummaryDto).map(this::enrichEventSummaryDTO);
+        return findSummaries(spec, pageable);
+    }
+
+    /**
+     * Keyset (seek) pagination: each page starts right after the cursor of the previous one, so deep pages
+     * cost the same as the first one and no count query is issued.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<EventSummaryDTO> scrollEvents(EventSearchDTO searchDTO, EventCursorRequest request) {
+        IndexedSearch search = resolveIndexes(searchDTO);
+        if (search == null) {
+            return CursorPageResponse.of(List.of(), request.size(), null);
+        }
+        Specification<Event> spec = EventSpecifications.seekAfter(request.cursor()).and(search.spec());
+
+        // One extra row tells whether a next page exists
+        List<KeyedSummary> rows = eventRepository.findKeyedSummaries(spec, request.sort(), request.sortField().getProperty(),
+                request.size() + 1);
+
+        boolean hasNext = rows.size() > request.size();
+        List<KeyedSummary> content = hasNext ? rows.subList(0, request.size()) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            KeyedSummary last = content.getLast();
+            nextCursor = new EventCursor(request.sortField(), request.direction(), last.summary().id(), last.key()).encode();
+        }
+
+        List<EventSummaryDTO> summaries = eventSummaryEnricher.enrich(content.stream().map(KeyedSummary::summary).toList());
+        return CursorPageResponse.of(summaries, request.size(), nextCursor);
+    }
+
+    private Page<EventSummaryDTO> findSummaries(Specification<Event> spec, Pageable pageable) {
+        return eventSummaryEnricher.enrich(eventRepository.findSummaries(spec, pageable));
     }
 
-    private EventSummaryDTO enrichEventSummaryDTO(EventSummaryDTO dto) {
-        /*Double averageRating = reviewRepository.calculateAverageRating(dto.id());
-        Long reviewCount = reviewRepository.countByEventId(dto.id());*/
-        Double averageRating = 5.0;
-        Long reviewCount = 0L;
-
-        // Calculate available tickets
-        Integer availableTickets = calculateAvailableTickets(dto.id());
-
-        return new EventSummaryDTO(
-                dto.id(), dto.name(), dto.summary(), dto.startDate(),
-                dto.endDate(), dto.status(), dto.type(), dto.imageUrl(),
-                dto.isPublic(), dto.isFree(), dto.currency(), dto.city(),
-                dto.country(), averageRating, reviewCount, availableTickets
-        );
+    // Filters run in the database on ids only, ranking and paging happen in memory, then the page is hydrated
+    private Page<EventSummaryDTO> findRankedSummaries(Specification<Event> spec, Collection<Long> rankedIds, Pageable pageable) {
+        Set<Long> matching = new HashSet<>(eventRepository.findIds(spec));
+        List<Long> ranked = rankedIds.stream().filter(matching::contains).toList();
+
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        return hydrate(ranked.subList(from, to), pageable, ranked.size());
     }
 
-    private Integer calculateAvailableTickets(Long eventId) {
-        Event event = eventRepository.findById(eventId).orElse(null);
-        if (event == null || event.getTicketTypes() == null) {
-            return 0;
+    // Loads the summaries of a page of ids, keeping their order
+    private Page<EventSummaryDTO> hydrate(List<Long> pageIds, Pageable pageable, long total) {
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, total);
         }
 
-        return event.getTicketTypes().stream()
-                    .mapToInt(tt -> {
-                        if (tt.getQuantityAvailable() == null)
-                            return 0;
-                        int sold = tt.getQuantitySold() != null ? tt.getQuantitySold() : 0;
-                        return Math.max(0, tt.getQuantityAvailable() - sold);
-                    })
-                    .sum();
+        Map<Long, EventSummaryDTO> rows = eventRepository.findSummaries(EventSpecifications.hasIdIn(pageIds), Pageable.unpaged())
+                                                         .stream()
+                                                         .collect(Collectors.toMap(EventSummaryDTO::id, Function.identity()));
+        // An event deleted in between is simply left out of the page
+        List<EventSummaryDTO> summaries = pageIds.stream()
+                                                 .map(rows::get)
+                                                 .filter(Objects::nonNull)
+                                                 .toList();
+        return new PageImpl<>(eventSummaryEnricher.enrich(summaries), pageable, total);
+    }
+
+    /**
+     * @return the specification to run, with index hits as id filters, or {@code null} when an index already
+     * proved that nothing matches
+     */
+    private IndexedSearch resolveIndexes(EventSearchDTO searchDTO) {
+        EventSearchDTO criteria = searchDTO;
+        List<Specification<Event>> idFilters = new ArrayList<>();
+        Map<Long, Double> relevance = null;
+        Map<Long, Double> distances = null;
+
+        if (searchDTO.hasKeyword() && eventSearchIndex.canServe(searchDTO.keyword())) {
+            relevance = eventSearchIndex.search(searchDTO.keyword());
+            if (relevance.isEmpty()) {
+                return null;
+            }
+            // A capped result is only the most relevant part of the answer: keep filtering with the database predicate
+            if (relevance.size() < eventSearchIndex.getMaxHits()) {
+                criteria = criteria.withoutKeyword();
+                idFilters.add(EventSpecifications.hasIdIn(relevance.keySet()));
+            }
+        }
+
+        if (searchDTO.hasLocation() && eventGeoIndex.isReady()) {
+            distances = eventGeoIndex.search(searchDTO.latitude(), searchDTO.longitude(), searchDTO.radius());
+            if (distances.isEmpty()) {
+                return null;
+            }
+            // A capped result is only the nearest part of the answer: keep filtering with the database predicate
+            if (distances.size() < eventGeoIndex.getMaxHits()) {
+                criteria = criteria.withoutLocation();
+                idFilters.add(EventSpecifications.hasIdIn(distances.keySet()));
+            }
+        }
+
+        Specification<Event> spec = EventSpecifications.withCriteria(criteria);
+        for (Specification<Event> idFilter : idFilters) {
+            spec = spec.and(idFilter);
+        }
+        return new IndexedSearch(spec, relevance, distances);
+    }
+
+    private static Pageable withoutRankings(Pageable pageable) {
+        if (pageable.isUnpaged() || pageable.getSort().stream().noneMatch(IndexedSearch::isRanking)) {
+            return pageable;
+        }
+        Sort sort = Sort.by(pageable.getSort().filter(order -> !IndexedSearch.isRanking(order)).toList());
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+
+    private record IndexedSearch(Specification<Event> spec, Map<Long, Double> relevance, Map<Long, Double> distances) {
+
+        private static boolean isRanking(Sort.Order order) {
+            return RELEVANCE.equals(order.getProperty()) || DISTANCE.equals(order.getProperty());
+        }
+
+        // Ids in display order when the first ranking sort can be served by an index
+        private Map<Long, Double> rankingFor(Pageable pageable) {
+            if (pageable.isUnpaged()) {
+                return null;
+            }
+            for (Sort.Order order : pageable.getSort()) {
+                if (RELEVANCE.equals(order.getProperty()) && relevance != null) {
+                    return relevance;
+                }
+                if (DISTANCE.equals(order.getProperty()) && distances != null) {
+                    return distances;
+                }
+            }
+            return null;
+        }
     }
 
 }
@@ -2,6 +2,7 @@ package com.lagab.eventz.app.domain.event.service;
 
 import java.time.LocalDateTime;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.lagab.eventz.app.common.exception.UnauthorizedException;
+import com.lagab.eventz.app.domain.event.change.EventChange;
 import com.lagab.eventz.app.domain.event.dto.CreateEventDTO;
 import com.lagab.eventz.app.domain.event.dto.EventDTO;
 import com.lagab.eventz.app.domain.event.dto.UpdateEventDTO;
@@ -34,6 +36,7 @@ public class EventService {
     private final EventMapper eventMapper;
     private final AddressService addressService;
     private final OrganizationService organizationService;
+    private final ApplicationEventPublisher eventPublisher;
     //private final ReviewRepository reviewRepository;
 
     @Transactional(readOnly = true)
@@ -67,6 +70,7 @@ public class EventService {
 
         Event savedEvent = eventRepository.save(event);
         log.debug("Event created successfully with ID: {}", savedEvent.getId());
+        eventPublisher.publishEvent(EventChange.of(EventChange.Type.CREATED, savedEvent));
 
         return enrichEventDTO(eventMapper.toDto(savedEvent));
     }
@@ -83,6 +87,7 @@ public class EventService {
 
         Event updatedEvent = eventRepository.save(event);
         log.debug("Event updated successfully with ID: {}", updatedEvent.getId());
+        eventPublisher.publishEvent(EventChange.of(EventChange.Type.UPDATED, updatedEvent));
 
         return enrichEventDTO(eventMapper.toDto(updatedEvent));
     }
@@ -110,6 +115,7 @@ public class EventService {
 
         eventRepository.delete(event);
         log.debug("Event deleted successfully with ID: {}", id);
+        eventPublisher.publishEvent(EventChange.deleted(id));
     }
 
     public EventDTO publishEvent(Long id) {
@@ -124,6 +130,7 @@ public class EventService {
         Event publishedEvent = eventRepository.save(event);
 
         log.debug("Event published successfully with ID: {}", publishedEvent.getId());
+        eventPublisher.publishEvent(EventChange.of(EventChange.Type.PUBLISHED, publishedEvent));
 
         return enrichEventDTO(eventMapper.toDto(publishedEvent));
     }
@@ -143,6 +150,7 @@ public class EventService {
         Event cancelledEvent = eventRepository.save(event);
 
         log.debug("Event cancelled successfully with ID: {}", cancelledEvent.getId());
+        eventPublisher.publishEvent(EventChange.of(EventChange.Type.CANCELLED, cancelledEvent));
 
         return enrichEventDTO(eventMapper.toDto(cancelledEvent));
     }
@@ -164,7 +172,7 @@ public class EventService {
 
     // Private helper methods
     private Event findEventById(Long id) {
-        return eventRepository.findById(id)
+        return eventRepository.findDetailById(id)
                               .orElseThrow(() -> new EventNotFoundException("Event not found with ID: " + id));
     }
 
@@ -0,0 +1,66 @@
+package com.lagab.eventz.app.domain.event.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lagab.eventz.app.domain.event.dto.EventSummaryDTO;
+import com.lagab.eventz.app.domain.event.projection.EventAvailabilityProjection;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Page-level enrichment of {@link EventSummaryDTO}.
+ * <p>
+ * Aggregates are fetched once for all the events of a page with grouped queries, so the number of
+ * statements per page does not depend on the page size.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventSummaryEnricher {
+
+    private final TicketTypeRepository ticketTypeRepository;
+    //private final ReviewRepository reviewRepository;
+
+    @Transactional(readOnly = true)
+    public Page<EventSummaryDTO> enrich(Page<EventSummaryDTO> page) {
+        return new PageImpl<>(enrich(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    @Transactional(readOnly = true)
+    public List<EventSummaryDTO> enrich(List<EventSummaryDTO> summaries) {
+        if (summaries.isEmpty()) {
+            return summaries;
+        }
+
+        List<Long> eventIds = summaries.stream().map(EventSummaryDTO::id).distinct().toList();
+        Map<Long, Long> availableTickets = ticketTypeRepository.sumAvailableTicketsByEventIds(eventIds).stream()
+                                                               .collect(Collectors.toMap(
+                                                                       EventAvailabilityProjection::getEventId,
+                                                                       EventAvailabilityProjection::getAvailableTickets));
+
+        return summaries.stream()
+                        .map(dto -> enrich(dto, availableTickets.getOrDefault(dto.id(), 0L)))
+                        .toList();
+    }
+
+    private EventSummaryDTO enrich(EventSummaryDTO dto, Long availableTickets) {
+        /*Double averageRating = reviewRepository.calculateAverageRating(dto.id());
+        Long reviewCount = reviewRepository.countByEventId(dto.id());*/
+        Double averageRating = 5.0;
+        Long reviewCount = 0L;
+
+        return new EventSummaryDTO(
+                dto.id(), dto.name(), dto.summary(), dto.startDate(),
+                dto.endDate(), dto.status(), dto.type(), dto.imageUrl(),
+                dto.isPublic(), dto.isFree(), dto.currency(), dto.city(),
+                dto.country(), averageRating, reviewCount, availableTickets.intValue()
+        );
+    }
+}
@@ -0,0 +1,94 @@
+package com.lagab.eventz.app.domain.event.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lagab.eventz.app.domain.event.projection.OrganizationSalesTotalsProjection;
+import com.lagab.eventz.app.domain.event.projection.SalesTotalsProjection;
+import com.lagab.eventz.app.domain.event.repository.EventSalesStatsRepository;
+import com.lagab.eventz.app.domain.event.repository.OrganizationSalesStatsRepository;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.ticket.entity.EventSalesStats;
+import com.lagab.eventz.app.domain.ticket.entity.SalesTotals;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Safety net for the sales stats maintained incrementally by {@link SalesStatsService}.
+ * <p>
+ * Writes that bypass the services (manual SQL, imports), deleted events and settings changes racing with sales
+ * make the running totals drift: this job recomputes the totals of every event from its ticket types and those of
+ * every organization from its events, and moves the stats that differ by the difference. A sale racing with the job
+ * may still leave a drift of its own quantity, repaired by the next run.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SalesStatsReconciler {
+
+    private final SalesStatsService salesStatsService;
+    private final TicketTypeRepository ticketTypeRepository;
+    private final EventSalesStatsRepository eventSalesStatsRepository;
+    private final OrganizationSalesStatsRepository organizationSalesStatsRepository;
+
+    @Scheduled(cron = "${app.events.stats.reconciliation-cron:0 30 3 * * *}")
+    @Transactional
+    public int reconcile() {
+        // Events first, the totals of organizations are then checked against those of their events
+        Map<Long, EventSalesStats> stats = eventSalesStatsRepository.findAll().stream()
+                                                                    .collect(Collectors.toMap(EventSalesStats::getEventId, Function.identity()));
+        int repairedEvents = 0;
+        for (SalesTotalsProjection actual : ticketTypeRepository.findSalesTotals()) {
+            var found = stats.remove(actual.getEventId());
+            if (salesStatsService.correct(actual.getEventId(), actual.getOrganizationId(), found != null ? found.getTotals() : null,
+                    actual.toTotals())) {
+                repairedEvents++;
+            }
+        }
+        // Events left have no ticket types anymore
+        for (EventSalesStats left : stats.values()) {
+            if (salesStatsService.correct(left.getEventId(), left.getOrganizationId(), left.getTotals(), SalesTotals.ZERO)) {
+                repairedEvents++;
+            }
+        }
+        eventSalesStatsRepository.flush();
+
+        Map<String, SalesTotals> organizations = new HashMap<>();
+        organizationSalesStatsRepository.findAll()
+                                        .forEach(found -> organizations.put(found.getOrganizationId(), found.getTotals()));
+        int repairedOrganizations = 0;
+        for (OrganizationSalesTotalsProjection actual : eventSalesStatsRepository.sumTotalsByOrganization()) {
+            if (correctOrganization(actual.getOrganizationId(), organizations.remove(actual.getOrganizationId()), actual.toTotals())) {
+                repairedOrganizations++;
+            }
+        }
+        for (Map.Entry<String, SalesTotals> left : organizations.entrySet()) {
+            if (correctOrganization(left.getKey(), left.getValue(), SalesTotals.ZERO)) {
+                repairedOrganizations++;
+            }
+        }
+
+        if (repairedEvents > 0 || repairedOrganizations > 0) {
+            log.warn("Repaired sales stats of {} event(s) and {} organization(s)", repairedEvents, repairedOrganizations);
+        } else {
+            log.debug("Sales stats are consistent");
+        }
+        return repairedEvents + repairedOrganizations;
+    }
+
+    private boolean correctOrganization(String organizationId, SalesTotals totals, SalesTotals actual) {
+        var delta = actual.minus(totals != null ? totals : SalesTotals.ZERO);
+        if (delta.isZero()) {
+            return false;
+        }
+        salesStatsService.correctOrganization(organizationId, delta);
+        return true;
+    }
+}
@@ -0,0 +1,104 @@
+package com.lagab.eventz.app.domain.event.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lagab.eventz.app.domain.event.dto.ticket.OrganizationSalesStatsDTO;
+import com.lagab.eventz.app.domain.event.projection.SalesTotalsProjection;
+import com.lagab.eventz.app.domain.event.repository.EventRepository;
+import com.lagab.eventz.app.domain.event.repository.EventSalesStatsRepository;
+import com.lagab.eventz.app.domain.event.repository.OrganizationSalesStatsRepository;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.ticket.entity.EventSalesStats;
+import com.lagab.eventz.app.domain.ticket.entity.OrganizationSalesStats;
+import com.lagab.eventz.app.domain.ticket.entity.SalesTotals;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sales totals per event and per organization, read with a single primary key lookup.
+ * <p>
+ * Sales, refunds and holds move the totals by what they change, with one update of the event stats and one of the
+ * organization stats in the transaction that changes the ticket type. Settings changes, rare and touching several
+ * totals at once, recompute the totals of the event from its ticket types and move the organization by the
+ * difference. {@link SalesStatsReconciler} repairs any drift at night.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class SalesStatsService {
+
+    private final EventSalesStatsRepository eventSalesStatsRepository;
+    private final OrganizationSalesStatsRepository organizationSalesStatsRepository;
+    private final TicketTypeRepository ticketTypeRepository;
+    private final EventRepository eventRepository;
+
+    /**
+     * Counts tickets of a ticket type sold and held, negative when given back. To be called after the counters of
+     * the ticket type were updated, in the same transaction.
+     */
+    public void recordSale(Long ticketTypeId, int sold, int held) {
+        if (sold == 0 && held == 0) {
+            return;
+        }
+        eventSalesStatsRepository.applySale(ticketTypeId, sold, held);
+        organizationSalesStatsRepository.applySale(ticketTypeId, sold, held);
+    }
+
+    /**
+     * Recomputes the totals of an event from its ticket types, after its ticket types were created, changed or
+     * deleted.
+     */
+    public void rebuild(Long eventId) {
+        var actual = ticketTypeRepository.findSalesTotalsByEventId(eventId);
+        var organizationId = actual.map(SalesTotalsProjection::getOrganizationId)
+                                   .orElseGet(() -> eventRepository.findOrganizationIdByEventId(eventId).orElse(null));
+        correct(eventId, organizationId, eventSalesStatsRepository.findTotalsByEventId(eventId).orElse(null),
+                actual.map(SalesTotalsProjection::toTotals).orElse(SalesTotals.ZERO));
+    }
+
+    /**
+     * Moves the stats of an event and of its organization to the given totals. Both are written as increments, so
+     * sales counted meanwhile are kept.
+     *
+     * @param totals current totals of the event, {@code null} when it has no stats yet
+     * @return whether the stats differed
+     */
+    public boolean correct(Long eventId, String organizationId, SalesTotals totals, SalesTotals actual) {
+        var delta = actual.minus(totals != null ? totals : SalesTotals.ZERO);
+        if (delta.isZero()) {
+            return false;
+        }
+        if (totals != null) {
+            eventSalesStatsRepository.addTotals(eventId, delta);
+        } else {
+            eventSalesStatsRepository.save(new EventSalesStats(eventId, organizationId, actual));
+        }
+        if (organizationId != null) {
+            correctOrganization(organizationId, delta);
+        }
+        return true;
+    }
+
+    /**
+     * Moves the stats of an organization by a difference of totals, creating them on the first totals of its events.
+     */
+    public void correctOrganization(String organizationId, SalesTotals delta) {
+        if (organizationSalesStatsRepository.addTotals(organizationId, delta) == 0) {
+            organizationSalesStatsRepository.save(new OrganizationSalesStats(organizationId, delta));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public SalesTotals getEventTotals(Long eventId) {
+        return eventSalesStatsRepository.findTotalsByEventId(eventId).orElse(SalesTotals.ZERO);
+    }
+
+    @Transactional(readOnly = true)
+    public OrganizationSalesStatsDTO getOrganizationStats(String organizationId) {
+        var totals = organizationSalesStatsRepository.findTotalsByOrganizationId(organizationId).orElse(SalesTotals.ZERO);
+        return OrganizationSalesStatsDTO.of(organizationId, totals);
+    }
+}
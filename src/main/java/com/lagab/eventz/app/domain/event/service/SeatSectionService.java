@@ -0,0 +1,106 @@
+package com.lagab.eventz.app.domain.event.service;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lagab.eventz.app.common.exception.BusinessException;
+import com.lagab.eventz.app.domain.event.change.SeatSectionSettingsChange;
+import com.lagab.eventz.app.domain.event.dto.seating.CreateSeatSectionRequest;
+import com.lagab.eventz.app.domain.event.dto.seating.SeatSectionDTO;
+import com.lagab.eventz.app.domain.event.repository.EventRepository;
+import com.lagab.eventz.app.domain.event.repository.SeatSectionRepository;
+import com.lagab.eventz.app.domain.event.repository.TicketHoldRepository;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.event.seating.SeatGrid;
+import com.lagab.eventz.app.domain.ticket.entity.SeatSection;
+import com.lagab.eventz.app.domain.ticket.entity.TicketHoldStatus;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Seat sections of events and the snapshots of their sold seats. Seats are held and sold through the seat map.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class SeatSectionService {
+
+    private final SeatSectionRepository seatSectionRepository;
+    private final TicketTypeRepository ticketTypeRepository;
+    private final TicketHoldRepository ticketHoldRepository;
+    private final EventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SeatSectionDTO createSeatSection(Long eventId, CreateSeatSectionRequest request) {
+        log.debug("Creating seat section: {} for event: {}", request.name(), eventId);
+
+        var event = eventRepository.findById(eventId)
+                                   .orElseThrow(() -> new EntityNotFoundException("Event not found with ID: " + eventId));
+        var ticketType = ticketTypeRepository.findById(request.ticketTypeId())
+                                             .filter(found -> found.getEvent().getId().equals(eventId))
+                                             .orElseThrow(() -> new EntityNotFoundException(
+                                                     "Ticket type not found with ID: " + request.ticketTypeId()));
+
+        int width = request.rows().stream().mapToInt(String::length).max().orElse(0);
+        BitSet layout = SeatGrid.parseLayout(request.rows(), width);
+        if (layout.isEmpty()) {
+            throw new BusinessException("A seat section needs at least one seat");
+        }
+
+        var section = new SeatSection();
+        section.setEvent(event);
+        section.setTicketType(ticketType);
+        section.setName(request.name());
+        section.setPosition((int) seatSectionRepository.countByEventId(eventId));
+        section.setRowCount(request.rows().size());
+        section.setRowWidth(width);
+        section.setLayout(layout.toByteArray());
+        section = seatSectionRepository.save(section);
+
+        var grid = new SeatGrid(section.getRowCount(), width, layout, new BitSet());
+        return new SeatSectionDTO(section.getId(), ticketType.getId(), section.getName(), grid.rows(), grid.width(),
+                grid.available(), grid.render());
+    }
+
+    /**
+     * Deletes a section none of whose seats are sold or held.
+     */
+    public void deleteSeatSection(Long eventId, Long seatSectionId) {
+        log.debug("Deleting seat section: {}", seatSectionId);
+
+        var section = seatSectionRepository.findById(seatSectionId)
+                                           .filter(found -> found.getEvent().getId().equals(eventId))
+                                           .orElseThrow(() -> new EntityNotFoundException("Seat section not found with ID: " + seatSectionId));
+        if (ticketHoldRepository.existsBySeatSectionIdAndStatusIn(seatSectionId,
+                List.of(TicketHoldStatus.ACTIVE, TicketHoldStatus.CONFIRMED))) {
+            throw new BusinessException("Cannot delete a seat section with seats sold or on hold");
+        }
+
+        ticketHoldRepository.clearSeatSection(seatSectionId);
+        seatSectionRepository.delete(section);
+        eventPublisher.publishEvent(new SeatSectionSettingsChange(seatSectionId));
+    }
+
+    /**
+     * Writes snapshots of the sold seats of sections, batched into a few statements.
+     *
+     * @param soldSeats sold seats by section, as bitsets
+     * @param takenAt   time before which the sold seats of the snapshots were read
+     */
+    public void saveSoldSeats(Map<Long, byte[]> soldSeats, LocalDateTime takenAt) {
+        // Managed sections are written back at commit, their updates batched by the JDBC driver
+        seatSectionRepository.findAllById(soldSeats.keySet()).forEach(section -> {
+            section.setSoldSeats(soldSeats.get(section.getId()));
+            section.setSeatsUpdatedAt(takenAt);
+        });
+    }
+}
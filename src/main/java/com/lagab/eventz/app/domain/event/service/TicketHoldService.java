@@ -0,0 +1,316 @@
+package com.lagab.eventz.app.domain.event.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lagab.eventz.app.common.exception.BusinessException;
+import com.lagab.eventz.app.domain.event.change.TicketHoldsClosedChange;
+import com.lagab.eventz.app.domain.event.change.TicketReleaseChange;
+import com.lagab.eventz.app.domain.event.change.TicketTypeChange;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketHoldRequest;
+import com.lagab.eventz.app.domain.event.exception.TicketsSoldOutException;
+import com.lagab.eventz.app.domain.event.projection.TicketTypeInventoryProjection;
+import com.lagab.eventz.app.domain.event.repository.EventRepository;
+import com.lagab.eventz.app.domain.event.repository.TicketHoldRepository;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.ticket.entity.TicketHold;
+import com.lagab.eventz.app.domain.ticket.entity.TicketHoldStatus;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+import com.lagab.eventz.app.domain.user.repository.UserRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes ticket holds and keeps {@link TicketType#getQuantityHeld()} in step with them.
+ * <p>
+ * Like sales, holds take their tickets with a conditional update, so the tickets sold and held never exceed the
+ * capacity. Closing a hold moves its status away from {@link TicketHoldStatus#ACTIVE} first, so a hold is counted
+ * out of the held quantity exactly once whichever of the buyer and the expiry gets there first. Capacity pools the
+ * ticket type draws from hold the same tickets, taken after the ticket type and given back if a pool refuses.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class TicketHoldService {
+
+    private final TicketHoldRepository ticketHoldRepository;
+    private final TicketTypeRepository ticketTypeRepository;
+    private final EventRepository eventRepository;
+    private final CapacityPoolService capacityPoolService;
+    private final SalesStatsService salesStatsService;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TicketHold createHold(Long ticketTypeId, Integer quantity, Long userId, LocalDateTime now, LocalDateTime expiresAt) {
+        return createHold(ticketTypeId, quantity, userId, null, null, now, expiresAt);
+    }
+
+    /**
+     * @param seatSectionId section of the seats taken by the hold, {@code null} for general admission
+     * @param seats         seats of the section taken by the hold, as encoded by the seat map
+     */
+    public TicketHold createHold(Long ticketTypeId, Integer quantity, Long userId, Long seatSectionId, String seats,
+            LocalDateTime now, LocalDateTime expiresAt) {
+        log.debug("Holding {} tickets of ticket type {} until {}", quantity, ticketTypeId, expiresAt);
+
+        if (ticketTypeRepository.holdQuantity(ticketTypeId, quantity) == 0) {
+            if (!ticketTypeRepository.existsById(ticketTypeId)) {
+                throw new EntityNotFoundException("Ticket type not found with ID: " + ticketTypeId);
+            }
+            throw new TicketsSoldOutException("Not enough tickets left for ticket type: " + ticketTypeId);
+        }
+        var inventory = ticketTypeRepository.findInventoryById(ticketTypeId);
+        var capacityPoolIds = capacityPoolIds(inventory);
+        if (!capacityPoolIds.isEmpty() && !capacityPoolService.holdQuantity(capacityPoolIds, quantity)) {
+            ticketTypeRepository.releaseHeldQuantity(ticketTypeId, quantity);
+            throw new TicketsSoldOutException("Not enough tickets left for ticket type: " + ticketTypeId);
+        }
+
+        salesStatsService.recordSale(ticketTypeId, 0, quantity);
+
+        var hold = new TicketHold();
+        hold.setTicketType(ticketTypeRepository.getReferenceById(ticketTypeId));
+        if (userId != null) {
+            hold.setUser(userRepository.getReferenceById(userId));
+        }
+        hold.setQuantity(quantity);
+        hold.setSeatSectionId(seatSectionId);
+        hold.setSeats(seats);
+        hold.setCreatedAt(now);
+        hold.setExpiresAt(expiresAt);
+        hold = ticketHoldRepository.save(hold);
+
+        refreshAvailability(eventIds(inventory));
+        return hold;
+    }
+
+    /**
+     * Holds tickets of one ticket type for several users together, with one update of the ticket type and its pools.
+     *
+     * @return the holds, in request order
+     * @throws TicketsSoldOutException when the tickets left do not cover all the requests, nothing is held then
+     */
+    public List<TicketHold> createHolds(Long ticketTypeId, List<TicketHoldRequest> requests, LocalDateTime now,
+            LocalDateTime expiresAt) {
+        log.debug("Holding tickets of ticket type {} for {} users until {}", ticketTypeId, requests.size(), expiresAt);
+
+        int total = requests.stream().mapToInt(TicketHoldRequest::quantity).sum();
+        if (ticketTypeRepository.holdQuantity(ticketTypeId, total) == 0) {
+            if (!ticketTypeRepository.existsById(ticketTypeId)) {
+                throw new EntityNotFoundException("Ticket type not found with ID: " + ticketTypeId);
+            }
+            throw new TicketsSoldOutException("Not enough tickets left for ticket type: " + ticketTypeId);
+        }
+        var inventory = ticketTypeRepository.findInventoryById(ticketTypeId);
+        var capacityPoolIds = capacityPoolIds(inventory);
+        if (!capacityPoolIds.isEmpty() && !capacityPoolService.holdQuantity(capacityPoolIds, total)) {
+            ticketTypeRepository.releaseHeldQuantity(ticketTypeId, total);
+            throw new TicketsSoldOutException("Not enough tickets left for ticket type: " + ticketTypeId);
+        }
+
+        salesStatsService.recordSale(ticketTypeId, 0, total);
+
+        var ticketType = ticketTypeRepository.getReferenceById(ticketTypeId);
+        var holds = requests.stream().map(request -> newHold(ticketType, request, now, expiresAt)).toList();
+        holds = ticketHoldRepository.saveAll(holds);
+
+        refreshAvailability(eventIds(inventory));
+        return holds;
+    }
+
+    /**
+     * Holds tickets of one ticket type for several users together: one conditional update when they all fit,
+     * otherwise the rows of the ticket type and its pools are locked and the tickets left are shared out in request
+     * order.
+     *
+     * @return for each request, its hold, or {@code null} when the tickets left did not cover it
+     */
+    public List<TicketHold> shareOutHolds(Long ticketTypeId, List<TicketHoldRequest> requests, LocalDateTime now,
+            LocalDateTime expiresAt) {
+        log.debug("Sharing out tickets of ticket type {} between {} holds until {}", ticketTypeId, requests.size(), expiresAt);
+
+        var total = requests.stream().mapToInt(TicketHoldRequest::quantity).sum();
+        if (ticketTypeRepository.holdQuantity(ticketTypeId, total) > 0) {
+            var inventory = ticketTypeRepository.findInventoryById(ticketTypeId);
+            var capacityPoolIds = capacityPoolIds(inventory);
+            if (capacityPoolIds.isEmpty() || capacityPoolService.holdQuantity(capacityPoolIds, total)) {
+                return saveHolds(ticketTypeId, requests, requests.stream().map(request -> true).toList(), total, inventory,
+                        now, expiresAt);
+            }
+            ticketTypeRepository.releaseHeldQuantity(ticketTypeId, total);
+        }
+
+        var ticketType = ticketTypeRepository.lockById(ticketTypeId)
+                                             .orElseThrow(() -> new EntityNotFoundException("Ticket type not found with ID: " + ticketTypeId));
+        var inventory = ticketTypeRepository.findInventoryById(ticketTypeId);
+        var capacityPoolIds = capacityPoolIds(inventory);
+        var left = ticketType.getQuantityAvailable() != null
+                ? ticketType.getQuantityAvailable() - ticketType.getQuantitySold() - ticketType.getQuantityHeld()
+                : Integer.MAX_VALUE;
+        if (!capacityPoolIds.isEmpty()) {
+            left = Math.min(left, capacityPoolService.lockTicketsLeft(capacityPoolIds));
+        }
+        var served = new ArrayList<Boolean>(requests.size());
+        var heldTotal = 0;
+        for (var request : requests) {
+            var fits = request.quantity() <= left - heldTotal;
+            if (fits) {
+                heldTotal += request.quantity();
+            }
+            served.add(fits);
+        }
+
+        // Everything is locked, so these updates fit
+        if (heldTotal > 0) {
+            ticketTypeRepository.holdQuantity(ticketTypeId, heldTotal);
+            if (!capacityPoolIds.isEmpty()) {
+                capacityPoolService.holdQuantity(capacityPoolIds, heldTotal);
+            }
+        }
+        return saveHolds(ticketTypeId, requests, served, heldTotal, inventory, now, expiresAt);
+    }
+
+    /**
+     * Turns an active hold of the user into a sale.
+     *
+     * @return the confirmed hold
+     */
+    public TicketHold confirmHold(String holdId, Long userId, LocalDateTime now) {
+        log.debug("Confirming hold: {}", holdId);
+
+        var hold = ticketHoldRepository.findById(holdId)
+                                       .filter(found -> isOwnedBy(found, userId))
+                                       .orElseThrow(() -> new EntityNotFoundException("Ticket hold not found with ID: " + holdId));
+
+        if (ticketHoldRepository.confirm(holdId, now) == 0) {
+            throw new BusinessException("Ticket hold has expired or was released: " + holdId);
+        }
+        var ticketTypeId = hold.getTicketType().getId();
+        ticketTypeRepository.confirmHeldQuantity(ticketTypeId, hold.getQuantity());
+        var inventory = ticketTypeRepository.findInventoryById(ticketTypeId);
+        capacityPoolService.confirmHeldQuantity(capacityPoolIds(inventory), hold.getQuantity());
+        salesStatsService.recordSale(ticketTypeId, hold.getQuantity(), -hold.getQuantity());
+        eventPublisher.publishEvent(new TicketHoldsClosedChange(List.of(holdId), TicketHoldStatus.CONFIRMED));
+
+        refreshAvailability(eventIds(inventory));
+        return hold;
+    }
+
+    /**
+     * Releases the active holds of the user among the given ones, in one transaction.
+     *
+     * @return the holds released, holds of other users or no longer active are left untouched
+     */
+    public List<TicketHold> releaseHolds(Collection<String> holdIds, Long userId) {
+        return close(holdIds, TicketHoldStatus.RELEASED, userId);
+    }
+
+    /**
+     * Releases the given holds that are still active, whoever they belong to.
+     *
+     * @return the holds expired
+     */
+    public List<TicketHold> expireHolds(Collection<String> holdIds) {
+        return close(holdIds, TicketHoldStatus.EXPIRED, null);
+    }
+
+    private List<TicketHold> close(Collection<String> holdIds, TicketHoldStatus status, Long userId) {
+        if (holdIds.isEmpty()) {
+            return List.of();
+        }
+
+        // Locking waits for a confirmation in progress, which then makes the hold inactive
+        var holds = ticketHoldRepository.lockActiveByIdIn(holdIds)
+                                        .stream()
+                                        .filter(hold -> userId == null || isOwnedBy(hold, userId))
+                                        .toList();
+        if (holds.isEmpty()) {
+            return holds;
+        }
+        var closedIds = holds.stream().map(TicketHold::getId).toList();
+        ticketHoldRepository.updateStatus(closedIds, status);
+        eventPublisher.publishEvent(new TicketHoldsClosedChange(closedIds, status));
+
+        // One update per ticket type, however many holds it had
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        holds.forEach(hold -> quantities.merge(hold.getTicketType().getId(), hold.getQuantity(), Integer::sum));
+        Set<Long> eventIds = new LinkedHashSet<>();
+        quantities.forEach((ticketTypeId, quantity) -> {
+            ticketTypeRepository.releaseHeldQuantity(ticketTypeId, quantity);
+            var inventory = ticketTypeRepository.findInventoryById(ticketTypeId);
+            capacityPoolService.releaseHeldQuantity(capacityPoolIds(inventory), quantity);
+            salesStatsService.recordSale(ticketTypeId, 0, -quantity);
+            eventIds.addAll(eventIds(inventory));
+            eventPublisher.publishEvent(new TicketReleaseChange(ticketTypeId, quantity));
+        });
+
+        log.debug("{} ticket holds {}", holds.size(), status.name().toLowerCase());
+        refreshAvailability(eventIds);
+        return holds;
+    }
+
+    private List<TicketHold> saveHolds(Long ticketTypeId, List<TicketHoldRequest> requests, List<Boolean> served, int heldTotal,
+            Optional<TicketTypeInventoryProjection> inventory, LocalDateTime now, LocalDateTime expiresAt) {
+        var holds = new ArrayList<TicketHold>(requests.size());
+        if (heldTotal == 0) {
+            requests.forEach(request -> holds.add(null));
+            return holds;
+        }
+        salesStatsService.recordSale(ticketTypeId, 0, heldTotal);
+
+        var ticketType = ticketTypeRepository.getReferenceById(ticketTypeId);
+        for (int i = 0; i < requests.size(); i++) {
+            holds.add(served.get(i) ? newHold(ticketType, requests.get(i), now, expiresAt) : null);
+        }
+        ticketHoldRepository.saveAll(holds.stream().filter(Objects::nonNull).toList());
+
+        refreshAvailability(eventIds(inventory));
+        return holds;
+    }
+
+    private TicketHold newHold(TicketType ticketType, TicketHoldRequest request, LocalDateTime now, LocalDateTime expiresAt) {
+        var hold = new TicketHold();
+        hold.setTicketType(ticketType);
+        if (request.userId() != null) {
+            hold.setUser(userRepository.getReferenceById(request.userId()));
+        }
+        hold.setQuantity(request.quantity());
+        hold.setCreatedAt(now);
+        hold.setExpiresAt(expiresAt);
+        return hold;
+    }
+
+    private static boolean isOwnedBy(TicketHold hold, Long userId) {
+        return hold.getUser() != null && Objects.equals(hold.getUser().getId(), userId);
+    }
+
+    private static List<Long> capacityPoolIds(Optional<TicketTypeInventoryProjection> inventory) {
+        return inventory.map(TicketTypeInventoryProjection::getCapacityPoolIds).orElse(List.of());
+    }
+
+    private static Set<Long> eventIds(Optional<TicketTypeInventoryProjection> inventory) {
+        return inventory.map(found -> Set.of(found.getEventId())).orElse(Set.of());
+    }
+
+    private void refreshAvailability(Set<Long> eventIds) {
+        eventIds.forEach(eventId -> {
+            eventRepository.refreshAvailability(eventId);
+            eventPublisher.publishEvent(new TicketTypeChange(eventId));
+        });
+    }
+}
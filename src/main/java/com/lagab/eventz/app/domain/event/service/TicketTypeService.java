@@ -1,21 +1,37 @@
 package com.lagab.eventz.app.domain.event.service;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.lagab.eventz.app.common.exception.BusinessException;
+import com.lagab.eventz.app.domain.event.change.SeatSectionSettingsChange;
+import com.lagab.eventz.app.domain.event.change.TicketReleaseChange;
+import com.lagab.eventz.app.domain.event.change.TicketTypeChange;
+import com.lagab.eventz.app.domain.event.change.TicketTypeSettingsChange;
 import com.lagab.eventz.app.domain.event.dto.ticket.BulkUpdateTicketTypeRequest;
+import com.lagab.eventz.app.domain.event.dto.ticket.BulkUpdateTicketTypeRequest.TicketTypeUpdate;
 import com.lagab.eventz.app.domain.event.dto.ticket.CreateTicketTypeRequest;
 import com.lagab.eventz.app.domain.event.dto.ticket.TicketTypeDTO;
 import com.lagab.eventz.app.domain.event.dto.ticket.TicketTypeStatsDTO;
 import com.lagab.eventz.app.domain.event.dto.ticket.UpdateTicketTypeRequest;
+import com.lagab.eventz.app.domain.event.exception.TicketsSoldOutException;
 import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapper;
+import com.lagab.eventz.app.domain.event.projection.TicketTypeInventoryProjection;
 import com.lagab.eventz.app.domain.event.repository.EventRepository;
+import com.lagab.eventz.app.domain.event.repository.SeatSectionRepository;
+import com.lagab.eventz.app.domain.event.repository.TicketHoldRepository;
 import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.event.repository.WaitlistEntryRepository;
 import com.lagab.eventz.app.domain.ticket.entity.TicketType;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -29,8 +45,14 @@ import lombok.extern.slf4j.Slf4j;
 public class TicketTypeService {
 
     private final TicketTypeRepository ticketTypeRepository;
+    private final TicketHoldRepository ticketHoldRepository;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final SeatSectionRepository seatSectionRepository;
+    private final CapacityPoolService capacityPoolService;
+    private final SalesStatsService salesStatsService;
     private final EventRepository eventRepository;
     private final TicketTypeMapper ticketTypeMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TicketTypeDTO createTicketType(Long eventId, CreateTicketTypeRequest request) {
         log.debug("Creating new ticket type: {} for event: {}", request.name(), eventId);
@@ -52,6 +74,8 @@ public class TicketTypeService {
 
         ticketType = ticketTypeRepository.save(ticketType);
         log.debug("Ticket type created successfully: {}", ticketType.getId());
+        refreshAvailability(eventId);
+        salesStatsService.rebuild(eventId);
 
         return ticketTypeMapper.toDTO(ticketType);
     }
@@ -69,17 +93,24 @@ public class TicketTypeService {
             throw new BusinessException("Ticket type names must be unique");
         }
 
-        var ticketTypes = requests.stream()
-                                  .map(request -> {
-                                      validateSaleDates(request.saleStart(), request.saleEnd(), event.getStartDate());
-                                      var ticketType = ticketTypeMapper.toEntity(request);
-                                      ticketType.setEvent(event);
-                                      return ticketType;
-                                  })
-                                  .toList();
+        // Ticket types without a sort order follow the existing ones, in request order
+        var sortOrder = ticketTypeRepository.findMaxSortOrderByEventId(eventId);
+        List<TicketType> ticketTypes = new ArrayList<>(requests.size());
+        for (var request : requests) {
+            validateSaleDates(request.saleStart(), request.saleEnd(), event.getStartDate());
+            var ticketType = ticketTypeMapper.toEntity(request);
+            ticketType.setEvent(event);
+            if (ticketType.getSortOrder() == null) {
+                ticketType.setSortOrder(++sortOrder);
+            }
+            ticketTypes.add(ticketType);
+        }
 
+        // Ids come from the sequence by blocks, so the inserts go out as one JDBC batch
         ticketTypes = ticketTypeRepository.saveAll(ticketTypes);
         log.debug("Bulk creation completed: {} ticket types created", ticketTypes.size());
+        refreshAvailability(eventId);
+        salesStatsService.rebuild(eventId);
 
         return ticketTypeMapper.toDTOList(ticketTypes);
     }
@@ -105,8 +136,9 @@ public class TicketTypeService {
 
     @Transactional(readOnly = true)
     public List<TicketTypeDTO> getOnSaleTicketTypesByEventId(Long eventId) {
-        var ticketTypes = ticketTypeRepository.findOnSaleByEventId(eventId, LocalDateTime.now());
-        return ticketTypeMapper.toDTOList(ticketTypes);
+        var now = LocalDateTime.now();
+        var ticketTypes = ticketTypeRepository.findOnSaleByEventId(eventId, now);
+        return ticketTypeMapper.toDTOList(ticketTypes, now);
     }
 
     public TicketTypeDTO updateTicketType(Long id, UpdateTicketTypeRequest request) {
@@ -122,24 +154,33 @@ public class TicketTypeService {
 
         // Validate available quantity if modified
         if (request.quantityAvailable() != null) {
-            validateQuantityAvailable(request.quantityAvailable(), ticketType.getQuantitySold());
+            validateQuantityAvailable(request.quantityAvailable(), ticketType.getQuantitySold(), ticketType.getQuantityHeld());
         }
 
         ticketTypeMapper.updateEntityFromDTO(request, ticketType);
         ticketType = ticketTypeRepository.save(ticketType);
 
         log.debug("Ticket type updated successfully: {}", id);
+        refreshAvailability(ticketType);
+        refreshStats(ticketType);
+        eventPublisher.publishEvent(new TicketTypeSettingsChange(id));
         return ticketTypeMapper.toDTO(ticketType);
     }
 
     public List<TicketTypeDTO> updateBulkTicketTypes(BulkUpdateTicketTypeRequest request) {
         log.debug("Bulk updating {} ticket types", request.updates().size());
 
+        // One select for all the ticket types, their updates are batched at flush
+        var ids = request.updates().stream().map(TicketTypeUpdate::id).collect(Collectors.toSet());
+        var ticketTypesById = ticketTypeRepository.findAllById(ids).stream()
+                                                  .collect(Collectors.toMap(TicketType::getId, Function.identity()));
+
         var ticketTypes = request.updates().stream()
                                  .map(update -> {
-                                     var ticketType = ticketTypeRepository.findById(update.id())
-                                                                          .orElseThrow(() -> new EntityNotFoundException(
-                                                                                  "Ticket type not found with ID: " + update.id()));
+                                     var ticketType = ticketTypesById.get(update.id());
+                                     if (ticketType == null) {
+                                         throw new EntityNotFoundException("Ticket type not found with ID: " + update.id());
+                                     }
 
                                      ticketTypeMapper.updateEntityFromDTO(update.updateRequest(), ticketType);
                                      return ticketType;
@@ -148,6 +189,15 @@ public class TicketTypeService {
 
         ticketTypes = ticketTypeRepository.saveAll(ticketTypes);
         log.debug("Bulk Ticket type updated successfully");
+        ticketTypes.forEach(ticketType -> eventPublisher.publishEvent(new TicketTypeSettingsChange(ticketType.getId())));
+        ticketTypes.stream()
+                   .filter(ticketType -> ticketType.getEvent() != null)
+                   .map(ticketType -> ticketType.getEvent().getId())
+                   .distinct()
+                   .forEach(eventId -> {
+                       refreshAvailability(eventId);
+                       salesStatsService.rebuild(eventId);
+                   });
 
         return ticketTypeMapper.toDTOList(ticketTypes);
     }
@@ -162,9 +212,21 @@ public class TicketTypeService {
         if (ticketType.getQuantitySold() > 0) {
             throw new BusinessException("Cannot delete a ticket type with existing sales");
         }
+        if (ticketType.getQuantityHeld() != null && ticketType.getQuantityHeld() > 0) {
+            throw new BusinessException("Cannot delete a ticket type with tickets on hold");
+        }
 
+        // Only released and expired holds are left
+        ticketHoldRepository.deleteByTicketTypeId(id);
+        waitlistEntryRepository.deleteByTicketTypeId(id);
+        var seatSectionIds = seatSectionRepository.findIdsByTicketTypeId(id);
+        seatSectionRepository.deleteByTicketTypeId(id);
         ticketTypeRepository.delete(ticketType);
         log.debug("Ticket type deleted successfully: {}", id);
+        refreshAvailability(ticketType);
+        refreshStats(ticketType);
+        eventPublisher.publishEvent(new TicketTypeSettingsChange(id));
+        seatSectionIds.forEach(seatSectionId -> eventPublisher.publishEvent(new SeatSectionSettingsChange(seatSectionId)));
     }
 
     public TicketTypeDTO toggleActiveStatus(Long id) {
@@ -177,25 +239,74 @@ public class TicketTypeService {
         ticketType = ticketTypeRepository.save(ticketType);
 
         log.debug("Active status toggled for ticket type: {} -> {}", id, ticketType.getIsActive());
+        publishChange(ticketType);
+        refreshStats(ticketType);
+        eventPublisher.publishEvent(new TicketTypeSettingsChange(id));
         return ticketTypeMapper.toDTO(ticketType);
     }
 
+    /**
+     * Activates or deactivates ticket types of an event in a single update.
+     *
+     * @throws BusinessException when some of the ticket types do not belong to the event
+     */
+    public List<TicketTypeDTO> updateActiveStatus(Long eventId, List<Long> ticketTypeIds, boolean active) {
+        log.debug("Setting active status of {} ticket types of event: {} -> {}", ticketTypeIds.size(), eventId, active);
+
+        Set<Long> ids = Set.copyOf(ticketTypeIds);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (ticketTypeRepository.updateActiveStatus(eventId, ids, active) != ids.size()) {
+            throw new BusinessException("Some ticket types don't belong to this event");
+        }
+
+        log.debug("Active status updated for {} ticket types", ids.size());
+        eventPublisher.publishEvent(new TicketTypeChange(eventId));
+        salesStatsService.rebuild(eventId);
+        ids.forEach(id -> eventPublisher.publishEvent(new TicketTypeSettingsChange(id)));
+        return ticketTypeMapper.toDTOList(ticketTypeRepository.findAllById(ids));
+    }
+
     public void updateQuantitySold(Long ticketTypeId, Integer quantity) {
         log.debug("Updating sold quantity for ticket type: {} (+{})", ticketTypeId, quantity);
 
+        // The capacity check is part of the update, so concurrent buyers can never oversell
         var updated = ticketTypeRepository.updateQuantitySold(ticketTypeId, quantity);
         if (updated == 0) {
-            throw new EntityNotFoundException("Ticket type not found with ID: " + ticketTypeId);
+            if (!ticketTypeRepository.existsById(ticketTypeId)) {
+                throw new EntityNotFoundException("Ticket type not found with ID: " + ticketTypeId);
+            }
+            if (quantity > 0) {
+                throw new TicketsSoldOutException("Not enough tickets left for ticket type: " + ticketTypeId);
+            }
+            throw new BusinessException("Cannot release more tickets than were sold");
+        }
+
+        // Then from the capacity pools it draws from, or not at all
+        var inventory = ticketTypeRepository.findInventoryById(ticketTypeId);
+        var capacityPoolIds = capacityPoolIds(inventory);
+        if (!capacityPoolIds.isEmpty() && !capacityPoolService.updateQuantitySold(capacityPoolIds, quantity)) {
+            ticketTypeRepository.updateQuantitySold(ticketTypeId, -quantity);
+            if (quantity > 0) {
+                throw new TicketsSoldOutException("Not enough tickets left for ticket type: " + ticketTypeId);
+            }
+            throw new BusinessException("Cannot release more tickets than were sold");
         }
 
         log.debug("Sold quantity updated successfully");
+        salesStatsService.recordSale(ticketTypeId, quantity, 0);
+        inventory.ifPresent(found -> refreshAvailability(found.getEventId()));
+        if (quantity < 0) {
+            eventPublisher.publishEvent(new TicketReleaseChange(ticketTypeId, -quantity));
+        }
     }
 
     @Transactional(readOnly = true)
     public TicketTypeStatsDTO getEventTicketTypeStats(Long eventId) {
-        return ticketTypeRepository.getStatsByEventId(eventId)
-                                   .map(ticketTypeMapper::toDTO)
-                                   .orElse(new TicketTypeStatsDTO(0L, 0L, 0L, 0, 0, 0, BigDecimal.ZERO, 0.0, 0.0));
+        // Running totals, kept up to date by every write instead of aggregated over the ticket types on each read
+        var stats = ticketTypeMapper.toDTO(salesStatsService.getEventTotals(eventId));
+        return stats.withCapacityPools(capacityPoolService.getCapacityPoolsByEventId(eventId));
     }
 
     @Transactional(readOnly = true)
@@ -207,31 +318,46 @@ public class TicketTypeService {
     public List<TicketTypeDTO> reorderTicketTypes(Long eventId, List<Long> ticketTypeIds) {
         log.debug("Reordering ticket types for event: {}", eventId);
 
-        var ticketTypes = ticketTypeRepository.findByEventIdOrderBySortOrderAscIdAsc(eventId);
-
-        // Verify all IDs belong to the event
-        var existingIds = ticketTypes.stream().map(TicketType::getId).toList();
-        if (!existingIds.containsAll(ticketTypeIds)) {
+        // One update for all the sort orders, restricted to the event: a shorter count means foreign IDs
+        var ids = List.copyOf(new LinkedHashSet<>(ticketTypeIds));
+        if (ticketTypeRepository.updateSortOrders(eventId, ids) != ids.size()) {
             throw new BusinessException("Some ticket types don't belong to this event");
         }
+        log.debug("Reordering completed");
+        eventPublisher.publishEvent(new TicketTypeChange(eventId));
+
+        return ticketTypeMapper.toDTOList(ticketTypeRepository.findByEventIdOrderBySortOrderAscIdAsc(eventId));
+    }
+
+    // Private helper methods
+
+    private void refreshAvailability(TicketType ticketType) {
+        if (ticketType.getEvent() != null) {
+            refreshAvailability(ticketType.getEvent().getId());
+        }
+    }
 
-        // Update the order
-        for (int i = 0; i < ticketTypeIds.size(); i++) {
-            var ticketTypeId = ticketTypeIds.get(i);
-            var ticketType = ticketTypes.stream()
-                                        .filter(tt -> tt.getId().equals(ticketTypeId))
-                                        .findFirst()
-                                        .orElseThrow();
-            ticketType.setSortOrder(i + 1);
+    private void refreshStats(TicketType ticketType) {
+        if (ticketType.getEvent() != null) {
+            salesStatsService.rebuild(ticketType.getEvent().getId());
         }
+    }
 
-        ticketTypes = ticketTypeRepository.saveAll(ticketTypes);
-        log.debug("Reordering completed");
+    // Keeps the event availability counters in step with its ticket types, in the same transaction
+    private void refreshAvailability(Long eventId) {
+        eventRepository.refreshAvailability(eventId);
+        eventPublisher.publishEvent(new TicketTypeChange(eventId));
+    }
 
-        return ticketTypeMapper.toDTOList(ticketTypes);
+    private static List<Long> capacityPoolIds(Optional<TicketTypeInventoryProjection> inventory) {
+        return inventory.map(TicketTypeInventoryProjection::getCapacityPoolIds).orElse(List.of());
     }
 
-    // Private helper methods
+    private void publishChange(TicketType ticketType) {
+        if (ticketType.getEvent() != null) {
+            eventPublisher.publishEvent(new TicketTypeChange(ticketType.getEvent().getId()));
+        }
+    }
 
     private void validateSaleDates(LocalDateTime saleStart, LocalDateTime saleEnd, LocalDateTime eventStart) {
         var now = LocalDateTime.now();
@@ -253,17 +379,16 @@ public class TicketTypeService {
         }
     }
 
-    private void validateQuantityAvailable(Integer newQuantity, Integer quantitySold) {
+    private void validateQuantityAvailable(Integer newQuantity, Integer quantitySold, Integer quantityHeld) {
         if (newQuantity < (quantitySold != null ? quantitySold : 0)) {
             throw new BusinessException("Available quantity cannot be less than already sold quantity");
         }
+        if (newQuantity < (quantitySold != null ? quantitySold : 0) + (quantityHeld != null ? quantityHeld : 0)) {
+            throw new BusinessException("Available quantity cannot be less than the quantity sold and on hold");
+        }
     }
 
     private Integer getNextSortOrder(Long eventId) {
-        var ticketTypes = ticketTypeRepository.findByEventIdOrderBySortOrderAscIdAsc(eventId);
-        return ticketTypes.stream()
-                          .mapToInt(tt -> tt.getSortOrder() != null ? tt.getSortOrder() : 0)
-                          .max()
-                          .orElse(0) + 1;
+        return ticketTypeRepository.findMaxSortOrderByEventId(eventId) + 1;
     }
 }
@@ -0,0 +1,47 @@
+package com.lagab.eventz.app.domain.event.service;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lagab.eventz.app.domain.event.change.WaitingRoomSettingsChange;
+import com.lagab.eventz.app.domain.event.dto.queue.WaitingRoomSettingsDTO;
+import com.lagab.eventz.app.domain.event.queue.WaitingRoom;
+import com.lagab.eventz.app.domain.event.repository.EventRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Settings of the waiting rooms, applied to the {@link WaitingRoom} of this instance once committed and picked up by
+ * the other instances on their next refresh.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class WaitingRoomService {
+
+    private final EventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public WaitingRoomSettingsDTO getSettings(Long eventId) {
+        var event = eventRepository.findById(eventId)
+                                   .orElseThrow(() -> new EntityNotFoundException("Event not found with ID: " + eventId));
+        return new WaitingRoomSettingsDTO(event.getWaitingRoomEnabled(), event.getWaitingRoomRate());
+    }
+
+    public WaitingRoomSettingsDTO updateSettings(Long eventId, WaitingRoomSettingsDTO settings) {
+        log.debug("Updating the waiting room of event: {}", eventId);
+
+        var event = eventRepository.findById(eventId)
+                                   .orElseThrow(() -> new EntityNotFoundException("Event not found with ID: " + eventId));
+        event.setWaitingRoomEnabled(settings.enabled());
+        event.setWaitingRoomRate(settings.admissionRate());
+
+        eventPublisher.publishEvent(new WaitingRoomSettingsChange(eventId, settings.enabled(), settings.admissionRate()));
+        return new WaitingRoomSettingsDTO(event.getWaitingRoomEnabled(), event.getWaitingRoomRate());
+    }
+}
@@ -0,0 +1,67 @@
+package com.lagab.eventz.app.domain.event.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.event.repository.WaitlistEntryRepository;
+import com.lagab.eventz.app.domain.event.waitlist.TicketWaitlist;
+import com.lagab.eventz.app.domain.event.waitlist.WaitlistPlace;
+import com.lagab.eventz.app.domain.ticket.entity.WaitlistEntry;
+import com.lagab.eventz.app.domain.ticket.entity.WaitlistEntryStatus;
+import com.lagab.eventz.app.domain.user.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes the changes of the in-memory {@link TicketWaitlist} in batches.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistService {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final TicketTypeRepository ticketTypeRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Inserts the new places together, then moves the written entries to their status with one update per status.
+     *
+     * @return for each new place, the identifier of its entry, or {@code null} when its ticket type was deleted
+     */
+    public List<String> saveChanges(List<WaitlistPlace> inserts, Map<WaitlistEntryStatus, List<String>> updates) {
+        log.debug("Writing {} new waitlist entries and {} status changes", inserts.size(),
+                updates.values().stream().mapToInt(List::size).sum());
+
+        var ticketTypeIds = inserts.isEmpty() ? Set.<Long>of() : new HashSet<>(ticketTypeRepository.findExistingIds(
+                inserts.stream().map(WaitlistPlace::ticketTypeId).distinct().toList()));
+        // Generated identifiers are set on the entries themselves, so the inserts go out in JDBC batches
+        List<WaitlistEntry> entries = inserts.stream()
+                                             .map(place -> ticketTypeIds.contains(place.ticketTypeId()) ? toEntry(place) : null)
+                                             .toList();
+        waitlistEntryRepository.saveAll(entries.stream().filter(Objects::nonNull).toList());
+
+        updates.forEach((status, entryIds) -> waitlistEntryRepository.updateStatus(entryIds, status));
+        return entries.stream().map(entry -> entry != null ? entry.getId() : null).toList();
+    }
+
+    private WaitlistEntry toEntry(WaitlistPlace place) {
+        var entry = new WaitlistEntry();
+        entry.setTicketType(ticketTypeRepository.getReferenceById(place.ticketTypeId()));
+        entry.setUser(userRepository.getReferenceById(place.userId()));
+        entry.setQuantity(place.quantity());
+        entry.setPosition(place.position());
+        entry.setStatus(place.status());
+        entry.setCreatedAt(place.createdAt());
+        return entry;
+    }
+}
@@ -1,21 +1,30 @@
 package com.lagab.eventz.app.domain.event.specification;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.jpa.domain.Specification;
 
 import com.lagab.eventz.app.domain.event.dto.EventSearchDTO;
+import com.lagab.eventz.app.domain.event.geo.BoundingBox;
+import com.lagab.eventz.app.domain.event.geo.GeoMath;
 import com.lagab.eventz.app.domain.event.model.Address;
 import com.lagab.eventz.app.domain.event.model.Event;
 import com.lagab.eventz.app.domain.event.model.EventStatus;
 import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.pagination.EventCursor;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 
 public class EventSpecifications {
 
@@ -104,48 +113,20 @@ public class EventSpecifications {
                 criteriaBuilder.isTrue(root.get("isPublic"));
     }
 
-    // Returns a specification to filter events within a geographic radius
+    // Returns a specification to filter events within a geographic radius (in kilometers)
     public static Specification<Event> isWithinRadius(Double latitude, Double longitude, Double radius) {
         return (root, query, criteriaBuilder) -> {
             if (latitude == null || longitude == null || radius == null) {
                 return criteriaBuilder.conjunction(); // No filter if any parameter is null
             }
-
-            // Simplified Haversine distance formula
-            // Note: For maximum precision, use a specialized database function
-            return criteriaBuilder.lessThanOrEqualTo(
-                    criteriaBuilder.function(
-                            "SQRT",
-                            Double.class,
-                            criteriaBuilder.sum(
-                                    criteriaBuilder.function(
-                                            "POWER",
-                                            Double.class,
-                                            criteriaBuilder.diff(root.get("address").get("latitude"), latitude),
-                                            criteriaBuilder.literal(2)
-                                    ),
-                                    criteriaBuilder.function(
-                                            "POWER",
-                                            Double.class,
-                                            criteriaBuilder.diff(root.get("address").get("longitude"), longitude),
-                                            criteriaBuilder.literal(2)
-                                    )
-                            )
-                    ),
-                    radius / 111.0 // Approximate conversion from km to degrees
-            );
+            return withinRadius(root, criteriaBuilder, latitude, longitude, radius);
         };
     }
 
     // Returns a specification to filter events with available tickets
     public static Specification<Event> hasAvailableTickets() {
-        return (root, query, criteriaBuilder) -> {
-            var ticketTypesJoin = root.join("ticketTypes");
-            return criteriaBuilder.greaterThan(
-                    ticketTypesJoin.get("quantityAvailable"),
-                    ticketTypesJoin.get("quantitySold")
-            );
-        };
+        // Maintained counter: a plain indexed column predicate, one row per event
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThan(root.get("ticketsRemaining"), 0);
     }
 
     // Returns a specification to filter events by organizer
@@ -234,29 +215,8 @@ public class EventSpecifications {
             }
 
             // Geographic filter
-            if (searchDTO.latitude() != null && searchDTO.longitude() != null && searchDTO.radius() != null) {
-                // Simplified implementation - for real applications, use PostGIS or similar
-                predicates.add(criteriaBuilder.lessThanOrEqualTo(
-                        criteriaBuilder.function(
-                                "SQRT",
-                                Double.class,
-                                criteriaBuilder.sum(
-                                        criteriaBuilder.function(
-                                                "POWER",
-                                                Double.class,
-                                                criteriaBuilder.diff(root.get("address").get("latitude"), searchDTO.latitude()),
-                                                criteriaBuilder.literal(2)
-                                        ),
-                                        criteriaBuilder.function(
-                                                "POWER",
-                                                Double.class,
-                                                criteriaBuilder.diff(root.get("address").get("longitude"), searchDTO.longitude()),
-                                                criteriaBuilder.literal(2)
-                                        )
-                                )
-                        ),
-                        searchDTO.radius() / 111.0
-                ));
+            if (searchDTO.hasLocation()) {
+                predicates.add(withinRadius(root, criteriaBuilder, searchDTO.latitude(), searchDTO.longitude(), searchDTO.radius()));
             }
 
             // Always filter for public events
@@ -266,6 +226,77 @@ public class EventSpecifications {
         };
     }
 
+    // Returns a specification restricting events to the given ids, typically the hits of the keyword index
+    public static Specification<Event> hasIdIn(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> {
+            if (ids.isEmpty()) {
+                return criteriaBuilder.disjunction();
+            }
+            return root.get("id").in(ids);
+        };
+    }
+
+    // Returns a specification keeping the rows strictly after the cursor in (sort key, id) order
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public static Specification<Event> seekAfter(EventCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            if (cursor == null) {
+                return criteriaBuilder.conjunction(); // First page
+            }
+            Expression<Comparable> key = root.get(cursor.sortField().getProperty());
+            Comparable value = cursor.value();
+            Expression<Long> id = root.get("id");
+
+            if (cursor.direction().isAscending()) {
+                return criteriaBuilder.or(
+                        criteriaBuilder.greaterThan(key, value),
+                        criteriaBuilder.and(criteriaBuilder.equal(key, value), criteriaBuilder.greaterThan(id, cursor.id()))
+                );
+            }
+            return criteriaBuilder.or(
+                    criteriaBuilder.lessThan(key, value),
+                    criteriaBuilder.and(criteriaBuilder.equal(key, value), criteriaBuilder.lessThan(id, cursor.id()))
+            );
+        };
+    }
+
+    /*
+     * Bounding box on the indexed coordinates first, then the exact great-circle test. The spherical law of cosines
+     * is compared against cos(radius / R) so no arc cosine is needed in SQL.
+     */
+    private static Predicate withinRadius(Root<Event> root, CriteriaBuilder criteriaBuilder,
+            double latitude, double longitude, double radius) {
+        Path<BigDecimal> latitudePath = root.get("address").get("latitude");
+        Path<BigDecimal> longitudePath = root.get("address").get("longitude");
+        BoundingBox box = BoundingBox.around(latitude, longitude, radius);
+
+        Predicate latitudeRange = criteriaBuilder.between(latitudePath,
+                BigDecimal.valueOf(box.minLatitude()), BigDecimal.valueOf(box.maxLatitude()));
+        Predicate longitudeRange = box.crossesAntimeridian()
+                ? criteriaBuilder.or(
+                criteriaBuilder.greaterThanOrEqualTo(longitudePath, BigDecimal.valueOf(box.minLongitude())),
+                criteriaBuilder.lessThanOrEqualTo(longitudePath, BigDecimal.valueOf(box.maxLongitude())))
+                : criteriaBuilder.between(longitudePath,
+                BigDecimal.valueOf(box.minLongitude()), BigDecimal.valueOf(box.maxLongitude()));
+
+        Expression<Double> rowLatitude = criteriaBuilder.function("RADIANS", Double.class, latitudePath);
+        Expression<Double> rowLongitude = criteriaBuilder.function("RADIANS", Double.class, longitudePath);
+        double centerLatitude = Math.toRadians(latitude);
+        Expression<Double> cosineOfDistance = criteriaBuilder.sum(
+                criteriaBuilder.prod(criteriaBuilder.function("SIN", Double.class, rowLatitude), Math.sin(centerLatitude)),
+                criteriaBuilder.prod(
+                        criteriaBuilder.prod(criteriaBuilder.function("COS", Double.class, rowLatitude), Math.cos(centerLatitude)),
+                        criteriaBuilder.function("COS", Double.class,
+                                criteriaBuilder.diff(rowLongitude, Math.toRadians(longitude))))
+        );
+
+        return criteriaBuilder.and(
+                latitudeRange,
+                longitudeRange,
+                criteriaBuilder.greaterThanOrEqualTo(cosineOfDistance, Math.cos(radius / GeoMath.EARTH_RADIUS_KM))
+        );
+    }
+
     public static Specification<Event> publicEvents() {
         return isPublic();
     }
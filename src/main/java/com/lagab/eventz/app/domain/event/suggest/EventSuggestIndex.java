@@ -0,0 +1,364 @@
+package com.lagab.eventz.app.domain.event.suggest;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.lagab.eventz.app.domain.event.change.EventIndex;
+import com.lagab.eventz.app.domain.event.change.EventSnapshot;
+import com.lagab.eventz.app.domain.event.change.TicketTypeChange;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.EventSuggestionDTO;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.event.search.EventTextAnalyzer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Typeahead over the names of the public upcoming events, the names of their organizations and their cities.
+ * <p>
+ * Every word of a name starts a key of the {@link SuggestionTrie}, so "seine" completes "Rock en Seine". Events
+ * are weighted by start date, sooner first, and moved forward by their ticket sales; cities and organizations take
+ * the weight of their best event. Prefixes that do not fill the requested number of results are completed with
+ * suggestions one typo away. Answers never touch the database: the index is fed by the
+ * {@link com.lagab.eventz.app.domain.event.change.EventIndexSynchronizer} and ticket sales.
+ */
+@Component
+@Slf4j
+public class EventSuggestIndex implements EventIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    // Shorter prefixes are too ambiguous for typo tolerance to help
+    private static final int MIN_FUZZY_LENGTH = 3;
+    // Words past this one do not start a key, bounding the number of keys of long names
+    private static final int MAX_WORD_STARTS = 6;
+    private static final int MAX_KEY_LENGTH = 48;
+    private static final double SECONDS_PER_DAY = 86_400d;
+
+    private final EventProperties eventProperties;
+    private final TicketTypeRepository ticketTypeRepository;
+    private final Clock clock;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Segment segment = new Segment();
+
+    @Autowired
+    public EventSuggestIndex(EventProperties eventProperties, TicketTypeRepository ticketTypeRepository) {
+        this(eventProperties, ticketTypeRepository, Clock.systemDefaultZone());
+    }
+
+    public EventSuggestIndex(EventProperties eventProperties, TicketTypeRepository ticketTypeRepository, Clock clock) {
+        this.eventProperties = eventProperties;
+        this.ticketTypeRepository = ticketTypeRepository;
+        this.clock = clock;
+    }
+
+    /**
+     * @return up to {@code limit} suggestions (capped by the configured maximum) completing the query, exact
+     * completions first
+     */
+    public List<EventSuggestionDTO> suggest(String query, int limit) {
+        String prefix = prefixOf(query);
+        int maxResults = Math.min(limit, eventProperties.getSuggest().getMaxResults());
+        if (prefix.isEmpty() || maxResults <= 0) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        Predicate<Suggestion> live = suggestion -> suggestion.isLive(now);
+        List<Suggestion> suggestions;
+        lock.readLock().lock();
+        try {
+            suggestions = new ArrayList<>(segment.trie.complete(prefix, maxResults, live));
+            if (suggestions.size() < maxResults && prefix.length() >= MIN_FUZZY_LENGTH) {
+                Set<String> exact = suggestions.stream().map(Suggestion::id).collect(Collectors.toSet());
+                suggestions.addAll(segment.trie.completeFuzzy(prefix, maxResults - suggestions.size(),
+                        live.and(suggestion -> !exact.contains(suggestion.id()))));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return suggestions.stream().map(Suggestion::toDTO).toList();
+    }
+
+    @Override
+    public void index(EventSnapshot snapshot) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        lock.writeLock().lock();
+        try {
+            IndexedEvent previous = segment.events.get(snapshot.id());
+            // Snapshots taken without the ticket types keep the sales known so far
+            int ticketsSold = snapshot.ticketsSold() != null ? snapshot.ticketsSold()
+                    : previous != null ? previous.ticketsSold() : 0;
+            segment.remove(snapshot.id());
+            if (isSuggestable(snapshot, now)) {
+                segment.add(snapshot, ticketsSold);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            segment.remove(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index. The new segment is built without holding the lock so suggestions keep being served
+     * from the previous one meanwhile.
+     */
+    @Override
+    public void rebuild(Stream<EventSnapshot> snapshots) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Segment rebuilt = new Segment();
+        snapshots.filter(snapshot -> isSuggestable(snapshot, now))
+                 .forEach(snapshot -> rebuilt.add(snapshot, snapshot.ticketsSold() != null ? snapshot.ticketsSold() : 0));
+
+        lock.writeLock().lock();
+        try {
+            segment = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Event suggest index rebuilt with {} events and {} cities or organizations",
+                rebuilt.events.size(), rebuilt.groups.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTicketTypeChange(TicketTypeChange change) {
+        lock.readLock().lock();
+        try {
+            if (!segment.events.containsKey(change.eventId())) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Only events that can be suggested pay for reading their sales
+        int ticketsSold = ticketTypeRepository.sumQuantitySoldByEventId(change.eventId());
+        lock.writeLock().lock();
+        try {
+            IndexedEvent current = segment.events.get(change.eventId());
+            if (current != null && current.ticketsSold() != ticketsSold) {
+                segment.remove(change.eventId());
+                segment.add(current.snapshot(), ticketsSold);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the events that are over. They are already skipped when answering, this only reclaims their memory.
+     */
+    @Scheduled(initialDelayString = "${app.events.suggest.prune-interval:PT5M}",
+            fixedDelayString = "${app.events.suggest.prune-interval:PT5M}")
+    public void prune() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        lock.writeLock().lock();
+        try {
+            List<Long> ended = segment.events.values().stream()
+                                             .filter(indexed -> !indexed.suggestion().isLive(now))
+                                             .map(indexed -> indexed.snapshot().id())
+                                             .toList();
+            ended.forEach(segment::remove);
+            log.debug("Pruned {} ended events from the suggest index", ended.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.events.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean isSuggestable(EventSnapshot snapshot, LocalDateTime now) {
+        return snapshot.status() == EventStatus.PUBLISHED
+                && Boolean.TRUE.equals(snapshot.isPublic())
+                && snapshot.startDate() != null
+                && (snapshot.endDate() == null || snapshot.endDate().isAfter(now))
+                && !words(snapshot.name()).isEmpty();
+    }
+
+    private static boolean outlives(LocalDateTime until, LocalDateTime current) {
+        return current != null && (until == null || until.isAfter(current));
+    }
+
+    private double weight(LocalDateTime startDate, int ticketsSold) {
+        // Independent of the current time so weights stored in the trie never need to be refreshed
+        double startDay = startDate.toEpochSecond(ZoneOffset.UTC) / SECONDS_PER_DAY;
+        return -startDay + eventProperties.getSuggest().getPopularityBoostDays() * Math.log1p(ticketsSold);
+    }
+
+    private static String prefixOf(String query) {
+        return truncate(String.join(" ", words(query)));
+    }
+
+    private static Set<String> keysOf(String text) {
+        List<String> words = words(text);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < Math.min(words.size(), MAX_WORD_STARTS); i++) {
+            keys.add(truncate(String.join(" ", words.subList(i, words.size()))));
+        }
+        return keys;
+    }
+
+    private static List<String> words(String text) {
+        return Arrays.stream(SEPARATORS.split(EventTextAnalyzer.normalize(text)))
+                     .filter(word -> !word.isEmpty())
+                     .toList();
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private record IndexedEvent(EventSnapshot snapshot, int ticketsSold, Suggestion suggestion) {
+    }
+
+    /**
+     * City or organization shared by several events, suggested once with the weight of its best live event.
+     */
+    private static final class Group {
+
+        private final String id;
+        private final EventSuggestionDTO.Type type;
+        private final String text;
+        private final String organizationId;
+        private final Map<Long, Suggestion> members = new HashMap<>();
+        private Suggestion suggestion;
+
+        private Group(String id, EventSuggestionDTO.Type type, String text, String organizationId) {
+            this.id = id;
+            this.type = type;
+            this.text = text;
+            this.organizationId = organizationId;
+        }
+
+        private Suggestion toSuggestion() {
+            double weight = Double.NEGATIVE_INFINITY;
+            LocalDateTime until = LocalDateTime.MIN;
+            for (Suggestion member : members.values()) {
+                weight = Math.max(weight, member.weight());
+                until = member.until() == null || until == null ? null
+                        : member.until().isAfter(until) ? member.until() : until;
+            }
+            return new Suggestion(id, type, text, null, organizationId, weight, until);
+        }
+    }
+
+    private final class Segment {
+
+        private final SuggestionTrie trie = new SuggestionTrie();
+        private final Map<Long, IndexedEvent> events = new HashMap<>();
+        private final Map<String, Group> groups = new HashMap<>();
+
+        private void add(EventSnapshot snapshot, int ticketsSold) {
+            Suggestion suggestion = new Suggestion("event:" + snapshot.id(), EventSuggestionDTO.Type.EVENT,
+                    snapshot.name(), snapshot.id(), null, weight(snapshot.startDate(), ticketsSold), snapshot.endDate());
+            put(suggestion);
+            events.put(snapshot.id(), new IndexedEvent(snapshot, ticketsSold, suggestion));
+
+            String city = prefixOf(snapshot.city());
+            if (!city.isEmpty()) {
+                join("city:" + city, EventSuggestionDTO.Type.CITY, snapshot.city().trim(), null, suggestion);
+            }
+            if (snapshot.organizationId() != null && !words(snapshot.organizationName()).isEmpty()) {
+                join("organization:" + snapshot.organizationId(), EventSuggestionDTO.Type.ORGANIZATION,
+                        snapshot.organizationName().trim(), snapshot.organizationId(), suggestion);
+            }
+        }
+
+        private void remove(Long eventId) {
+            IndexedEvent indexed = events.remove(eventId);
+            if (indexed == null) {
+                return;
+            }
+            unput(indexed.suggestion());
+            EventSnapshot snapshot = indexed.snapshot();
+            String city = prefixOf(snapshot.city());
+            if (!city.isEmpty()) {
+                leave("city:" + city, eventId);
+            }
+            if (snapshot.organizationId() != null) {
+                leave("organization:" + snapshot.organizationId(), eventId);
+            }
+        }
+
+        private void join(String groupId, EventSuggestionDTO.Type type, String text, String organizationId, Suggestion member) {
+            Group group = groups.computeIfAbsent(groupId, id -> new Group(id, type, text, organizationId));
+            group.members.put(member.eventId(), member);
+            // Joining can only raise the weight or extend the life of the group, no need to look at the other members
+            Suggestion current = group.suggestion;
+            if (current == null || member.weight() > current.weight() || outlives(member.until(), current.until())) {
+                refresh(group);
+            }
+        }
+
+
+        private void leave(String groupId, Long eventId) {
+            Group group = groups.get(groupId);
+            if (group == null || group.members.remove(eventId) == null) {
+                return;
+            }
+            if (group.members.isEmpty()) {
+                unput(group.suggestion);
+                groups.remove(groupId);
+            } else {
+                refresh(group);
+            }
+        }
+
+        private void refresh(Group group) {
+            Suggestion refreshed = group.toSuggestion();
+            if (refreshed.equals(group.suggestion)) {
+                return;
+            }
+            if (group.suggestion != null) {
+                unput(group.suggestion);
+            }
+            put(refreshed);
+            group.suggestion = refreshed;
+        }
+
+        private void put(Suggestion suggestion) {
+            keysOf(suggestion.text()).forEach(key -> trie.add(key, suggestion));
+        }
+
+        private void unput(Suggestion suggestion) {
+            keysOf(suggestion.text()).forEach(key -> trie.remove(key, suggestion));
+        }
+    }
+}
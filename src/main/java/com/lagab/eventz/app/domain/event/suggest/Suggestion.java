@@ -0,0 +1,28 @@
+package com.lagab.eventz.app.domain.event.suggest;
+
+import java.time.LocalDateTime;
+
+import com.lagab.eventz.app.domain.event.dto.EventSuggestionDTO;
+
+/**
+ * Entry of the {@link SuggestionTrie}. The id identifies the suggestion across weight changes, the weight orders
+ * completions and the suggestion stops being offered once {@code until} is past.
+ */
+record Suggestion(
+        String id,
+        EventSuggestionDTO.Type type,
+        String text,
+        Long eventId,
+        String organizationId,
+        double weight,
+        LocalDateTime until
+) {
+
+    boolean isLive(LocalDateTime now) {
+        return until == null || until.isAfter(now);
+    }
+
+    EventSuggestionDTO toDTO() {
+        return new EventSuggestionDTO(type, text, eventId, organizationId);
+    }
+}
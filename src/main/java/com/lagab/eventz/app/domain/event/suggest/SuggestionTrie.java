@@ -0,0 +1,288 @@
+package com.lagab.eventz.app.domain.event.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Character trie mapping keys to weighted suggestions, not thread safe.
+ * <p>
+ * Children are kept in arrays rather than maps to stay compact. Every node remembers the best weight found below
+ * it and keeps its children ordered by that weight, so completions are a best-first walk from the prefix node
+ * that only looks at the next best sibling of each visited node and stops as soon as enough suggestions were
+ * emitted: the cost depends on the number of results and not on the size of the subtree.
+ */
+final class SuggestionTrie {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Suggestion[] NO_ENTRIES = new Suggestion[0];
+    private static final Comparator<Candidate> BEST_FIRST = (left, right) -> Double.compare(right.weight(), left.weight());
+
+    private final Node root = new Node();
+
+    void add(String key, Suggestion suggestion) {
+        Node[] path = new Node[key.length() + 1];
+        Node node = root;
+        path[0] = node;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            path[i + 1] = node;
+        }
+        node.putEntry(suggestion);
+        for (int i = key.length(); i >= 0; i--) {
+            path[i].best = Math.max(path[i].best, suggestion.weight());
+            if (i > 0) {
+                path[i - 1].reposition(key.charAt(i - 1));
+            }
+        }
+    }
+
+    void remove(String key, Suggestion suggestion) {
+        Node[] path = new Node[key.length() + 1];
+        Node node = root;
+        path[0] = node;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+            path[i + 1] = node;
+        }
+        if (node == null || !node.removeEntry(suggestion.id())) {
+            return;
+        }
+        for (int i = key.length(); i >= 0; i--) {
+            Node visited = path[i];
+            visited.recomputeBest();
+            if (i > 0 && visited.isEmpty()) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+            } else if (i > 0) {
+                path[i - 1].reposition(key.charAt(i - 1));
+            }
+        }
+    }
+
+    /**
+     * @return the best suggestions stored under keys starting with the prefix, accepted by the filter
+     */
+    List<Suggestion> complete(String prefix, int limit, Predicate<Suggestion> filter) {
+        Node node = find(prefix);
+        return node != null ? collect(List.of(node), limit, filter) : List.of();
+    }
+
+    /**
+     * @return the best suggestions stored under keys starting with a string at edit distance exactly one from the
+     * prefix (insertion, deletion, substitution or transposition of adjacent characters), accepted by the filter
+     */
+    List<Suggestion> completeFuzzy(String prefix, int limit, Predicate<Suggestion> filter) {
+        Set<Node> nodes = new LinkedHashSet<>();
+        collectFuzzy(root, prefix, 0, false, nodes);
+        nodes.remove(find(prefix));
+        return nodes.isEmpty() ? List.of() : collect(nodes, limit, filter);
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    private static List<Suggestion> collect(Iterable<Node> starts, int limit, Predicate<Suggestion> filter) {
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(BEST_FIRST);
+        starts.forEach(start -> queue.add(new Candidate(start.best, start, null, 0, null)));
+
+        // A suggestion reachable through several keys is only emitted once
+        Set<String> emitted = new LinkedHashSet<>();
+        List<Suggestion> results = new ArrayList<>(limit);
+        while (!queue.isEmpty() && results.size() < limit) {
+            Candidate candidate = queue.poll();
+            Node node = candidate.node();
+            if (candidate.suggestion() != null) {
+                Suggestion suggestion = candidate.suggestion();
+                if (filter.test(suggestion) && emitted.add(suggestion.id())) {
+                    results.add(suggestion);
+                }
+                int next = candidate.rank() + 1;
+                if (next < node.entries.length) {
+                    queue.add(new Candidate(node.entries[next].weight(), node, null, next, node.entries[next]));
+                }
+                continue;
+            }
+            if (node.entries.length > 0) {
+                queue.add(new Candidate(node.entries[0].weight(), node, null, 0, node.entries[0]));
+            }
+            if (node.children.length > 0) {
+                queue.add(new Candidate(node.children[0].best, node.children[0], node, 0, null));
+            }
+            // Siblings come in weight order, the next one can wait until this one has been explored
+            Node parent = candidate.parent();
+            int next = candidate.rank() + 1;
+            if (parent != null && next < parent.children.length) {
+                queue.add(new Candidate(parent.children[next].best, parent.children[next], parent, next, null));
+            }
+        }
+        return results;
+    }
+
+    private static void collectFuzzy(Node node, String prefix, int index, boolean edited, Set<Node> nodes) {
+        if (index == prefix.length()) {
+            if (edited) {
+                nodes.add(node);
+            }
+            return;
+        }
+        char expected = prefix.charAt(index);
+        Node match = node.child(expected);
+        if (match != null) {
+            collectFuzzy(match, prefix, index + 1, edited, nodes);
+        }
+        if (edited) {
+            return;
+        }
+        // Extra character typed by the user
+        collectFuzzy(node, prefix, index + 1, true, nodes);
+        for (int i = 0; i < node.labels.length; i++) {
+            Node child = node.children[i];
+            if (node.labels[i] != expected) {
+                // Wrong character typed by the user
+                collectFuzzy(child, prefix, index + 1, true, nodes);
+            }
+            // Character missed by the user
+            collectFuzzy(child, prefix, index, true, nodes);
+        }
+        // Two adjacent characters swapped by the user
+        if (index + 1 < prefix.length() && prefix.charAt(index + 1) != expected) {
+            Node first = node.child(prefix.charAt(index + 1));
+            Node second = first != null ? first.child(expected) : null;
+            if (second != null) {
+                collectFuzzy(second, prefix, index + 2, true, nodes);
+            }
+        }
+    }
+
+    /**
+     * Either a suggestion to emit with its rank among the entries of its node, or a node to explore with its rank
+     * among the children of its parent.
+     */
+    private record Candidate(double weight, Node node, Node parent, int rank, Suggestion suggestion) {
+    }
+
+    private static final class Node {
+
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private Suggestion[] entries = NO_ENTRIES;
+        private double best = Double.NEGATIVE_INFINITY;
+
+        // A linear scan beats hashing for the handful of children most nodes have
+        private int indexOf(char label) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == label) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private Node child(char label) {
+            int index = indexOf(label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node childOrCreate(char label) {
+            int index = indexOf(label);
+            if (index >= 0) {
+                return children[index];
+            }
+            Node child = new Node();
+            labels = Arrays.copyOf(labels, labels.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            labels[labels.length - 1] = label;
+            children[children.length - 1] = child;
+            return child;
+        }
+
+        /**
+         * Moves the child back in place after its best weight changed, keeping children ordered best first.
+         */
+        private void reposition(char label) {
+            int index = indexOf(label);
+            while (index > 0 && children[index - 1].best < children[index].best) {
+                swap(index - 1, index);
+                index--;
+            }
+            while (index >= 0 && index < children.length - 1 && children[index + 1].best > children[index].best) {
+                swap(index, index + 1);
+                index++;
+            }
+        }
+
+        private void swap(int left, int right) {
+            char label = labels[left];
+            labels[left] = labels[right];
+            labels[right] = label;
+            Node child = children[left];
+            children[left] = children[right];
+            children[right] = child;
+        }
+
+        private void removeChild(char label) {
+            int index = indexOf(label);
+            if (index < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels.length == 0 ? NO_LABELS : newLabels;
+            children = newChildren.length == 0 ? NO_CHILDREN : newChildren;
+        }
+
+        // Entries are kept best first too, so that many suggestions sharing a key are also emitted lazily
+        private void putEntry(Suggestion suggestion) {
+            removeEntry(suggestion.id());
+            int insertion = 0;
+            while (insertion < entries.length && entries[insertion].weight() >= suggestion.weight()) {
+                insertion++;
+            }
+            Suggestion[] newEntries = new Suggestion[entries.length + 1];
+            System.arraycopy(entries, 0, newEntries, 0, insertion);
+            newEntries[insertion] = suggestion;
+            System.arraycopy(entries, insertion, newEntries, insertion + 1, entries.length - insertion);
+            entries = newEntries;
+        }
+
+        private boolean removeEntry(String id) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].id().equals(id)) {
+                    Suggestion[] newEntries = new Suggestion[entries.length - 1];
+                    System.arraycopy(entries, 0, newEntries, 0, i);
+                    System.arraycopy(entries, i + 1, newEntries, i, entries.length - i - 1);
+                    entries = newEntries.length == 0 ? NO_ENTRIES : newEntries;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void recomputeBest() {
+            double recomputed = entries.length > 0 ? entries[0].weight() : Double.NEGATIVE_INFINITY;
+            if (children.length > 0) {
+                recomputed = Math.max(recomputed, children[0].best);
+            }
+            best = recomputed;
+        }
+
+        private boolean isEmpty() {
+            return entries.length == 0 && children.length == 0;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.lagab.eventz.app.domain.event.waitlist;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.lagab.eventz.app.common.exception.BusinessException;
+import com.lagab.eventz.app.common.exception.ValidationException;
+import com.lagab.eventz.app.domain.event.change.TicketReleaseChange;
+import com.lagab.eventz.app.domain.event.change.TicketTypeSettingsChange;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.ticket.JoinWaitlistRequest;
+import com.lagab.eventz.app.domain.event.dto.ticket.WaitlistEntryDTO;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.event.repository.WaitlistEntryRepository;
+import com.lagab.eventz.app.domain.event.service.WaitlistService;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+import com.lagab.eventz.app.domain.ticket.entity.WaitlistEntryStatus;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * First come, first served waitlists of the ticket types, kept in memory and written to the database in batches.
+ * <p>
+ * Joining and leaving only change the queue of the ticket type and mark the place as changed: each flush writes the
+ * places changed since the previous one with a batch of inserts and one update per status, so a crowd joining the
+ * waitlist of a sold out on-sale costs a few statements per second. Changes not flushed yet are lost if the instance
+ * crashes, the waitlists are rebuilt from the database on startup. Like the waiting room, waitlists are served by the
+ * instance the buyers of the on-sale are routed to.
+ * <p>
+ * Ticket types whose tickets went back on sale are marked for the {@link WaitlistAllocator}.
+ */
+@Component
+@Slf4j
+public class TicketWaitlist {
+
+    // Rounds a ticket type stays marked while nothing can be allocated: the release is committed before the tickets
+    // are given back to the in-memory stock
+    private static final int ALLOCATION_ROUNDS = 2;
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final TicketTypeRepository ticketTypeRepository;
+    private final WaitlistService waitlistService;
+    private final Clock clock;
+    private final int flushBatchSize;
+    private final AtomicLong positions = new AtomicLong();
+    private final Map<Long, Queue> queues = new ConcurrentHashMap<>();
+    // Places changed since the last flush
+    private final Set<WaitlistPlace> changed = ConcurrentHashMap.newKeySet();
+    // Ticket types with tickets freed up, with the allocation rounds left
+    private final Map<Long, Integer> freed = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TicketWaitlist(WaitlistEntryRepository waitlistEntryRepository, TicketTypeRepository ticketTypeRepository,
+            WaitlistService waitlistService, EventProperties eventProperties) {
+        this(waitlistEntryRepository, ticketTypeRepository, waitlistService, eventProperties, Clock.systemDefaultZone());
+    }
+
+    public TicketWaitlist(WaitlistEntryRepository waitlistEntryRepository, TicketTypeRepository ticketTypeRepository,
+            WaitlistService waitlistService, EventProperties eventProperties, Clock clock) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.ticketTypeRepository = ticketTypeRepository;
+        this.waitlistService = waitlistService;
+        this.clock = clock;
+        this.flushBatchSize = eventProperties.getWaitlist().getFlushBatchSize();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        var waiting = waitlistEntryRepository.findWaiting();
+        waiting.forEach(entry -> queue(entry.getTicketTypeId()).add(new WaitlistPlace(entry.getId(), entry.getTicketTypeId(),
+                entry.getUserId(), entry.getQuantity(), entry.getPosition(), entry.getCreatedAt())));
+        positions.accumulateAndGet(waitlistEntryRepository.findMaxPosition(), Math::max);
+        log.info("Ticket waitlists rebuilt with {} waiting buyers", waiting.size());
+    }
+
+    /**
+     * Puts the user at the end of the waitlists of the ticket types. A user already waiting for a ticket type keeps
+     * their place and quantity.
+     *
+     * @return the places of the user, in request order
+     */
+    public List<WaitlistEntryDTO> join(Long userId, List<JoinWaitlistRequest> requests) {
+        Map<Long, TicketType> ticketTypes = ticketTypeRepository.findAllById(requests.stream()
+                                                                                     .map(JoinWaitlistRequest::ticketTypeId)
+                                                                                     .distinct()
+                                                                                     .toList())
+                                                                .stream()
+                                                                .collect(Collectors.toMap(TicketType::getId, Function.identity()));
+        requests.forEach(request -> checkRequest(ticketTypes.get(request.ticketTypeId()), request));
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        return requests.stream().map(request -> queue(request.ticketTypeId()).join(userId, request.quantity(), now)).toList();
+    }
+
+    /**
+     * Takes the user off the waitlists of the ticket types.
+     *
+     * @return the number of waitlists left
+     */
+    public int leave(Long userId, Collection<Long> ticketTypeIds) {
+        int left = 0;
+        for (Long ticketTypeId : ticketTypeIds) {
+            Queue queue = queues.get(ticketTypeId);
+            WaitlistPlace place = queue != null ? queue.leave(userId) : null;
+            if (place != null) {
+                place.status(WaitlistEntryStatus.LEFT);
+                changed.add(place);
+                left++;
+            }
+        }
+        return left;
+    }
+
+    /**
+     * @return the buyers waiting for the ticket type
+     */
+    public int waiting(Long ticketTypeId) {
+        Queue queue = queues.get(ticketTypeId);
+        return queue != null ? queue.size() : 0;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTicketRelease(TicketReleaseChange change) {
+        markFreed(change.ticketTypeId());
+    }
+
+    // Raising the quantity frees tickets up as well
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTicketTypeSettingsChange(TicketTypeSettingsChange change) {
+        markFreed(change.ticketTypeId());
+    }
+
+    /**
+     * Writes the places changed since the last flush, in batches.
+     */
+    @Scheduled(fixedDelayString = "${app.events.waitlist.flush-interval:PT1S}")
+    @PreDestroy
+    public synchronized void flush() {
+        while (!changed.isEmpty()) {
+            List<WaitlistPlace> batch = new ArrayList<>(flushBatchSize);
+            Iterator<WaitlistPlace> iterator = changed.iterator();
+            while (iterator.hasNext() && batch.size() < flushBatchSize) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+
+            // Places changed again from now on are marked again, and written by their identifier next time
+            List<WaitlistPlace> inserts = new ArrayList<>();
+            Map<WaitlistEntryStatus, List<String>> updates = new EnumMap<>(WaitlistEntryStatus.class);
+            for (WaitlistPlace place : batch) {
+                if (place.id() != null) {
+                    updates.computeIfAbsent(place.status(), status -> new ArrayList<>()).add(place.id());
+                } else if (place.status() != WaitlistEntryStatus.LEFT) {
+                    inserts.add(place);
+                }
+            }
+            try {
+                List<String> ids = waitlistService.saveChanges(inserts, updates);
+                for (int i = 0; i < inserts.size(); i++) {
+                    if (ids.get(i) != null) {
+                        inserts.get(i).written(ids.get(i));
+                    } else {
+                        drop(inserts.get(i).ticketTypeId());
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Retried on the next flush
+                log.warn("Failed to write {} waitlist changes: {}", batch.size(), e.getMessage());
+                changed.addAll(batch);
+                return;
+            }
+            log.debug("{} waitlist changes written", batch.size());
+        }
+    }
+
+    /**
+     * @return the ticket types with tickets freed up since the last allocation
+     */
+    List<Long> freedTicketTypes() {
+        return List.copyOf(freed.keySet());
+    }
+
+    /**
+     * Ends an allocation round of the ticket type, which stays marked for another round when nothing could be
+     * allocated yet.
+     */
+    void allocated(Long ticketTypeId, boolean served) {
+        freed.computeIfPresent(ticketTypeId, (id, rounds) -> served || rounds <= 1 || waiting(id) == 0 ? null : rounds - 1);
+    }
+
+    /**
+     * @return the first places of the waitlist of the ticket type, in order
+     */
+    List<WaitlistPlace> head(Long ticketTypeId, int max) {
+        Queue queue = queues.get(ticketTypeId);
+        return queue != null ? queue.head(max) : List.of();
+    }
+
+    /**
+     * Takes the places off the waitlist once tickets are held for them. Buyers who left in the meantime keep their
+     * hold, which expires unless they confirm it.
+     */
+    void offered(Long ticketTypeId, List<WaitlistPlace> places) {
+        Queue queue = queues.get(ticketTypeId);
+        if (queue != null) {
+            queue.remove(places);
+        }
+        places.forEach(place -> {
+            place.status(WaitlistEntryStatus.OFFERED);
+            changed.add(place);
+        });
+    }
+
+    /**
+     * Forgets the waitlist of a deleted ticket type, its entries are deleted with it.
+     */
+    void drop(Long ticketTypeId) {
+        Queue queue = queues.remove(ticketTypeId);
+        freed.remove(ticketTypeId);
+        if (queue != null) {
+            changed.removeIf(place -> place.ticketTypeId().equals(ticketTypeId));
+            log.debug("Waitlist of deleted ticket type {} dropped", ticketTypeId);
+        }
+    }
+
+    private void markFreed(Long ticketTypeId) {
+        if (waiting(ticketTypeId) > 0) {
+            freed.put(ticketTypeId, ALLOCATION_ROUNDS);
+        }
+    }
+
+    private Queue queue(Long ticketTypeId) {
+        return queues.computeIfAbsent(ticketTypeId, Queue::new);
+    }
+
+    private static void checkRequest(TicketType ticketType, JoinWaitlistRequest request) {
+        if (ticketType == null) {
+            throw new EntityNotFoundException("Ticket type not found with ID: " + request.ticketTypeId());
+        }
+        if (!Boolean.TRUE.equals(ticketType.getIsActive())) {
+            throw new BusinessException("Ticket type is not active: " + ticketType.getId());
+        }
+        int minQuantity = Math.max(1, ticketType.getMinQuantity() != null ? ticketType.getMinQuantity() : 1);
+        int maxQuantity = ticketType.getMaxQuantity() != null ? ticketType.getMaxQuantity() : Integer.MAX_VALUE;
+        if (request.quantity() < minQuantity || request.quantity() > maxQuantity) {
+            throw new ValidationException("Quantity must be between " + minQuantity + " and " + maxQuantity
+                    + " for ticket type: " + ticketType.getId());
+        }
+    }
+
+    private final class Queue {
+
+        private final Long ticketTypeId;
+        // Places by user, in order of arrival
+        private final LinkedHashMap<Long, WaitlistPlace> places = new LinkedHashMap<>();
+
+        private Queue(Long ticketTypeId) {
+            this.ticketTypeId = ticketTypeId;
+        }
+
+        synchronized WaitlistEntryDTO join(Long userId, int quantity, LocalDateTime now) {
+            WaitlistPlace place = places.get(userId);
+            if (place != null) {
+                return new WaitlistEntryDTO(ticketTypeId, place.quantity(), placeOf(place));
+            }
+            place = new WaitlistPlace(null, ticketTypeId, userId, quantity, positions.incrementAndGet(), now);
+            places.put(userId, place);
+            changed.add(place);
+            return new WaitlistEntryDTO(ticketTypeId, quantity, places.size());
+        }
+
+        synchronized void add(WaitlistPlace place) {
+            places.putIfAbsent(place.userId(), place);
+        }
+
+        synchronized WaitlistPlace leave(Long userId) {
+            return places.remove(userId);
+        }
+
+        synchronized List<WaitlistPlace> head(int max) {
+            return places.values().stream().limit(max).toList();
+        }
+
+        synchronized void remove(List<WaitlistPlace> served) {
+            served.forEach(place -> places.remove(place.userId(), place));
+        }
+
+        synchronized long placeOf(WaitlistPlace place) {
+            long rank = 1;
+            for (WaitlistPlace other : places.values()) {
+                if (other == place) {
+                    return rank;
+                }
+                rank++;
+            }
+            return 0;
+        }
+
+        synchronized int size() {
+            return places.size();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.lagab.eventz.app.domain.event.waitlist;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.lagab.eventz.app.common.exception.BusinessException;
+import com.lagab.eventz.app.common.exception.ValidationException;
+import com.lagab.eventz.app.domain.auth.service.EmailService;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketHoldRequest;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.event.reservation.TicketReservationService;
+import com.lagab.eventz.app.domain.ticket.entity.TicketHold;
+import com.lagab.eventz.app.domain.user.model.User;
+import com.lagab.eventz.app.domain.user.repository.UserRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands the tickets freed up by releases, expired holds and refunds to the waitlisted buyers, in order.
+ * <p>
+ * Buyers are served in batches: the tickets of a whole batch are held with one update, and each buyer is emailed a
+ * claim valid for the configured duration. A claim is an ordinary hold, confirmed like any other; unclaimed tickets
+ * go back on sale when it expires, and on to the next buyers. The first buyer of a waitlist is served first even when
+ * a later one asks for fewer tickets than are free.
+ */
+@Component
+@Slf4j
+public class WaitlistAllocator {
+
+    private final TicketWaitlist ticketWaitlist;
+    private final TicketReservationService ticketReservationService;
+    private final TicketTypeRepository ticketTypeRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    private final Duration claimDuration;
+    private final int batchSize;
+
+    public WaitlistAllocator(TicketWaitlist ticketWaitlist, TicketReservationService ticketReservationService,
+            TicketTypeRepository ticketTypeRepository, UserRepository userRepository, EmailService emailService,
+            EventProperties eventProperties) {
+        this.ticketWaitlist = ticketWaitlist;
+        this.ticketReservationService = ticketReservationService;
+        this.ticketTypeRepository = ticketTypeRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+        this.claimDuration = eventProperties.getWaitlist().getClaimDuration();
+        this.batchSize = eventProperties.getWaitlist().getAllocationBatchSize();
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.waitlist.allocation-interval:PT1S}")
+    public void allocate() {
+        for (Long ticketTypeId : ticketWaitlist.freedTicketTypes()) {
+            try {
+                int served = allocate(ticketTypeId);
+                ticketWaitlist.allocated(ticketTypeId, served > 0);
+                if (served > 0) {
+                    log.debug("Tickets of ticket type {} offered to {} waitlisted buyers", ticketTypeId, served);
+                }
+            } catch (RuntimeException e) {
+                // Retried on the next round, the buyers keep their place
+                log.warn("Failed to allocate tickets of ticket type {} to its waitlist: {}", ticketTypeId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return the buyers served
+     */
+    int allocate(Long ticketTypeId) {
+        int served = 0;
+        while (true) {
+            List<WaitlistPlace> batch = ticketWaitlist.head(ticketTypeId, batchSize);
+            if (batch.isEmpty()) {
+                return served;
+            }
+            List<TicketHold> holds;
+            try {
+                holds = ticketReservationService.holdInOrder(ticketTypeId, batch.stream()
+                                                                                .map(place -> new TicketHoldRequest(place.userId(), place.quantity()))
+                                                                                .toList(), claimDuration);
+            } catch (EntityNotFoundException e) {
+                ticketWaitlist.drop(ticketTypeId);
+                return served;
+            } catch (BusinessException | ValidationException e) {
+                // Sold elsewhere since the stock was loaded, or no longer on sale: the buyers wait for the next release
+                log.debug("Waitlist of ticket type {} not served: {}", ticketTypeId, e.getMessage());
+                return served;
+            }
+            if (holds.isEmpty()) {
+                return served;
+            }
+            List<WaitlistPlace> offered = batch.subList(0, holds.size());
+            ticketWaitlist.offered(ticketTypeId, offered);
+            notify(ticketTypeId, offered, holds);
+            served += holds.size();
+            if (holds.size() < batch.size()) {
+                return served;
+            }
+        }
+    }
+
+    private void notify(Long ticketTypeId, List<WaitlistPlace> offered, List<TicketHold> holds) {
+        var names = ticketTypeRepository.findNamesById(ticketTypeId);
+        if (names.isEmpty()) {
+            return;
+        }
+        Map<Long, User> users = userRepository.findAllById(offered.stream().map(WaitlistPlace::userId).toList())
+                                              .stream()
+                                              .collect(Collectors.toMap(User::getId, Function.identity()));
+        for (int i = 0; i < holds.size(); i++) {
+            User user = users.get(offered.get(i).userId());
+            if (user != null) {
+                emailService.sendWaitlistOffer(user, names.get().getEventName(), names.get().getName(), holds.get(i).getId(),
+                        holds.get(i).getQuantity(), holds.get(i).getExpiresAt());
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.lagab.eventz.app.domain.event.waitlist;
+
+import java.time.LocalDateTime;
+
+import com.lagab.eventz.app.domain.ticket.entity.WaitlistEntryStatus;
+
+/**
+ * In-memory state of a waitlist entry. Its identifier is only known once the entry has been written.
+ */
+public final class WaitlistPlace {
+
+    private final Long ticketTypeId;
+    private final Long userId;
+    private final int quantity;
+    private final long position;
+    private final LocalDateTime createdAt;
+    private volatile WaitlistEntryStatus status = WaitlistEntryStatus.WAITING;
+    private volatile String id;
+
+    WaitlistPlace(String id, Long ticketTypeId, Long userId, int quantity, long position, LocalDateTime createdAt) {
+        this.id = id;
+        this.ticketTypeId = ticketTypeId;
+        this.userId = userId;
+        this.quantity = quantity;
+        this.position = position;
+        this.createdAt = createdAt;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public Long ticketTypeId() {
+        return ticketTypeId;
+    }
+
+    public Long userId() {
+        return userId;
+    }
+
+    public int quantity() {
+        return quantity;
+    }
+
+    public long position() {
+        return position;
+    }
+
+    public LocalDateTime createdAt() {
+        return createdAt;
+    }
+
+    public WaitlistEntryStatus status() {
+        return status;
+    }
+
+    void status(WaitlistEntryStatus status) {
+        this.status = status;
+    }
+
+    void written(String id) {
+        this.id = id;
+    }
+}
@@ -0,0 +1,59 @@
+package com.lagab.eventz.app.domain.ticket.entity;
+
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.lagab.eventz.app.domain.event.model.Event;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Capacity shared by the ticket types drawing from it, such as the venue limit of an event. A group pool may itself
+ * draw from an event-level pool: a sale then takes from its ticket type, its pool and the parent pool together.
+ * <p>
+ * The sold and held quantities are the sums of the ticket types of the pool and of its child pools, kept in step by
+ * the same conditional updates as the ticket types. Only changed columns are written back so that editing a pool
+ * never overwrites them.
+ */
+@Entity
+@DynamicUpdate
+@Table(name = "capacity_pools")
+@Getter
+@Setter
+@NoArgsConstructor
+public class CapacityPool {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    private CapacityPool parent;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private Integer capacity;
+
+    @Column(name = "quantity_sold", nullable = false)
+    private Integer quantitySold = 0;
+
+    @Column(name = "quantity_held", nullable = false)
+    private Integer quantityHeld = 0;
+}
@@ -0,0 +1,35 @@
+package com.lagab.eventz.app.domain.ticket.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Sales totals of an event, moved by each sale, refund and hold in the transaction that makes it, see
+ * {@code SalesStatsService}. Totals are only ever written as increments, so concurrent writers never overwrite each
+ * other.
+ */
+@Entity
+@Table(name = "event_sales_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSalesStats {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "organization_id")
+    private String organizationId;
+
+    @Embedded
+    private SalesTotals totals = new SalesTotals();
+}
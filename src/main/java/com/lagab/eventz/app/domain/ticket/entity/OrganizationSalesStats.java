@@ -0,0 +1,30 @@
+package com.lagab.eventz.app.domain.ticket.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Sales totals of all the events of an organization, moved along with those of its events.
+ */
+@Entity
+@Table(name = "organization_sales_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrganizationSalesStats {
+
+    @Id
+    @Column(name = "organization_id")
+    private String organizationId;
+
+    @Embedded
+    private SalesTotals totals = new SalesTotals();
+}
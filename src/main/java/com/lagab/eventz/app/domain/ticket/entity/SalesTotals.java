@@ -0,0 +1,75 @@
+package com.lagab.eventz.app.domain.ticket.entity;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Running totals of the ticket types of an event, or of all the events of an organization. Amounts are in minor
+ * units, hundredths of the prices stored with two decimals.
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class SalesTotals {
+
+    public static final SalesTotals ZERO = new SalesTotals();
+
+    @Column(name = "ticket_types", nullable = false)
+    private long ticketTypes;
+
+    @Column(name = "active_ticket_types", nullable = false)
+    private long activeTicketTypes;
+
+    @Column(name = "sold_out_ticket_types", nullable = false)
+    private long soldOutTicketTypes;
+
+    @Column(nullable = false)
+    private long capacity;
+
+    @Column(nullable = false)
+    private long sold;
+
+    @Column(nullable = false)
+    private long remaining;
+
+    @Column(nullable = false)
+    private long revenue;
+
+    // Sum of the prices of the ticket types, for their average
+    @Column(name = "price_total", nullable = false)
+    private long priceTotal;
+
+    public SalesTotals plus(SalesTotals other) {
+        return new SalesTotals(ticketTypes + other.ticketTypes, activeTicketTypes + other.activeTicketTypes,
+                soldOutTicketTypes + other.soldOutTicketTypes, capacity + other.capacity, sold + other.sold,
+                remaining + other.remaining, revenue + other.revenue, priceTotal + other.priceTotal);
+    }
+
+    public SalesTotals minus(SalesTotals other) {
+        return new SalesTotals(ticketTypes - other.ticketTypes, activeTicketTypes - other.activeTicketTypes,
+                soldOutTicketTypes - other.soldOutTicketTypes, capacity - other.capacity, sold - other.sold,
+                remaining - other.remaining, revenue - other.revenue, priceTotal - other.priceTotal);
+    }
+
+    public boolean isZero() {
+        return equals(ZERO);
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount != null ? amount.movePointRight(2).longValueExact() : 0;
+    }
+
+    public static BigDecimal fromMinorUnits(long amount) {
+        return BigDecimal.valueOf(amount, 2);
+    }
+}
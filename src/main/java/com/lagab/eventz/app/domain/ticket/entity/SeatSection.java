@@ -0,0 +1,70 @@
+package com.lagab.eventz.app.domain.ticket.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.lagab.eventz.app.domain.event.model.Event;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Seated section of an event, sold through one ticket type: a grid of {@code rowCount} rows of {@code rowWidth}
+ * places, seat {@code number} of {@code row} being bit {@code row * rowWidth + number} of the bitsets.
+ * <p>
+ * The layout tells which places of the grid are seats, leaving room for aisles and irregular rows. Sold seats are
+ * a snapshot written in batches, as of {@code seatsUpdatedAt}: the seats of holds confirmed since then are read from
+ * the holds. Only changed columns are written back so that saving a snapshot never rewrites the layout.
+ */
+@Entity
+@DynamicUpdate
+@Table(name = "seat_sections")
+@Getter
+@Setter
+@NoArgsConstructor
+public class SeatSection {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ticket_type_id", nullable = false)
+    private TicketType ticketType;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private Integer position = 0;
+
+    @Column(name = "row_count", nullable = false)
+    private Integer rowCount;
+
+    @Column(name = "row_width", nullable = false)
+    private Integer rowWidth;
+
+    @Column(nullable = false)
+    private byte[] layout;
+
+    @Column(name = "sold_seats")
+    private byte[] soldSeats;
+
+    @Column(name = "seats_updated_at")
+    private LocalDateTime seatsUpdatedAt;
+}
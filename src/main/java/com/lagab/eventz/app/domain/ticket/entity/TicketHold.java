@@ -0,0 +1,67 @@
+package com.lagab.eventz.app.domain.ticket.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UuidGenerator;
+
+import com.lagab.eventz.app.domain.user.model.User;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Tickets set aside for a buyer while they pay, counted in {@link TicketType#getQuantityHeld()} until the hold is
+ * confirmed into a sale, released or expires.
+ */
+@Entity
+@Table(name = "ticket_holds")
+@Getter
+@Setter
+@NoArgsConstructor
+public class TicketHold {
+
+    @Id
+    @GeneratedValue(generator = "uuid")
+    @UuidGenerator
+    @Column(name = "id", columnDefinition = "VARCHAR(36)")
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ticket_type_id", nullable = false)
+    private TicketType ticketType;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    // Section and seats of the section taken by the hold, for seated ticket types
+    @Column(name = "seat_section_id")
+    private Long seatSectionId;
+
+    @Column(length = 1000)
+    private String seats;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TicketHoldStatus status = TicketHoldStatus.ACTIVE;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,5 @@
+package com.lagab.eventz.app.domain.ticket.entity;
+
+public enum TicketHoldStatus {
+    ACTIVE, CONFIRMED, RELEASED, EXPIRED
+}
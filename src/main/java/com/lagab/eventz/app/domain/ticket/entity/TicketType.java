@@ -13,12 +13,19 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+/**
+ * Tickets of an event sold at one price. The sold and held quantities only move through the conditional updates of
+ * {@link com.lagab.eventz.app.domain.event.repository.TicketTypeRepository}: they are left out of the updates of the
+ * entity, so that editing a ticket type never overwrites them with the values read before the edit. Unlike
+ * {@code @DynamicUpdate}, this keeps a single update statement, so bulk edits are still batched.
+ */
 @Entity
 @Table(name = "ticket_types")
 @Getter
@@ -26,8 +33,10 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 public class TicketType {
+    // Drawn from the sequence by blocks, so that ticket types created together are inserted in one JDBC batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_types_seq")
+    @SequenceGenerator(name = "ticket_types_seq", sequenceName = "ticket_types_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -49,9 +58,13 @@ public class TicketType {
     @Column(name = "quantity_available")
     private Integer quantityAvailable;
 
-    @Column(name = "quantity_sold")
+    @Column(name = "quantity_sold", updatable = false)
     private Integer quantitySold = 0;
 
+    // Set aside by active holds, neither available nor sold
+    @Column(name = "quantity_held", nullable = false, updatable = false)
+    private Integer quantityHeld = 0;
+
     @Column(name = "sale_start")
     private LocalDateTime saleStart;
 
@@ -72,6 +85,11 @@ public class TicketType {
     @JoinColumn(name = "event_id", nullable = false)
     private Event event;
 
+    // Shared capacity this ticket type also draws from, if any
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "capacity_pool_id")
+    private CapacityPool capacityPool;
+
    /* @OneToMany(mappedBy = "ticketType", cascade = CascadeType.ALL)
     private List<OrderItem> orderItems;*/
 }
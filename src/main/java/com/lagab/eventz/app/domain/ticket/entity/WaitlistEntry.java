@@ -0,0 +1,62 @@
+package com.lagab.eventz.app.domain.ticket.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UuidGenerator;
+
+import com.lagab.eventz.app.domain.user.model.User;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Place of a buyer on the waitlist of a ticket type, until tickets freed up are offered to them or they leave.
+ * <p>
+ * Entries are written behind the in-memory waitlist: generated identifiers keep their inserts batched.
+ */
+@Entity
+@Table(name = "waitlist_entries")
+@Getter
+@Setter
+@NoArgsConstructor
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(generator = "uuid")
+    @UuidGenerator
+    @Column(name = "id", columnDefinition = "VARCHAR(36)")
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ticket_type_id", nullable = false)
+    private TicketType ticketType;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    // Order of arrival across all waitlists
+    @Column(nullable = false)
+    private Long position;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private WaitlistEntryStatus status = WaitlistEntryStatus.WAITING;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
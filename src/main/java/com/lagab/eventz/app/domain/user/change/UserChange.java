@@ -0,0 +1,8 @@
+package com.lagab.eventz.app.domain.user.change;
+
+/**
+ * Application event published once a user has changed in a way that affects how its requests are authenticated:
+ * its password, role, activation or email verification.
+ */
+public record UserChange(Long userId) {
+}
@@ -0,0 +1,34 @@
+package com.lagab.eventz.app.infrastructure.ratelimit;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Requests of a caller let through by all nodes, when limits are shared across nodes.
+ */
+@Entity
+@Table(name = "rate_limit_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitCounter {
+
+    @Id
+    @Column(name = "bucket_key", length = 128)
+    private String bucketKey;
+
+    @Column(nullable = false)
+    private long consumed;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,27 @@
+package com.lagab.eventz.app.infrastructure.ratelimit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface RateLimitCounterRepository extends JpaRepository<RateLimitCounter, String> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RateLimitCounter c SET c.consumed = c.consumed + :delta, c.updatedAt = :now WHERE c.bucketKey = :key")
+    int addConsumed(@Param("key") String key, @Param("delta") long delta, @Param("now") LocalDateTime now);
+
+    List<RateLimitCounter> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RateLimitCounter c WHERE c.updatedAt < :before")
+    int deleteIdleBefore(@Param("before") LocalDateTime before);
+}
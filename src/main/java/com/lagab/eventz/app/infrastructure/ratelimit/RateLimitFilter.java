@@ -0,0 +1,111 @@
+package com.lagab.eventz.app.infrastructure.ratelimit;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lagab.eventz.app.common.dto.MessageResponse;
+import com.lagab.eventz.app.domain.auth.dto.apikey.ApiKeyAuthenticationPrincipal;
+import com.lagab.eventz.app.domain.user.model.User;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Limits the requests of each caller once authenticated: API keys by the policy of their client type, users by the
+ * policy of their role and anonymous callers by client IP. Every response carries the {@code RateLimit-Limit},
+ * {@code RateLimit-Remaining} and {@code RateLimit-Reset} headers, requests over the limit are answered with a 429.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Counter rejectedApiKeys;
+    private final Counter rejectedUsers;
+    private final Counter rejectedAnonymous;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.rejectedApiKeys = rejected("api_key", meterRegistry);
+        this.rejectedUsers = rejected("user", meterRegistry);
+        this.rejectedAnonymous = rejected("anonymous", meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Object principal = authentication != null ? authentication.getPrincipal() : null;
+
+        String key;
+        RateLimitProperties.Policy policy;
+        Counter rejected;
+        if (principal instanceof ApiKeyAuthenticationPrincipal apiKey) {
+            key = "api-key:" + apiKey.apiKey().getId();
+            policy = properties.forClientType(apiKey.getClientType());
+            rejected = rejectedApiKeys;
+        } else if (principal instanceof User user) {
+            key = "user:" + user.getId();
+            policy = properties.forRole(user.getRole());
+            rejected = rejectedUsers;
+        } else {
+            // Resolved by the container from the hops of the trusted proxies, the headers alone are set by the client
+            key = "ip:" + request.getRemoteAddr();
+            policy = properties.getAnonymous();
+            rejected = rejectedAnonymous;
+        }
+
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(key, policy);
+        response.setHeader(LIMIT_HEADER, String.valueOf(decision.limit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(decision.resetSeconds()));
+
+        if (!decision.allowed()) {
+            rejected.increment();
+            log.debug("Rate limit of {} exceeded", key);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    new MessageResponse("Too many requests, retry in " + decision.retryAfterSeconds() + " seconds"));
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static Counter rejected(String caller, MeterRegistry meterRegistry) {
+        return Counter.builder("rate-limit.rejected")
+                      .tag("caller", caller)
+                      .description("Requests answered with a 429 because their caller went over its limit")
+                      .register(meterRegistry);
+    }
+}
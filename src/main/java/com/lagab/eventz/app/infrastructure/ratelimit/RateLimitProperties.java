@@ -0,0 +1,69 @@
+package com.lagab.eventz.app.infrastructure.ratelimit;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.lagab.eventz.app.domain.user.model.Role;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    @Setter
+    private boolean enabled = true;
+    // Number of callers whose buckets are kept before the least used ones are evicted
+    @Setter
+    private long maxKeys = 100_000;
+    // Buckets of callers idle for this long are dropped, a full bucket being recreated on their next request
+    @Setter
+    private Duration idleExpiry = Duration.ofMinutes(10);
+    // Requests without credentials, by client IP
+    private final Policy anonymous = new Policy(300, Duration.ofMinutes(1));
+    // Logged in users whose role has no policy of its own
+    private final Policy user = new Policy(600, Duration.ofMinutes(1));
+    // API keys whose client type has no policy of its own
+    private final Policy apiKey = new Policy(1_200, Duration.ofMinutes(1));
+    private final Map<Role, Policy> roles = new EnumMap<>(Role.class);
+    private final Map<String, Policy> clientTypes = new HashMap<>();
+    private final Distributed distributed = new Distributed();
+
+    public Policy forRole(Role role) {
+        return roles.getOrDefault(role, user);
+    }
+
+    public Policy forClientType(String clientType) {
+        return clientTypes.getOrDefault(clientType, apiKey);
+    }
+
+    /**
+     * Requests a caller may send per period, in bursts of up to the whole limit.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Policy {
+
+        private long limit = 600;
+        private Duration period = Duration.ofMinutes(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Distributed {
+
+        // Shares the requests counted by each node through the database so that limits hold across nodes
+        private boolean enabled = false;
+        // Pause between two exchanges of counts with the database, how far over its limit a caller may go meanwhile
+        private Duration syncInterval = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,86 @@
+package com.lagab.eventz.app.infrastructure.ratelimit;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Shares the requests each node lets through so that rate limits hold across nodes.
+ * <p>
+ * Requests are still let through or rejected from the local buckets, without a round trip to the database. Every
+ * sync interval, each node adds the requests it let through to the counters of their callers and charges its own
+ * buckets with what the other nodes added to the counters touched since the previous run. A caller may so go over its limit by what the other nodes let
+ * through during one interval at most.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.rate-limit.distributed", name = "enabled", havingValue = "true")
+@Slf4j
+public class RateLimitSynchronizer {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitCounterRepository counterRepository;
+    private final RateLimitProperties properties;
+    private final Clock clock;
+    private LocalDateTime lastSync;
+
+    @Autowired
+    public RateLimitSynchronizer(RateLimiter rateLimiter, RateLimitCounterRepository counterRepository,
+            RateLimitProperties properties) {
+        this(rateLimiter, counterRepository, properties, Clock.systemDefaultZone());
+    }
+
+    public RateLimitSynchronizer(RateLimiter rateLimiter, RateLimitCounterRepository counterRepository,
+            RateLimitProperties properties, Clock clock) {
+        this.rateLimiter = rateLimiter;
+        this.counterRepository = counterRepository;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.distributed.sync-interval:PT1S}")
+    public void synchronize() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Map<String, Long> usage = rateLimiter.drainUsage();
+        usage.forEach((key, count) -> {
+            if (counterRepository.addConsumed(key, count, now) == 0) {
+                create(key, count, now);
+            }
+        });
+
+        // Counters touched since the previous run, by any node; one interval earlier still for the clocks of the nodes
+        // drifting apart, a total being applied at most once
+        LocalDateTime since = (lastSync != null ? lastSync : now).minus(properties.getDistributed().getSyncInterval());
+        List<RateLimitCounter> counters = counterRepository.findByUpdatedAtGreaterThanEqual(since);
+        counters.forEach(counter -> rateLimiter.applyTotal(counter.getBucketKey(), counter.getConsumed(),
+                usage.getOrDefault(counter.getBucketKey(), 0L)));
+        lastSync = now;
+        log.trace("Flushed the rate limits of {} callers, applied those of {}", usage.size(), counters.size());
+    }
+
+    /**
+     * Drops the counters of the callers no node has seen for a while.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.idle-expiry:PT10M}")
+    public void purge() {
+        int purged = counterRepository.deleteIdleBefore(LocalDateTime.now(clock).minus(properties.getIdleExpiry()));
+        log.debug("Purged {} idle rate limit counters", purged);
+    }
+
+    private void create(String key, long count, LocalDateTime now) {
+        try {
+            counterRepository.saveAndFlush(new RateLimitCounter(key, count, now));
+        } catch (DataIntegrityViolationException e) {
+            // Created by another node in the meantime
+            counterRepository.addConsumed(key, count, now);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.lagab.eventz.app.infrastructure.ratelimit;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.lagab.eventz.app.domain.event.queue.TokenBucket;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Token buckets of the callers of the API, one per API key, user or client IP.
+ * <p>
+ * Buckets are lock-free and kept in a bounded map, those of idle callers expiring. A caller whose policy changes, a
+ * user given another role for instance, starts over with a full bucket of the new policy. When limits are shared
+ * across nodes, the requests let through are also counted for {@link RateLimitSynchronizer} to exchange them with the
+ * other nodes.
+ */
+@Component
+public class RateLimiter {
+
+    public static final String CACHE_NAME = "rate-limit.buckets";
+
+    private final Cache<String, Limit> limits;
+    private final Ticker ticker;
+    private final boolean countsUsage;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.ticker = ticker;
+        this.countsUsage = properties.getDistributed().isEnabled();
+        this.limits = Caffeine.newBuilder()
+                              .maximumSize(properties.getMaxKeys())
+                              .expireAfterAccess(properties.getIdleExpiry())
+                              .ticker(ticker)
+                              .recordStats()
+                              .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, limits, CACHE_NAME);
+    }
+
+    /**
+     * Takes one request off the bucket of the caller.
+     *
+     * @param key    caller, such as {@code user:42}
+     * @param policy limit of the caller
+     */
+    public Decision tryAcquire(String key, RateLimitProperties.Policy policy) {
+        Limit limit = limits.getIfPresent(key);
+        if (limit == null || limit.policy != policy) {
+            // Only new callers and policy changes lock, to create the bucket once
+            limit = limits.asMap().compute(key, (k, current) ->
+                    current != null && current.policy == policy ? current : new Limit(policy, ticker));
+        }
+        TokenBucket bucket = limit.bucket;
+        boolean allowed = bucket.tryAcquire(1) == 1;
+        if (allowed && countsUsage) {
+            limit.usage.increment();
+        }
+        return new Decision(allowed, bucket.capacity(), bucket.available(), seconds(bucket.nanosUntilAvailable(bucket.capacity())),
+                allowed ? 0 : seconds(bucket.nanosUntilAvailable(1)));
+    }
+
+    /**
+     * @return the requests let through by key since the previous call, for the callers who sent any
+     */
+    Map<String, Long> drainUsage() {
+        Map<String, Long> usage = new HashMap<>();
+        limits.asMap().forEach((key, limit) -> {
+            long count = limit.usage.sumThenReset();
+            if (count > 0) {
+                usage.put(key, count);
+            }
+        });
+        return usage;
+    }
+
+    /**
+     * Charges the bucket of a caller with the requests the other nodes let through.
+     *
+     * @param total   requests of the caller counted by all nodes so far
+     * @param flushed requests of the caller this node has just added to the total
+     */
+    void applyTotal(String key, long total, long flushed) {
+        Limit limit = limits.getIfPresent(key);
+        if (limit == null) {
+            return;
+        }
+        // Nothing is known of the requests counted before this node first saw the caller
+        if (limit.synced >= 0) {
+            limit.bucket.charge(total - limit.synced - flushed);
+        }
+        limit.synced = total;
+    }
+
+    public long size() {
+        return limits.estimatedSize();
+    }
+
+    private static long seconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * @param limit             requests a caller may send per period
+     * @param remaining         requests the caller may still send right away
+     * @param resetSeconds      seconds until the caller may send a full burst again
+     * @param retryAfterSeconds seconds until the caller may send its next request, zero when it was let through
+     */
+    public record Decision(boolean allowed, long limit, long remaining, long resetSeconds, long retryAfterSeconds) {
+    }
+
+    private static final class Limit {
+
+        private final RateLimitProperties.Policy policy;
+        private final TokenBucket bucket;
+        private final LongAdder usage = new LongAdder();
+        // Total of the caller in the database when last synchronized, -1 before
+        private volatile long synced = -1;
+
+        private Limit(RateLimitProperties.Policy policy, Ticker ticker) {
+            this.policy = policy;
+            this.bucket = new TokenBucket(policy.getLimit(), policy.getPeriod(), ticker);
+        }
+    }
+}
@@ -1,15 +1,53 @@
 package com.lagab.eventz.app.infrastructure.security;
 
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 public class PasswordConfig {
 
+    private static final String BCRYPT = "bcrypt";
+    private static final String PBKDF2 = "pbkdf2";
+
+    /**
+     * Hashes new passwords with the configured algorithm and cost, and checks those hashed with any of the supported
+     * ones. Hashes stored before the algorithm was prefixed are BCrypt ones. A hash made with another algorithm or a
+     * lower cost is upgraded on the next successful login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.auth.password.algorithm:bcrypt}") String algorithm,
+            @Value("${app.auth.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${app.auth.password.threads:0}") int threads,
+            @Value("${app.auth.password.queue-capacity:64}") int queueCapacity,
+            @Value("${app.auth.password.max-wait:PT5S}") Duration maxWait,
+            MeterRegistry meterRegistry) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                BCRYPT, bcrypt,
+                PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders) {
+            @Override
+            public boolean upgradeEncoding(String prefixEncodedPassword) {
+                if (prefixEncodedPassword != null && !prefixEncodedPassword.startsWith("{")) {
+                    return !BCRYPT.equals(algorithm) || bcrypt.upgradeEncoding(prefixEncodedPassword);
+                }
+                return super.upgradeEncoding(prefixEncodedPassword);
+            }
+        };
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        // Half the cores by default, the other half left to the other requests during a burst of logins
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(delegating, poolSize, queueCapacity, maxWait, meterRegistry);
     }
 }
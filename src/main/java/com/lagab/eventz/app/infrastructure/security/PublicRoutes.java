@@ -0,0 +1,54 @@
+package com.lagab.eventz.app.infrastructure.security;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Routes open to anyone. They are permitted by the security configuration and skipped by the authentication filter,
+ * so that a request to them never pays for authenticating its caller.
+ */
+@Component
+public class PublicRoutes implements RequestMatcher {
+
+    private final RequestMatcher matcher;
+
+    public PublicRoutes(@Value("${spring.profiles.active:}") String activeProfiles) {
+        PathPatternRequestMatcher.Builder path = PathPatternRequestMatcher.withDefaults();
+        List<RequestMatcher> matchers = new ArrayList<>();
+        for (String pattern : List.of(
+                "/api/auth/login",
+                "/api/auth/register",
+                "/api/auth/refresh",
+                "/api/auth/forgot-password",
+                "/api/auth/reset-password",
+                "/api/auth/verify-email",
+                "/api/auth/resend-verification",
+                "/h2-console/**",
+                "/actuator/health")) {
+            matchers.add(path.matcher(pattern));
+        }
+        // Seat maps browsed before buying, answered from memory
+        matchers.add(path.matcher(HttpMethod.GET, "/api/v1/events/*/seating/sections"));
+
+        if (activeProfiles != null && activeProfiles.contains("swagger")) {
+            for (String pattern : List.of("/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**", "/api-docs/**")) {
+                matchers.add(path.matcher(pattern));
+            }
+        }
+        this.matcher = new OrRequestMatcher(matchers);
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        return matcher.matches(request);
+    }
+}
@@ -0,0 +1,156 @@
+package com.lagab.eventz.app.infrastructure.security;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.lagab.eventz.app.domain.auth.cache.UserSnapshotCache;
+import com.lagab.eventz.app.domain.auth.cache.VerifiedTokenCache;
+import com.lagab.eventz.app.domain.auth.dto.UserSnapshot;
+import com.lagab.eventz.app.domain.auth.dto.apikey.ApiKeyAuthenticationPrincipal;
+import com.lagab.eventz.app.domain.auth.service.ApiKeyService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Authenticates requests in a single pass, by the scheme of their credentials:
+ * <ul>
+ *     <li>{@code Authorization: Bearer <access token>}</li>
+ *     <li>{@code Authorization: ApiKey <key>} or {@code X-API-Key: <key>}</li>
+ * </ul>
+ * Only headers are read, never the body or the parameters of the request. Public routes are skipped altogether.
+ * The time spent authenticating is recorded by scheme and outcome.
+ */
+@Component
+@Slf4j
+public class RequestAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String API_KEY_PREFIX = "ApiKey ";
+    private static final String API_KEY_HEADER = "X-API-Key";
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserSnapshotCache userSnapshotCache;
+    private final ApiKeyService apiKeyService;
+    private final PublicRoutes publicRoutes;
+    private final Timers bearer;
+    private final Timers apiKey;
+
+    public RequestAuthenticationFilter(VerifiedTokenCache verifiedTokenCache, UserSnapshotCache userSnapshotCache,
+            ApiKeyService apiKeyService, PublicRoutes publicRoutes, MeterRegistry meterRegistry) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.userSnapshotCache = userSnapshotCache;
+        this.apiKeyService = apiKeyService;
+        this.publicRoutes = publicRoutes;
+        this.bearer = new Timers("bearer", meterRegistry);
+        this.apiKey = new Timers("api_key", meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return publicRoutes.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            String authorization = request.getHeader("Authorization");
+            if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+                authenticate(request, bearer, () -> authenticateWithToken(authorization.substring(BEARER_PREFIX.length())));
+            } else if (authorization != null && authorization.startsWith(API_KEY_PREFIX)) {
+                authenticate(request, apiKey, () -> authenticateWithApiKey(authorization.substring(API_KEY_PREFIX.length())));
+            } else {
+                String key = request.getHeader(API_KEY_HEADER);
+                if (StringUtils.hasText(key)) {
+                    authenticate(request, apiKey, () -> authenticateWithApiKey(key));
+                }
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(HttpServletRequest request, Timers timers, Authenticator authenticator) {
+        long start = System.nanoTime();
+        AbstractAuthenticationToken authentication = null;
+        try {
+            authentication = authenticator.authenticate();
+            if (authentication != null) {
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
+        } catch (Exception ex) {
+            log.error("Could not set authentication in security context", ex);
+        } finally {
+            (authentication != null ? timers.success : timers.failure).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private AbstractAuthenticationToken authenticateWithToken(String jwt) {
+        if (!StringUtils.hasText(jwt)) {
+            return null;
+        }
+        return verifiedTokenCache.verify(jwt)
+                                 .flatMap(token -> userSnapshotCache.get(token.userId()))
+                                 .filter(UserSnapshot::enabled)
+                                 .map(user -> new UsernamePasswordAuthenticationToken(user.toPrincipal(), null, user.authorities()))
+                                 .orElse(null);
+    }
+
+    private AbstractAuthenticationToken authenticateWithApiKey(String keyValue) {
+        return apiKeyService.validateApiKey(keyValue).map(apiKey -> {
+            // Create a custom principal for API keys
+            ApiKeyAuthenticationPrincipal principal = new ApiKeyAuthenticationPrincipal(apiKey);
+
+            List<GrantedAuthority> authorities = apiKey.getRoles().stream()
+                                                       .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
+                                                       .toList();
+
+            log.debug("Successful authentication with API key: {}", apiKey.getName());
+            return new PreAuthenticatedAuthenticationToken(principal, null, authorities);
+        }).orElse(null);
+    }
+
+    @FunctionalInterface
+    private interface Authenticator {
+        AbstractAuthenticationToken authenticate();
+    }
+
+    private static final class Timers {
+
+        private final Timer success;
+        private final Timer failure;
+
+        private Timers(String scheme, MeterRegistry meterRegistry) {
+            this.success = timer(scheme, "success", meterRegistry);
+            this.failure = timer(scheme, "failure", meterRegistry);
+        }
+
+        private static Timer timer(String scheme, String outcome, MeterRegistry meterRegistry) {
+            return Timer.builder("auth.authentication")
+                        .tag("scheme", scheme)
+                        .tag("outcome", outcome)
+                        .description("Time spent authenticating a request by the scheme of its credentials")
+                        .register(meterRegistry);
+        }
+    }
+}
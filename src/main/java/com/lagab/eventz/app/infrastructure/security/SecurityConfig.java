@@ -1,6 +1,5 @@
 package com.lagab.eventz.app.infrastructure.security;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -20,6 +19,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import com.lagab.eventz.app.common.config.CommonProperties;
 import com.lagab.eventz.app.domain.auth.service.CustomUserDetailsService;
 import com.lagab.eventz.app.domain.user.model.Role;
+import com.lagab.eventz.app.infrastructure.ratelimit.RateLimitFilter;
 
 import lombok.RequiredArgsConstructor;
 
@@ -31,13 +31,11 @@ import lombok.RequiredArgsConstructor;
 public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
-    private final JwtAuthenticationFilter jwtAuthenticationFilter;
-    private final ApiKeyAuthenticationFilter apiKeyAuthenticationFilter;
+    private final RequestAuthenticationFilter requestAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final PublicRoutes publicRoutes;
     private final CommonProperties commonProperties;
 
-    @Value("${spring.profiles.active:}")
-    private String activeProfiles;
-
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
@@ -50,40 +48,22 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .userDetailsService(userDetailsService)
-                .authorizeHttpRequests(authz -> {
-                    authz
-                            // public endpoints
-                            .requestMatchers(
-                                    "/api/auth/login",
-                                    "/api/auth/register",
-                                    "/api/auth/refresh",
-                                    "/api/auth/forgot-password",
-                                    "/api/auth/reset-password",
-                                    "/api/auth/verify-email",
-                                    "/api/auth/resend-verification",
-                                    "/h2-console/**",
-                                    "/actuator/health"
-                            ).permitAll()
-
-                            // Specific endpoints requiring authentication
-                            .requestMatchers("/api/auth/**").authenticated()
-                            .requestMatchers("/api/admin/**").hasRole(Role.ADMIN.name())
-                            .requestMatchers("/api/moderator/**").hasAnyRole(Role.ADMIN.name(), Role.ORGANIZER.name());
+                .authorizeHttpRequests(authz -> authz
+                        // public endpoints
+                        .requestMatchers(publicRoutes).permitAll()
 
-                    if (activeProfiles != null && activeProfiles.contains("swagger")) {
-                        authz.requestMatchers(
-                                "/swagger-ui/**",
-                                "/swagger-ui.html",
-                                "/v3/api-docs/**",
-                                "/api-docs/**"
-                        ).permitAll();
-                    }
-                    // All other requests require authentication
-                    authz.anyRequest().authenticated();
+                        // Specific endpoints requiring authentication
+                        .requestMatchers("/api/auth/**").authenticated()
+                        .requestMatchers("/api/admin/**").hasRole(Role.ADMIN.name())
+                        .requestMatchers("/api/moderator/**").hasAnyRole(Role.ADMIN.name(), Role.ORGANIZER.name())
+                        // Metrics tell traffic and business volumes, only health is public
+                        .requestMatchers("/actuator/**").hasRole(Role.ADMIN.name())
 
-                })
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
-                .addFilterBefore(apiKeyAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                        // All other requests require authentication
+                        .anyRequest().authenticated())
+                .addFilterBefore(requestAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Callers are limited once known, by API key, user or client IP
+                .addFilterAfter(rateLimitFilter, RequestAuthenticationFilter.class);
 
         return http.build();
     }
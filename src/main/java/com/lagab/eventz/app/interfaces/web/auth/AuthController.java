@@ -78,7 +78,7 @@ public class AuthController {
             @Parameter(description = "Login credentials", required = true)
             @Valid @RequestBody LoginRequestDto request,
             HttpServletRequest httpRequest) {
-        String ipAddress = getClientIpAddress(httpRequest);
+        String ipAddress = httpRequest.getRemoteAddr();
         String userAgent = httpRequest.getHeader("User-Agent");
 
         AuthResponse response = authService.login(request, ipAddress, userAgent);
@@ -146,7 +146,7 @@ public class AuthController {
             @Parameter(description = "Refresh token request", required = true)
             @Valid @RequestBody RefreshTokenRequest request,
             HttpServletRequest httpRequest) {
-        String ipAddress = getClientIpAddress(httpRequest);
+        String ipAddress = httpRequest.getRemoteAddr();
         String userAgent = httpRequest.getHeader("User-Agent");
 
         AuthResponse response = authService.refreshToken(request, ipAddress, userAgent);
@@ -408,18 +408,4 @@ public class AuthController {
         authService.resendEmailVerification(emailRequest.email());
         return ResponseEntity.ok(new MessageResponse("Verification email sent"));
     }
-
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-
-        return request.getRemoteAddr();
-    }
 }
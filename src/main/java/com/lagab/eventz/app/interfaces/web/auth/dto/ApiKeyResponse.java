@@ -24,7 +24,7 @@ public record ApiKeyResponse(
                 apiKey.getName(),
                 apiKey.getClientType(),
                 //apiKey.getClientId(),
-                apiKey.getClientSecret(),
+                apiKey.getKey(),
                 apiKey.getCreatedAt(),
                 apiKey.getExpiresAt(),
                 apiKey.isActive(),
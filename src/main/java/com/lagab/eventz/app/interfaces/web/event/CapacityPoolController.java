@@ -0,0 +1,84 @@
+package com.lagab.eventz.app.interfaces.web.event;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.lagab.eventz.app.domain.event.dto.ticket.CapacityPoolDTO;
+import com.lagab.eventz.app.domain.event.dto.ticket.CreateCapacityPoolRequest;
+import com.lagab.eventz.app.domain.event.dto.ticket.UpdateCapacityPoolRequest;
+import com.lagab.eventz.app.domain.event.service.CapacityPoolService;
+import com.lagab.eventz.app.interfaces.web.org.annotation.RequireOrganizationPermission;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/events/{eventId}/capacity-pools")
+@RequiredArgsConstructor
+@Tag(name = "Capacity Pools", description = "Capacity shared by several ticket types of an event")
+public class CapacityPoolController {
+
+    private final CapacityPoolService capacityPoolService;
+
+    @PostMapping
+    @Operation(summary = "Create a capacity pool")
+    @RequireOrganizationPermission(permission = "EVENT_EDIT")
+    public ResponseEntity<CapacityPoolDTO> createCapacityPool(@PathVariable Long eventId,
+            @Valid @RequestBody CreateCapacityPoolRequest request) {
+        var pool = capacityPoolService.createCapacityPool(eventId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(pool);
+    }
+
+    @GetMapping
+    @Operation(summary = "Get the capacity pools of an event and their usage")
+    @RequireOrganizationPermission(permission = "EVENT_EDIT")
+    public ResponseEntity<List<CapacityPoolDTO>> getCapacityPools(@PathVariable Long eventId) {
+        return ResponseEntity.ok(capacityPoolService.getCapacityPoolsByEventId(eventId));
+    }
+
+    @PutMapping("/{poolId}")
+    @Operation(summary = "Update a capacity pool")
+    @RequireOrganizationPermission(permission = "EVENT_EDIT")
+    public ResponseEntity<CapacityPoolDTO> updateCapacityPool(@PathVariable Long eventId, @PathVariable Long poolId,
+            @Valid @RequestBody UpdateCapacityPoolRequest request) {
+        return ResponseEntity.ok(capacityPoolService.updateCapacityPool(eventId, poolId, request));
+    }
+
+    @DeleteMapping("/{poolId}")
+    @Operation(summary = "Delete a capacity pool no ticket type draws from")
+    @RequireOrganizationPermission(permission = "EVENT_EDIT")
+    public ResponseEntity<Void> deleteCapacityPool(@PathVariable Long eventId, @PathVariable Long poolId) {
+        capacityPoolService.deleteCapacityPool(eventId, poolId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/{poolId}/ticket-types/{ticketTypeId}")
+    @Operation(summary = "Make a ticket type draw from a capacity pool")
+    @RequireOrganizationPermission(permission = "EVENT_EDIT")
+    public ResponseEntity<Void> addTicketType(@PathVariable Long eventId, @PathVariable Long poolId,
+            @PathVariable Long ticketTypeId) {
+        capacityPoolService.addTicketType(eventId, poolId, ticketTypeId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{poolId}/ticket-types/{ticketTypeId}")
+    @Operation(summary = "Stop a ticket type from drawing from a capacity pool")
+    @RequireOrganizationPermission(permission = "EVENT_EDIT")
+    public ResponseEntity<Void> removeTicketType(@PathVariable Long eventId, @PathVariable Long poolId,
+            @PathVariable Long ticketTypeId) {
+        capacityPoolService.removeTicketType(eventId, poolId, ticketTypeId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,9 +1,11 @@
 package com.lagab.eventz.app.interfaces.web.event;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -15,14 +17,19 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.lagab.eventz.app.common.dto.CursorPageResponse;
 import com.lagab.eventz.app.common.dto.PageResponse;
+import com.lagab.eventz.app.domain.event.cache.EventSearchCache;
+import com.lagab.eventz.app.domain.event.dto.EventCursorRequest;
 import com.lagab.eventz.app.domain.event.dto.EventDTO;
 import com.lagab.eventz.app.domain.event.dto.EventSearchDTO;
+import com.lagab.eventz.app.domain.event.dto.EventSuggestionDTO;
 import com.lagab.eventz.app.domain.event.dto.EventSummaryDTO;
 import com.lagab.eventz.app.domain.event.model.EventStatus;
 import com.lagab.eventz.app.domain.event.model.EventType;
 import com.lagab.eventz.app.domain.event.service.EventSearchService;
 import com.lagab.eventz.app.domain.event.service.EventService;
+import com.lagab.eventz.app.domain.event.suggest.EventSuggestIndex;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -42,6 +49,8 @@ public class EventController {
 
     private final EventService eventService;
     private final EventSearchService eventSearchService;
+    private final EventSearchCache eventSearchCache;
+    private final EventSuggestIndex eventSuggestIndex;
 
     @Operation(summary = "Search events with filters",
             description = "Search events with various filters including keyword, type, status, location and date range")
@@ -65,7 +74,8 @@ public class EventController {
             @Parameter(description = "Radius in kilometers for location search") @RequestParam(required = false) Double radius,
             @Parameter(description = "Organizer ID filter") @RequestParam(required = false) Long organizerId,
             @Parameter(description = "Organization ID filter") @RequestParam(required = false) String organizationId,
-            @Parameter(description = "Pagination and sorting parameters") @PageableDefault(sort = "startDate") Pageable pageable) {
+            @Parameter(description = "Pagination and sorting parameters, sort=relevance ranks keyword matches by relevance")
+            @PageableDefault(sort = "startDate") Pageable pageable) {
 
         log.trace("GET /api/v1/events - Searching events with keyword: {}, type: {}, status: {}, city: {}",
                 keyword, type, status, city);
@@ -79,6 +89,57 @@ public class EventController {
         return ResponseEntity.ok(PageResponse.of(events));
     }
 
+    @Operation(summary = "Scroll events with filters",
+            description = "Cursor based variant of the event search: pass the returned nextCursor to fetch the next page. "
+                    + "Response time does not depend on how deep the page is")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved events"),
+            @ApiResponse(responseCode = "400", description = "Invalid parameters or cursor provided")
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageResponse<EventSummaryDTO>> scrollEvents(
+            @Parameter(description = "Search keyword") @RequestParam(required = false) String keyword,
+            @Parameter(description = "Event type filter") @RequestParam(required = false) EventType type,
+            @Parameter(description = "Event status filter") @RequestParam(required = false) EventStatus status,
+            @Parameter(description = "City filter") @RequestParam(required = false) String city,
+            @Parameter(description = "Start date filter (ISO format)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "End date filter (ISO format)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Free events filter") @RequestParam(required = false) Boolean isFree,
+            @Parameter(description = "Latitude for location search") @RequestParam(required = false) Double latitude,
+            @Parameter(description = "Longitude for location search") @RequestParam(required = false) Double longitude,
+            @Parameter(description = "Radius in kilometers for location search") @RequestParam(required = false) Double radius,
+            @Parameter(description = "Organizer ID filter") @RequestParam(required = false) Long organizerId,
+            @Parameter(description = "Organization ID filter") @RequestParam(required = false) String organizationId,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sort key: startDate, createdAt or name") @RequestParam(defaultValue = "startDate") String sort,
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") Integer size) {
+
+        log.trace("GET /api/v1/events/cursor - Scrolling events with keyword: {}, type: {}, status: {}, city: {}",
+                keyword, type, status, city);
+
+        EventSearchDTO searchDTO = new EventSearchDTO(
+                keyword, type, status, city, startDate, endDate, isFree,
+                latitude, longitude, radius, organizerId, organizationId
+        );
+
+        return ResponseEntity.ok(eventSearchService.scrollEvents(searchDTO, EventCursorRequest.of(cursor, sort, direction, size)));
+    }
+
+    @Operation(summary = "Suggest events, organizations and cities",
+            description = "Typeahead completions of public upcoming event names, organization names and cities, "
+                    + "tolerating one typo. Served from memory without querying the database")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved suggestions")
+    @GetMapping("/suggest")
+    public ResponseEntity<List<EventSuggestionDTO>> suggest(
+            @Parameter(description = "Text typed so far", required = true) @RequestParam String q,
+            @Parameter(description = "Maximum number of suggestions") @RequestParam(defaultValue = "10") int limit) {
+        log.trace("GET /api/v1/events/suggest - Suggesting for: {}", q);
+        return ResponseEntity.ok(eventSuggestIndex.suggest(q, limit));
+    }
+
     @Operation(summary = "Get event by ID", description = "Retrieve detailed information about a specific event")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved event"),
@@ -106,7 +167,7 @@ public class EventController {
                 null, null, null, null, null
         );
 
-        Page<EventSummaryDTO> events = eventSearchService.searchEvents(searchDTO, pageable);
+        Page<EventSummaryDTO> events = eventSearchCache.search(searchDTO, pageable);
         return ResponseEntity.ok(PageResponse.of(events));
     }
 
@@ -164,6 +225,25 @@ public class EventController {
         return ResponseEntity.ok(PageResponse.of(events));
     }
 
+    @Operation(summary = "Advanced event scroll",
+            description = "Cursor based variant of the advanced search")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved events"),
+            @ApiResponse(responseCode = "400", description = "Invalid search criteria or cursor")
+    })
+    @PostMapping("/search/cursor")
+    public ResponseEntity<CursorPageResponse<EventSummaryDTO>> scrollEventsAdvanced(
+            @Parameter(description = "Search criteria object", required = true)
+            @Valid @RequestBody EventSearchDTO searchDTO,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sort key: startDate, createdAt or name") @RequestParam(defaultValue = "startDate") String sort,
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") Integer size) {
+
+        log.trace("POST /api/v1/events/search/cursor - Advanced scroll with criteria: {}", searchDTO);
+        return ResponseEntity.ok(eventSearchService.scrollEvents(searchDTO, EventCursorRequest.of(cursor, sort, direction, size)));
+    }
+
     @Operation(summary = "Get events by city",
             description = "Retrieve published events in a specific city")
     @ApiResponses(value = {
@@ -183,7 +263,7 @@ public class EventController {
                 null, null, null, null, null
         );
 
-        Page<EventSummaryDTO> events = eventSearchService.searchEvents(searchDTO, pageable);
+        Page<EventSummaryDTO> events = eventSearchCache.search(searchDTO, pageable);
         return ResponseEntity.ok(PageResponse.of(events));
     }
 
@@ -206,7 +286,7 @@ public class EventController {
                 null, null, null, null, null
         );
 
-        Page<EventSummaryDTO> events = eventSearchService.searchEvents(searchDTO, pageable);
+        Page<EventSummaryDTO> events = eventSearchCache.search(searchDTO, pageable);
         return ResponseEntity.ok(PageResponse.of(events));
     }
 
@@ -220,7 +300,7 @@ public class EventController {
                 null, null, null, null, null
         );
 
-        Page<EventSummaryDTO> events = eventSearchService.searchEvents(searchDTO, pageable);
+        Page<EventSummaryDTO> events = eventSearchCache.search(searchDTO, pageable);
         return ResponseEntity.ok(PageResponse.of(events));
     }
 
@@ -258,7 +338,7 @@ public class EventController {
             @RequestParam(required = false) EventType type,
             @Parameter(description = "Optional free events filter")
             @RequestParam(required = false) Boolean isFree,
-            @Parameter(description = "Pagination and sorting parameters")
+            @Parameter(description = "Pagination and sorting parameters, sort=distance orders events from the nearest")
             @PageableDefault(sort = "startDate") Pageable pageable) {
 
         log.trace("GET /api/v1/events/nearby - Fetching events near lat: {}, lng: {}, radius: {}km",
@@ -284,7 +364,7 @@ public class EventController {
                 null, null, null, null, null
         );
 
-        Page<EventSummaryDTO> events = eventSearchService.searchEvents(searchDTO, pageable);
+        Page<EventSummaryDTO> events = eventSearchCache.search(searchDTO, pageable);
         return ResponseEntity.ok(PageResponse.of(events));
     }
 
@@ -1,8 +1,12 @@
 package com.lagab.eventz.app.interfaces.web.event;
 
+import java.time.LocalDateTime;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,18 +16,23 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.lagab.eventz.app.common.dto.CursorPageResponse;
 import com.lagab.eventz.app.common.dto.PageResponse;
 import com.lagab.eventz.app.domain.event.dto.CreateEventDTO;
+import com.lagab.eventz.app.domain.event.dto.EventCursorRequest;
 import com.lagab.eventz.app.domain.event.dto.EventDTO;
 import com.lagab.eventz.app.domain.event.dto.EventSearchDTO;
 import com.lagab.eventz.app.domain.event.dto.EventSummaryDTO;
 import com.lagab.eventz.app.domain.event.dto.UpdateEventDTO;
+import com.lagab.eventz.app.domain.event.dto.ticket.OrganizationSalesStatsDTO;
 import com.lagab.eventz.app.domain.event.model.EventStatus;
 import com.lagab.eventz.app.domain.event.model.EventType;
 import com.lagab.eventz.app.domain.event.service.EventSearchService;
 import com.lagab.eventz.app.domain.event.service.EventService;
+import com.lagab.eventz.app.domain.event.service.SalesStatsService;
 import com.lagab.eventz.app.interfaces.web.org.annotation.RequireOrganizationPermission;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -44,6 +53,7 @@ public class OrganizationEventController {
 
     private final EventService eventService;
     private final EventSearchService eventSearchService;
+    private final SalesStatsService salesStatsService;
 
     @Operation(summary = "Get event by ID", description = "Retrieve detailed information about a specific event")
     @ApiResponses(value = {
@@ -97,6 +107,65 @@ public class OrganizationEventController {
         return ResponseEntity.ok(PageResponse.of(events));
     }
 
+    @Operation(summary = "Advanced event scroll",
+            description = "Cursor based variant of the advanced search, over the events of the organization")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved events"),
+            @ApiResponse(responseCode = "400", description = "Invalid search criteria or cursor")
+    })
+    @PostMapping("/search/cursor")
+    public ResponseEntity<CursorPageResponse<EventSummaryDTO>> scrollEventsAdvanced(
+            @PathVariable String orgId,
+            @Parameter(description = "Search criteria object", required = true)
+            @Valid @RequestBody EventSearchDTO searchDTO,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sort key: startDate, createdAt or name") @RequestParam(defaultValue = "startDate") String sort,
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") Integer size) {
+
+        log.trace("POST /api/v1/organizations/{}/events/search/cursor - Advanced scroll with criteria: {}", orgId, searchDTO);
+
+        EventSearchDTO organizationSearch = new EventSearchDTO(
+                searchDTO.keyword(), searchDTO.type(), searchDTO.status(), searchDTO.city(), searchDTO.startDate(),
+                searchDTO.endDate(), searchDTO.isFree(), searchDTO.latitude(), searchDTO.longitude(), searchDTO.radius(),
+                searchDTO.organizerId(), orgId
+        );
+
+        return ResponseEntity.ok(eventSearchService.scrollEvents(organizationSearch, EventCursorRequest.of(cursor, sort, direction, size)));
+    }
+
+    @Operation(summary = "Scroll published events of the organization",
+            description = "Cursor based variant of the city, type, free and upcoming listings: pass the returned nextCursor "
+                    + "to fetch the next page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved events"),
+            @ApiResponse(responseCode = "400", description = "Invalid parameters or cursor provided")
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageResponse<EventSummaryDTO>> scrollEvents(
+            @PathVariable String orgId,
+            @Parameter(description = "Event type filter") @RequestParam(required = false) EventType type,
+            @Parameter(description = "City filter") @RequestParam(required = false) String city,
+            @Parameter(description = "Start date filter (ISO format)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "End date filter (ISO format)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Free events filter") @RequestParam(required = false) Boolean isFree,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sort key: startDate, createdAt or name") @RequestParam(defaultValue = "startDate") String sort,
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") Integer size) {
+
+        log.trace("GET /api/v1/organizations/{}/events/cursor - Scrolling events with type: {}, city: {}", orgId, type, city);
+
+        EventSearchDTO searchDTO = new EventSearchDTO(
+                null, type, EventStatus.PUBLISHED, city, startDate, endDate, isFree,
+                null, null, null, null, orgId
+        );
+
+        return ResponseEntity.ok(eventSearchService.scrollEvents(searchDTO, EventCursorRequest.of(cursor, sort, direction, size)));
+    }
+
     @Operation(summary = "Get events by city",
             description = "Retrieve published events in a specific city")
     @ApiResponses(value = {
@@ -177,6 +246,37 @@ public class OrganizationEventController {
         return ResponseEntity.ok(PageResponse.of(events));
     }
 
+    @GetMapping("/status/{status}/cursor")
+    @RequireOrganizationPermission(permission = "EVENT_EDIT")
+    public ResponseEntity<CursorPageResponse<EventSummaryDTO>> scrollEventsByStatus(
+            @PathVariable String orgId,
+            @PathVariable EventStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "startDate") String sort,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(defaultValue = "20") Integer size) {
+        log.trace("GET /api/v1/organizations/{}/events/status/{}/cursor - Scrolling events by status", orgId, status);
+
+        EventSearchDTO searchDTO = new EventSearchDTO(
+                null, null, status, null, null, null, null,
+                null, null, null, null, orgId
+        );
+
+        return ResponseEntity.ok(eventSearchService.scrollEvents(searchDTO, EventCursorRequest.of(cursor, sort, direction, size)));
+    }
+
+    @Operation(summary = "Get sales statistics of the organization",
+            description = "Retrieve the sales totals of all the events of the organization")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics")
+    })
+    @GetMapping("/sales-stats")
+    @RequireOrganizationPermission(permission = "STATS_VIEW")
+    public ResponseEntity<OrganizationSalesStatsDTO> getSalesStats(@PathVariable String orgId) {
+        log.trace("GET /api/v1/organizations/{}/events/sales-stats - Fetching sales statistics", orgId);
+        return ResponseEntity.ok(salesStatsService.getOrganizationStats(orgId));
+    }
+
     // CRUD
     @Operation(summary = "Create a new event", description = "Create a new event with the provided details")
     @ApiResponses(value = {
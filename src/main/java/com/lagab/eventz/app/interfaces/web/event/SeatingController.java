@@ -0,0 +1,86 @@
+package com.lagab.eventz.app.interfaces.web.event;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.lagab.eventz.app.domain.event.dto.seating.BestAvailableRequest;
+import com.lagab.eventz.app.domain.event.dto.seating.CreateSeatSectionRequest;
+import com.lagab.eventz.app.domain.event.dto.seating.SeatDTO;
+import com.lagab.eventz.app.domain.event.dto.seating.SeatHoldDTO;
+import com.lagab.eventz.app.domain.event.dto.seating.SeatSectionDTO;
+import com.lagab.eventz.app.domain.event.seating.SeatMap;
+import com.lagab.eventz.app.domain.event.service.SeatSectionService;
+import com.lagab.eventz.app.interfaces.web.org.annotation.RequireOrganizationPermission;
+import com.lagab.eventz.app.util.SecurityUtils;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/events/{eventId}/seating")
+@RequiredArgsConstructor
+@Tag(name = "Seating", description = "Seat maps of seated events and seat holds")
+public class SeatingController {
+
+    private final SeatSectionService seatSectionService;
+    private final SeatMap seatMap;
+
+    @PostMapping("/sections")
+    @Operation(summary = "Create a seat section sold through a ticket type of the event")
+    @RequireOrganizationPermission(permission = "EVENT_EDIT")
+    public ResponseEntity<SeatSectionDTO> createSeatSection(@PathVariable Long eventId,
+            @Valid @RequestBody CreateSeatSectionRequest request) {
+        var section = seatSectionService.createSeatSection(eventId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(section);
+    }
+
+    @GetMapping("/sections")
+    @Operation(summary = "Get the seat map of an event")
+    public ResponseEntity<List<SeatSectionDTO>> getSeatSections(@PathVariable Long eventId) {
+        return ResponseEntity.ok(seatMap.getSeatSections(eventId));
+    }
+
+    @DeleteMapping("/sections/{sectionId}")
+    @Operation(summary = "Delete a seat section without seats sold or on hold")
+    @RequireOrganizationPermission(permission = "EVENT_EDIT")
+    public ResponseEntity<Void> deleteSeatSection(@PathVariable Long eventId, @PathVariable Long sectionId) {
+        seatSectionService.deleteSeatSection(eventId, sectionId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/sections/{sectionId}/holds")
+    @Operation(summary = "Hold the given seats of a section while paying")
+    public ResponseEntity<SeatHoldDTO> holdSeats(
+            @PathVariable Long eventId,
+            @PathVariable Long sectionId,
+            @Valid @RequestBody List<@Valid SeatDTO> seats,
+            @Parameter(description = "Waiting room token, for events with a waiting room")
+            @RequestHeader(value = WaitingRoomController.QUEUE_TOKEN_HEADER, required = false) String queueToken) {
+        var hold = seatMap.holdSeats(eventId, sectionId, seats, SecurityUtils.getCurrentUserId(), queueToken);
+        return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+    }
+
+    @PostMapping("/holds/best-available")
+    @Operation(summary = "Hold the best adjacent seats of a ticket type while paying")
+    public ResponseEntity<SeatHoldDTO> holdBestAvailable(
+            @PathVariable Long eventId,
+            @Valid @RequestBody BestAvailableRequest request,
+            @Parameter(description = "Waiting room token, for events with a waiting room")
+            @RequestHeader(value = WaitingRoomController.QUEUE_TOKEN_HEADER, required = false) String queueToken) {
+        var hold = seatMap.holdBestAvailable(eventId, request, SecurityUtils.getCurrentUserId(), queueToken);
+        return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+    }
+}
@@ -10,17 +10,26 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.lagab.eventz.app.domain.event.cache.OnSaleTicketTypeCache;
 import com.lagab.eventz.app.domain.event.dto.ticket.BulkUpdateTicketTypeRequest;
 import com.lagab.eventz.app.domain.event.dto.ticket.CreateTicketTypeRequest;
+import com.lagab.eventz.app.domain.event.dto.ticket.JoinWaitlistRequest;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketHoldDTO;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketReservationDTO;
 import com.lagab.eventz.app.domain.event.dto.ticket.TicketTypeDTO;
 import com.lagab.eventz.app.domain.event.dto.ticket.TicketTypeStatsDTO;
 import com.lagab.eventz.app.domain.event.dto.ticket.UpdateTicketTypeRequest;
+import com.lagab.eventz.app.domain.event.dto.ticket.WaitlistEntryDTO;
+import com.lagab.eventz.app.domain.event.reservation.TicketReservationService;
 import com.lagab.eventz.app.domain.event.service.TicketTypeService;
+import com.lagab.eventz.app.domain.event.waitlist.TicketWaitlist;
 import com.lagab.eventz.app.interfaces.web.org.annotation.RequireOrganizationPermission;
+import com.lagab.eventz.app.util.SecurityUtils;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -35,6 +44,9 @@ import lombok.RequiredArgsConstructor;
 public class TicketTypeController {
 
     private final TicketTypeService ticketTypeService;
+    private final TicketReservationService ticketReservationService;
+    private final TicketWaitlist ticketWaitlist;
+    private final OnSaleTicketTypeCache onSaleTicketTypeCache;
 
     @PostMapping("/event/{eventId}")
     @Operation(summary = "Create a new ticket type")
@@ -79,7 +91,7 @@ public class TicketTypeController {
     @GetMapping("/event/{eventId}/on-sale")
     @Operation(summary = "Get ticket types currently on sale for an event")
     public ResponseEntity<List<TicketTypeDTO>> getOnSaleTicketTypesByEventId(@PathVariable Long eventId) {
-        var ticketTypes = ticketTypeService.getOnSaleTicketTypesByEventId(eventId);
+        var ticketTypes = onSaleTicketTypeCache.getOnSale(eventId);
         return ResponseEntity.ok(ticketTypes);
     }
 
@@ -134,6 +146,46 @@ public class TicketTypeController {
         return ResponseEntity.ok(isAvailable);
     }
 
+    // Buyers take tickets by holding them, the hold recording the buyer, then confirming the hold once paid
+    @PostMapping("/{id}/holds")
+    @Operation(summary = "Hold tickets of a ticket type while paying")
+    public ResponseEntity<TicketHoldDTO> holdTickets(
+            @PathVariable Long id,
+            @Parameter(description = "Requested quantity") @RequestParam Integer quantity,
+            @Parameter(description = "Waiting room token, for events with a waiting room")
+            @RequestHeader(value = WaitingRoomController.QUEUE_TOKEN_HEADER, required = false) String queueToken) {
+        var hold = ticketReservationService.hold(id, quantity, SecurityUtils.getCurrentUserId(), queueToken);
+        return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+    }
+
+    @PostMapping("/holds/{holdId}/confirm")
+    @Operation(summary = "Confirm a ticket hold into a sale")
+    public ResponseEntity<TicketReservationDTO> confirmHold(@PathVariable String holdId) {
+        var reservation = ticketReservationService.confirmHold(holdId, SecurityUtils.getCurrentUserId());
+        return ResponseEntity.ok(reservation);
+    }
+
+    @PostMapping("/holds/release")
+    @Operation(summary = "Release ticket holds")
+    public ResponseEntity<Void> releaseHolds(@RequestBody List<String> holdIds) {
+        ticketReservationService.releaseHolds(holdIds, SecurityUtils.getCurrentUserId());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/waitlist")
+    @Operation(summary = "Join the waitlists of sold out ticket types")
+    public ResponseEntity<List<WaitlistEntryDTO>> joinWaitlists(@Valid @RequestBody List<@Valid JoinWaitlistRequest> requests) {
+        var entries = ticketWaitlist.join(SecurityUtils.getCurrentUserId(), requests);
+        return ResponseEntity.status(HttpStatus.CREATED).body(entries);
+    }
+
+    @PostMapping("/waitlist/leave")
+    @Operation(summary = "Leave the waitlists of ticket types")
+    public ResponseEntity<Void> leaveWaitlists(@RequestBody List<Long> ticketTypeIds) {
+        ticketWaitlist.leave(SecurityUtils.getCurrentUserId(), ticketTypeIds);
+        return ResponseEntity.noContent().build();
+    }
+
     @PutMapping("/event/{eventId}/reorder")
     @Operation(summary = "Reorder ticket types")
     @RequireOrganizationPermission(permission = "EVENT_EDIT")
@@ -144,4 +196,24 @@ public class TicketTypeController {
         return ResponseEntity.ok(ticketTypes);
     }
 
+    @PutMapping("/event/{eventId}/activate")
+    @Operation(summary = "Activate several ticket types of an event")
+    @RequireOrganizationPermission(permission = "EVENT_EDIT")
+    public ResponseEntity<List<TicketTypeDTO>> activateTicketTypes(
+            @PathVariable Long eventId,
+            @RequestBody List<Long> ticketTypeIds) {
+        var ticketTypes = ticketTypeService.updateActiveStatus(eventId, ticketTypeIds, true);
+        return ResponseEntity.ok(ticketTypes);
+    }
+
+    @PutMapping("/event/{eventId}/deactivate")
+    @Operation(summary = "Deactivate several ticket types of an event")
+    @RequireOrganizationPermission(permission = "EVENT_EDIT")
+    public ResponseEntity<List<TicketTypeDTO>> deactivateTicketTypes(
+            @PathVariable Long eventId,
+            @RequestBody List<Long> ticketTypeIds) {
+        var ticketTypes = ticketTypeService.updateActiveStatus(eventId, ticketTypeIds, false);
+        return ResponseEntity.ok(ticketTypes);
+    }
+
 }
@@ -0,0 +1,64 @@
+package com.lagab.eventz.app.interfaces.web.event;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.lagab.eventz.app.domain.event.dto.queue.QueueStatusDTO;
+import com.lagab.eventz.app.domain.event.dto.queue.WaitingRoomSettingsDTO;
+import com.lagab.eventz.app.domain.event.queue.WaitingRoom;
+import com.lagab.eventz.app.domain.event.service.WaitingRoomService;
+import com.lagab.eventz.app.interfaces.web.org.annotation.RequireOrganizationPermission;
+import com.lagab.eventz.app.util.SecurityUtils;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/events/{eventId}/waiting-room")
+@RequiredArgsConstructor
+@Tag(name = "Waiting Room", description = "Admission queue in front of the reservations of an on-sale")
+public class WaitingRoomController {
+
+    public static final String QUEUE_TOKEN_HEADER = "X-Queue-Token";
+
+    private final WaitingRoom waitingRoom;
+    private final WaitingRoomService waitingRoomService;
+
+    @PostMapping("/join")
+    @Operation(summary = "Join the waiting room of an event")
+    public ResponseEntity<QueueStatusDTO> join(@PathVariable Long eventId) {
+        return ResponseEntity.ok(waitingRoom.join(eventId, SecurityUtils.getCurrentUserId()));
+    }
+
+    @GetMapping("/status")
+    @Operation(summary = "Get the place of a buyer in the waiting room of an event")
+    public ResponseEntity<QueueStatusDTO> getStatus(@PathVariable Long eventId,
+            @Parameter(description = "Token received when joining") @RequestHeader(QUEUE_TOKEN_HEADER) String queueToken) {
+        return ResponseEntity.ok(waitingRoom.status(eventId, queueToken, SecurityUtils.getCurrentUserId()));
+    }
+
+    @GetMapping("/settings")
+    @Operation(summary = "Get the waiting room settings of an event")
+    @RequireOrganizationPermission(permission = "EVENT_EDIT")
+    public ResponseEntity<WaitingRoomSettingsDTO> getSettings(@PathVariable Long eventId) {
+        return ResponseEntity.ok(waitingRoomService.getSettings(eventId));
+    }
+
+    @PutMapping("/settings")
+    @Operation(summary = "Turn the waiting room of an event on or off and set its admission rate")
+    @RequireOrganizationPermission(permission = "EVENT_EDIT")
+    public ResponseEntity<WaitingRoomSettingsDTO> updateSettings(@PathVariable Long eventId,
+            @Valid @RequestBody WaitingRoomSettingsDTO settings) {
+        return ResponseEntity.ok(waitingRoomService.updateSettings(eventId, settings));
+    }
+}
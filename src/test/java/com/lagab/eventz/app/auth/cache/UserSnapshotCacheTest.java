@@ -0,0 +1,165 @@
+package com.lagab.eventz.app.auth.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lagab.eventz.app.domain.auth.cache.UserSnapshotCache;
+import com.lagab.eventz.app.domain.auth.dto.UserSnapshot;
+import com.lagab.eventz.app.domain.user.change.UserChange;
+import com.lagab.eventz.app.domain.user.model.Role;
+import com.lagab.eventz.app.domain.user.model.User;
+import com.lagab.eventz.app.domain.user.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserSnapshotCache Tests")
+class UserSnapshotCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private MeterRegistry meterRegistry;
+    private UserSnapshotCache userSnapshotCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userSnapshotCache = new UserSnapshotCache(userRepository, 100, Duration.ofMinutes(5), meterRegistry, nanos::get);
+    }
+
+    @Test
+    @DisplayName("Should load a user once and hand out principals without credentials")
+    void shouldLoadUserOnce() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, Role.ADMIN, true)));
+
+        // When
+        UserSnapshot first = userSnapshotCache.get(1L).orElseThrow();
+        UserSnapshot second = userSnapshotCache.get(1L).orElseThrow();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.enabled()).isTrue();
+        assertThat(first.authorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+        User principal = first.toPrincipal();
+        assertThat(principal.getId()).isEqualTo(1L);
+        assertThat(principal.getPassword()).isNull();
+        assertThat(principal).isNotSameAs(first.toPrincipal());
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should reload a user once a change to it is committed")
+    void shouldInvalidateOnUserChange() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, Role.USER, true)), Optional.of(user(1L, Role.USER, false)));
+        assertThat(userSnapshotCache.get(1L)).map(UserSnapshot::enabled).contains(true);
+
+        // When
+        userSnapshotCache.onUserChange(new UserChange(1L));
+
+        // Then
+        assertThat(userSnapshotCache.get(1L)).map(UserSnapshot::enabled).contains(false);
+        verify(userRepository, times(2)).findById(1L);
+        assertThat(meterRegistry.get("cache.invalidations").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop a load that overlapped a change to its user")
+    void shouldDropLoadOverlappingChange() throws InterruptedException {
+        // Given the change is committed after the load read the user, before it is stored
+        Thread[] commit = new Thread[1];
+        when(userRepository.findById(1L)).thenAnswer(invocation -> {
+            commit[0] = new Thread(() -> userSnapshotCache.onUserChange(new UserChange(1L)));
+            commit[0].start();
+            // Done, or waiting for the load to be stored before removing its entry
+            while (commit[0].getState() != Thread.State.TERMINATED && commit[0].getState() != Thread.State.BLOCKED
+                    && commit[0].getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+            return Optional.of(user(1L, Role.USER, true));
+        }).thenReturn(Optional.of(user(1L, Role.USER, false)));
+
+        // When
+        Optional<UserSnapshot> loaded = userSnapshotCache.get(1L);
+        commit[0].join();
+
+        // Then the user read before the change is neither served nor kept
+        assertThat(loaded).map(UserSnapshot::enabled).contains(false);
+        assertThat(userSnapshotCache.get(1L)).map(UserSnapshot::enabled).contains(false);
+        assertThat(meterRegistry.get("cache.invalidations").counter().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should keep a load that overlapped a change to another user")
+    void shouldKeepLoadOverlappingOtherChange() {
+        // Given
+        when(userRepository.findById(1L)).thenAnswer(invocation -> {
+            userSnapshotCache.onUserChange(new UserChange(2L));
+            return Optional.of(user(1L, Role.USER, true));
+        });
+
+        // When
+        userSnapshotCache.get(1L);
+        userSnapshotCache.get(1L);
+
+        // Then
+        verify(userRepository, times(1)).findById(1L);
+        assertThat(meterRegistry.get("cache.invalidations").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reload a user after the maximum age")
+    void shouldReloadAfterMaxAge() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, Role.USER, true)));
+        userSnapshotCache.get(1L);
+
+        // When
+        nanos.addAndGet(Duration.ofMinutes(5).toNanos());
+        userSnapshotCache.get(1L);
+
+        // Then
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown users")
+    void shouldNotCacheUnknownUsers() {
+        // Given
+        when(userRepository.findById(9L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThat(userSnapshotCache.get(9L)).isEmpty();
+        assertThat(userSnapshotCache.size()).isZero();
+    }
+
+    private static User user(Long id, Role role, boolean emailVerified) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail("user" + id + "@example.com");
+        user.setPassword("encoded-password");
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setRole(role);
+        user.setIsActive(true);
+        user.setIsEmailVerified(emailVerified);
+        return user;
+    }
+}
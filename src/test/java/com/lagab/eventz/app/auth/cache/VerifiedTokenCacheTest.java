@@ -0,0 +1,121 @@
+package com.lagab.eventz.app.auth.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.lagab.eventz.app.domain.auth.cache.VerifiedTokenCache;
+import com.lagab.eventz.app.domain.auth.dto.VerifiedToken;
+import com.lagab.eventz.app.domain.auth.service.JwtService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("VerifiedTokenCache Tests")
+class VerifiedTokenCacheTest {
+
+    private static final String SECRET = "JmYR7kP5x4pdPc83IYz4rFjIl3YZ364n";
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.now());
+    private JwtService jwtService;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = spy(new JwtService(SECRET, 3600L));
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        };
+        verifiedTokenCache = new VerifiedTokenCache(jwtService, 100, new SimpleMeterRegistry(), clock, nanos::get);
+    }
+
+    @Test
+    @DisplayName("Should parse a token once and serve it from memory afterwards")
+    void shouldParseTokenOnce() {
+        // Given
+        String token = jwtService.generateAccessToken(42L, Map.of());
+
+        // When
+        Optional<VerifiedToken> first = verifiedTokenCache.verify(token);
+        Optional<VerifiedToken> second = verifiedTokenCache.verify(token);
+
+        // Then
+        assertThat(first).map(VerifiedToken::userId).contains(42L);
+        assertThat(second).isEqualTo(first);
+        verify(jwtService, times(1)).verify(token);
+    }
+
+    @Test
+    @DisplayName("Should drop a token when it expires")
+    void shouldExpireWithToken() {
+        // Given
+        String token = jwtService.generateAccessToken(42L, Map.of());
+        Instant expiresAt = verifiedTokenCache.verify(token).orElseThrow().expiresAt();
+        assertThat(expiresAt).isAfter(now.get().plus(59, ChronoUnit.MINUTES));
+
+        // When
+        advance(Duration.between(now.get(), expiresAt).minusSeconds(1));
+        verifiedTokenCache.verify(token);
+
+        // Then
+        verify(jwtService, times(1)).verify(token);
+
+        // When
+        advance(Duration.ofSeconds(1));
+        verifiedTokenCache.verify(token);
+
+        // Then
+        verify(jwtService, times(2)).verify(token);
+    }
+
+    @Test
+    @DisplayName("Should not cache tokens that fail verification")
+    void shouldNotCacheInvalidTokens() {
+        // Given a token signed with another key
+        String forged = new JwtService("another-secret-of-at-least-256-bits!", 3600L).generateAccessToken(42L, Map.of());
+
+        // When
+        Optional<VerifiedToken> first = verifiedTokenCache.verify(forged);
+        Optional<VerifiedToken> second = verifiedTokenCache.verify(forged);
+
+        // Then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        verify(jwtService, times(2)).verify(forged);
+        assertThat(verifiedTokenCache.size()).isZero();
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+        now.updateAndGet(instant -> instant.plus(duration));
+    }
+}
@@ -0,0 +1,96 @@
+package com.lagab.eventz.app.auth.security;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lagab.eventz.app.domain.auth.cache.ApiKeyCache;
+import com.lagab.eventz.app.domain.auth.model.ApiKey;
+import com.lagab.eventz.app.domain.auth.repository.ApiKeyRepository;
+import com.lagab.eventz.app.domain.auth.service.ApiKeyCodec;
+import com.lagab.eventz.app.domain.auth.service.ApiKeyService;
+import com.lagab.eventz.app.domain.user.model.Role;
+import com.lagab.eventz.app.support.QueryCountConfiguration;
+import com.lagab.eventz.app.support.QueryCountConfiguration.QueryCounter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ QueryCountConfiguration.class, ApiKeyService.class, ApiKeyCodec.class, ApiKeyCache.class, SimpleMeterRegistry.class })
+@DisplayName("ApiKeyService statement count Tests")
+class ApiKeyQueryCountIntegrationTest {
+
+    @Autowired
+    private ApiKeyService apiKeyService;
+
+    @Autowired
+    private ApiKeyRepository apiKeyRepository;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @AfterEach
+    void tearDown() {
+        apiKeyRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Validated keys should be served with their roles and no statement once cached")
+    void validatedKeysShouldNotQuery() {
+        // Given
+        String key = apiKeyService.createApiKey("Billing", "SERVICE_EXTERNE", Set.of(Role.ADMIN),
+                LocalDateTime.now().plusDays(1)).getKey();
+
+        // When the first request loads the key
+        queryCounter.reset();
+        Optional<ApiKey> first = apiKeyService.validateApiKey(key);
+
+        // Then
+        assertThat(queryCounter.count()).isPositive();
+        assertThat(first).map(ApiKey::getRoles).contains(Set.of(Role.ADMIN));
+
+        // When
+        queryCounter.reset();
+        for (int i = 0; i < 100; i++) {
+            assertThat(apiKeyService.validateApiKey(key)).isPresent();
+        }
+
+        // Then
+        assertThat(queryCounter.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Unknown public ids should be looked up once and revoked keys rejected right away")
+    void unknownAndRevokedKeysShouldBeRejected() {
+        // Given
+        ApiKey apiKey = apiKeyService.createApiKey("Agent", "IA_AGENT", Set.of(Role.USER), null);
+        String unknown = "ak_0123456789abcdef_" + "0".repeat(64);
+
+        // When
+        queryCounter.reset();
+        apiKeyService.validateApiKey(unknown);
+        apiKeyService.validateApiKey(unknown);
+
+        // Then
+        assertThat(queryCounter.count()).isEqualTo(1);
+
+        // When
+        assertThat(apiKeyService.validateApiKey(apiKey.getKey())).isPresent();
+        apiKeyService.revokeApiKey(apiKey.getId());
+
+        // Then
+        assertThat(apiKeyService.validateApiKey(apiKey.getKey())).isEmpty();
+    }
+}
@@ -0,0 +1,158 @@
+package com.lagab.eventz.app.auth.security;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.lagab.eventz.app.common.exception.ServiceOverloadedException;
+import com.lagab.eventz.app.infrastructure.security.BoundedPasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BoundedPasswordEncoder Tests")
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private MeterRegistry meterRegistry;
+    private ExecutorService callers;
+    private String hashingThread;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        callers = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should hash on the pool and time each operation")
+    void shouldHashOnPool() {
+        // Given
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(recording(), 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        // When
+        String encoded = encoder.encode("secret");
+        boolean matches = encoder.matches("secret", encoded);
+
+        // Then
+        assertThat(encoded).isEqualTo("hashed:secret");
+        assertThat(matches).isTrue();
+        assertThat(hashingThread).startsWith("password-hashing-");
+        assertThat(encoder.upgradeEncoding("hashed:old")).isTrue();
+        assertThat(meterRegistry.get("auth.password.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.password.hashing").tag("operation", "matches").timer().count()).isEqualTo(1);
+        encoder.close();
+    }
+
+    @Test
+    @DisplayName("Should turn hashes away at once when the pool and its queue are full")
+    void shouldRejectWhenSaturated() throws Exception {
+        // Given one hash running and one queued
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking(), 1, 1, Duration.ofSeconds(30), meterRegistry);
+        Future<String> running = callers.submit(() -> encoder.encode("first"));
+        Future<String> queued = callers.submit(() -> encoder.encode("second"));
+        awaitQueued();
+
+        // When
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> encoder.encode("third")).isInstanceOf(ServiceOverloadedException.class);
+
+        // Then
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:second");
+        encoder.close();
+    }
+
+    @Test
+    @DisplayName("Should give up on a hash that waits longer than the maximum wait")
+    void shouldRejectAfterMaxWait() {
+        // Given
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking(), 1, 1, Duration.ofMillis(50), meterRegistry);
+
+        // When & Then
+        assertThatThrownBy(() -> encoder.matches("secret", "hashed:secret")).isInstanceOf(ServiceOverloadedException.class);
+        assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+        encoder.close();
+    }
+
+    private void awaitQueued() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").tag("name", "password-hashing").gauge().value() < 1) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private PasswordEncoder recording() {
+        return new FakeEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashingThread = Thread.currentThread().getName();
+                return super.encode(rawPassword);
+            }
+        };
+    }
+
+    private PasswordEncoder blocking() {
+        return new FakeEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                await();
+                return super.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                await();
+                return super.matches(rawPassword, encodedPassword);
+            }
+
+            private void await() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+
+    private static class FakeEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals(encode(rawPassword));
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return encodedPassword.endsWith(":old");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.lagab.eventz.app.auth.security;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.lagab.eventz.app.domain.auth.cache.ApiKeyCache;
+import com.lagab.eventz.app.domain.auth.cache.UserSnapshotCache;
+import com.lagab.eventz.app.domain.auth.cache.VerifiedTokenCache;
+import com.lagab.eventz.app.domain.auth.service.ApiKeyCodec;
+import com.lagab.eventz.app.domain.auth.service.ApiKeyService;
+import com.lagab.eventz.app.domain.auth.service.JwtService;
+import com.lagab.eventz.app.domain.user.model.User;
+import com.lagab.eventz.app.domain.user.repository.UserRepository;
+import com.lagab.eventz.app.infrastructure.security.PublicRoutes;
+import com.lagab.eventz.app.infrastructure.security.RequestAuthenticationFilter;
+import com.lagab.eventz.app.support.QueryCountConfiguration;
+import com.lagab.eventz.app.support.QueryCountConfiguration.QueryCounter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency and statements per authenticated request, parsing the token and loading the user on every request as the
+ * filter used to against the verified token and user caches. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Import({ QueryCountConfiguration.class, JwtService.class, VerifiedTokenCache.class, UserSnapshotCache.class,
+        ApiKeyService.class, ApiKeyCodec.class, ApiKeyCache.class, PublicRoutes.class, RequestAuthenticationFilter.class,
+        SimpleMeterRegistry.class })
+@DisplayName("JWT authentication Benchmark")
+class JwtAuthenticationBenchmarkTest {
+
+    private static final int WARMUP_REQUESTS = 20_000;
+    private static final int MEASURED_REQUESTS = 100_000;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RequestAuthenticationFilter requestAuthenticationFilter;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @Test
+    void authenticatedRequests() throws Exception {
+        User user = new User();
+        user.setFirstName("Bench");
+        user.setLastName("Member");
+        user.setEmail("bench@example.com");
+        user.setPassword("password");
+        user.setIsEmailVerified(true);
+        entityManager.persist(user);
+        entityManager.flush();
+        entityManager.clear();
+        String token = jwtService.generateAccessToken(user.getId(), Map.of());
+
+        Measure uncached = measure(() -> {
+            // Two parses and a lookup per request
+            if (jwtService.isTokenValid(token)) {
+                userRepository.findById(jwtService.extractUserId(token)).filter(User::isEnabled).orElseThrow();
+            }
+            entityManager.clear();
+        });
+        Measure cached = measure(() -> {
+            SecurityContextHolder.clearContext();
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader("Authorization", "Bearer " + token);
+            requestAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        });
+        SecurityContextHolder.clearContext();
+
+        System.out.printf("parse and load %.2f us/request %.2f statements/request, cached %.2f us/request %.2f statements/request%n",
+                uncached.micros(), uncached.statements(), cached.micros(), cached.statements());
+
+        assertThat(cached.statements()).isZero();
+        assertThat(cached.micros()).isLessThan(uncached.micros());
+    }
+
+    private Measure measure(Request request) throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            request.run();
+        }
+
+        queryCounter.reset();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            request.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Measure(elapsed / 1_000.0 / MEASURED_REQUESTS, (double) queryCounter.count() / MEASURED_REQUESTS);
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void run() throws Exception;
+    }
+
+    private record Measure(double micros, double statements) {
+    }
+}
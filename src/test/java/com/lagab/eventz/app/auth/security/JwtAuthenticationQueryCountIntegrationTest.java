@@ -0,0 +1,148 @@
+package com.lagab.eventz.app.auth.security;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.lagab.eventz.app.domain.auth.cache.ApiKeyCache;
+import com.lagab.eventz.app.domain.auth.cache.UserSnapshotCache;
+import com.lagab.eventz.app.domain.auth.cache.VerifiedTokenCache;
+import com.lagab.eventz.app.domain.auth.service.ApiKeyCodec;
+import com.lagab.eventz.app.domain.auth.service.ApiKeyService;
+import com.lagab.eventz.app.domain.auth.service.JwtService;
+import com.lagab.eventz.app.domain.user.change.UserChange;
+import com.lagab.eventz.app.domain.user.model.Role;
+import com.lagab.eventz.app.domain.user.model.User;
+import com.lagab.eventz.app.infrastructure.security.PublicRoutes;
+import com.lagab.eventz.app.infrastructure.security.RequestAuthenticationFilter;
+import com.lagab.eventz.app.support.QueryCountConfiguration;
+import com.lagab.eventz.app.support.QueryCountConfiguration.QueryCounter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ QueryCountConfiguration.class, JwtService.class, VerifiedTokenCache.class, UserSnapshotCache.class,
+        ApiKeyService.class, ApiKeyCodec.class, ApiKeyCache.class, PublicRoutes.class, RequestAuthenticationFilter.class,
+        SimpleMeterRegistry.class })
+@DisplayName("RequestAuthenticationFilter statement count Tests")
+class JwtAuthenticationQueryCountIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private RequestAuthenticationFilter requestAuthenticationFilter;
+
+    @Autowired
+    private UserSnapshotCache userSnapshotCache;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    private Long userId;
+    private Long unverifiedUserId;
+
+    @BeforeEach
+    void setUp() {
+        userId = persistUser("member@example.com", true);
+        unverifiedUserId = persistUser("unverified@example.com", false);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Authenticated requests should send no statement once the user is cached")
+    void authenticatedRequestsShouldNotQuery() throws Exception {
+        // Given
+        String token = jwtService.generateAccessToken(userId, Map.of("roles", Role.USER));
+
+        // When the first request loads the user
+        queryCounter.reset();
+        Authentication first = authenticate(token);
+
+        // Then
+        assertThat(queryCounter.count()).isEqualTo(1);
+        assertThat(((User) first.getPrincipal()).getId()).isEqualTo(userId);
+        assertThat(first.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+
+        // When
+        queryCounter.reset();
+        for (int i = 0; i < 100; i++) {
+            assertThat(authenticate(token)).isNotNull();
+        }
+
+        // Then
+        assertThat(queryCounter.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("A change to the user should reload it on the next request")
+    void userChangeShouldReload() throws Exception {
+        // Given
+        String token = jwtService.generateAccessToken(userId, Map.of());
+        authenticate(token);
+
+        // When the change is committed by another transaction
+        entityManager.clear();
+        userSnapshotCache.onUserChange(new UserChange(userId));
+        queryCounter.reset();
+        authenticate(token);
+        authenticate(token);
+
+        // Then
+        assertThat(queryCounter.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Requests of users not enabled or with invalid tokens should not be authenticated")
+    void shouldRejectDisabledUsersAndInvalidTokens() throws Exception {
+        // Given
+        String unverified = jwtService.generateAccessToken(unverifiedUserId, Map.of());
+        String tampered = jwtService.generateAccessToken(userId, Map.of()) + "x";
+
+        // When & Then
+        assertThat(authenticate(unverified)).isNull();
+        assertThat(authenticate(tampered)).isNull();
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        requestAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private Long persistUser(String email, boolean emailVerified) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("Member");
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setIsEmailVerified(emailVerified);
+        entityManager.persist(user);
+        return user.getId();
+    }
+}
@@ -0,0 +1,115 @@
+package com.lagab.eventz.app.auth.security;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.lagab.eventz.app.common.exception.ServiceOverloadedException;
+import com.lagab.eventz.app.infrastructure.security.BoundedPasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of browse requests sharing the request threads with a burst of logins, the logins hashing on the request
+ * threads as they used to against on the bounded hashing pool. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Login storm Benchmark")
+class LoginStormBenchmarkTest {
+
+    private static final int REQUEST_THREADS = 200;
+    private static final int LOGINS = 200;
+    private static final int BROWSE_REQUESTS = 200;
+    private static final long BROWSE_INTERVAL_MILLIS = 5;
+
+    @Test
+    void browseDuringLoginStorm() throws Exception {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder();
+        String hash = bcrypt.encode("password");
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        BoundedPasswordEncoder bounded = new BoundedPasswordEncoder(bcrypt, threads, 64, Duration.ofSeconds(5),
+                new SimpleMeterRegistry());
+
+        Storm quiet = storm(null, hash);
+        Storm inline = storm(bcrypt, hash);
+        Storm pooled = storm(bounded, hash);
+        bounded.close();
+
+        System.out.printf("browse p50/p99 quiet %.2f/%.2f ms, hashing inline %.2f/%.2f ms, hashing pool %.2f/%.2f ms "
+                        + "(%d of %d logins turned away)%n",
+                quiet.p50(), quiet.p99(), inline.p50(), inline.p99(), pooled.p50(), pooled.p99(), pooled.rejected(), LOGINS);
+
+        assertThat(pooled.p99()).isLessThan(inline.p99());
+    }
+
+    /**
+     * Sends the logins all at once to the request threads, then browse requests at a steady pace while they run.
+     */
+    private Storm storm(PasswordEncoder passwordEncoder, String hash) throws Exception {
+        ExecutorService requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+        AtomicInteger rejected = new AtomicInteger();
+        try {
+            // Warm up the browse path
+            for (int i = 0; i < 1_000; i++) {
+                requestThreads.submit(LoginStormBenchmarkTest::browse).get();
+            }
+            if (passwordEncoder != null) {
+                for (int i = 0; i < LOGINS; i++) {
+                    requestThreads.submit(() -> {
+                        try {
+                            passwordEncoder.matches("password", hash);
+                        } catch (ServiceOverloadedException e) {
+                            rejected.incrementAndGet();
+                        }
+                    });
+                }
+            }
+
+            List<Double> latencies = new ArrayList<>();
+            for (int i = 0; i < BROWSE_REQUESTS; i++) {
+                long start = System.nanoTime();
+                Future<?> browse = requestThreads.submit(LoginStormBenchmarkTest::browse);
+                browse.get();
+                latencies.add((System.nanoTime() - start) / 1_000_000.0);
+                Thread.sleep(BROWSE_INTERVAL_MILLIS);
+            }
+            Collections.sort(latencies);
+            return new Storm(percentile(latencies, 0.5), percentile(latencies, 0.99), rejected.get());
+        } finally {
+            requestThreads.shutdownNow();
+            requestThreads.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * A cheap request, serving a page of events from memory.
+     */
+    private static long browse() {
+        long checksum = 0;
+        for (int i = 0; i < 20_000; i++) {
+            checksum += Long.hashCode(checksum * 31 + i);
+        }
+        return checksum;
+    }
+
+    private static double percentile(List<Double> sorted, double percentile) {
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(percentile * sorted.size()) - 1));
+    }
+
+    private record Storm(double p50, double p99, int rejected) {
+    }
+}
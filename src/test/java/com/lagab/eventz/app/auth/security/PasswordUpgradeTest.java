@@ -0,0 +1,116 @@
+package com.lagab.eventz.app.auth.security;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.lagab.eventz.app.domain.auth.service.CustomUserDetailsService;
+import com.lagab.eventz.app.domain.user.change.UserChange;
+import com.lagab.eventz.app.domain.user.model.User;
+import com.lagab.eventz.app.domain.user.repository.UserRepository;
+import com.lagab.eventz.app.infrastructure.security.PasswordConfig;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Password upgrade on login Tests")
+class PasswordUpgradeTest {
+
+    private static final String EMAIL = "member@example.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    @DisplayName("Should rehash on login a password hashed with a lower cost")
+    void shouldRehashLowerCost() {
+        // Given a hash stored before the algorithm was prefixed, with a lower cost than configured
+        User user = user(new BCryptPasswordEncoder(4).encode("secret"));
+
+        // When
+        login(passwordEncoder("bcrypt", 5), user);
+
+        // Then
+        ArgumentCaptor<String> rehashed = ArgumentCaptor.forClass(String.class);
+        verify(userRepository).updatePassword(any(), rehashed.capture());
+        assertThat(rehashed.getValue()).startsWith("{bcrypt}$2a$05$");
+        assertThat(user.getPassword()).isEqualTo(rehashed.getValue());
+        verify(eventPublisher).publishEvent(new UserChange(1L));
+    }
+
+    @Test
+    @DisplayName("Should rehash on login a password hashed with another algorithm")
+    void shouldRehashOtherAlgorithm() {
+        // Given
+        User user = user("{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret"));
+
+        // When
+        login(passwordEncoder("pbkdf2", 4), user);
+
+        // Then
+        ArgumentCaptor<String> rehashed = ArgumentCaptor.forClass(String.class);
+        verify(userRepository).updatePassword(any(), rehashed.capture());
+        assertThat(rehashed.getValue()).startsWith("{pbkdf2}");
+        assertThat(passwordEncoder("pbkdf2", 4).matches("secret", rehashed.getValue())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should leave a password hashed with the configured algorithm and cost as is")
+    void shouldKeepCurrentHash() {
+        // Given hashes from before and after the algorithm was prefixed
+        PasswordEncoder passwordEncoder = passwordEncoder("bcrypt", 4);
+        String legacy = new BCryptPasswordEncoder(4).encode("secret");
+
+        // When
+        login(passwordEncoder, user(legacy));
+        login(passwordEncoder, user(passwordEncoder.encode("secret")));
+
+        // Then
+        verify(userRepository, never()).updatePassword(anyLong(), any());
+    }
+
+    private void login(PasswordEncoder passwordEncoder, User user) {
+        when(userRepository.findActiveUserByEmail(EMAIL)).thenReturn(Optional.of(user));
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(userRepository, eventPublisher);
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(userDetailsService);
+
+        assertThat(provider.authenticate(new UsernamePasswordAuthenticationToken(EMAIL, "secret")).isAuthenticated()).isTrue();
+    }
+
+    private static PasswordEncoder passwordEncoder(String algorithm, int bcryptStrength) {
+        return new PasswordConfig().passwordEncoder(algorithm, bcryptStrength, 1, 4, Duration.ofSeconds(5), new SimpleMeterRegistry());
+    }
+
+    private static User user(String password) {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail(EMAIL);
+        user.setPassword(password);
+        user.setIsActive(true);
+        user.setIsEmailVerified(true);
+        return user;
+    }
+}
@@ -0,0 +1,193 @@
+package com.lagab.eventz.app.auth.security;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.lagab.eventz.app.domain.auth.cache.UserSnapshotCache;
+import com.lagab.eventz.app.domain.auth.cache.VerifiedTokenCache;
+import com.lagab.eventz.app.domain.auth.dto.UserSnapshot;
+import com.lagab.eventz.app.domain.auth.dto.VerifiedToken;
+import com.lagab.eventz.app.domain.auth.dto.apikey.ApiKeyAuthenticationPrincipal;
+import com.lagab.eventz.app.domain.auth.model.ApiKey;
+import com.lagab.eventz.app.domain.auth.service.ApiKeyService;
+import com.lagab.eventz.app.domain.user.model.Role;
+import com.lagab.eventz.app.domain.user.model.User;
+import com.lagab.eventz.app.infrastructure.security.PublicRoutes;
+import com.lagab.eventz.app.infrastructure.security.RequestAuthenticationFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RequestAuthenticationFilter Tests")
+class RequestAuthenticationFilterTest {
+
+    private static final String TOKEN = "header.payload.signature";
+    private static final String KEY = "ak_0123456789abcdef_secret";
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private UserSnapshotCache userSnapshotCache;
+
+    @Mock
+    private ApiKeyService apiKeyService;
+
+    private MeterRegistry meterRegistry;
+    private RequestAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestAuthenticationFilter(verifiedTokenCache, userSnapshotCache, apiKeyService, new PublicRoutes(""),
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Nested
+    @DisplayName("Scheme dispatch Tests")
+    class SchemeDispatchTests {
+
+        @Test
+        @DisplayName("Should authenticate bearer tokens without looking at API keys")
+        void shouldAuthenticateBearerToken() throws Exception {
+            // Given
+            User user = User.builder().id(1L).email("member@example.com").role(Role.USER).isActive(true).isEmailVerified(true).build();
+            when(verifiedTokenCache.verify(TOKEN)).thenReturn(Optional.of(new VerifiedToken(1L, Instant.now().plusSeconds(60))));
+            when(userSnapshotCache.get(1L)).thenReturn(Optional.of(UserSnapshot.of(user)));
+            MockHttpServletRequest request = request("GET", "/api/v1/events/mine");
+            request.addHeader("Authorization", "Bearer " + TOKEN);
+            request.addHeader("X-API-Key", KEY);
+
+            // When
+            Authentication authentication = filter(request);
+
+            // Then
+            assertThat(((User) authentication.getPrincipal()).getId()).isEqualTo(1L);
+            verifyNoInteractions(apiKeyService);
+            assertThat(timerCount("bearer", "success")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should authenticate API keys from the Authorization or X-API-Key header")
+        void shouldAuthenticateApiKey() throws Exception {
+            // Given
+            ApiKey apiKey = ApiKey.builder().name("Billing").roles(Set.of(Role.ADMIN)).build();
+            when(apiKeyService.validateApiKey(KEY)).thenReturn(Optional.of(apiKey));
+            MockHttpServletRequest scheme = request("GET", "/api/admin/apikeys");
+            scheme.addHeader("Authorization", "ApiKey " + KEY);
+            MockHttpServletRequest header = request("GET", "/api/admin/apikeys");
+            header.addHeader("X-API-Key", KEY);
+
+            // When & Then
+            for (MockHttpServletRequest request : List.of(scheme, header)) {
+                Authentication authentication = filter(request);
+                assertThat(authentication.getPrincipal()).isInstanceOf(ApiKeyAuthenticationPrincipal.class);
+                assertThat(authentication.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+            }
+            verifyNoInteractions(verifiedTokenCache);
+            assertThat(timerCount("api_key", "success")).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should leave requests with invalid credentials anonymous and record the failure")
+        void shouldRecordFailures() throws Exception {
+            // Given
+            when(apiKeyService.validateApiKey(KEY)).thenReturn(Optional.empty());
+            MockHttpServletRequest request = request("GET", "/api/v1/events/mine");
+            request.addHeader("X-API-Key", KEY);
+
+            // When & Then
+            assertThat(filter(request)).isNull();
+            assertThat(timerCount("api_key", "failure")).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Request reading Tests")
+    class RequestReadingTests {
+
+        @Test
+        @DisplayName("Should skip public routes altogether")
+        void shouldSkipPublicRoutes() throws Exception {
+            // Given
+            MockHttpServletRequest login = request("POST", "/api/auth/login");
+            login.addHeader("Authorization", "Bearer " + TOKEN);
+            MockHttpServletRequest health = request("GET", "/actuator/health");
+            health.addHeader("X-API-Key", KEY);
+
+            // When & Then
+            assertThat(filter(login)).isNull();
+            assertThat(filter(health)).isNull();
+            verifyNoInteractions(verifiedTokenCache, userSnapshotCache, apiKeyService);
+        }
+
+        @Test
+        @DisplayName("Should never read the parameters or the body of the request")
+        void shouldNotReadBody() throws Exception {
+            // Given a form post carrying a key in its body
+            MockHttpServletRequest form = request("POST", "/api/v1/events");
+            form.setContentType("application/x-www-form-urlencoded");
+            form.setContent(("api_key=" + KEY).getBytes());
+            form.addParameter("api_key", KEY);
+            HttpServletRequest request = spy(form);
+
+            // When
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+            // Then
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+            verify(request, never()).getParameter(anyString());
+            verify(request, never()).getParameterMap();
+            verify(request, never()).getInputStream();
+            verify(request, never()).getReader();
+            verifyNoInteractions(apiKeyService);
+        }
+    }
+
+    private Authentication filter(MockHttpServletRequest request) throws Exception {
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private long timerCount(String scheme, String outcome) {
+        return meterRegistry.get("auth.authentication").tag("scheme", scheme).tag("outcome", outcome).timer().count();
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setServletPath(uri);
+        return request;
+    }
+}
@@ -1,32 +1,37 @@
 package com.lagab.eventz.app.auth.service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 
+import com.lagab.eventz.app.domain.auth.cache.ApiKeyCache;
+import com.lagab.eventz.app.domain.auth.change.ApiKeyChange;
 import com.lagab.eventz.app.domain.auth.model.ApiKey;
 import com.lagab.eventz.app.domain.auth.repository.ApiKeyRepository;
+import com.lagab.eventz.app.domain.auth.service.ApiKeyCodec;
 import com.lagab.eventz.app.domain.auth.service.ApiKeyService;
 import com.lagab.eventz.app.domain.user.model.Role;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -37,31 +42,31 @@ class ApiKeyServiceTest {
     private ApiKeyRepository apiKeyRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private ApplicationEventPublisher eventPublisher;
 
-    @InjectMocks
+    private final ApiKeyCodec apiKeyCodec = new ApiKeyCodec("test-api-key-secret");
+    private ApiKeyCache apiKeyCache;
     private ApiKeyService apiKeyService;
 
     private final String testName = "test-api-key";
     private final String testClientType = "WEB";
     private final Set<Role> testRoles = Collections.emptySet();
     private final LocalDateTime testExpiresAt = LocalDateTime.now().plusDays(30);
-    private final String rawKeyValue = "ak_" + UUID.randomUUID().toString().replace("-", "");
-    private final String hashedKeyValue = "hashed_" + rawKeyValue;
+    private final ApiKeyCodec.ParsedApiKey rawKey = apiKeyCodec.generate();
+    private final String rawKeyValue = rawKey.key();
+    private final String hashedKeyValue = apiKeyCodec.digest(rawKey.secret());
+
+    @BeforeEach
+    void setUp() {
+        apiKeyCache = new ApiKeyCache(apiKeyRepository, 100, Duration.ofMinutes(5), Duration.ofMinutes(1),
+                new SimpleMeterRegistry(), () -> 0L);
+        apiKeyService = new ApiKeyService(apiKeyRepository, apiKeyCodec, apiKeyCache, eventPublisher);
+    }
 
     @Test
     void createApiKey_shouldGenerateAndSaveKey() {
         // Given
-        ApiKey expectedApiKey = ApiKey.builder()
-                                      .name(testName)
-                                      .clientType(testClientType)
-                                      .roles(testRoles)
-                                      .expiresAt(testExpiresAt)
-                                      //.clientId(UUID.randomUUID().toString())
-                                      .clientSecret(hashedKeyValue)
-                                      .build();
-
-        when(apiKeyRepository.save(any(ApiKey.class))).thenReturn(expectedApiKey);
+        when(apiKeyRepository.save(any(ApiKey.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
         ApiKey result = apiKeyService.createApiKey(testName, testClientType, testRoles, testExpiresAt);
@@ -72,22 +77,25 @@ class ApiKeyServiceTest {
         assertEquals(testClientType, result.getClientType());
         assertEquals(testRoles, result.getRoles());
         assertEquals(testExpiresAt, result.getExpiresAt());
-        assertEquals(hashedKeyValue, result.getClientSecret());
+        assertTrue(result.getKey().matches("ak_[0-9a-f]{16}_[0-9a-f]{64}"));
+        assertEquals("ak_" + result.getPublicId() + "_", result.getKey().substring(0, 20));
+
+        // Only a digest of the secret is stored
+        String secret = result.getKey().substring(20);
+        assertEquals(apiKeyCodec.digest(secret), result.getClientSecret());
+        assertFalse(result.getClientSecret().contains(secret));
 
-        verify(passwordEncoder).encode(anyString());
         verify(apiKeyRepository).save(any(ApiKey.class));
     }
 
     @Test
     void validateApiKey_shouldReturnEmptyForInvalidKey() {
-        // Given
-        when(apiKeyRepository.findByClientSecretAndActiveTrue(anyString())).thenReturn(Optional.empty());
-
         // When
         Optional<ApiKey> result = apiKeyService.validateApiKey("invalid_key");
 
-        // Then
+        // Then malformed keys do not reach the database
         assertTrue(result.isEmpty());
+        verify(apiKeyRepository, never()).findByPublicIdAndActiveTrue(any());
     }
 
     @Test
@@ -95,19 +103,55 @@ class ApiKeyServiceTest {
         // Given
         ApiKey validKey = ApiKey.builder()
                                 //.clientId(UUID.randomUUID().toString())
+                                .publicId(rawKey.publicId())
                                 .clientSecret(hashedKeyValue)
                                 .active(true)
                                 .expiresAt(LocalDateTime.now().plusDays(1))
                                 .build();
 
-        when(apiKeyRepository.findByClientSecretAndActiveTrue(rawKeyValue)).thenReturn(Optional.of(validKey));
+        when(apiKeyRepository.findByPublicIdAndActiveTrue(rawKey.publicId())).thenReturn(Optional.of(validKey));
 
         // When
         Optional<ApiKey> result = apiKeyService.validateApiKey(rawKeyValue);
+        Optional<ApiKey> cached = apiKeyService.validateApiKey(rawKeyValue);
 
         // Then
         assertTrue(result.isPresent());
         assertEquals(validKey, result.get());
+        assertEquals(result, cached);
+        verify(apiKeyRepository, times(1)).findByPublicIdAndActiveTrue(rawKey.publicId());
+    }
+
+    @Test
+    void validateApiKey_shouldRejectWrongSecret() {
+        // Given
+        ApiKey validKey = ApiKey.builder()
+                                .publicId(rawKey.publicId())
+                                .clientSecret(hashedKeyValue)
+                                .active(true)
+                                .build();
+
+        when(apiKeyRepository.findByPublicIdAndActiveTrue(rawKey.publicId())).thenReturn(Optional.of(validKey));
+
+        // When
+        Optional<ApiKey> result = apiKeyService.validateApiKey("ak_" + rawKey.publicId() + "_" + apiKeyCodec.generate().secret());
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void validateApiKey_shouldCacheUnknownPublicIds() {
+        // Given
+        when(apiKeyRepository.findByPublicIdAndActiveTrue(rawKey.publicId())).thenReturn(Optional.empty());
+
+        // When
+        apiKeyService.validateApiKey(rawKeyValue);
+        Optional<ApiKey> result = apiKeyService.validateApiKey(rawKeyValue);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(apiKeyRepository, times(1)).findByPublicIdAndActiveTrue(rawKey.publicId());
     }
 
     @Test
@@ -116,10 +160,14 @@ class ApiKeyServiceTest {
         ApiKey activeKey = ApiKey.builder()
                                  .id(1L)
                                  .name(testName)
+                                 .publicId(rawKey.publicId())
+                                 .clientSecret(hashedKeyValue)
                                  .active(true)
                                  .build();
 
         when(apiKeyRepository.findById(1L)).thenReturn(Optional.of(activeKey));
+        when(apiKeyRepository.findByPublicIdAndActiveTrue(rawKey.publicId())).thenReturn(Optional.of(activeKey));
+        assertTrue(apiKeyService.validateApiKey(rawKeyValue).isPresent());
 
         // When
         apiKeyService.revokeApiKey(1L);
@@ -127,6 +175,14 @@ class ApiKeyServiceTest {
         // Then
         assertFalse(activeKey.isActive());
         verify(apiKeyRepository).save(activeKey);
+        verify(eventPublisher).publishEvent(new ApiKeyChange(rawKey.publicId()));
+
+        // When the revocation is committed
+        when(apiKeyRepository.findByPublicIdAndActiveTrue(rawKey.publicId())).thenReturn(Optional.empty());
+        apiKeyCache.onApiKeyChange(new ApiKeyChange(rawKey.publicId()));
+
+        // Then
+        assertTrue(apiKeyService.validateApiKey(rawKeyValue).isEmpty());
     }
 
     @Test
@@ -176,12 +232,13 @@ class ApiKeyServiceTest {
         // Given
         ApiKey expiredKey = ApiKey.builder()
                                   //.clientId(UUID.randomUUID().toString())
+                                  .publicId(rawKey.publicId())
                                   .clientSecret(hashedKeyValue)
                                   .active(true)
                                   .expiresAt(LocalDateTime.now().minusDays(1))
                                   .build();
 
-        when(apiKeyRepository.findByClientSecretAndActiveTrue(rawKeyValue)).thenReturn(Optional.of(expiredKey));
+        when(apiKeyRepository.findByPublicIdAndActiveTrue(rawKey.publicId())).thenReturn(Optional.of(expiredKey));
 
         // When
         Optional<ApiKey> result = apiKeyService.validateApiKey(rawKeyValue);
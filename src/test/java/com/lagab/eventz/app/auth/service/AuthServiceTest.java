@@ -11,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -35,6 +36,7 @@ import com.lagab.eventz.app.domain.auth.service.EmailService;
 import com.lagab.eventz.app.domain.auth.service.JwtService;
 import com.lagab.eventz.app.domain.auth.service.TokenService;
 import com.lagab.eventz.app.domain.org.service.OrganizationService;
+import com.lagab.eventz.app.domain.user.change.UserChange;
 import com.lagab.eventz.app.domain.user.mapper.UserMapper;
 import com.lagab.eventz.app.domain.user.model.Role;
 import com.lagab.eventz.app.domain.user.model.Token;
@@ -85,6 +87,9 @@ class AuthServiceTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AuthService authService;
 
@@ -477,6 +482,7 @@ class AuthServiceTest {
             );
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
+            when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
             when(passwordEncoder.matches(rawCurrentPassword, testUser.getPassword())).thenReturn(true);
             when(passwordEncoder.encode(rawNewPassword)).thenReturn(encodedNewPassword);
 
@@ -496,6 +502,9 @@ class AuthServiceTest {
 
             // Verify all tokens were revoked
             verify(tokenService).revokeAllUserTokens(testUser);
+
+            // Verify the cached snapshot of the user is dropped
+            verify(eventPublisher).publishEvent(new UserChange(testUser.getId()));
         }
 
         @Test
@@ -504,6 +513,7 @@ class AuthServiceTest {
             // Given
             ChangePasswordRequest request = new ChangePasswordRequest("wrong-password", "new-password");
             User testUser = new User(); // or use your test user setup
+            testUser.setId(2L);
             testUser.setPassword("encoded-current-password");
 
             // Mock authentication
@@ -514,6 +524,7 @@ class AuthServiceTest {
             );
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
+            when(userRepository.findById(2L)).thenReturn(Optional.of(testUser));
             when(passwordEncoder.matches(request.currentPassword(), testUser.getPassword())).thenReturn(false);
 
             // When & Then
@@ -0,0 +1,314 @@
+package com.lagab.eventz.app.event.cache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.lagab.eventz.app.domain.event.cache.EventSearchCache;
+import com.lagab.eventz.app.domain.event.change.EventSnapshot;
+import com.lagab.eventz.app.domain.event.change.TicketTypeChange;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.EventSearchDTO;
+import com.lagab.eventz.app.domain.event.dto.EventSummaryDTO;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.service.EventSearchService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventSearchCache Tests")
+class EventSearchCacheTest {
+
+    private static final Pageable PAGE = PageRequest.of(0, 20, Sort.by("startDate"));
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 20, 0, 5);
+
+    @Mock
+    private EventSearchService eventSearchService;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private MeterRegistry meterRegistry;
+    private EventSearchCache eventSearchCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        eventSearchCache = new EventSearchCache(eventSearchService, new EventProperties(), meterRegistry, nanos::get, Runnable::run);
+        eventSearchCache.rebuild(Stream.of(
+                snapshot(1L, "Paris", EventType.CONCERT, "org-1"),
+                snapshot(2L, "Lyon", EventType.CONFERENCE, "org-2")
+        ));
+    }
+
+    @Nested
+    @DisplayName("Lookup Tests")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should share an entry between requests differing only in case, blanks and seconds of now")
+        void shouldShareEntryForNormalizedCriteria() {
+            // Given
+            when(eventSearchService.searchEvents(any(), any())).thenReturn(page(1L));
+
+            // When
+            eventSearchCache.search(criteria(" PARIS ", null, null, NOW), PAGE);
+            Page<EventSummaryDTO> cached = eventSearchCache.search(criteria("paris", null, null, NOW.plusSeconds(40)), PAGE);
+
+            // Then
+            assertThat(cached.getContent()).extracting(EventSummaryDTO::id).containsExactly(1L);
+            verify(eventSearchService, times(1)).searchEvents(
+                    criteria("paris", null, null, LocalDateTime.of(2030, 1, 1, 20, 0)), PAGE);
+            assertThat(gets("hit")).isEqualTo(1);
+            assertThat(gets("miss")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should serve a stale page once past the refresh delay while reloading it")
+        void shouldServeStaleWhileRevalidating() {
+            // Given
+            Queue<Runnable> reloads = new ArrayDeque<>();
+            EventSearchCache deferredCache = new EventSearchCache(eventSearchService, new EventProperties(),
+                    new SimpleMeterRegistry(), nanos::get, reloads::add);
+            when(eventSearchService.searchEvents(any(), any())).thenReturn(page(1L), page(1L, 3L));
+            deferredCache.search(criteria("Paris", null, null, null), PAGE);
+            nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+
+            // When
+            Page<EventSummaryDTO> stale = deferredCache.search(criteria("Paris", null, null, null), PAGE);
+            while (!reloads.isEmpty()) {
+                reloads.poll().run();
+            }
+            Page<EventSummaryDTO> refreshed = deferredCache.search(criteria("Paris", null, null, null), PAGE);
+
+            // Then
+            assertThat(stale.getContent()).extracting(EventSummaryDTO::id).containsExactly(1L);
+            assertThat(refreshed.getContent()).extracting(EventSummaryDTO::id).containsExactly(1L, 3L);
+            verify(eventSearchService, times(2)).searchEvents(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should drop a page refreshed while an invalidation ran")
+        void shouldDropPageRefreshedAcrossInvalidation() {
+            // Given a refresh running while a ticket type of an event the refreshed page lists changes
+            Queue<Runnable> reloads = new ArrayDeque<>();
+            EventSearchCache deferredCache = new EventSearchCache(eventSearchService, new EventProperties(),
+                    new SimpleMeterRegistry(), nanos::get, reloads::add);
+            deferredCache.rebuild(Stream.of(snapshot(1L, "Paris", EventType.CONCERT, "org-1")));
+            when(eventSearchService.searchEvents(any(), any())).thenReturn(page(1L)).thenAnswer(invocation -> {
+                deferredCache.onTicketTypeChange(new TicketTypeChange(3L));
+                return page(1L, 3L);
+            }).thenReturn(page(1L, 3L));
+            deferredCache.search(criteria("Paris", null, null, null), PAGE);
+            nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+            deferredCache.search(criteria("Paris", null, null, null), PAGE);
+
+            // When
+            while (!reloads.isEmpty()) {
+                reloads.poll().run();
+            }
+            Page<EventSummaryDTO> reloaded = deferredCache.search(criteria("Paris", null, null, null), PAGE);
+
+            // Then
+            assertThat(reloaded.getContent()).extracting(EventSummaryDTO::id).containsExactly(1L, 3L);
+            verify(eventSearchService, times(3)).searchEvents(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should reload a page once it expired")
+        void shouldReloadExpiredPage() {
+            // Given
+            when(eventSearchService.searchEvents(any(), any())).thenReturn(page(1L), page(3L));
+            eventSearchCache.search(criteria("Paris", null, null, null), PAGE);
+            nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+
+            // When
+            Page<EventSummaryDTO> result = eventSearchCache.search(criteria("Paris", null, null, null), PAGE);
+
+            // Then
+            assertThat(result.getContent()).extracting(EventSummaryDTO::id).containsExactly(3L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation Tests")
+    class InvalidationTests {
+
+        @BeforeEach
+        void fillCache() {
+            when(eventSearchService.searchEvents(any(), any())).thenAnswer(invocation -> page());
+            eventSearchCache.search(criteria("Paris", null, null, null), PAGE);
+            eventSearchCache.search(criteria("Lyon", null, null, null), PAGE);
+            eventSearchCache.search(criteria(null, EventType.CONCERT, null, null), PAGE);
+            eventSearchCache.search(criteria(null, null, "org-2", null), PAGE);
+        }
+
+        @Test
+        @DisplayName("Should only invalidate the entries matching the city, type and organization of a new event")
+        void shouldInvalidateEntriesMatchingNewEvent() {
+            // When
+            eventSearchCache.index(snapshot(3L, "Paris", EventType.CONCERT, "org-1"));
+
+            // Then
+            assertThat(eventSearchCache.size()).isEqualTo(2);
+            assertCached(criteria("Lyon", null, null, null));
+            assertCached(criteria(null, null, "org-2", null));
+        }
+
+        @Test
+        @DisplayName("Should invalidate the entries the event matched before it moved")
+        void shouldInvalidateEntriesMatchingPreviousState() {
+            // When
+            eventSearchCache.index(snapshot(1L, "Lyon", EventType.CONFERENCE, "org-1"));
+
+            // Then
+            assertCached(criteria(null, null, "org-2", null));
+            assertThat(eventSearchCache.size()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should invalidate the entries a deleted event matched")
+        void shouldInvalidateEntriesOfDeletedEvent() {
+            // When
+            eventSearchCache.remove(2L);
+
+            // Then
+            assertThat(eventSearchCache.size()).isEqualTo(2);
+            assertCached(criteria("Paris", null, null, null));
+            assertCached(criteria(null, EventType.CONCERT, null, null));
+        }
+
+        @Test
+        @DisplayName("Should not invalidate anything for a private event")
+        void shouldIgnorePrivateEvent() {
+            // Given
+            EventSnapshot hidden = snapshot(3L, "Paris", EventType.CONCERT, "org-1");
+
+            // When
+            eventSearchCache.index(new EventSnapshot(
+                    hidden.id(), hidden.name(), null, null, hidden.city(), null, null, null, hidden.type(),
+                    hidden.status(), false, false, hidden.startDate(), hidden.endDate(), null, null, hidden.organizationId(), null, null));
+
+            // Then
+            assertThat(eventSearchCache.size()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should invalidate the pages listing an event whose ticket types changed")
+        void shouldInvalidatePagesListingEventOnTicketTypeChange() {
+            // Given
+            when(eventSearchService.searchEvents(any(), any())).thenReturn(page(1L, 2L));
+            eventSearchCache.search(criteria(null, null, null, NOW), PAGE);
+
+            // When
+            eventSearchCache.onTicketTypeChange(new TicketTypeChange(2L));
+
+            // Then
+            assertThat(eventSearchCache.size()).isEqualTo(4);
+            assertThat(meterRegistry.get("cache.invalidations").counter().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should invalidate everything while the previous state of events is unknown")
+        void shouldInvalidateEverythingBeforeRebuild() {
+            // Given
+            EventSearchCache coldCache = new EventSearchCache(eventSearchService, new EventProperties(),
+                    new SimpleMeterRegistry(), nanos::get, Runnable::run);
+            coldCache.search(criteria("Paris", null, null, null), PAGE);
+
+            // When
+            coldCache.index(snapshot(2L, "Lyon", EventType.CONFERENCE, "org-2"));
+
+            // Then
+            assertThat(coldCache.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should not keep a page loaded while an invalidation ran")
+        void shouldNotKeepPageLoadedAcrossInvalidation() {
+            // Given a write committed while the page is read
+            when(eventSearchService.searchEvents(any(), any())).thenAnswer(invocation -> {
+                eventSearchCache.index(snapshot(3L, "Nice", EventType.CONCERT, "org-3"));
+                return page();
+            }).thenAnswer(invocation -> page(3L));
+
+            // When
+            Page<EventSummaryDTO> read = eventSearchCache.search(criteria("Nice", null, null, null), PAGE);
+            Page<EventSummaryDTO> reloaded = eventSearchCache.search(criteria("Nice", null, null, null), PAGE);
+
+            // Then
+            assertThat(read.getContent()).isEmpty();
+            assertThat(reloaded.getContent()).extracting(EventSummaryDTO::id).containsExactly(3L);
+        }
+
+        @Test
+        @DisplayName("Should keep a page loaded while an unrelated event changed")
+        void shouldKeepPageLoadedAcrossUnrelatedInvalidation() {
+            // Given a write to an event the page cannot list, committed while the page is read
+            when(eventSearchService.searchEvents(any(), any())).thenAnswer(invocation -> {
+                eventSearchCache.index(snapshot(3L, "Nice", EventType.CONCERT, "org-3"));
+                eventSearchCache.onTicketTypeChange(new TicketTypeChange(3L));
+                return page(2L);
+            });
+
+            // When
+            eventSearchCache.search(criteria("Lyon", EventType.CONFERENCE, null, null), PAGE);
+
+            // Then
+            assertCached(criteria("Lyon", EventType.CONFERENCE, null, null));
+        }
+
+        private void assertCached(EventSearchDTO criteria) {
+            double hits = gets("hit");
+            eventSearchCache.search(criteria, PAGE);
+            assertThat(gets("hit")).isEqualTo(hits + 1);
+        }
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", EventSearchCache.CACHE_NAME).tag("result", result)
+                            .functionCounter().count();
+    }
+
+    private static EventSearchDTO criteria(String city, EventType type, String organizationId, LocalDateTime startDate) {
+        return new EventSearchDTO(null, type, EventStatus.PUBLISHED, city, startDate, null, null,
+                null, null, null, null, organizationId);
+    }
+
+    private static EventSnapshot snapshot(Long id, String city, EventType type, String organizationId) {
+        return new EventSnapshot(id, "Event " + id, null, null, city, "France", null, null, type,
+                EventStatus.PUBLISHED, true, false, NOW.plusDays(10), NOW.plusDays(11), NOW, 1L, organizationId, null, null);
+    }
+
+    private static Page<EventSummaryDTO> page(Long... ids) {
+        List<EventSummaryDTO> content = Stream.of(ids)
+                                              .map(id -> new EventSummaryDTO(id, "Event " + id, null, NOW, NOW,
+                                                      EventStatus.PUBLISHED, EventType.CONCERT, null, true, false,
+                                                      "EUR", "Paris", "France", null, null, 10))
+                                              .toList();
+        return new PageImpl<>(content, PAGE, content.size());
+    }
+}
@@ -0,0 +1,194 @@
+package com.lagab.eventz.app.event.cache;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.lagab.eventz.app.domain.event.cache.OnSaleTicketTypeCache;
+import com.lagab.eventz.app.domain.event.change.TicketTypeChange;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketTypeDTO;
+import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapperImpl;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OnSaleTicketTypeCache Tests")
+class OnSaleTicketTypeCacheTest {
+
+    private static final Instant NOW = Instant.parse("2030-06-01T12:00:00Z");
+    private static final LocalDateTime LOCAL_NOW = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+
+    @Mock
+    private TicketTypeRepository ticketTypeRepository;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicReference<Instant> now = new AtomicReference<>(NOW);
+    private MeterRegistry meterRegistry;
+    private EventProperties eventProperties;
+    private OnSaleTicketTypeCache onSaleTicketTypeCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        eventProperties = new EventProperties();
+        eventProperties.getCache().setOnSaleMaxAge(Duration.ofDays(2));
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        };
+        onSaleTicketTypeCache = new OnSaleTicketTypeCache(ticketTypeRepository, new TicketTypeMapperImpl(), eventProperties,
+                meterRegistry, clock, nanos::get);
+    }
+
+    @Test
+    @DisplayName("Should serve the ticket types on sale from memory between sale boundaries")
+    void shouldServeFromMemoryBetweenBoundaries() {
+        // Given
+        when(ticketTypeRepository.findActiveByEventId(1L)).thenReturn(List.of(
+                ticketType(10L, null, LOCAL_NOW.plusDays(1), 100, 10),
+                ticketType(11L, null, null, 5, 5)));
+
+        // When
+        onSaleTicketTypeCache.getOnSale(1L);
+        advance(Duration.ofHours(23));
+        List<TicketTypeDTO> onSale = onSaleTicketTypeCache.getOnSale(1L);
+
+        // Then the sold out ticket type is left out
+        assertThat(onSale).extracting(TicketTypeDTO::id).containsExactly(10L);
+        assertThat(onSale).extracting(TicketTypeDTO::isOnSale).containsExactly(true);
+        verify(ticketTypeRepository, times(1)).findActiveByEventId(1L);
+    }
+
+    @Test
+    @DisplayName("Should reload exactly when the sale of a ticket type starts")
+    void shouldReloadWhenSaleStarts() {
+        // Given
+        when(ticketTypeRepository.findActiveByEventId(1L)).thenReturn(List.of(
+                ticketType(10L, null, null, 100, 0),
+                ticketType(11L, LOCAL_NOW.plusHours(1), null, 100, 0)));
+        assertThat(onSaleTicketTypeCache.getOnSale(1L)).extracting(TicketTypeDTO::id).containsExactly(10L);
+
+        // When
+        advance(Duration.ofHours(1).minusNanos(1));
+
+        // Then
+        assertThat(onSaleTicketTypeCache.getOnSale(1L)).extracting(TicketTypeDTO::id).containsExactly(10L);
+
+        // When
+        advance(Duration.ofNanos(1));
+
+        // Then
+        assertThat(onSaleTicketTypeCache.getOnSale(1L)).extracting(TicketTypeDTO::id).containsExactly(10L, 11L);
+        verify(ticketTypeRepository, times(2)).findActiveByEventId(1L);
+    }
+
+    @Test
+    @DisplayName("Should keep a ticket type on sale up to the end of its sale included")
+    void shouldReloadRightAfterSaleEnds() {
+        // Given
+        when(ticketTypeRepository.findActiveByEventId(1L)).thenReturn(List.of(ticketType(10L, null, LOCAL_NOW.plusMinutes(30), 100, 0)));
+        onSaleTicketTypeCache.getOnSale(1L);
+
+        // When
+        advance(Duration.ofMinutes(30));
+
+        // Then
+        assertThat(onSaleTicketTypeCache.getOnSale(1L)).hasSize(1);
+
+        // When
+        advance(Duration.ofNanos(1));
+
+        // Then
+        assertThat(onSaleTicketTypeCache.getOnSale(1L)).isEmpty();
+        verify(ticketTypeRepository, times(2)).findActiveByEventId(1L);
+    }
+
+    @Test
+    @DisplayName("Should drop the entry of an event when its ticket types change")
+    void shouldInvalidateOnTicketTypeChange() {
+        // Given
+        when(ticketTypeRepository.findActiveByEventId(1L)).thenReturn(List.of(ticketType(10L, null, null, 100, 0)));
+        when(ticketTypeRepository.findActiveByEventId(2L)).thenReturn(List.of(ticketType(20L, null, null, 100, 0)));
+        onSaleTicketTypeCache.getOnSale(1L);
+        onSaleTicketTypeCache.getOnSale(2L);
+
+        // When
+        onSaleTicketTypeCache.onTicketTypeChange(new TicketTypeChange(1L));
+        onSaleTicketTypeCache.getOnSale(1L);
+        onSaleTicketTypeCache.getOnSale(2L);
+
+        // Then
+        verify(ticketTypeRepository, times(2)).findActiveByEventId(1L);
+        verify(ticketTypeRepository, times(1)).findActiveByEventId(2L);
+        assertThat(meterRegistry.get("cache.invalidations").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reload after the maximum age when no boundary comes sooner")
+    void shouldReloadAfterMaxAge() {
+        // Given
+        when(ticketTypeRepository.findActiveByEventId(1L)).thenReturn(List.of(ticketType(10L, null, null, 100, 0)));
+        onSaleTicketTypeCache.getOnSale(1L);
+
+        // When
+        advance(Duration.ofDays(2));
+        onSaleTicketTypeCache.getOnSale(1L);
+
+        // Then
+        verify(ticketTypeRepository, times(2)).findActiveByEventId(1L);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+        now.updateAndGet(instant -> instant.plus(duration));
+    }
+
+    private static TicketType ticketType(Long id, LocalDateTime saleStart, LocalDateTime saleEnd, int quantityAvailable,
+            int quantitySold) {
+        TicketType ticketType = new TicketType();
+        ticketType.setId(id);
+        ticketType.setName("Ticket " + id);
+        ticketType.setPrice(BigDecimal.TEN);
+        ticketType.setFee(BigDecimal.ZERO);
+        ticketType.setSaleStart(saleStart);
+        ticketType.setSaleEnd(saleEnd);
+        ticketType.setQuantityAvailable(quantityAvailable);
+        ticketType.setQuantitySold(quantitySold);
+        return ticketType;
+    }
+}
@@ -0,0 +1,194 @@
+package com.lagab.eventz.app.event.catalog;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.lagab.eventz.app.domain.event.catalog.EventCatalog;
+import com.lagab.eventz.app.domain.event.change.EventSnapshot;
+import com.lagab.eventz.app.domain.event.dto.EventSearchDTO;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("EventCatalog Tests")
+class EventCatalogTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 20, 0);
+    private static final Pageable BY_START = PageRequest.of(0, 10, Sort.by("startDate"));
+
+    private EventCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new EventCatalog();
+        catalog.rebuild(Stream.of(
+                snapshot(1L, EventType.CONCERT, "Paris", false, "org-1", 3),
+                snapshot(2L, EventType.CONCERT, "Lyon", true, "org-1", 1),
+                snapshot(3L, EventType.CONFERENCE, "Paris", true, "org-2", 2),
+                snapshot(4L, EventType.CONCERT, "PARIS", true, null, 5),
+                privateSnapshot(5L)
+        ));
+    }
+
+    @Nested
+    @DisplayName("Filters")
+    class FilterTests {
+
+        @Test
+        @DisplayName("Should only hold public events")
+        void shouldOnlyHoldPublicEvents() {
+            assertThat(catalog.size()).isEqualTo(4);
+            assertThat(search(new EventSearchDTO(), BY_START).pageIds()).containsExactly(2L, 3L, 1L, 4L);
+        }
+
+        @Test
+        @DisplayName("Should intersect type, city, price and organization filters")
+        void shouldIntersectFilters() {
+            assertThat(search(criteria(EventType.CONCERT, "paris", null, null, null), BY_START).pageIds())
+                    .containsExactly(1L, 4L);
+            assertThat(search(criteria(EventType.CONCERT, "Paris", true, null, null), BY_START).pageIds())
+                    .containsExactly(4L);
+            assertThat(search(criteria(null, null, true, "org-1", null), BY_START).pageIds())
+                    .containsExactly(2L);
+        }
+
+        @Test
+        @DisplayName("Should find nothing for unknown values")
+        void shouldFindNothingForUnknownValues() {
+            EventCatalog.Result result = search(criteria(null, "Marseille", null, null, null), BY_START);
+
+            assertThat(result.pageIds()).isEmpty();
+            assertThat(result.total()).isZero();
+            assertThat(search(criteria(null, null, null, "org-9", null), BY_START).pageIds()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should scan the date columns for date ranges")
+        void shouldScanDateRanges() {
+            // Given events starting from day 2 and ending by the end of day 4
+            EventSearchDTO searchDTO = new EventSearchDTO(null, null, null, null, DAY.plusDays(2), DAY.plusDays(4),
+                    null, null, null, null, null, null);
+
+            // When
+            EventCatalog.Result result = search(searchDTO, BY_START);
+
+            // Then
+            assertThat(result.pageIds()).containsExactly(3L, 1L);
+            assertThat(result.total()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Paging")
+    class PagingTests {
+
+        @Test
+        @DisplayName("Should sort, page and count the matches")
+        void shouldSortPageAndCount() {
+            // When
+            EventCatalog.Result result = search(new EventSearchDTO(), PageRequest.of(1, 2, Sort.by(Sort.Order.desc("startDate"))));
+
+            // Then
+            assertThat(result.pageIds()).containsExactly(3L, 2L);
+            assertThat(result.total()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should break ties by id and return nothing past the last page")
+        void shouldBreakTiesById() {
+            // Given
+            catalog.index(snapshot(6L, EventType.CONCERT, "Nice", false, null, 1));
+
+            // Then
+            assertThat(search(new EventSearchDTO(), PageRequest.of(0, 2, Sort.by("startDate"))).pageIds()).containsExactly(2L, 6L);
+            assertThat(search(new EventSearchDTO(), PageRequest.of(5, 2, Sort.by("startDate"))).pageIds()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Updates")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should move updated events to their new values")
+        void shouldMoveUpdatedEvents() {
+            // When
+            catalog.index(snapshot(1L, EventType.CONFERENCE, "Lyon", false, "org-1", 3));
+
+            // Then
+            assertThat(search(criteria(EventType.CONCERT, "Paris", null, null, null), BY_START).pageIds()).containsExactly(4L);
+            assertThat(search(criteria(null, "Lyon", null, null, null), BY_START).pageIds()).containsExactly(2L, 1L);
+            assertThat(catalog.size()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should drop events made private or deleted")
+        void shouldDropPrivateAndDeletedEvents() {
+            // When
+            catalog.index(privateSnapshot(1L));
+            catalog.remove(3L);
+            catalog.remove(99L);
+
+            // Then
+            assertThat(search(new EventSearchDTO(), BY_START).pageIds()).containsExactly(2L, 4L);
+        }
+
+        @Test
+        @DisplayName("Should keep answering correctly across compactions")
+        void shouldCompactDeadRows() {
+            // When every event is rewritten many times
+            for (int round = 0; round < 1_000; round++) {
+                catalog.index(snapshot(1L, EventType.CONCERT, round % 2 == 0 ? "Nice" : "Paris", false, "org-1", 3));
+                catalog.index(snapshot(2L, EventType.CONCERT, "Lyon", true, "org-1", 1 + round % 3));
+            }
+
+            // Then
+            assertThat(search(criteria(null, "paris", null, null, null), BY_START).pageIds()).containsExactly(3L, 1L, 4L);
+            assertThat(search(criteria(null, "lyon", null, null, null), BY_START).pageIds()).containsExactly(2L);
+            assertThat(catalog.size()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should not serve requests before being loaded or needing other indexes")
+        void shouldNotServeUnsupportedRequests() {
+            assertThat(new EventCatalog().canServe(new EventSearchDTO(), BY_START)).isFalse();
+            assertThat(catalog.canServe(new EventSearchDTO(), BY_START)).isTrue();
+            assertThat(catalog.canServe(new EventSearchDTO(), Pageable.unpaged())).isFalse();
+            assertThat(catalog.canServe(new EventSearchDTO(), PageRequest.of(0, 10, Sort.by("name")))).isFalse();
+            assertThat(catalog.canServe(new EventSearchDTO("rock", null, null, null, null, null, null,
+                    null, null, null, null, null), BY_START)).isFalse();
+            assertThat(catalog.canServe(new EventSearchDTO(null, null, null, null, null, null, null,
+                    null, null, null, 1L, null), BY_START)).isFalse();
+        }
+    }
+
+    private EventCatalog.Result search(EventSearchDTO criteria, Pageable pageable) {
+        return catalog.search(criteria, pageable);
+    }
+
+    private static EventSearchDTO criteria(EventType type, String city, Boolean isFree, String organizationId,
+            EventStatus status) {
+        return new EventSearchDTO(null, type, status, city, null, null, isFree, null, null, null, null, organizationId);
+    }
+
+    private static EventSnapshot snapshot(Long id, EventType type, String city, boolean isFree, String organizationId,
+            int startInDays) {
+        return new EventSnapshot(id, "Event " + id, null, null, city, "France", null, null, type, EventStatus.PUBLISHED,
+                true, isFree, DAY.plusDays(startInDays), DAY.plusDays(startInDays).plusHours(3), DAY, 1L, organizationId,
+                null, null);
+    }
+
+    private static EventSnapshot privateSnapshot(Long id) {
+        return new EventSnapshot(id, "Private " + id, null, null, "Paris", "France", null, null, EventType.CONCERT,
+                EventStatus.PUBLISHED, false, true, DAY, DAY.plusHours(3), DAY, 1L, null, null, null);
+    }
+}
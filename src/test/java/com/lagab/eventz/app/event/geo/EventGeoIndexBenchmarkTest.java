@@ -0,0 +1,81 @@
+package com.lagab.eventz.app.event.geo;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.lagab.eventz.app.domain.event.change.EventSnapshot;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.geo.EventGeoIndex;
+import com.lagab.eventz.app.domain.event.geo.GeoMath;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Radius queries on the grid against a linear haversine scan of the same points.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("EventGeoIndex Benchmark")
+class EventGeoIndexBenchmarkTest {
+
+    private static final int QUERIES = 200;
+    private static final double RADIUS_KM = 10;
+
+    @ParameterizedTest(name = "{0} addresses")
+    @ValueSource(ints = { 100_000, 1_000_000 })
+    void radiusQueries(int addresses) {
+        // Addresses spread over metropolitan France
+        Random random = new Random(7);
+        double[] latitudes = new double[addresses];
+        double[] longitudes = new double[addresses];
+        for (int i = 0; i < addresses; i++) {
+            latitudes[i] = 42.5 + random.nextDouble() * 8.5;
+            longitudes[i] = -4.5 + random.nextDouble() * 12.5;
+        }
+
+        EventGeoIndex index = new EventGeoIndex(new EventProperties());
+        long buildStart = System.nanoTime();
+        index.rebuild(IntStream.range(0, addresses).mapToObj(i -> snapshot(i, latitudes[i], longitudes[i])));
+        long buildNanos = System.nanoTime() - buildStart;
+
+        double[][] centers = IntStream.range(0, QUERIES)
+                                      .mapToObj(i -> new double[] { 43 + random.nextDouble() * 7, -3 + random.nextDouble() * 10 })
+                                      .toArray(double[][]::new);
+
+        long indexHits = 0;
+        long indexStart = System.nanoTime();
+        for (double[] center : centers) {
+            indexHits += index.search(center[0], center[1], RADIUS_KM).size();
+        }
+        long indexNanos = System.nanoTime() - indexStart;
+
+        long scanHits = 0;
+        long scanStart = System.nanoTime();
+        for (double[] center : centers) {
+            for (int i = 0; i < addresses; i++) {
+                if (GeoMath.haversineKm(center[0], center[1], latitudes[i], longitudes[i]) <= RADIUS_KM) {
+                    scanHits++;
+                }
+            }
+        }
+        long scanNanos = System.nanoTime() - scanStart;
+
+        System.out.printf("%,d addresses: build %d ms, grid %.1f us/query, linear scan %.1f us/query, %.1f hits/query%n",
+                addresses, buildNanos / 1_000_000, indexNanos / 1_000.0 / QUERIES, scanNanos / 1_000.0 / QUERIES,
+                (double) indexHits / QUERIES);
+
+        assertThat(indexHits).isEqualTo(scanHits);
+        assertThat(indexNanos).isLessThan(scanNanos);
+    }
+
+    private static EventSnapshot snapshot(long id, double latitude, double longitude) {
+        return new EventSnapshot(id, null, null, null, null, null, BigDecimal.valueOf(latitude), BigDecimal.valueOf(longitude),
+                null, null, true, false, null, null, null, null, null, null, null);
+    }
+}
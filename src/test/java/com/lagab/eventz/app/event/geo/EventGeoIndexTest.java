@@ -0,0 +1,173 @@
+package com.lagab.eventz.app.event.geo;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.lagab.eventz.app.domain.event.change.EventSnapshot;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.geo.BoundingBox;
+import com.lagab.eventz.app.domain.event.geo.EventGeoIndex;
+import com.lagab.eventz.app.domain.event.geo.GeoMath;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("EventGeoIndex Tests")
+class EventGeoIndexTest {
+
+    private static final double PARIS_LATITUDE = 48.8566;
+    private static final double PARIS_LONGITUDE = 2.3522;
+
+    private EventGeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EventGeoIndex(new EventProperties());
+    }
+
+    @Nested
+    @DisplayName("Geometry")
+    class GeometryTests {
+
+        @Test
+        @DisplayName("Should compute great-circle distances")
+        void shouldComputeGreatCircleDistances() {
+            assertThat(GeoMath.haversineKm(PARIS_LATITUDE, PARIS_LONGITUDE, 45.7640, 4.8357)).isCloseTo(392, within(2.0));
+            assertThat(GeoMath.haversineKm(PARIS_LATITUDE, PARIS_LONGITUDE, PARIS_LATITUDE, PARIS_LONGITUDE)).isZero();
+        }
+
+        @Test
+        @DisplayName("Bounding box should widen in longitude away from the equator")
+        void boundingBoxShouldWidenInLongitude() {
+            BoundingBox equator = BoundingBox.around(0, 0, 100);
+            BoundingBox north = BoundingBox.around(60, 0, 100);
+
+            assertThat(north.maxLatitude() - north.minLatitude()).isCloseTo(equator.maxLatitude() - equator.minLatitude(), within(1e-9));
+            assertThat(north.maxLongitude() - north.minLongitude()).isCloseTo(2 * (equator.maxLongitude() - equator.minLongitude()), within(0.01));
+        }
+
+        @Test
+        @DisplayName("Bounding box should wrap around the antimeridian")
+        void boundingBoxShouldWrapAroundAntimeridian() {
+            BoundingBox box = BoundingBox.around(-17.7, 179.9, 50);
+
+            assertThat(box.crossesAntimeridian()).isTrue();
+            assertThat(box.contains(-17.7, -179.9)).isTrue();
+            assertThat(box.contains(-17.7, 0)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Search")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Should return events within the radius, nearest first")
+        void shouldReturnNearestFirst() {
+            // Given
+            index.rebuild(Stream.of(
+                    snapshot(1L, 48.8049, 2.1204),   // Versailles, ~18 km
+                    snapshot(2L, 48.8584, 2.2945),   // Eiffel tower, ~4 km
+                    snapshot(3L, 45.7640, 4.8357),   // Lyon, ~392 km
+                    snapshot(4L, null, null)         // Online event
+            ));
+
+            // When
+            Map<Long, Double> hits = index.search(PARIS_LATITUDE, PARIS_LONGITUDE, 20);
+
+            // Then
+            assertThat(hits.keySet()).containsExactly(2L, 1L);
+            assertThat(hits.get(1L)).isCloseTo(17.9, within(0.2));
+            assertThat(index.size()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should match a brute force haversine scan")
+        void shouldMatchBruteForceScan() {
+            // Given
+            Random random = new Random(42);
+            double[][] points = IntStream.range(0, 5_000)
+                                         .mapToObj(i -> new double[] { 43 + random.nextDouble() * 8, -2 + random.nextDouble() * 10 })
+                                         .toArray(double[][]::new);
+            index.rebuild(IntStream.range(0, points.length).mapToObj(i -> snapshot((long) i, points[i][0], points[i][1])));
+
+            for (double radius : new double[] { 1, 10, 50, 300 }) {
+                // When
+                Map<Long, Double> hits = index.search(PARIS_LATITUDE, PARIS_LONGITUDE, radius);
+
+                // Then
+                Map<Long, Double> expected = new TreeMap<>();
+                for (int i = 0; i < points.length; i++) {
+                    double distance = GeoMath.haversineKm(PARIS_LATITUDE, PARIS_LONGITUDE, points[i][0], points[i][1]);
+                    if (distance <= radius) {
+                        expected.put((long) i, distance);
+                    }
+                }
+                assertThat(new TreeMap<>(hits)).isEqualTo(expected);
+            }
+        }
+
+        @Test
+        @DisplayName("Should find events across the antimeridian")
+        void shouldFindEventsAcrossAntimeridian() {
+            // Given
+            index.rebuild(Stream.of(snapshot(1L, -17.70, -179.95), snapshot(2L, -17.70, 179.95)));
+
+            // When
+            Map<Long, Double> hits = index.search(-17.70, 179.99, 20);
+
+            // Then
+            assertThat(hits.keySet()).containsExactly(2L, 1L);
+        }
+
+        @Test
+        @DisplayName("Should cap the hits to the nearest ones")
+        void shouldCapHitsToNearest() {
+            // Given
+            EventProperties properties = new EventProperties();
+            properties.getGeo().setMaxHits(2);
+            EventGeoIndex capped = new EventGeoIndex(properties);
+            capped.rebuild(Stream.of(snapshot(1L, 48.90, 2.35), snapshot(2L, 48.86, 2.35), snapshot(3L, 48.87, 2.35)));
+
+            // Then
+            assertThat(capped.search(PARIS_LATITUDE, PARIS_LONGITUDE, 50).keySet()).containsExactly(2L, 3L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Updates")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should move a relocated event and forget removed ones")
+        void shouldMoveRelocatedEvent() {
+            // Given
+            index.rebuild(Stream.of(snapshot(1L, 48.8584, 2.2945), snapshot(2L, 48.8049, 2.1204)));
+
+            // When
+            index.index(snapshot(1L, 45.7640, 4.8357));
+            index.remove(2L);
+
+            // Then
+            assertThat(index.search(PARIS_LATITUDE, PARIS_LONGITUDE, 50)).isEmpty();
+            assertThat(index.search(45.76, 4.83, 5).keySet()).containsExactly(1L);
+            assertThat(index.isReady()).isTrue();
+        }
+    }
+
+    private static EventSnapshot snapshot(Long id, Double latitude, Double longitude) {
+        return new EventSnapshot(id, "Event " + id, null, null, null, null,
+                latitude != null ? BigDecimal.valueOf(latitude) : null,
+                longitude != null ? BigDecimal.valueOf(longitude) : null,
+                null, null, true, false, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,161 @@
+package com.lagab.eventz.app.event.geo;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.lagab.eventz.app.domain.event.catalog.EventCatalog;
+import com.lagab.eventz.app.domain.event.change.EventSnapshot;
+import com.lagab.eventz.app.domain.event.dto.EventSearchDTO;
+import com.lagab.eventz.app.domain.event.dto.EventSummaryDTO;
+import com.lagab.eventz.app.domain.event.geo.EventGeoIndex;
+import com.lagab.eventz.app.domain.event.mapper.AddressMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.EventMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapperImpl;
+import com.lagab.eventz.app.domain.event.model.Address;
+import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.repository.EventRepository;
+import com.lagab.eventz.app.domain.event.search.EventSearchIndex;
+import com.lagab.eventz.app.domain.event.service.EventSearchService;
+import com.lagab.eventz.app.domain.event.service.EventSummaryEnricher;
+import com.lagab.eventz.app.domain.event.specification.EventSpecifications;
+import com.lagab.eventz.app.domain.org.model.Organization;
+import com.lagab.eventz.app.domain.user.model.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ EventSearchService.class, EventSummaryEnricher.class, EventSearchIndex.class, EventGeoIndex.class, EventCatalog.class,
+        EventMapperImpl.class, AddressMapperImpl.class, TicketTypeMapperImpl.class })
+@DisplayName("Location search Integration Tests")
+class EventGeoSearchIntegrationTest {
+
+    private static final double PARIS_LATITUDE = 48.8566;
+    private static final double PARIS_LONGITUDE = 2.3522;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventGeoIndex eventGeoIndex;
+
+    @Autowired
+    private EventSearchService eventSearchService;
+
+    private User organizer;
+    private Organization organization;
+
+    @BeforeEach
+    void setUp() {
+        organizer = new User();
+        organizer.setFirstName("Test");
+        organizer.setLastName("Organizer");
+        organizer.setEmail("geo@example.com");
+        organizer.setPassword("password");
+        entityManager.persist(organizer);
+
+        organization = new Organization();
+        organization.setName("Geo Organization");
+        organization.setSlug("geo-organization");
+        organization.setEmail("geo@example.com");
+        entityManager.persist(organization);
+
+        persistEvent("Versailles", 48.8049, 2.1204, 1);
+        persistEvent("Eiffel Tower", 48.8584, 2.2945, 2);
+        persistEvent("Lyon", 45.7640, 4.8357, 3);
+        persistEvent("Saint-Denis", 48.9362, 2.3574, 4);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Database predicate should use true great-circle distances")
+    void databasePredicateShouldUseGreatCircleDistances() {
+        // ~4 km, ~9 km and ~18 km from Paris
+        List<String> within10 = names(eventRepository.findAll(EventSpecifications.isWithinRadius(PARIS_LATITUDE, PARIS_LONGITUDE, 10.0)));
+        List<String> within20 = names(eventRepository.findAll(EventSpecifications.isWithinRadius(PARIS_LATITUDE, PARIS_LONGITUDE, 20.0)));
+
+        assertThat(within10).containsExactlyInAnyOrder("Eiffel Tower", "Saint-Denis");
+        assertThat(within20).containsExactlyInAnyOrder("Eiffel Tower", "Saint-Denis", "Versailles");
+    }
+
+    @Test
+    @DisplayName("Nearby search should sort by distance when the index is ready")
+    void nearbySearchShouldSortByDistance() {
+        // Given
+        try (Stream<EventSnapshot> snapshots = eventRepository.streamAllSnapshots()) {
+            eventGeoIndex.rebuild(snapshots);
+        }
+        EventSearchDTO searchDTO = new EventSearchDTO(null, null, EventStatus.PUBLISHED, null, null, null, null,
+                PARIS_LATITUDE, PARIS_LONGITUDE, 20.0, null, null);
+
+        // When
+        Page<EventSummaryDTO> page = eventSearchService.searchEvents(searchDTO,
+                PageRequest.of(0, 10, Sort.by(EventSearchService.DISTANCE)));
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(EventSummaryDTO::name)
+                                     .containsExactly("Eiffel Tower", "Saint-Denis", "Versailles");
+    }
+
+    @Test
+    @DisplayName("Nearby search should fall back to the database before the index is built")
+    void nearbySearchShouldFallBackToDatabase() {
+        // Given
+        EventSearchDTO searchDTO = new EventSearchDTO(null, null, EventStatus.PUBLISHED, null, null, null, null,
+                PARIS_LATITUDE, PARIS_LONGITUDE, 20.0, null, null);
+
+        // When
+        Page<EventSummaryDTO> page = eventSearchService.searchEvents(searchDTO,
+                PageRequest.of(0, 10, Sort.by(EventSearchService.DISTANCE).and(Sort.by("startDate"))));
+
+        // Then
+        assertThat(page.getContent()).extracting(EventSummaryDTO::name)
+                                     .containsExactly("Versailles", "Eiffel Tower", "Saint-Denis");
+    }
+
+    private static List<String> names(List<Event> events) {
+        return events.stream().map(Event::getName).toList();
+    }
+
+    private void persistEvent(String name, double latitude, double longitude, int dayOffset) {
+        Event event = new Event();
+        event.setName(name);
+        event.setType(EventType.CONCERT);
+        event.setStatus(EventStatus.PUBLISHED);
+        event.setIsFree(false);
+        event.setIsPublic(true);
+        event.setStartDate(LocalDateTime.of(2030, 1, 1, 20, 0).plusDays(dayOffset));
+        event.setEndDate(LocalDateTime.of(2030, 1, 2, 20, 0).plusDays(dayOffset));
+        event.setOrganizer(organizer);
+        event.setOrganization(organization);
+        entityManager.persist(event);
+
+        Address address = new Address();
+        address.setCity(name);
+        address.setCountry("France");
+        address.setLatitude(BigDecimal.valueOf(latitude));
+        address.setLongitude(BigDecimal.valueOf(longitude));
+        address.setEvent(event);
+        entityManager.persist(address);
+    }
+}
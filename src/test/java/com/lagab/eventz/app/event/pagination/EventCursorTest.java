@@ -0,0 +1,77 @@
+package com.lagab.eventz.app.event.pagination;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import com.lagab.eventz.app.common.exception.ValidationException;
+import com.lagab.eventz.app.domain.event.dto.EventCursorRequest;
+import com.lagab.eventz.app.domain.event.pagination.EventCursor;
+import com.lagab.eventz.app.domain.event.pagination.EventSortField;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("EventCursor Tests")
+class EventCursorTest {
+
+    @Test
+    @DisplayName("Should round trip a date cursor")
+    void shouldRoundTripDateCursor() {
+        // Given
+        EventCursor cursor = new EventCursor(EventSortField.START_DATE, Sort.Direction.DESC, 42L,
+                LocalDateTime.of(2025, 6, 1, 20, 30));
+
+        // When
+        EventCursor decoded = EventCursor.decode(cursor.encode());
+
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("Should round trip a name containing the separator")
+    void shouldRoundTripNameWithSeparator() {
+        // Given
+        EventCursor cursor = new EventCursor(EventSortField.NAME, Sort.Direction.ASC, 7L, "Rock | Jazz");
+
+        // When
+        EventCursor decoded = EventCursor.decode(cursor.encode());
+
+        // Then
+        assertThat(decoded.value()).isEqualTo("Rock | Jazz");
+        assertThat(decoded.id()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Should reject a tampered cursor")
+    void shouldRejectTamperedCursor() {
+        assertThatThrownBy(() -> EventCursor.decode("not-a-cursor"))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    @DisplayName("Request should take its ordering from the cursor and clamp the size")
+    void requestShouldTakeOrderingFromCursor() {
+        // Given
+        String cursor = new EventCursor(EventSortField.NAME, Sort.Direction.DESC, 1L, "A").encode();
+
+        // When
+        EventCursorRequest request = EventCursorRequest.of(cursor, "startDate", Sort.Direction.ASC, 500);
+
+        // Then
+        assertThat(request.sortField()).isEqualTo(EventSortField.NAME);
+        assertThat(request.direction()).isEqualTo(Sort.Direction.DESC);
+        assertThat(request.size()).isEqualTo(EventCursorRequest.MAX_SIZE);
+    }
+
+    @Test
+    @DisplayName("Request should reject an unsupported sort")
+    void requestShouldRejectUnsupportedSort() {
+        assertThatThrownBy(() -> EventCursorRequest.of(null, "description", Sort.Direction.ASC, 20))
+                .isInstanceOf(ValidationException.class);
+    }
+}
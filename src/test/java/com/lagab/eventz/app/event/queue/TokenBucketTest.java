@@ -0,0 +1,140 @@
+package com.lagab.eventz.app.event.queue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.lagab.eventz.app.domain.event.queue.TokenBucket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TokenBucket Tests")
+class TokenBucketTest {
+
+    private final AtomicLong nanos = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    @DisplayName("Should start full and hold at most one second of tokens")
+    void shouldStartFull() {
+        // Given
+        TokenBucket bucket = new TokenBucket(10, nanos::get);
+
+        // When & Then
+        assertThat(bucket.tryAcquire(4)).isEqualTo(4);
+        assertThat(bucket.tryAcquire(20)).isEqualTo(6);
+        assertThat(bucket.tryAcquire(1)).isZero();
+
+        // When idle for a long time
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(5));
+
+        // Then
+        assertThat(bucket.tryAcquire(100)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should refill at the configured rate")
+    void shouldRefillAtRate() {
+        // Given an empty bucket
+        TokenBucket bucket = new TokenBucket(10, nanos::get);
+        bucket.tryAcquire(10);
+
+        // When
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+
+        // Then
+        assertThat(bucket.tryAcquire(10)).isEqualTo(2);
+
+        // When the remaining half token accrues
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+
+        // Then
+        assertThat(bucket.tryAcquire(10)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject rates that are not positive")
+    void shouldRejectInvalidRate() {
+        assertThatThrownBy(() -> new TokenBucket(0, nanos::get)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(new TokenBucket(1, nanos::get).tryAcquire(0)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refill a whole bucket over the configured period")
+    void shouldRefillOverPeriod() {
+        // Given a bucket of 60 tokens per minute, emptied
+        TokenBucket bucket = new TokenBucket(60, Duration.ofMinutes(1), nanos::get);
+        assertThat(bucket.tryAcquire(100)).isEqualTo(60);
+        assertThat(bucket.available()).isZero();
+        assertThat(bucket.nanosUntilAvailable(1)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(bucket.nanosUntilAvailable(60)).isEqualTo(TimeUnit.MINUTES.toNanos(1));
+
+        // When
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(15));
+
+        // Then
+        assertThat(bucket.available()).isEqualTo(15);
+        assertThat(bucket.nanosUntilAvailable(10)).isZero();
+        assertThat(bucket.capacity()).isEqualTo(60);
+    }
+
+    @Test
+    @DisplayName("Should charge tokens spent elsewhere, going into debt of one bucket at most")
+    void shouldChargeIntoDebt() {
+        // Given
+        TokenBucket bucket = new TokenBucket(10, nanos::get);
+
+        // When
+        bucket.charge(4);
+
+        // Then
+        assertThat(bucket.available()).isEqualTo(6);
+
+        // When charged far more than it holds
+        bucket.charge(1_000);
+
+        // Then the debt is paid back within one period
+        assertThat(bucket.tryAcquire(1)).isZero();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(bucket.tryAcquire(1)).isZero();
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(bucket.tryAcquire(10)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should never hand out more tokens than accrued under contention")
+    void shouldNeverOverGrantUnderContention() throws Exception {
+        // Given
+        TokenBucket bucket = new TokenBucket(1_000, nanos::get);
+        AtomicLong granted = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Callable<Void>> callers = IntStream.range(0, 5_000).<Callable<Void>>mapToObj(i -> () -> {
+            granted.addAndGet(bucket.tryAcquire(1));
+            if (i % 10 == 0) {
+                nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            return null;
+        }).toList();
+
+        // When
+        try {
+            for (Future<Void> caller : executor.invokeAll(callers)) {
+                caller.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then a full bucket plus one token per millisecond elapsed
+        assertThat(granted.get()).isLessThanOrEqualTo(1_000 + 500).isGreaterThan(1_000);
+    }
+}
@@ -0,0 +1,326 @@
+package com.lagab.eventz.app.event.queue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.lagab.eventz.app.domain.event.change.WaitingRoomSettingsChange;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.queue.QueueStatusDTO;
+import com.lagab.eventz.app.domain.event.exception.QueueAdmissionException;
+import com.lagab.eventz.app.domain.event.queue.WaitingRoom;
+import com.lagab.eventz.app.domain.event.repository.EventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("WaitingRoom Tests")
+class WaitingRoomTest {
+
+    private static final Instant NOW = Instant.parse("2030-06-01T12:00:00Z");
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicReference<Instant> now = new AtomicReference<>(NOW);
+    private EventRepository eventRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private EventProperties eventProperties;
+    private WaitingRoom waitingRoom;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository = mock(EventRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        eventProperties = new EventProperties();
+        eventProperties.getWaitingRoom().setSecret("test-secret");
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        };
+        waitingRoom = new WaitingRoom(eventRepository, eventProperties, meterRegistry, clock, nanos::get);
+    }
+
+    @Nested
+    @DisplayName("Admission")
+    class AdmissionTests {
+
+        @Test
+        @DisplayName("Should admit buyers in order at the configured rate")
+        void shouldAdmitInOrderAtRate() {
+            // Given
+            waitingRoom.configure(new WaitingRoomSettingsChange(1L, true, 2));
+            List<QueueStatusDTO> joined = IntStream.range(0, 5).mapToObj(i -> waitingRoom.join(1L, (long) i)).toList();
+
+            // Then the first second of tokens admits the first two buyers
+            assertThat(joined).extracting(QueueStatusDTO::position).containsExactly(1L, 2L, 3L, 4L, 5L);
+            assertThat(joined).extracting(QueueStatusDTO::admitted).containsExactly(true, true, false, false, false);
+            QueueStatusDTO last = waitingRoom.status(1L, joined.get(4).token(), 4L);
+            assertThat(last.ahead()).isEqualTo(3);
+            assertThat(last.estimatedWaitSeconds()).isEqualTo(2);
+            assertThatNoException().isThrownBy(() -> waitingRoom.claim(1L, joined.get(1).token(), 1L));
+            assertThatThrownBy(() -> waitingRoom.claim(1L, joined.get(2).token(), 2L))
+                    .isInstanceOf(QueueAdmissionException.class);
+
+            // When a second goes by
+            nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+            // Then
+            assertThat(waitingRoom.status(1L, joined.get(3).token(), 3L).admitted()).isTrue();
+            assertThat(waitingRoom.status(1L, joined.get(4).token(), 4L).ahead()).isEqualTo(1);
+            assertThat(meterRegistry.get("waiting.room.admissions").tag("event", "1").counter().count()).isEqualTo(4);
+            assertThat(meterRegistry.get("waiting.room.waiting").tag("event", "1").gauge().value()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should let everyone through for events without a waiting room")
+        void shouldLetEveryoneThroughWithoutWaitingRoom() {
+            // When
+            QueueStatusDTO status = waitingRoom.join(2L, 1L);
+
+            // Then
+            assertThat(status.admitted()).isTrue();
+            assertThat(status.token()).isNull();
+            assertThat(waitingRoom.claim(2L, null, 1L)).isNull();
+            assertThat(waitingRoom.claim(null, null, 1L)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should keep buyers in place when the rate changes")
+        void shouldKeepBuyersWhenRateChanges() {
+            // Given
+            waitingRoom.configure(new WaitingRoomSettingsChange(1L, true, 1));
+            String first = waitingRoom.join(1L, 1L).token();
+            String second = waitingRoom.join(1L, 2L).token();
+
+            // When the rate goes up and a tenth of a second goes by, enough for one more buyer at the new rate
+            waitingRoom.configure(new WaitingRoomSettingsChange(1L, true, 10));
+            nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+            // Then
+            assertThatNoException().isThrownBy(() -> waitingRoom.claim(1L, first, 1L));
+            assertThatNoException().isThrownBy(() -> waitingRoom.claim(1L, second, 2L));
+        }
+
+        @Test
+        @DisplayName("Should give concurrent buyers distinct places")
+        void shouldGiveDistinctPlacesUnderContention() throws Exception {
+            // Given
+            waitingRoom.configure(new WaitingRoomSettingsChange(1L, true, 100));
+            Set<Long> positions = ConcurrentHashMap.newKeySet();
+            AtomicLong admitted = new AtomicLong();
+            ExecutorService executor = Executors.newFixedThreadPool(16);
+            List<Callable<Void>> buyers = IntStream.range(0, 2_000).<Callable<Void>>mapToObj(i -> () -> {
+                QueueStatusDTO status = waitingRoom.join(1L, (long) i);
+                positions.add(status.position());
+                if (waitingRoom.status(1L, status.token(), (long) i).admitted()) {
+                    admitted.incrementAndGet();
+                }
+                return null;
+            }).toList();
+
+            // When
+            try {
+                for (Future<Void> buyer : executor.invokeAll(buyers)) {
+                    buyer.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            // Then only the first second of tokens went out, to the head of the queue
+            assertThat(positions).hasSize(2_000);
+            assertThat(admitted.get()).isEqualTo(100);
+            assertThat(meterRegistry.get("waiting.room.admissions").counter().count()).isEqualTo(100);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tokens")
+    class TokenTests {
+
+        @Test
+        @DisplayName("Should reject tampered tokens and tokens of other events")
+        void shouldRejectForgedTokens() {
+            // Given
+            waitingRoom.configure(new WaitingRoomSettingsChange(1L, true, 1));
+            waitingRoom.configure(new WaitingRoomSettingsChange(2L, true, 1));
+            String token = waitingRoom.join(1L, 1L).token();
+            String otherEvent = waitingRoom.join(2L, 1L).token();
+
+            // When & Then
+            assertThatThrownBy(() -> waitingRoom.claim(1L, "x" + token, 1L)).isInstanceOf(QueueAdmissionException.class);
+            assertThatThrownBy(() -> waitingRoom.claim(1L, otherEvent, 1L)).isInstanceOf(QueueAdmissionException.class);
+            assertThatThrownBy(() -> waitingRoom.claim(1L, null, 1L)).isInstanceOf(QueueAdmissionException.class);
+            assertThatThrownBy(() -> waitingRoom.status(1L, "not-a-token", 1L)).isInstanceOf(QueueAdmissionException.class);
+            assertThat(meterRegistry.get("waiting.room.rejections").tags("event", "1", "reason", "invalid").counter().count())
+                    .isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should only serve the user who joined")
+        void shouldRejectTokensOfOtherUsers() {
+            // Given
+            waitingRoom.configure(new WaitingRoomSettingsChange(1L, true, 1));
+            String token = waitingRoom.join(1L, 1L).token();
+
+            // When & Then
+            assertThatThrownBy(() -> waitingRoom.claim(1L, token, 2L)).isInstanceOf(QueueAdmissionException.class);
+            assertThatThrownBy(() -> waitingRoom.status(1L, token, 2L)).isInstanceOf(QueueAdmissionException.class);
+            assertThatNoException().isThrownBy(() -> waitingRoom.claim(1L, token, 1L));
+        }
+
+        @Test
+        @DisplayName("Should keep the place of a user joining again")
+        void shouldKeepPlaceOnRejoin() {
+            // Given
+            waitingRoom.configure(new WaitingRoomSettingsChange(1L, true, 1));
+            QueueStatusDTO first = waitingRoom.join(1L, 1L);
+
+            // When
+            QueueStatusDTO again = waitingRoom.join(1L, 1L);
+
+            // Then
+            assertThat(again.position()).isEqualTo(first.position());
+            assertThat(waitingRoom.join(1L, 2L).position()).isEqualTo(2L);
+            assertThat(meterRegistry.get("waiting.room.joins").tag("event", "1").counter().count()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should serve a single reservation per place, unless it is given back")
+        void shouldUseTokenOnce() {
+            // Given
+            waitingRoom.configure(new WaitingRoomSettingsChange(1L, true, 10));
+            String token = waitingRoom.join(1L, 1L).token();
+
+            // When a failed reservation gives its place back
+            waitingRoom.release(waitingRoom.claim(1L, token, 1L));
+
+            // Then the place serves the next reservation, and only that one
+            assertThat(waitingRoom.claim(1L, token, 1L)).isNotNull();
+            assertThatThrownBy(() -> waitingRoom.claim(1L, token, 1L)).isInstanceOf(QueueAdmissionException.class);
+            assertThat(meterRegistry.get("waiting.room.rejections").tags("event", "1", "reason", "used").counter().count())
+                    .isEqualTo(1);
+
+            // When the user joins again
+            QueueStatusDTO again = waitingRoom.join(1L, 1L);
+
+            // Then with a place of its own at the back of the queue
+            assertThat(again.position()).isEqualTo(2L);
+            assertThat(waitingRoom.claim(1L, again.token(), 1L)).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should reject tokens of a queue that was reset")
+        void shouldRejectTokensOfResetQueue() {
+            // Given
+            waitingRoom.configure(new WaitingRoomSettingsChange(1L, true, 1));
+            String token = waitingRoom.join(1L, 1L).token();
+
+            // When
+            waitingRoom.configure(new WaitingRoomSettingsChange(1L, false, null));
+            waitingRoom.configure(new WaitingRoomSettingsChange(1L, true, 1));
+
+            // Then
+            assertThatThrownBy(() -> waitingRoom.claim(1L, token, 1L)).isInstanceOf(QueueAdmissionException.class);
+        }
+
+        @Test
+        @DisplayName("Should reject expired tokens")
+        void shouldRejectExpiredTokens() {
+            // Given
+            waitingRoom.configure(new WaitingRoomSettingsChange(1L, true, 1));
+            String token = waitingRoom.join(1L, 1L).token();
+
+            // When the token outlives its time to live
+            now.set(NOW.plus(eventProperties.getWaitingRoom().getTokenTtl()).plusSeconds(1));
+
+            // Then
+            assertThatThrownBy(() -> waitingRoom.claim(1L, token, 1L)).isInstanceOf(QueueAdmissionException.class);
+            assertThat(meterRegistry.get("waiting.room.rejections").tags("event", "1", "reason", "expired").counter().count())
+                    .isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Settings")
+    class SettingsTests {
+
+        @Test
+        @DisplayName("Should open and close queues from the saved settings")
+        void shouldRefreshFromSavedSettings() {
+            // Given
+            waitingRoom.configure(new WaitingRoomSettingsChange(1L, true, 1));
+            when(eventRepository.findWaitingRoomSettings()).thenReturn(List.of(new WaitingRoomSettingsChange(2L, true, null)));
+
+            // When
+            waitingRoom.refresh();
+
+            // Then
+            assertThat(waitingRoom.isEnabled(1L)).isFalse();
+            assertThat(waitingRoom.isEnabled(2L)).isTrue();
+            assertThat(meterRegistry.find("waiting.room.joins").tag("event", "1").counter()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should not admit extra buyers when a refresh keeps or changes the rate")
+        void shouldNotAdmitExtraBuyersOnRefresh() {
+            // Given the first second of tokens spent on the first two buyers
+            waitingRoom.configure(new WaitingRoomSettingsChange(1L, true, 2));
+            List<QueueStatusDTO> joined = IntStream.range(0, 5).mapToObj(i -> waitingRoom.join(1L, (long) i)).toList();
+            when(eventRepository.findWaitingRoomSettings()).thenReturn(List.of(new WaitingRoomSettingsChange(1L, true, 2)));
+
+            // When the settings are refreshed with the same rate
+            waitingRoom.refresh();
+            waitingRoom.refresh();
+
+            // Then
+            assertThat(waitingRoom.status(1L, joined.get(2).token(), 2L).admitted()).isFalse();
+
+            // When the rate goes up
+            waitingRoom.configure(new WaitingRoomSettingsChange(1L, true, 3));
+
+            // Then nobody is let through before the new rate refills the bucket
+            assertThat(waitingRoom.status(1L, joined.get(2).token(), 2L).admitted()).isFalse();
+            assertThat(meterRegistry.get("waiting.room.admissions").tag("event", "1").counter().count()).isEqualTo(2);
+
+            // When a second goes by
+            nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+            // Then
+            assertThat(waitingRoom.status(1L, joined.get(4).token(), 4L).admitted()).isTrue();
+        }
+    }
+}
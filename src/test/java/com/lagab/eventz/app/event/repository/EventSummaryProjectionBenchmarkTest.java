@@ -0,0 +1,149 @@
+package com.lagab.eventz.app.event.repository;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.lagab.eventz.app.domain.event.dto.EventSummaryDTO;
+import com.lagab.eventz.app.domain.event.mapper.AddressMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.EventMapper;
+import com.lagab.eventz.app.domain.event.mapper.EventMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapperImpl;
+import com.lagab.eventz.app.domain.event.model.Address;
+import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.repository.EventRepository;
+import com.lagab.eventz.app.domain.event.specification.EventSpecifications;
+import com.lagab.eventz.app.domain.org.model.Organization;
+import com.lagab.eventz.app.domain.user.model.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency and allocations per page of summaries, entity hydration and mapping against the constructor projection.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Import({ EventMapperImpl.class, AddressMapperImpl.class, TicketTypeMapperImpl.class })
+@DisplayName("Event summary projection Benchmark")
+class EventSummaryProjectionBenchmarkTest {
+
+    private static final int EVENTS = 5_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int WARMUP_PAGES = 200;
+    private static final int MEASURED_PAGES = 500;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventMapper eventMapper;
+
+    @Test
+    void summaryPages() {
+        seed();
+
+        Measure entities = measure(page -> eventRepository.findAll(EventSpecifications.publicEvents(), page)
+                                                          .map(eventMapper::toSummaryDto));
+        Measure projection = measure(page -> eventRepository.findSummaries(EventSpecifications.publicEvents(), page));
+
+        System.out.printf("%d rows per page: entities %.1f us/page %,d bytes/page, projection %.1f us/page %,d bytes/page%n",
+                PAGE_SIZE, entities.micros(), entities.bytes(), projection.micros(), projection.bytes());
+
+        assertThat(projection.bytes()).isLessThan(entities.bytes());
+    }
+
+    private Measure measure(PageQuery query) {
+        for (int i = 0; i < WARMUP_PAGES; i++) {
+            run(query, i);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long bytesStart = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_PAGES; i++) {
+            run(query, i);
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = threads.getCurrentThreadAllocatedBytes() - bytesStart;
+        return new Measure(nanos / 1_000.0 / MEASURED_PAGES, bytes / MEASURED_PAGES);
+    }
+
+    private void run(PageQuery query, int iteration) {
+        Pageable page = PageRequest.of(iteration % (EVENTS / PAGE_SIZE), PAGE_SIZE, Sort.by("startDate", "id"));
+        assertThat(query.fetch(page).getContent()).hasSize(PAGE_SIZE);
+        // Each request starts with an empty persistence context
+        entityManager.clear();
+    }
+
+    private void seed() {
+        User organizer = new User();
+        organizer.setFirstName("Bench");
+        organizer.setLastName("Organizer");
+        organizer.setEmail("bench@example.com");
+        organizer.setPassword("password");
+        entityManager.persist(organizer);
+
+        Organization organization = new Organization();
+        organization.setName("Bench Organization");
+        organization.setSlug("bench-organization");
+        organization.setEmail("bench@example.com");
+        entityManager.persist(organization);
+
+        String description = "x".repeat(2_000);
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = new Event();
+            event.setName("Event " + i);
+            event.setSummary("Summary of event " + i);
+            event.setDescription(description);
+            event.setType(EventType.CONCERT);
+            event.setStatus(EventStatus.PUBLISHED);
+            event.setIsFree(false);
+            event.setIsPublic(true);
+            event.setStartDate(LocalDateTime.of(2030, 1, 1, 20, 0).plusHours(i));
+            event.setEndDate(LocalDateTime.of(2030, 1, 1, 23, 0).plusHours(i));
+            event.setOrganizer(organizer);
+            event.setOrganization(organization);
+            entityManager.persist(event);
+
+            Address address = new Address();
+            address.setCity("Paris");
+            address.setCountry("France");
+            address.setEvent(event);
+            entityManager.persist(address);
+
+            if (i % 500 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                organizer = entityManager.find(User.class, organizer.getId());
+                organization = entityManager.find(Organization.class, organization.getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @FunctionalInterface
+    private interface PageQuery {
+        Page<EventSummaryDTO> fetch(Pageable pageable);
+    }
+
+    private record Measure(double micros, long bytes) {
+    }
+}
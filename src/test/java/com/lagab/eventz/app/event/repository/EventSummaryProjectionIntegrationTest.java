@@ -0,0 +1,138 @@
+package com.lagab.eventz.app.event.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.lagab.eventz.app.domain.event.dto.EventSearchDTO;
+import com.lagab.eventz.app.domain.event.dto.EventSummaryDTO;
+import com.lagab.eventz.app.domain.event.mapper.AddressMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.EventMapper;
+import com.lagab.eventz.app.domain.event.mapper.EventMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapperImpl;
+import com.lagab.eventz.app.domain.event.model.Address;
+import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.repository.EventRepository;
+import com.lagab.eventz.app.domain.event.repository.EventRepositoryCustom.KeyedSummary;
+import com.lagab.eventz.app.domain.event.specification.EventSpecifications;
+import com.lagab.eventz.app.domain.org.model.Organization;
+import com.lagab.eventz.app.domain.user.model.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ EventMapperImpl.class, AddressMapperImpl.class, TicketTypeMapperImpl.class })
+@DisplayName("Event summary projection Integration Tests")
+class EventSummaryProjectionIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventMapper eventMapper;
+
+    @BeforeEach
+    void setUp() {
+        User organizer = new User();
+        organizer.setFirstName("Test");
+        organizer.setLastName("Organizer");
+        organizer.setEmail("projection@example.com");
+        organizer.setPassword("password");
+        entityManager.persist(organizer);
+
+        Organization organization = new Organization();
+        organization.setName("Projection Organization");
+        organization.setSlug("projection-organization");
+        organization.setEmail("projection@example.com");
+        entityManager.persist(organization);
+
+        for (int i = 0; i < 12; i++) {
+            Event event = new Event();
+            event.setName("Event " + i);
+            event.setSummary("Summary " + i);
+            event.setDescription("Description " + i);
+            event.setType(i % 2 == 0 ? EventType.CONCERT : EventType.CONFERENCE);
+            event.setStatus(EventStatus.PUBLISHED);
+            event.setIsFree(i % 3 == 0);
+            event.setIsPublic(true);
+            event.setStartDate(LocalDateTime.of(2030, 1, 1, 20, 0).plusDays(i % 4));
+            event.setEndDate(LocalDateTime.of(2030, 1, 2, 20, 0).plusDays(i % 4));
+            event.setOrganizer(organizer);
+            event.setOrganization(organization);
+            entityManager.persist(event);
+
+            // Some events have no address: the projection must keep them
+            if (i % 4 != 3) {
+                Address address = new Address();
+                address.setCity(i % 2 == 0 ? "Paris" : "Lyon");
+                address.setCountry("France");
+                address.setEvent(event);
+                entityManager.persist(address);
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Projection should return the same summaries as the entity path")
+    void projectionShouldMatchEntityMapping() {
+        Pageable pageable = PageRequest.of(1, 5, Sort.by("startDate", "id"));
+
+        Page<EventSummaryDTO> projected = eventRepository.findSummaries(EventSpecifications.publicEvents(), pageable);
+        entityManager.clear();
+        Page<EventSummaryDTO> mapped = eventRepository.findAll(EventSpecifications.publicEvents(), pageable)
+                                                      .map(eventMapper::toSummaryDto);
+
+        assertThat(projected.getTotalElements()).isEqualTo(12);
+        assertThat(projected.getContent()).hasSize(5).isEqualTo(mapped.getContent());
+    }
+
+    @Test
+    @DisplayName("Projection should apply search specifications and leave the persistence context empty")
+    void projectionShouldApplySpecificationsWithoutManagingEntities() {
+        EventSearchDTO searchDTO = new EventSearchDTO(null, EventType.CONCERT, EventStatus.PUBLISHED, "paris", null, null,
+                null, null, null, null, null, null);
+
+        Page<EventSummaryDTO> page = eventRepository.findSummaries(EventSpecifications.withCriteria(searchDTO),
+                PageRequest.of(0, 20, Sort.by("name")));
+
+        assertThat(page.getContent()).extracting(EventSummaryDTO::city).containsOnly("Paris");
+        assertThat(page.getContent()).extracting(EventSummaryDTO::type).containsOnly(EventType.CONCERT);
+        assertThat(page.getContent()).extracting(EventSummaryDTO::availableTickets).containsOnlyNulls();
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Keyed projection should return the sort key of each row in order")
+    void keyedProjectionShouldReturnSortKeys() {
+        Specification<Event> spec = EventSpecifications.publicEvents();
+
+        List<KeyedSummary> rows = eventRepository.findKeyedSummaries(spec,
+                Sort.by(Sort.Direction.DESC, "startDate").and(Sort.by(Sort.Direction.DESC, "id")), "startDate", 5);
+
+        assertThat(rows).hasSize(5);
+        assertThat(rows).allSatisfy(row -> assertThat(row.key()).isEqualTo(row.summary().startDate()));
+        assertThat(rows).extracting(row -> row.summary().startDate())
+                        .isSortedAccordingTo((first, second) -> second.compareTo(first));
+    }
+}
@@ -0,0 +1,119 @@
+package com.lagab.eventz.app.event.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.org.model.Organization;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+import com.lagab.eventz.app.domain.user.model.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@DisplayName("Ticket type sort order Integration Tests")
+class TicketTypeSortOrderIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TicketTypeRepository ticketTypeRepository;
+
+    private Event event;
+    private Event otherEvent;
+
+    @BeforeEach
+    void setUp() {
+        User organizer = new User();
+        organizer.setFirstName("Test");
+        organizer.setLastName("Organizer");
+        organizer.setEmail("sort-order@example.com");
+        organizer.setPassword("password");
+        entityManager.persist(organizer);
+
+        Organization organization = new Organization();
+        organization.setName("Sort Order Organization");
+        organization.setSlug("sort-order-organization");
+        organization.setEmail("sort-order@example.com");
+        entityManager.persist(organization);
+
+        event = persistEvent("Festival", organizer, organization);
+        otherEvent = persistEvent("Other festival", organizer, organization);
+    }
+
+    @Test
+    @DisplayName("Should number the ticket types in the given order, across several batches")
+    void shouldUpdateSortOrdersAcrossBatches() {
+        // Given more ticket types than a batch holds
+        List<Long> ids = new ArrayList<>(IntStream.range(0, 250).mapToObj(i -> persistTicketType(event, i)).toList());
+        entityManager.flush();
+
+        // When
+        int updated = ticketTypeRepository.updateSortOrders(event.getId(), ids.reversed());
+        entityManager.clear();
+
+        // Then
+        assertThat(updated).isEqualTo(250);
+        assertThat(ticketTypeRepository.findByEventIdOrderBySortOrderAscIdAsc(event.getId()))
+                .extracting(TicketType::getId)
+                .containsExactlyElementsOf(ids.reversed());
+    }
+
+    @Test
+    @DisplayName("Should leave the ticket types of other events alone and not count them")
+    void shouldSkipTicketTypesOfOtherEvents() {
+        // Given
+        Long own = persistTicketType(event, 5);
+        Long foreign = persistTicketType(otherEvent, 5);
+        entityManager.flush();
+
+        // When
+        int updated = ticketTypeRepository.updateSortOrders(event.getId(), List.of(foreign, own));
+        entityManager.clear();
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(entityManager.find(TicketType.class, own).getSortOrder()).isEqualTo(2);
+        assertThat(entityManager.find(TicketType.class, foreign).getSortOrder()).isEqualTo(5);
+    }
+
+    private Event persistEvent(String name, User organizer, Organization organization) {
+        Event persisted = new Event();
+        persisted.setName(name);
+        persisted.setType(EventType.CONCERT);
+        persisted.setStatus(EventStatus.PUBLISHED);
+        persisted.setIsFree(false);
+        persisted.setIsPublic(true);
+        persisted.setStartDate(LocalDateTime.of(2030, 1, 1, 20, 0));
+        persisted.setEndDate(LocalDateTime.of(2030, 1, 2, 20, 0));
+        persisted.setOrganizer(organizer);
+        persisted.setOrganization(organization);
+        return entityManager.persist(persisted);
+    }
+
+    private Long persistTicketType(Event owner, int sortOrder) {
+        TicketType ticketType = new TicketType();
+        ticketType.setName("Ticket " + sortOrder);
+        ticketType.setPrice(BigDecimal.TEN);
+        ticketType.setFee(BigDecimal.ZERO);
+        ticketType.setQuantityAvailable(100);
+        ticketType.setQuantitySold(0);
+        ticketType.setSortOrder(sortOrder);
+        ticketType.setEvent(owner);
+        return entityManager.persist(ticketType).getId();
+    }
+}
@@ -0,0 +1,97 @@
+package com.lagab.eventz.app.event.reservation;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.lagab.eventz.app.domain.event.reservation.HashedTimingWheel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HashedTimingWheel Tests")
+class HashedTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    private HashedTimingWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        // 100 ms ticks, 8 slots: a turn is 800 ms
+        wheel = new HashedTimingWheel<>(100, 8, START);
+    }
+
+    @Test
+    @DisplayName("Should expire keys once their deadline tick is reached")
+    void shouldExpireKeysAtTheirDeadline() {
+        // Given
+        wheel.schedule("a", START + 250);
+        wheel.schedule("b", START + 300);
+
+        // Then
+        assertThat(wheel.advance(START + 200)).isEmpty();
+        assertThat(wheel.advance(START + 300)).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep keys more than a turn away until their turn")
+    void shouldKeepKeysOfLaterTurns() {
+        // Given keys sharing a slot, one and three turns away
+        wheel.schedule("near", START + 300);
+        wheel.schedule("far", START + 300 + 2 * 800);
+
+        // Then
+        assertThat(wheel.advance(START + 300)).containsExactly("near");
+        assertThat(wheel.advance(START + 1_100)).isEmpty();
+        assertThat(wheel.advance(START + 1_900)).containsExactly("far");
+    }
+
+    @Test
+    @DisplayName("Should catch up after a pause longer than a turn")
+    void shouldCatchUpAfterLongPause() {
+        // Given
+        IntStream.range(0, 20).forEach(i -> wheel.schedule("k" + i, START + i * 100L));
+
+        // When
+        List<String> expired = wheel.advance(START + 10_000);
+
+        // Then
+        assertThat(expired).hasSize(20);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should forget cancelled keys and move rescheduled ones")
+    void shouldCancelAndReschedule() {
+        // Given
+        wheel.schedule("cancelled", START + 100);
+        wheel.schedule("moved", START + 100);
+        wheel.schedule("kept", START + 100);
+
+        // When
+        assertThat(wheel.cancel("cancelled")).isTrue();
+        assertThat(wheel.cancel("unknown")).isFalse();
+        wheel.schedule("moved", START + 500);
+
+        // Then
+        assertThat(wheel.advance(START + 100)).containsExactly("kept");
+        assertThat(wheel.advance(START + 500)).containsExactly("moved");
+    }
+
+    @Test
+    @DisplayName("Should expire past deadlines on the next advance")
+    void shouldExpirePastDeadlines() {
+        // Given
+        wheel.advance(START + 1_000);
+
+        // When
+        wheel.schedule("late", START);
+
+        // Then
+        assertThat(wheel.advance(START + 1_100)).containsExactly("late");
+    }
+}
@@ -0,0 +1,158 @@
+package com.lagab.eventz.app.event.reservation;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketHoldRequest;
+import com.lagab.eventz.app.domain.event.exception.TicketsSoldOutException;
+import com.lagab.eventz.app.domain.event.mapper.CapacityPoolMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapperImpl;
+import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.reservation.TicketHoldCoalescer;
+import com.lagab.eventz.app.domain.event.service.CapacityPoolService;
+import com.lagab.eventz.app.domain.event.service.SalesStatsService;
+import com.lagab.eventz.app.domain.event.service.TicketHoldService;
+import com.lagab.eventz.app.domain.org.model.Organization;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+import com.lagab.eventz.app.domain.user.model.User;
+
+import jakarta.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Holds contending for one ticket type row, each in its own transaction or grouped by the coalescer. Reports
+ * throughput and proves both paths hold exactly the capacity. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ TicketHoldService.class, SalesStatsService.class, CapacityPoolService.class, TicketTypeMapperImpl.class, CapacityPoolMapperImpl.class })
+@DisplayName("Ticket holds coalescing Benchmark")
+class TicketHoldCoalescerBenchmarkTest {
+
+    private static final int CAPACITY = 5_000;
+    private static final int BUYERS = 6_000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private TicketHoldService ticketHoldService;
+
+    @Autowired
+    private EventProperties eventProperties;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @ParameterizedTest(name = "coalesced: {0}")
+    @ValueSource(booleans = { true, false })
+    void contendedHolds(boolean coalesce) throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long ticketTypeId = transaction.execute(status -> seed(coalesce));
+        EventProperties properties = new EventProperties();
+        properties.getReservation().setCoalesce(coalesce);
+        properties.getReservation().setCoalesceWindow(eventProperties.getReservation().getCoalesceWindow());
+        properties.getReservation().setCoalesceMaxBatch(eventProperties.getReservation().getCoalesceMaxBatch());
+        TicketHoldCoalescer coalescer = new TicketHoldCoalescer(ticketHoldService, properties);
+
+        AtomicInteger held = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Void>> buyers = IntStream.range(0, BUYERS).<Callable<Void>>mapToObj(i -> () -> {
+            start.await();
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                coalescer.hold(ticketTypeId, new TicketHoldRequest(null, 1), now, now.plusMinutes(10));
+                held.incrementAndGet();
+            } catch (TicketsSoldOutException e) {
+                // Turned away
+            }
+            return null;
+        }).toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long elapsed;
+        try {
+            List<Future<Void>> futures = buyers.stream().map(executor::submit).toList();
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+            elapsed = System.nanoTime() - begin;
+        } finally {
+            executor.shutdown();
+            coalescer.shutdown();
+        }
+
+        int heldInDatabase = transaction.execute(status -> entityManager.find(TicketType.class, ticketTypeId).getQuantityHeld());
+        System.out.printf("%s: %,d holds on %d threads in %d ms, %,.0f holds/s, %d held%n",
+                coalesce ? "coalesced" : "one transaction per hold", BUYERS, THREADS, elapsed / 1_000_000,
+                BUYERS * 1e9 / elapsed, heldInDatabase);
+
+        assertThat(heldInDatabase).isEqualTo(held.get()).isEqualTo(CAPACITY);
+    }
+
+    private Long seed(boolean coalesce) {
+        String suffix = coalesce ? "coalesced" : "direct";
+        User organizer = new User();
+        organizer.setFirstName("Bench");
+        organizer.setLastName("Organizer");
+        organizer.setEmail("holds-" + suffix + "@example.com");
+        organizer.setPassword("password");
+        entityManager.persist(organizer);
+
+        Organization organization = new Organization();
+        organization.setName("Holds " + suffix);
+        organization.setSlug("holds-" + suffix);
+        organization.setEmail("holds-" + suffix + "@example.com");
+        entityManager.persist(organization);
+
+        Event event = new Event();
+        event.setName("Holds " + suffix);
+        event.setType(EventType.CONCERT);
+        event.setStatus(EventStatus.PUBLISHED);
+        event.setIsFree(false);
+        event.setIsPublic(true);
+        event.setStartDate(LocalDateTime.now().plusDays(30));
+        event.setEndDate(LocalDateTime.now().plusDays(31));
+        event.setOrganizer(organizer);
+        event.setOrganization(organization);
+        entityManager.persist(event);
+
+        TicketType ticketType = new TicketType();
+        ticketType.setName("Regular");
+        ticketType.setPrice(BigDecimal.TEN);
+        ticketType.setFee(BigDecimal.ZERO);
+        ticketType.setQuantityAvailable(CAPACITY);
+        ticketType.setQuantitySold(0);
+        ticketType.setEvent(event);
+        entityManager.persist(ticketType);
+        return ticketType.getId();
+    }
+}
@@ -0,0 +1,151 @@
+package com.lagab.eventz.app.event.reservation;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketHoldRequest;
+import com.lagab.eventz.app.domain.event.exception.TicketsSoldOutException;
+import com.lagab.eventz.app.domain.event.reservation.TicketHoldCoalescer;
+import com.lagab.eventz.app.domain.event.service.TicketHoldService;
+import com.lagab.eventz.app.domain.ticket.entity.TicketHold;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TicketHoldCoalescer Tests")
+class TicketHoldCoalescerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 10, 0);
+    private static final LocalDateTime EXPIRES_AT = NOW.plusMinutes(10);
+
+    private TicketHoldService ticketHoldService;
+    private EventProperties eventProperties;
+    private TicketHoldCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        ticketHoldService = mock(TicketHoldService.class);
+        eventProperties = new EventProperties();
+        eventProperties.getReservation().setCoalesceWindow(Duration.ofMillis(20));
+        eventProperties.getReservation().setCoalesceMaxBatch(4);
+        coalescer = new TicketHoldCoalescer(ticketHoldService, eventProperties);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        coalescer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should write a full batch at once and give each buyer their own outcome")
+    void shouldWriteFullBatch() {
+        // Given
+        TicketHold first = hold("first");
+        TicketHold second = hold("second");
+        TicketHold fourth = hold("fourth");
+        when(ticketHoldService.shareOutHolds(1L, List.of(request(1L, 1), request(2L, 2), request(3L, 3), request(4L, 1)), NOW,
+                EXPIRES_AT)).thenReturn(Arrays.asList(first, second, null, fourth));
+
+        // When
+        List<CompletableFuture<TicketHold>> holds = List.of(submit(1L, request(1L, 1)), submit(1L, request(2L, 2)),
+                submit(1L, request(3L, 3)), submit(1L, request(4L, 1)));
+
+        // Then
+        assertThat(holds.get(0)).succeedsWithin(Duration.ofSeconds(5)).isSameAs(first);
+        assertThat(holds.get(1)).succeedsWithin(Duration.ofSeconds(5)).isSameAs(second);
+        assertThat(holds.get(2)).failsWithin(Duration.ofSeconds(5))
+                                .withThrowableOfType(Exception.class)
+                                .withCauseInstanceOf(TicketsSoldOutException.class);
+        assertThat(holds.get(3)).succeedsWithin(Duration.ofSeconds(5)).isSameAs(fourth);
+    }
+
+    @Test
+    @DisplayName("Should write a partial batch at the end of its window, with the times of its first hold")
+    void shouldWritePartialBatchAfterWindow() {
+        // Given
+        when(ticketHoldService.shareOutHolds(1L, List.of(request(1L, 2), request(2L, 1)), NOW, EXPIRES_AT))
+                .thenReturn(List.of(hold("first"), hold("second")));
+
+        // When
+        CompletableFuture<TicketHold> first = submit(1L, request(1L, 2));
+        TicketHold second = coalescer.hold(1L, request(2L, 1), NOW.plusNanos(1_000), EXPIRES_AT.plusNanos(1_000));
+
+        // Then
+        assertThat(first).isCompleted();
+        assertThat(second.getId()).isEqualTo("second");
+    }
+
+    @Test
+    @DisplayName("Should keep the batches of each ticket type apart")
+    void shouldKeepTicketTypesApart() {
+        // Given
+        when(ticketHoldService.shareOutHolds(eq(1L), anyList(), any(), any())).thenReturn(List.of(hold("first")));
+        when(ticketHoldService.shareOutHolds(eq(2L), anyList(), any(), any())).thenReturn(Arrays.asList((TicketHold) null));
+
+        // When
+        CompletableFuture<TicketHold> first = submit(1L, request(1L, 1));
+
+        // Then
+        assertThatThrownBy(() -> coalescer.hold(2L, request(2L, 1), NOW, EXPIRES_AT)).isInstanceOf(TicketsSoldOutException.class);
+        assertThat(first).succeedsWithin(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Should fail every hold of a batch the database could not write")
+    void shouldFailBatchOnWriteError() {
+        // Given
+        when(ticketHoldService.shareOutHolds(eq(1L), anyList(), any(), any())).thenThrow(new IllegalStateException("connection lost"));
+
+        // When & Then
+        assertThatThrownBy(() -> coalescer.hold(1L, request(1L, 1), NOW, EXPIRES_AT)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should write holds one by one in the caller thread when disabled")
+    void shouldWriteDirectlyWhenDisabled() throws InterruptedException {
+        // Given
+        coalescer.shutdown();
+        eventProperties.getReservation().setCoalesce(false);
+        coalescer = new TicketHoldCoalescer(ticketHoldService, eventProperties);
+        when(ticketHoldService.createHold(1L, 2, 5L, null, null, NOW, EXPIRES_AT)).thenReturn(hold("direct"));
+
+        // When
+        TicketHold hold = coalescer.hold(1L, request(5L, 2), NOW, EXPIRES_AT);
+
+        // Then
+        assertThat(hold.getId()).isEqualTo("direct");
+        verify(ticketHoldService, never()).shareOutHolds(any(), anyList(), any(), any());
+    }
+
+    private CompletableFuture<TicketHold> submit(Long ticketTypeId, TicketHoldRequest request) {
+        return coalescer.submit(ticketTypeId, request, NOW, EXPIRES_AT);
+    }
+
+    private static TicketHoldRequest request(Long userId, int quantity) {
+        return new TicketHoldRequest(userId, quantity);
+    }
+
+    private static TicketHold hold(String id) {
+        TicketHold hold = new TicketHold();
+        hold.setId(id);
+        hold.setCreatedAt(NOW);
+        hold.setExpiresAt(EXPIRES_AT);
+        return hold;
+    }
+}
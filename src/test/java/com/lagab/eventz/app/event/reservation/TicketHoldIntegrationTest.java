@@ -0,0 +1,262 @@
+package com.lagab.eventz.app.event.reservation;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.lagab.eventz.app.common.exception.BusinessException;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketHoldDTO;
+import com.lagab.eventz.app.domain.event.dto.ticket.UpdateTicketTypeRequest;
+import com.lagab.eventz.app.domain.event.exception.TicketsSoldOutException;
+import com.lagab.eventz.app.domain.event.mapper.CapacityPoolMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapperImpl;
+import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.queue.WaitingRoom;
+import com.lagab.eventz.app.domain.event.repository.TicketHoldRepository;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.event.reservation.TicketHoldExpirer;
+import com.lagab.eventz.app.domain.event.reservation.TicketInventory;
+import com.lagab.eventz.app.domain.event.reservation.TicketReservationService;
+import com.lagab.eventz.app.domain.event.reservation.TicketHoldCoalescer;
+import com.lagab.eventz.app.domain.event.service.CapacityPoolService;
+import com.lagab.eventz.app.domain.event.service.SalesStatsService;
+import com.lagab.eventz.app.domain.event.service.TicketHoldService;
+import com.lagab.eventz.app.domain.event.service.TicketTypeService;
+import com.lagab.eventz.app.domain.org.model.Organization;
+import com.lagab.eventz.app.domain.ticket.entity.TicketHold;
+import com.lagab.eventz.app.domain.ticket.entity.TicketHoldStatus;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+import com.lagab.eventz.app.domain.user.model.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Writer threads of the coalescer cannot see the rows of the test transaction
+@DataJpaTest(properties = "app.events.reservation.coalesce=false")
+@Import({ TicketReservationService.class, TicketInventory.class, TicketHoldCoalescer.class, TicketTypeService.class, SalesStatsService.class,
+        TicketHoldService.class, TicketHoldExpirer.class, CapacityPoolService.class, TicketTypeMapperImpl.class,
+        CapacityPoolMapperImpl.class, WaitingRoom.class, SimpleMeterRegistry.class })
+@DisplayName("Ticket holds Tests")
+class TicketHoldIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TicketReservationService reservationService;
+
+    @Autowired
+    private TicketHoldService ticketHoldService;
+
+    @Autowired
+    private TicketHoldRepository ticketHoldRepository;
+
+    @Autowired
+    private TicketTypeRepository ticketTypeRepository;
+
+    @Autowired
+    private TicketInventory ticketInventory;
+
+    @Autowired
+    private TicketTypeService ticketTypeService;
+
+    @Autowired
+    private EventProperties eventProperties;
+
+    private Long buyerId;
+    private Long otherBuyerId;
+    private Long eventId;
+    private Long ticketTypeId;
+
+    @BeforeEach
+    void setUp() {
+        buyerId = persistUser("buyer@example.com");
+        otherBuyerId = persistUser("other@example.com");
+
+        Organization organization = new Organization();
+        organization.setName("Holds Organization");
+        organization.setSlug("holds-organization");
+        organization.setEmail("holds@example.com");
+        entityManager.persist(organization);
+
+        Event event = new Event();
+        event.setName("Concert");
+        event.setType(EventType.CONCERT);
+        event.setStatus(EventStatus.PUBLISHED);
+        event.setIsFree(false);
+        event.setIsPublic(true);
+        event.setStartDate(LocalDateTime.now().plusDays(30));
+        event.setEndDate(LocalDateTime.now().plusDays(31));
+        event.setOrganizer(entityManager.find(User.class, buyerId));
+        event.setOrganization(organization);
+        event.setTicketsRemaining(10);
+        entityManager.persist(event);
+
+        TicketType ticketType = new TicketType();
+        ticketType.setName("Regular");
+        ticketType.setPrice(BigDecimal.TEN);
+        ticketType.setFee(BigDecimal.ZERO);
+        ticketType.setQuantityAvailable(10);
+        ticketType.setQuantitySold(0);
+        ticketType.setMaxQuantity(10);
+        ticketType.setEvent(event);
+        entityManager.persist(ticketType);
+        entityManager.flush();
+
+        eventId = event.getId();
+        ticketTypeId = ticketType.getId();
+        ticketInventory.evict(ticketTypeId);
+    }
+
+    @Test
+    @DisplayName("Holds should take tickets off sale until confirmed into sales")
+    void holdsShouldBeConfirmedIntoSales() {
+        // When
+        TicketHoldDTO hold = reservationService.hold(ticketTypeId, 4, buyerId);
+
+        // Then
+        assertCounters(0, 4, 6);
+        assertThat(ticketTypeRepository.getAvailableQuantity(ticketTypeId)).contains(6);
+        assertThatThrownBy(() -> reservationService.reserve(ticketTypeId, 7)).isInstanceOf(TicketsSoldOutException.class);
+
+        // When
+        reservationService.confirmHold(hold.id(), buyerId);
+
+        // Then
+        assertCounters(4, 0, 6);
+        assertThat(status(hold.id())).isEqualTo(TicketHoldStatus.CONFIRMED);
+        assertThatThrownBy(() -> reservationService.confirmHold(hold.id(), buyerId)).isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("Only the owner should confirm or release a hold")
+    void onlyOwnerShouldUseHold() {
+        // Given
+        TicketHoldDTO hold = reservationService.hold(ticketTypeId, 2, buyerId);
+
+        // When / Then
+        assertThatThrownBy(() -> reservationService.confirmHold(hold.id(), otherBuyerId))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThat(reservationService.releaseHolds(List.of(hold.id()), otherBuyerId)).isZero();
+        assertCounters(0, 2, 8);
+    }
+
+    @Test
+    @DisplayName("Released holds should go back on sale in one batch")
+    void releasedHoldsShouldGoBackOnSale() {
+        // Given
+        TicketHoldDTO first = reservationService.hold(ticketTypeId, 3, buyerId);
+        TicketHoldDTO second = reservationService.hold(ticketTypeId, 2, buyerId);
+
+        // When
+        int released = reservationService.releaseHolds(List.of(first.id(), second.id(), "unknown"), buyerId);
+
+        // Then
+        assertThat(released).isEqualTo(2);
+        assertCounters(0, 0, 10);
+        assertThat(status(first.id())).isEqualTo(TicketHoldStatus.RELEASED);
+        assertThat(ticketInventory.remaining(ticketTypeId)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Expired holds should go back on sale, also after a restart")
+    void expiredHoldsShouldGoBackOnSale() {
+        // Given holds made before a restart, and the clock past their deadline
+        TicketHoldDTO expired = reservationService.hold(ticketTypeId, 3, buyerId);
+        TicketHoldDTO confirmed = reservationService.hold(ticketTypeId, 2, buyerId);
+        reservationService.confirmHold(confirmed.id(), buyerId);
+        entityManager.flush();
+        Clock later = Clock.offset(Clock.systemDefaultZone(), eventProperties.getHolds().getDuration().plus(Duration.ofMinutes(1)));
+        TicketHoldExpirer restarted = new TicketHoldExpirer(ticketHoldService, ticketHoldRepository, ticketInventory,
+                eventProperties, later);
+
+        // When
+        restarted.rebuild();
+        assertThat(restarted.pending()).isEqualTo(1);
+        restarted.tick();
+
+        // Then
+        assertThat(restarted.pending()).isZero();
+        assertCounters(2, 0, 8);
+        assertThat(status(expired.id())).isEqualTo(TicketHoldStatus.EXPIRED);
+        assertThat(status(confirmed.id())).isEqualTo(TicketHoldStatus.CONFIRMED);
+    }
+
+    @Test
+    @DisplayName("Editing a ticket type should keep the sales made since it was read")
+    void editShouldKeepConcurrentSales() {
+        // Given the ticket type read by the organizer, then a sale committed
+        entityManager.clear();
+        ticketTypeRepository.findById(ticketTypeId).orElseThrow();
+        assertThat(ticketTypeRepository.updateQuantitySold(ticketTypeId, 3)).isEqualTo(1);
+
+        // When
+        ticketTypeService.updateTicketType(ticketTypeId, rename("Early bird"));
+
+        // Then
+        assertCounters(3, 0, 7);
+        assertThat(entityManager.find(TicketType.class, ticketTypeId).getName()).isEqualTo("Early bird");
+    }
+
+    @Test
+    @DisplayName("Editing a ticket type while holds are open should keep them confirmable")
+    void editShouldKeepOpenHolds() {
+        // Given the ticket type read by the organizer, then a hold taken
+        entityManager.clear();
+        ticketTypeRepository.findById(ticketTypeId).orElseThrow();
+        TicketHoldDTO hold = reservationService.hold(ticketTypeId, 4, buyerId);
+
+        // When
+        ticketTypeService.updateTicketType(ticketTypeId, rename("Early bird"));
+        entityManager.flush();
+
+        // Then
+        assertCounters(0, 4, 6);
+        reservationService.confirmHold(hold.id(), buyerId);
+        assertCounters(4, 0, 6);
+    }
+
+    private void assertCounters(int sold, int held, int eventRemaining) {
+        entityManager.flush();
+        entityManager.clear();
+        TicketType ticketType = entityManager.find(TicketType.class, ticketTypeId);
+        assertThat(ticketType.getQuantitySold()).isEqualTo(sold);
+        assertThat(ticketType.getQuantityHeld()).isEqualTo(held);
+        assertThat(entityManager.find(Event.class, eventId).getTicketsRemaining()).isEqualTo(eventRemaining);
+    }
+
+    private static UpdateTicketTypeRequest rename(String name) {
+        return new UpdateTicketTypeRequest(name, null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    private TicketHoldStatus status(String holdId) {
+        entityManager.clear();
+        return entityManager.find(TicketHold.class, holdId).getStatus();
+    }
+
+    private Long persistUser(String email) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("Buyer");
+        user.setEmail(email);
+        user.setPassword("password");
+        entityManager.persist(user);
+        return user.getId();
+    }
+}
@@ -0,0 +1,170 @@
+package com.lagab.eventz.app.event.reservation;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.lagab.eventz.app.domain.event.exception.TicketsSoldOutException;
+import com.lagab.eventz.app.domain.event.mapper.CapacityPoolMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapperImpl;
+import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.queue.WaitingRoom;
+import com.lagab.eventz.app.domain.event.reservation.TicketHoldExpirer;
+import com.lagab.eventz.app.domain.event.reservation.TicketInventory;
+import com.lagab.eventz.app.domain.event.reservation.TicketReservationService;
+import com.lagab.eventz.app.domain.event.reservation.TicketHoldCoalescer;
+import com.lagab.eventz.app.domain.event.service.CapacityPoolService;
+import com.lagab.eventz.app.domain.event.service.SalesStatsService;
+import com.lagab.eventz.app.domain.event.service.TicketHoldService;
+import com.lagab.eventz.app.domain.event.service.TicketTypeService;
+import com.lagab.eventz.app.domain.org.model.Organization;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+import com.lagab.eventz.app.domain.user.model.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A drop: thousands of buyers released at once on one ticket type, through the reservation engine and straight to
+ * the conditional update. Reports throughput and proves the sold quantity never exceeds the capacity.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ TicketReservationService.class, TicketInventory.class, TicketHoldCoalescer.class, TicketTypeService.class, SalesStatsService.class,
+        TicketHoldService.class, TicketHoldExpirer.class, CapacityPoolService.class, TicketTypeMapperImpl.class,
+        CapacityPoolMapperImpl.class, WaitingRoom.class, SimpleMeterRegistry.class })
+@DisplayName("Ticket reservation Benchmark")
+class TicketReservationBenchmarkTest {
+
+    private static final int CAPACITY = 1_000;
+    private static final int BUYERS = 10_000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private TicketReservationService reservationService;
+
+    @Autowired
+    private TicketTypeService ticketTypeService;
+
+    @Autowired
+    private TicketInventory ticketInventory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @ParameterizedTest(name = "in-memory admission: {0}")
+    @ValueSource(booleans = { true, false })
+    void drop(boolean admission) throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long ticketTypeId = transaction.execute(status -> seed(admission));
+        ticketInventory.evict(ticketTypeId);
+
+        IntUnaryOperator purchase = admission
+                ? buyer -> reservationService.reserve(ticketTypeId, 1 + buyer % 2).quantity()
+                : buyer -> {
+                    ticketTypeService.updateQuantitySold(ticketTypeId, 1 + buyer % 2);
+                    return 1 + buyer % 2;
+                };
+
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger turnedAway = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Void>> buyers = IntStream.range(0, BUYERS).<Callable<Void>>mapToObj(i -> () -> {
+            start.await();
+            try {
+                sold.addAndGet(purchase.applyAsInt(i));
+            } catch (TicketsSoldOutException e) {
+                turnedAway.incrementAndGet();
+            }
+            return null;
+        }).toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long elapsed;
+        try {
+            List<Future<Void>> futures = buyers.stream().map(executor::submit).toList();
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+            elapsed = System.nanoTime() - begin;
+        } finally {
+            executor.shutdown();
+        }
+
+        int soldInDatabase = transaction.execute(status -> entityManager.find(TicketType.class, ticketTypeId).getQuantitySold());
+        System.out.printf("%s: %,d buyers on %d threads in %d ms, %,.0f requests/s, %d sold, %d turned away%n",
+                admission ? "reservation engine" : "conditional update only", BUYERS, THREADS, elapsed / 1_000_000,
+                BUYERS * 1e9 / elapsed, soldInDatabase, turnedAway.get());
+
+        assertThat(soldInDatabase).isEqualTo(sold.get()).isEqualTo(CAPACITY);
+    }
+
+    private Long seed(boolean admission) {
+        String suffix = admission ? "engine" : "update";
+        User organizer = new User();
+        organizer.setFirstName("Bench");
+        organizer.setLastName("Organizer");
+        organizer.setEmail("drop-" + suffix + "@example.com");
+        organizer.setPassword("password");
+        entityManager.persist(organizer);
+
+        Organization organization = new Organization();
+        organization.setName("Drop " + suffix);
+        organization.setSlug("drop-" + suffix);
+        organization.setEmail("drop-" + suffix + "@example.com");
+        entityManager.persist(organization);
+
+        Event event = new Event();
+        event.setName("Drop " + suffix);
+        event.setType(EventType.CONCERT);
+        event.setStatus(EventStatus.PUBLISHED);
+        event.setIsFree(false);
+        event.setIsPublic(true);
+        event.setStartDate(LocalDateTime.now().plusDays(30));
+        event.setEndDate(LocalDateTime.now().plusDays(31));
+        event.setOrganizer(organizer);
+        event.setOrganization(organization);
+        entityManager.persist(event);
+
+        TicketType ticketType = new TicketType();
+        ticketType.setName("Regular");
+        ticketType.setPrice(BigDecimal.TEN);
+        ticketType.setFee(BigDecimal.ZERO);
+        ticketType.setQuantityAvailable(CAPACITY);
+        ticketType.setQuantitySold(0);
+        ticketType.setEvent(event);
+        entityManager.persist(ticketType);
+        return ticketType.getId();
+    }
+}
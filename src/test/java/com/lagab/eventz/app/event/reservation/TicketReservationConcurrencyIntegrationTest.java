@@ -0,0 +1,261 @@
+package com.lagab.eventz.app.event.reservation;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.lagab.eventz.app.domain.event.exception.TicketsSoldOutException;
+import com.lagab.eventz.app.domain.event.mapper.CapacityPoolMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapperImpl;
+import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.queue.WaitingRoom;
+import com.lagab.eventz.app.domain.event.reservation.TicketHoldExpirer;
+import com.lagab.eventz.app.domain.event.reservation.TicketInventory;
+import com.lagab.eventz.app.domain.event.reservation.TicketReservationService;
+import com.lagab.eventz.app.domain.event.reservation.TicketHoldCoalescer;
+import com.lagab.eventz.app.domain.event.service.CapacityPoolService;
+import com.lagab.eventz.app.domain.event.service.SalesStatsService;
+import com.lagab.eventz.app.domain.event.service.TicketHoldService;
+import com.lagab.eventz.app.domain.event.service.TicketTypeService;
+import com.lagab.eventz.app.domain.org.model.Organization;
+import com.lagab.eventz.app.domain.ticket.entity.CapacityPool;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+import com.lagab.eventz.app.domain.user.model.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent buyers against the database, each sale in its own transaction and holds grouped by the coalescer, as in
+ * production.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ TicketReservationService.class, TicketInventory.class, TicketHoldCoalescer.class, TicketTypeService.class, SalesStatsService.class,
+        TicketHoldService.class, TicketHoldExpirer.class, CapacityPoolService.class, TicketTypeMapperImpl.class,
+        CapacityPoolMapperImpl.class, WaitingRoom.class, SimpleMeterRegistry.class })
+@DisplayName("Ticket reservation concurrency Tests")
+class TicketReservationConcurrencyIntegrationTest {
+
+    private static final int CAPACITY = 200;
+    private static final int BUYERS = 1_000;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private TicketReservationService reservationService;
+
+    @Autowired
+    private TicketTypeService ticketTypeService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Long organizerId;
+    private String organizationId;
+    private Long eventId;
+    private Long ticketTypeId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            User organizer = new User();
+            organizer.setFirstName("Test");
+            organizer.setLastName("Organizer");
+            organizer.setEmail("reservation@example.com");
+            organizer.setPassword("password");
+            entityManager.persist(organizer);
+
+            Organization organization = new Organization();
+            organization.setName("Reservation Organization");
+            organization.setSlug("reservation-organization");
+            organization.setEmail("reservation@example.com");
+            entityManager.persist(organization);
+
+            Event event = new Event();
+            event.setName("Drop");
+            event.setType(EventType.CONCERT);
+            event.setStatus(EventStatus.PUBLISHED);
+            event.setIsFree(false);
+            event.setIsPublic(true);
+            event.setStartDate(LocalDateTime.now().plusDays(30));
+            event.setEndDate(LocalDateTime.now().plusDays(31));
+            event.setOrganizer(organizer);
+            event.setOrganization(organization);
+            entityManager.persist(event);
+
+            TicketType ticketType = new TicketType();
+            ticketType.setName("Regular");
+            ticketType.setPrice(BigDecimal.TEN);
+            ticketType.setFee(BigDecimal.ZERO);
+            ticketType.setQuantityAvailable(CAPACITY);
+            ticketType.setQuantitySold(0);
+            ticketType.setMaxQuantity(4);
+            ticketType.setEvent(event);
+            entityManager.persist(ticketType);
+
+            organizerId = organizer.getId();
+            organizationId = organization.getId();
+            eventId = event.getId();
+            ticketTypeId = ticketType.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM TicketHold h WHERE h.ticketType.event.id = :id").setParameter("id", eventId).executeUpdate();
+            entityManager.createQuery("DELETE FROM TicketType tt WHERE tt.event.id = :id").setParameter("id", eventId).executeUpdate();
+            entityManager.createQuery("DELETE FROM CapacityPool p WHERE p.event.id = :id").setParameter("id", eventId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Event e WHERE e.id = :id").setParameter("id", eventId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Organization o WHERE o.id = :id").setParameter("id", organizationId).executeUpdate();
+            entityManager.createQuery("DELETE FROM User u WHERE u.id = :id").setParameter("id", organizerId).executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("Reservations should sell exactly the capacity")
+    void reservationsShouldSellExactlyTheCapacity() throws Exception {
+        // When
+        int sold = buy(buyer -> reservationService.reserve(ticketTypeId, 1 + buyer % 3).quantity());
+
+        // Then
+        assertThat(sold).isEqualTo(CAPACITY);
+        assertThat(soldInDatabase()).isEqualTo(CAPACITY);
+        assertThat(ticketsRemaining()).isZero();
+    }
+
+    @Test
+    @DisplayName("Coalesced holds should take exactly the capacity")
+    void holdsShouldTakeExactlyTheCapacity() throws Exception {
+        // When
+        int held = buy(buyer -> reservationService.hold(ticketTypeId, 1 + buyer % 3, null).quantity());
+
+        // Then
+        assertThat(held).isEqualTo(CAPACITY);
+        assertThat(heldInDatabase()).isEqualTo(CAPACITY);
+        assertThat(soldInEvent("SELECT SUM(h.quantity) FROM TicketHold h WHERE h.ticketType.event.id = :id")).isEqualTo(CAPACITY);
+        assertThat(ticketsRemaining()).isZero();
+    }
+
+    @Test
+    @DisplayName("Direct sales should never oversell either")
+    void directSalesShouldNeverOversell() throws Exception {
+        // When
+        int sold = buy(buyer -> {
+            ticketTypeService.updateQuantitySold(ticketTypeId, 1);
+            return 1;
+        });
+
+        // Then
+        assertThat(sold).isEqualTo(CAPACITY);
+        assertThat(soldInDatabase()).isEqualTo(CAPACITY);
+        assertThat(ticketsRemaining()).isZero();
+    }
+
+    @Test
+    @DisplayName("Ticket types sharing a pool should sell exactly the pool capacity")
+    void sharedPoolShouldSellExactlyItsCapacity() throws Exception {
+        // Given two ticket types of 150 drawing from one pool of 200
+        Long otherTicketTypeId = transaction.execute(status -> {
+            Event event = entityManager.find(Event.class, eventId);
+            CapacityPool pool = new CapacityPool();
+            pool.setEvent(event);
+            pool.setName("Venue");
+            pool.setCapacity(CAPACITY);
+            entityManager.persist(pool);
+
+            TicketType regular = entityManager.find(TicketType.class, ticketTypeId);
+            regular.setQuantityAvailable(150);
+            regular.setCapacityPool(pool);
+
+            TicketType other = new TicketType();
+            other.setName("Early bird");
+            other.setPrice(BigDecimal.ONE);
+            other.setFee(BigDecimal.ZERO);
+            other.setQuantityAvailable(150);
+            other.setQuantitySold(0);
+            other.setMaxQuantity(4);
+            other.setEvent(event);
+            other.setCapacityPool(pool);
+            entityManager.persist(other);
+            return other.getId();
+        });
+
+        // When
+        int sold = buy(buyer -> reservationService.reserve(buyer % 2 == 0 ? ticketTypeId : otherTicketTypeId, 1 + buyer % 3).quantity());
+
+        // Then
+        assertThat(sold).isEqualTo(CAPACITY);
+        assertThat(soldInEvent("SELECT SUM(tt.quantitySold) FROM TicketType tt WHERE tt.event.id = :id")).isEqualTo(CAPACITY);
+        assertThat(soldInEvent("SELECT SUM(p.quantitySold) FROM CapacityPool p WHERE p.event.id = :id")).isEqualTo(CAPACITY);
+        assertThat(ticketsRemaining()).isZero();
+    }
+
+    private int buy(IntUnaryOperator purchase) throws Exception {
+        AtomicInteger sold = new AtomicInteger();
+        List<Callable<Void>> buyers = IntStream.range(0, BUYERS).<Callable<Void>>mapToObj(i -> () -> {
+            try {
+                sold.addAndGet(purchase.applyAsInt(i));
+            } catch (TicketsSoldOutException e) {
+                // Turned away
+            }
+            return null;
+        }).toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> buyer : executor.invokeAll(buyers)) {
+                buyer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return sold.get();
+    }
+
+    private int soldInDatabase() {
+        return transaction.execute(status -> entityManager.find(TicketType.class, ticketTypeId).getQuantitySold());
+    }
+
+    private int heldInDatabase() {
+        return transaction.execute(status -> entityManager.find(TicketType.class, ticketTypeId).getQuantityHeld());
+    }
+
+    private long soldInEvent(String query) {
+        return transaction.execute(status -> entityManager.createQuery(query, Long.class)
+                                                          .setParameter("id", eventId)
+                                                          .getSingleResult());
+    }
+
+    private int ticketsRemaining() {
+        return transaction.execute(status -> entityManager.find(Event.class, eventId).getTicketsRemaining());
+    }
+}
@@ -0,0 +1,548 @@
+package com.lagab.eventz.app.event.reservation;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.lagab.eventz.app.common.exception.BusinessException;
+import com.lagab.eventz.app.common.exception.ValidationException;
+import com.lagab.eventz.app.domain.event.change.CapacityPoolSettingsChange;
+import com.lagab.eventz.app.domain.event.change.TicketTypeSettingsChange;
+import com.lagab.eventz.app.domain.event.change.WaitingRoomSettingsChange;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketHoldDTO;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketReservationDTO;
+import com.lagab.eventz.app.domain.event.exception.QueueAdmissionException;
+import com.lagab.eventz.app.domain.event.exception.TicketsSoldOutException;
+import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.projection.TicketTypeInventoryProjection;
+import com.lagab.eventz.app.domain.event.queue.WaitingRoom;
+import com.lagab.eventz.app.domain.event.repository.CapacityPoolRepository;
+import com.lagab.eventz.app.domain.event.repository.EventRepository;
+import com.lagab.eventz.app.domain.event.repository.TicketHoldRepository;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.event.reservation.TicketHoldExpirer;
+import com.lagab.eventz.app.domain.event.reservation.TicketInventory;
+import com.lagab.eventz.app.domain.event.reservation.TicketReservationService;
+import com.lagab.eventz.app.domain.event.reservation.TicketHoldCoalescer;
+import com.lagab.eventz.app.domain.event.service.TicketHoldService;
+import com.lagab.eventz.app.domain.event.service.TicketTypeService;
+import com.lagab.eventz.app.domain.ticket.entity.CapacityPool;
+import com.lagab.eventz.app.domain.ticket.entity.TicketHold;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TicketReservationService Tests")
+class TicketReservationServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 1, 12, 0);
+
+    private TicketTypeRepository ticketTypeRepository;
+    private CapacityPoolRepository capacityPoolRepository;
+    private TicketTypeService ticketTypeService;
+    private TicketHoldService ticketHoldService;
+    private TicketInventory ticketInventory;
+    private TicketHoldExpirer ticketHoldExpirer;
+    private WaitingRoom waitingRoom;
+    private TicketReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        EventProperties eventProperties = new EventProperties();
+        eventProperties.getReservation().setCoalesce(false);
+        ticketTypeRepository = mock(TicketTypeRepository.class);
+        ticketTypeService = mock(TicketTypeService.class);
+        ticketHoldService = mock(TicketHoldService.class);
+        capacityPoolRepository = mock(CapacityPoolRepository.class);
+        ticketInventory = new TicketInventory(ticketTypeRepository, capacityPoolRepository, eventProperties);
+        ticketHoldExpirer = new TicketHoldExpirer(ticketHoldService, mock(TicketHoldRepository.class), ticketInventory,
+                eventProperties, clock);
+        waitingRoom = new WaitingRoom(mock(EventRepository.class), eventProperties, new SimpleMeterRegistry(), clock,
+                () -> 0L);
+        reservationService = new TicketReservationService(ticketInventory, ticketTypeService,
+                new TicketHoldCoalescer(ticketHoldService, eventProperties), ticketHoldService, ticketHoldExpirer,
+                waitingRoom, eventProperties, clock);
+    }
+
+    @Nested
+    @DisplayName("Admission")
+    class AdmissionTests {
+
+        @Test
+        @DisplayName("Should write admitted sales and count them down in memory")
+        void shouldWriteAdmittedSales() {
+            // Given
+            givenTicketType(ticketType(1L, 10, 4));
+
+            // When
+            TicketReservationDTO reservation = reservationService.reserve(1L, 2);
+
+            // Then
+            assertThat(reservation).isEqualTo(new TicketReservationDTO(1L, 2, 4));
+            verify(ticketTypeService).updateQuantitySold(1L, 2);
+        }
+
+        @Test
+        @DisplayName("Should turn buyers away without the database once sold out")
+        void shouldTurnBuyersAwayWhenSoldOut() {
+            // Given
+            givenTicketType(ticketType(1L, 5, 2));
+            reservationService.reserve(1L, 3);
+
+            // When & Then
+            assertThatThrownBy(() -> reservationService.reserve(1L, 1))
+                    .isInstanceOf(TicketsSoldOutException.class);
+            verify(ticketTypeService, times(1)).updateQuantitySold(eq(1L), anyInt());
+            verify(ticketTypeRepository, times(1)).findById(1L);
+        }
+
+        @Test
+        @DisplayName("Should enforce the minimum and maximum quantities")
+        void shouldEnforceQuantityLimits() {
+            // Given
+            TicketType ticketType = ticketType(1L, 100, 0);
+            ticketType.setMinQuantity(2);
+            ticketType.setMaxQuantity(4);
+            givenTicketType(ticketType);
+
+            // When & Then
+            assertThatThrownBy(() -> reservationService.reserve(1L, 1)).isInstanceOf(ValidationException.class);
+            assertThatThrownBy(() -> reservationService.reserve(1L, 5)).isInstanceOf(ValidationException.class);
+            assertThatThrownBy(() -> reservationService.reserve(1L, 0)).isInstanceOf(ValidationException.class);
+            verify(ticketTypeService, never()).updateQuantitySold(eq(1L), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should refuse inactive ticket types and ticket types off sale")
+        void shouldRefuseTicketTypesNotOnSale() {
+            // Given
+            TicketType inactive = ticketType(1L, 100, 0);
+            inactive.setIsActive(false);
+            TicketType upcoming = ticketType(2L, 100, 0);
+            upcoming.setSaleStart(NOW.plusHours(1));
+            TicketType ended = ticketType(3L, 100, 0);
+            ended.setSaleEnd(NOW.minusHours(1));
+            givenTicketType(inactive);
+            givenTicketType(upcoming);
+            givenTicketType(ended);
+
+            // When & Then
+            assertThatThrownBy(() -> reservationService.reserve(1L, 1)).isInstanceOf(BusinessException.class)
+                                                                      .hasMessage("Ticket type is not active: 1");
+            assertThatThrownBy(() -> reservationService.reserve(2L, 1)).hasMessage("Ticket type is not on sale: 2");
+            assertThatThrownBy(() -> reservationService.reserve(3L, 1)).hasMessage("Ticket type is not on sale: 3");
+        }
+
+        @Test
+        @DisplayName("Should admit any quantity of unlimited ticket types")
+        void shouldAdmitUnlimitedTicketTypes() {
+            // Given
+            givenTicketType(ticketType(1L, null, 0));
+
+            // When
+            TicketReservationDTO reservation = reservationService.reserve(1L, 10);
+
+            // Then
+            assertThat(reservation.remaining()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should throw EntityNotFoundException for unknown ticket types")
+        void shouldThrowForUnknownTicketTypes() {
+            // Given
+            when(ticketTypeRepository.findById(9L)).thenReturn(Optional.empty());
+
+            // When & Then
+            assertThatThrownBy(() -> reservationService.reserve(9L, 1)).isInstanceOf(EntityNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Consistency with the database")
+    class ConsistencyTests {
+
+        @Test
+        @DisplayName("Should reload the stock when the database refuses an admitted sale")
+        void shouldReloadStockWhenDatabaseRefuses() {
+            // Given another instance sold the last tickets
+            givenTicketType(ticketType(1L, 10, 0));
+            doThrow(new TicketsSoldOutException("sold out")).when(ticketTypeService).updateQuantitySold(1L, 1);
+
+            // When
+            assertThatThrownBy(() -> reservationService.reserve(1L, 1)).isInstanceOf(TicketsSoldOutException.class);
+            when(ticketTypeRepository.findById(1L)).thenReturn(Optional.of(ticketType(1L, 10, 10)));
+
+            // Then
+            assertThatThrownBy(() -> reservationService.reserve(1L, 1)).isInstanceOf(TicketsSoldOutException.class);
+            verify(ticketTypeRepository, times(2)).findById(1L);
+        }
+
+        @Test
+        @DisplayName("Should give units back when the sale fails")
+        void shouldGiveUnitsBackOnFailure() {
+            // Given
+            givenTicketType(ticketType(1L, 2, 0));
+            doThrow(new IllegalStateException("connection lost")).when(ticketTypeService).updateQuantitySold(1L, 2);
+
+            // When
+            assertThatThrownBy(() -> reservationService.reserve(1L, 2)).isInstanceOf(IllegalStateException.class);
+
+            // Then
+            assertThat(ticketInventory.remaining(1L)).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should put released tickets back on sale")
+        void shouldPutReleasedTicketsBackOnSale() {
+            // Given
+            givenTicketType(ticketType(1L, 3, 0));
+            reservationService.reserve(1L, 3);
+
+            // When
+            reservationService.release(1L, 2);
+
+            // Then
+            verify(ticketTypeService).updateQuantitySold(1L, -2);
+            assertThat(reservationService.reserve(1L, 2).remaining()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should reload the stock when the ticket type settings change")
+        void shouldReloadStockOnSettingsChange() {
+            // Given
+            givenTicketType(ticketType(1L, 1, 0));
+            reservationService.reserve(1L, 1);
+            when(ticketTypeRepository.findById(1L)).thenReturn(Optional.of(ticketType(1L, 5, 1)));
+
+            // When
+            ticketInventory.onTicketTypeSettingsChange(new TicketTypeSettingsChange(1L));
+
+            // Then
+            assertThat(reservationService.reserve(1L, 4).remaining()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Capacity pools")
+    class CapacityPoolTests {
+
+        @Test
+        @DisplayName("Should admit ticket types sharing a pool up to the pool capacity")
+        void shouldAdmitUpToThePoolCapacity() {
+            // Given two ticket types of 5 sharing a pool of 6
+            givenPool(10L, 6, 0);
+            givenTicketType(pooledTicketType(1L, 5, 10L));
+            givenTicketType(pooledTicketType(2L, 5, 10L));
+
+            // When
+            TicketReservationDTO first = reservationService.reserve(1L, 4);
+            TicketReservationDTO second = reservationService.reserve(2L, 2);
+
+            // Then
+            assertThat(first.remaining()).isEqualTo(1);
+            assertThat(second.remaining()).isZero();
+            assertThatThrownBy(() -> reservationService.reserve(1L, 1)).isInstanceOf(TicketsSoldOutException.class);
+            verify(ticketTypeService, times(2)).updateQuantitySold(anyLong(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should take nothing from the ticket type when a pool refuses")
+        void shouldTakeNothingWhenAPoolRefuses() {
+            // Given a group pool with just enough room drawing from a full event-level pool
+            givenPool(10L, 2, 0);
+            givenPool(20L, 3, 3);
+            TicketType ticketType = pooledTicketType(1L, 5, 10L);
+            givenTicketType(ticketType);
+            when(ticketTypeRepository.findInventoryById(1L)).thenReturn(Optional.of(inventory(10L, 20L)));
+
+            // When
+            assertThatThrownBy(() -> reservationService.reserve(1L, 2)).isInstanceOf(TicketsSoldOutException.class);
+
+            // Then
+            ticketInventory.evictCapacityPool(20L);
+            givenPool(20L, 3, 0);
+            assertThat(reservationService.reserve(1L, 2).remaining()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should reload every stock of a pool when the pool changes")
+        void shouldReloadStocksWhenThePoolChanges() {
+            // Given
+            givenPool(10L, 2, 0);
+            givenTicketType(pooledTicketType(1L, 5, 10L));
+            reservationService.reserve(1L, 2);
+            givenPool(10L, 4, 2);
+
+            // When
+            ticketInventory.onCapacityPoolSettingsChange(new CapacityPoolSettingsChange(10L));
+
+            // Then
+            assertThat(reservationService.reserve(1L, 2).remaining()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Holds")
+    class HoldTests {
+
+        @Test
+        @DisplayName("Should take held tickets off sale until their deadline")
+        void shouldTakeHeldTicketsOffSale() {
+            // Given
+            givenTicketType(ticketType(1L, 3, 0));
+            when(ticketHoldService.createHold(1L, 2, 7L, null, null, NOW, NOW.plusMinutes(10))).thenReturn(hold("h-1", 1L, 2));
+
+            // When
+            TicketHoldDTO hold = reservationService.hold(1L, 2, 7L);
+
+            // Then
+            assertThat(hold).isEqualTo(new TicketHoldDTO("h-1", 1L, 2, NOW.plusMinutes(10)));
+            assertThat(ticketInventory.remaining(1L)).isEqualTo(1);
+            assertThat(ticketHoldExpirer.pending()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should stop tracking confirmed holds")
+        void shouldStopTrackingConfirmedHolds() {
+            // Given
+            givenTicketType(ticketType(1L, 3, 0));
+            when(ticketHoldService.createHold(eq(1L), eq(2), eq(7L), isNull(), isNull(), any(), any())).thenReturn(hold("h-1", 1L, 2));
+            when(ticketHoldService.confirmHold("h-1", 7L, NOW)).thenReturn(hold("h-1", 1L, 2));
+            reservationService.hold(1L, 2, 7L);
+
+            // When
+            TicketReservationDTO reservation = reservationService.confirmHold("h-1", 7L);
+
+            // Then
+            assertThat(reservation).isEqualTo(new TicketReservationDTO(1L, 2, 1));
+            assertThat(ticketHoldExpirer.pending()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should put released holds back on sale")
+        void shouldPutReleasedHoldsBackOnSale() {
+            // Given
+            givenTicketType(ticketType(1L, 3, 0));
+            when(ticketHoldService.createHold(eq(1L), eq(3), eq(7L), isNull(), isNull(), any(), any())).thenReturn(hold("h-1", 1L, 3));
+            when(ticketHoldService.releaseHolds(List.of("h-1", "h-2"), 7L)).thenReturn(List.of(hold("h-1", 1L, 3)));
+            reservationService.hold(1L, 3, 7L);
+
+            // When
+            int released = reservationService.releaseHolds(List.of("h-1", "h-2"), 7L);
+
+            // Then
+            assertThat(released).isEqualTo(1);
+            assertThat(ticketInventory.remaining(1L)).isEqualTo(3);
+            assertThat(ticketHoldExpirer.pending()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should give units back when the hold cannot be written")
+        void shouldGiveUnitsBackWhenHoldFails() {
+            // Given
+            givenTicketType(ticketType(1L, 2, 0));
+            when(ticketHoldService.createHold(eq(1L), eq(2), eq(7L), isNull(), isNull(), any(), any()))
+                    .thenThrow(new IllegalStateException("connection lost"));
+
+            // When
+            assertThatThrownBy(() -> reservationService.hold(1L, 2, 7L)).isInstanceOf(IllegalStateException.class);
+
+            // Then
+            assertThat(ticketInventory.remaining(1L)).isEqualTo(2);
+            assertThat(ticketHoldExpirer.pending()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Waiting room")
+    class WaitingRoomTests {
+
+        @Test
+        @DisplayName("Should only serve buyers admitted by the waiting room of the event")
+        void shouldOnlyServeAdmittedBuyers() {
+            // Given a waiting room letting one buyer through, as the ticker never moves
+            TicketType ticketType = ticketType(1L, 10, 0);
+            ticketType.setEvent(event(5L));
+            givenTicketType(ticketType);
+            waitingRoom.configure(new WaitingRoomSettingsChange(5L, true, 1));
+            String first = waitingRoom.join(5L, 7L).token();
+            String second = waitingRoom.join(5L, 8L).token();
+            when(ticketHoldService.createHold(eq(1L), eq(2), eq(7L), isNull(), isNull(), any(), any())).thenReturn(hold("h-1", 1L, 2));
+
+            // When
+            TicketHoldDTO hold = reservationService.hold(1L, 2, 7L, first);
+
+            // Then the admitted buyer holds once, the others are turned away
+            assertThat(hold.quantity()).isEqualTo(2);
+            assertThatThrownBy(() -> reservationService.hold(1L, 2, 7L, first)).isInstanceOf(QueueAdmissionException.class);
+            assertThatThrownBy(() -> reservationService.hold(1L, 2, 8L, second)).isInstanceOf(QueueAdmissionException.class);
+            assertThatThrownBy(() -> reservationService.hold(1L, 2, 8L, first)).isInstanceOf(QueueAdmissionException.class);
+            assertThatThrownBy(() -> reservationService.hold(1L, 2, 9L)).isInstanceOf(QueueAdmissionException.class);
+            assertThat(ticketInventory.remaining(1L)).isEqualTo(8);
+            verify(ticketHoldService, times(1)).createHold(anyLong(), anyInt(), any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should give the place back when the hold fails")
+        void shouldGivePlaceBackWhenHoldFails() {
+            // Given
+            TicketType ticketType = ticketType(1L, 10, 0);
+            ticketType.setEvent(event(5L));
+            givenTicketType(ticketType);
+            waitingRoom.configure(new WaitingRoomSettingsChange(5L, true, 1));
+            String token = waitingRoom.join(5L, 7L).token();
+            when(ticketHoldService.createHold(eq(1L), eq(2), eq(7L), isNull(), isNull(), any(), any()))
+                    .thenThrow(new IllegalStateException("connection lost"))
+                    .thenReturn(hold("h-1", 1L, 2));
+
+            // When
+            assertThatThrownBy(() -> reservationService.hold(1L, 2, 7L, token)).isInstanceOf(IllegalStateException.class);
+
+            // Then
+            assertThat(reservationService.hold(1L, 2, 7L, token).quantity()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should serve everyone once the waiting room is closed")
+        void shouldServeEveryoneWhenClosed() {
+            // Given
+            TicketType ticketType = ticketType(1L, 10, 0);
+            ticketType.setEvent(event(5L));
+            givenTicketType(ticketType);
+            waitingRoom.configure(new WaitingRoomSettingsChange(5L, true, 1));
+
+            // When
+            waitingRoom.configure(new WaitingRoomSettingsChange(5L, false, null));
+
+            // Then
+            when(ticketHoldService.createHold(eq(1L), eq(1), eq(7L), isNull(), isNull(), any(), any())).thenReturn(hold("h-1", 1L, 1));
+            assertThat(reservationService.hold(1L, 1, 7L).quantity()).isEqualTo(1);
+        }
+
+        private static Event event(Long id) {
+            Event event = new Event();
+            event.setId(id);
+            return event;
+        }
+    }
+
+    @Test
+    @DisplayName("Should admit exactly the tickets left under contention")
+    void shouldNeverOverAdmitUnderContention() throws Exception {
+        // Given
+        givenTicketType(ticketType(1L, 1_000, 0));
+        AtomicInteger sold = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        List<Callable<Void>> buyers = IntStream.range(0, 3_000).<Callable<Void>>mapToObj(i -> () -> {
+            try {
+                sold.addAndGet(reservationService.reserve(1L, 1).quantity());
+            } catch (TicketsSoldOutException e) {
+                // Turned away
+            }
+            return null;
+        }).toList();
+
+        // When
+        try {
+            for (Future<Void> buyer : executor.invokeAll(buyers)) {
+                buyer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertThat(sold.get()).isEqualTo(1_000);
+        assertThat(ticketInventory.remaining(1L)).isZero();
+        verify(ticketTypeService, times(1_000)).updateQuantitySold(1L, 1);
+    }
+
+    private void givenTicketType(TicketType ticketType) {
+        when(ticketTypeRepository.findById(ticketType.getId())).thenReturn(Optional.of(ticketType));
+    }
+
+    private void givenPool(Long id, int capacity, int quantitySold) {
+        CapacityPool pool = new CapacityPool();
+        pool.setId(id);
+        pool.setCapacity(capacity);
+        pool.setQuantitySold(quantitySold);
+        when(capacityPoolRepository.findById(id)).thenReturn(Optional.of(pool));
+    }
+
+    private TicketType pooledTicketType(Long id, int quantityAvailable, Long capacityPoolId) {
+        CapacityPool pool = new CapacityPool();
+        pool.setId(capacityPoolId);
+        TicketType ticketType = ticketType(id, quantityAvailable, 0);
+        ticketType.setCapacityPool(pool);
+        when(ticketTypeRepository.findInventoryById(id)).thenReturn(Optional.of(inventory(capacityPoolId, null)));
+        return ticketType;
+    }
+
+    private static TicketTypeInventoryProjection inventory(Long capacityPoolId, Long parentCapacityPoolId) {
+        return new TicketTypeInventoryProjection() {
+            @Override
+            public Long getEventId() {
+                return 1L;
+            }
+
+            @Override
+            public Long getCapacityPoolId() {
+                return capacityPoolId;
+            }
+
+            @Override
+            public Long getParentCapacityPoolId() {
+                return parentCapacityPoolId;
+            }
+        };
+    }
+
+    private static TicketHold hold(String id, Long ticketTypeId, int quantity) {
+        TicketHold hold = new TicketHold();
+        hold.setId(id);
+        hold.setTicketType(ticketType(ticketTypeId, null, 0));
+        hold.setQuantity(quantity);
+        hold.setExpiresAt(NOW.plusMinutes(10));
+        return hold;
+    }
+
+    private static TicketType ticketType(Long id, Integer quantityAvailable, int quantitySold) {
+        TicketType ticketType = new TicketType();
+        ticketType.setId(id);
+        ticketType.setName("Regular");
+        ticketType.setQuantityAvailable(quantityAvailable);
+        ticketType.setQuantitySold(quantitySold);
+        ticketType.setMaxQuantity(10);
+        return ticketType;
+    }
+}
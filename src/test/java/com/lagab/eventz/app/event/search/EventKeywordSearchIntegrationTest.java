@@ -0,0 +1,179 @@
+package com.lagab.eventz.app.event.search;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.lagab.eventz.app.domain.event.catalog.EventCatalog;
+import com.lagab.eventz.app.domain.event.change.EventSnapshot;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.EventSearchDTO;
+import com.lagab.eventz.app.domain.event.dto.EventSummaryDTO;
+import com.lagab.eventz.app.domain.event.geo.EventGeoIndex;
+import com.lagab.eventz.app.domain.event.mapper.AddressMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.EventMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapperImpl;
+import com.lagab.eventz.app.domain.event.model.Address;
+import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.repository.EventRepository;
+import com.lagab.eventz.app.domain.event.search.EventSearchIndex;
+import com.lagab.eventz.app.domain.event.service.EventSearchService;
+import com.lagab.eventz.app.domain.event.service.EventSummaryEnricher;
+import com.lagab.eventz.app.domain.org.model.Organization;
+import com.lagab.eventz.app.domain.user.model.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ EventSearchService.class, EventSummaryEnricher.class, EventSearchIndex.class, EventGeoIndex.class, EventCatalog.class,
+        EventMapperImpl.class, AddressMapperImpl.class, TicketTypeMapperImpl.class })
+@DisplayName("Keyword search Integration Tests")
+class EventKeywordSearchIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private EventSearchService eventSearchService;
+
+    @Autowired
+    private EventProperties eventProperties;
+
+    private int maxHits;
+
+    private User organizer;
+    private Organization organization;
+
+    @BeforeEach
+    void setUp() {
+        maxHits = eventProperties.getSearch().getMaxHits();
+        organizer = new User();
+        organizer.setFirstName("Test");
+        organizer.setLastName("Organizer");
+        organizer.setEmail("keyword@example.com");
+        organizer.setPassword("password");
+        entityManager.persist(organizer);
+
+        organization = new Organization();
+        organization.setName("Keyword Organization");
+        organization.setSlug("keyword-organization");
+        organization.setEmail("keyword@example.com");
+        entityManager.persist(organization);
+
+        persistEvent("Jazz Night", "Live jazz quartet", "Paris", EventType.CONCERT, 1);
+        persistEvent("Rock Festival", "Some jazz on the second stage", "Paris", EventType.FESTIVAL, 2);
+        persistEvent("Jazz Workshop", "Learn to improvise", "Lyon", EventType.WORKSHOP, 3);
+        persistEvent("Comedy Club", "Stand up", "Paris", EventType.OTHER, 4);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        try (Stream<EventSnapshot> snapshots = eventRepository.streamAllSnapshots()) {
+            eventSearchIndex.rebuild(snapshots);
+        }
+    }
+
+    @Test
+    @DisplayName("Should rank keyword matches by relevance")
+    void shouldRankByRelevance() {
+        // Given
+        EventSearchDTO searchDTO = new EventSearchDTO("jazz", null, null, null, null, null, null,
+                null, null, null, null, null);
+
+        // When
+        Page<EventSummaryDTO> page = eventSearchService.searchEvents(searchDTO,
+                PageRequest.of(0, 2, Sort.by(EventSearchService.RELEVANCE)));
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(EventSummaryDTO::name).containsExactly("Jazz Night", "Jazz Workshop");
+    }
+
+    @Test
+    @DisplayName("Should still apply structured filters and the requested sort")
+    void shouldApplyStructuredFilters() {
+        // Given
+        EventSearchDTO searchDTO = new EventSearchDTO("jazz", null, null, "Paris", null, null, null,
+                null, null, null, null, null);
+
+        // When
+        Page<EventSummaryDTO> page = eventSearchService.searchEvents(searchDTO, PageRequest.of(0, 10, Sort.by("startDate")));
+
+        // Then
+        assertThat(page.getContent()).extracting(EventSummaryDTO::name).containsExactly("Jazz Night", "Rock Festival");
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventProperties.getSearch().setMaxHits(maxHits);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database keyword predicate when the index hits are capped")
+    void shouldKeepMatchesBeyondCap() {
+        // Given an index only returning the two most relevant of the three matches
+        eventProperties.getSearch().setMaxHits(2);
+        EventSearchDTO searchDTO = new EventSearchDTO("jazz", null, null, "Paris", null, null, null,
+                null, null, null, null, null);
+
+        // When
+        Page<EventSummaryDTO> page = eventSearchService.searchEvents(searchDTO, PageRequest.of(0, 10, Sort.by("startDate")));
+
+        // Then the less relevant match left out of the hits is still found
+        assertThat(page.getContent()).extracting(EventSummaryDTO::name).containsExactly("Jazz Night", "Rock Festival");
+    }
+
+    @Test
+    @DisplayName("Should return an empty page when nothing matches")
+    void shouldReturnEmptyPageWhenNothingMatches() {
+        // Given
+        EventSearchDTO searchDTO = new EventSearchDTO("opera", null, null, null, null, null, null,
+                null, null, null, null, null);
+
+        // When
+        Page<EventSummaryDTO> page = eventSearchService.searchEvents(searchDTO, PageRequest.of(0, 10));
+
+        // Then
+        assertThat(page).isEmpty();
+    }
+
+    private void persistEvent(String name, String description, String city, EventType type, int dayOffset) {
+        Event event = new Event();
+        event.setName(name);
+        event.setDescription(description);
+        event.setType(type);
+        event.setStatus(EventStatus.PUBLISHED);
+        event.setIsFree(false);
+        event.setIsPublic(true);
+        event.setStartDate(LocalDateTime.of(2030, 1, 1, 20, 0).plusDays(dayOffset));
+        event.setEndDate(LocalDateTime.of(2030, 1, 2, 20, 0).plusDays(dayOffset));
+        event.setOrganizer(organizer);
+        event.setOrganization(organization);
+        entityManager.persist(event);
+
+        Address address = new Address();
+        address.setCity(city);
+        address.setCountry("France");
+        address.setEvent(event);
+        entityManager.persist(address);
+    }
+}
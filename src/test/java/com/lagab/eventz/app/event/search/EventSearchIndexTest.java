@@ -0,0 +1,125 @@
+package com.lagab.eventz.app.event.search;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.lagab.eventz.app.domain.event.change.EventSnapshot;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.search.EventSearchIndex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("EventSearchIndex Tests")
+class EventSearchIndexTest {
+
+    private EventSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EventSearchIndex(new EventProperties());
+        index.rebuild(Stream.of(
+                snapshot(1L, "Jazz Night", "Live jazz quartet", "An evening of smooth music", "Paris"),
+                snapshot(2L, "Rock Festival", "Three days of rock", "Bands from all over the world, some jazz too", "Lyon"),
+                snapshot(3L, "Théâtre classique", "Molière", "Une pièce de théâtre", "Marseille"),
+                snapshot(4L, "Rock & Jazz Fusion", "Fusion", "Jazz meets rock", "Paris")
+        ));
+    }
+
+    @Nested
+    @DisplayName("Search")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Should rank a name match above a description match")
+        void shouldRankNameMatchFirst() {
+            // When
+            Map<Long, Double> hits = index.search("jazz");
+
+            // Then
+            assertThat(hits.keySet()).containsExactly(1L, 4L, 2L);
+        }
+
+        @Test
+        @DisplayName("Should require every term of the query")
+        void shouldRequireEveryTerm() {
+            assertThat(index.search("rock jazz").keySet()).containsExactlyInAnyOrder(2L, 4L);
+            assertThat(index.search("jazz paris").keySet()).containsExactlyInAnyOrder(1L, 4L);
+        }
+
+        @Test
+        @DisplayName("Should match the last term as a prefix")
+        void shouldMatchLastTermAsPrefix() {
+            assertThat(index.search("festi").keySet()).containsExactly(2L);
+        }
+
+        @Test
+        @DisplayName("Should fold accents and case")
+        void shouldFoldAccentsAndCase() {
+            assertThat(index.search("THEATRE moliere").keySet()).containsExactly(3L);
+        }
+
+        @Test
+        @DisplayName("Should not serve queries made of stop words only")
+        void shouldNotServeStopWordsOnly() {
+            assertThat(index.canServe("the of")).isFalse();
+            assertThat(index.canServe("jazz")).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should not serve anything before the first rebuild")
+        void shouldNotServeBeforeRebuild() {
+            assertThat(new EventSearchIndex(new EventProperties()).canServe("jazz")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should cap the number of hits")
+        void shouldCapHits() {
+            // Given
+            EventProperties properties = new EventProperties();
+            properties.getSearch().setMaxHits(1);
+            EventSearchIndex capped = new EventSearchIndex(properties);
+            capped.rebuild(Stream.of(snapshot(1L, "Jazz", null, null, null), snapshot(2L, "Jazz Jazz", null, null, null)));
+
+            // Then
+            assertThat(capped.search("jazz")).hasSize(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Updates")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should replace the terms of a reindexed event")
+        void shouldReplaceTermsOnReindex() {
+            // When
+            index.index(snapshot(1L, "Blues Night", null, null, "Paris"));
+
+            // Then
+            assertThat(index.search("jazz").keySet()).doesNotContain(1L);
+            assertThat(index.search("blues").keySet()).containsExactly(1L);
+            assertThat(index.size()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should forget removed events")
+        void shouldForgetRemovedEvents() {
+            // When
+            index.remove(3L);
+
+            // Then
+            assertThat(index.search("theatre")).isEmpty();
+            assertThat(index.size()).isEqualTo(3);
+        }
+    }
+
+    private static EventSnapshot snapshot(Long id, String name, String summary, String description, String city) {
+        return new EventSnapshot(id, name, summary, description, city, null, null, null,
+                null, null, true, false, null, null, null, null, null, null, null);
+    }
+}
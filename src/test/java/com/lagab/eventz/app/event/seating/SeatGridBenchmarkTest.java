@@ -0,0 +1,106 @@
+package com.lagab.eventz.app.event.seating;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.lagab.eventz.app.domain.event.seating.SeatGrid;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Best available allocation in a 50,000 seat section, concurrent buyers of 1 to 6 seats each looking around a random
+ * seat until the section is sold out. Reports allocation latency and proves no seat is given twice.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("SeatGrid Benchmark")
+class SeatGridBenchmarkTest {
+
+    private static final int ROWS = 200;
+    private static final int WIDTH = 250;
+
+    @ParameterizedTest(name = "{0} threads")
+    @ValueSource(ints = { 1, 8, 32 })
+    void bestAvailable(int threads) throws Exception {
+        // Aisles every 25 seats, as in a large venue split in blocks
+        BitSet layout = new BitSet(ROWS * WIDTH);
+        for (int seat = 0; seat < ROWS * WIDTH; seat++) {
+            if (seat % WIDTH % 25 != 24) {
+                layout.set(seat);
+            }
+        }
+        SeatGrid grid = new SeatGrid(ROWS, WIDTH, layout, new BitSet());
+        int seats = grid.available();
+        AtomicIntegerArray taken = new AtomicIntegerArray(ROWS * WIDTH);
+
+        List<Callable<long[]>> buyers = IntStream.range(0, threads).<Callable<long[]>>mapToObj(i -> () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long[] latencies = new long[seats];
+            int count = 0;
+            while (true) {
+                int quantity = 1 + random.nextInt(6);
+                long start = System.nanoTime();
+                int[] block = grid.takeBest(quantity, random.nextInt(ROWS / 4), random.nextInt(WIDTH));
+                if (block == null) {
+                    // Only single seats may be left
+                    block = grid.takeBest(1, 0, WIDTH / 2);
+                }
+                long elapsed = System.nanoTime() - start;
+                if (block == null) {
+                    return Arrays.copyOf(latencies, count);
+                }
+                latencies[count++] = elapsed;
+                for (int seat : block) {
+                    assertThat(taken.getAndIncrement(seat)).isZero();
+                }
+            }
+        }).toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long started = System.nanoTime();
+        long[] latencies;
+        try {
+            latencies = executor.invokeAll(buyers)
+                                .stream()
+                                .map(SeatGridBenchmarkTest::get)
+                                .flatMapToLong(Arrays::stream)
+                                .sorted()
+                                .toArray();
+        } finally {
+            executor.shutdown();
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        System.out.printf("%d threads, %,d seats: %,d holds in %d ms, p50 %.1f us, p99 %.1f us, max %.1f us%n",
+                threads, seats, latencies.length, elapsedMillis, percentile(latencies, 0.50), percentile(latencies, 0.99),
+                latencies[latencies.length - 1] / 1_000.0);
+
+        assertThat(grid.available()).isZero();
+        assertThat(IntStream.range(0, ROWS * WIDTH).filter(seat -> taken.get(seat) == 1).count()).isEqualTo(seats);
+    }
+
+    private static long[] get(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(percentile * (sorted.length - 1)))] / 1_000.0;
+    }
+}
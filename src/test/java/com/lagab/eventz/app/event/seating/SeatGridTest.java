@@ -0,0 +1,190 @@
+package com.lagab.eventz.app.event.seating;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.lagab.eventz.app.domain.event.seating.SeatGrid;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SeatGrid Tests")
+class SeatGridTest {
+
+    @Nested
+    @DisplayName("Layout")
+    class LayoutTests {
+
+        @Test
+        @DisplayName("Should only have seats where the layout draws them")
+        void shouldFollowLayout() {
+            // Given
+            SeatGrid grid = grid(List.of("..oo", "oo.oo"), new BitSet());
+
+            // Then
+            assertThat(grid.rows()).isEqualTo(2);
+            assertThat(grid.width()).isEqualTo(5);
+            assertThat(grid.available()).isEqualTo(6);
+            assertThat(grid.seat(0, 0)).isEqualTo(-1);
+            assertThat(grid.seat(0, 4)).isEqualTo(-1);
+            assertThat(grid.seat(1, 3)).isEqualTo(8);
+            assertThat(grid.seat(2, 0)).isEqualTo(-1);
+            assertThat(grid.render()).containsExactly("..oo.", "oo.oo");
+        }
+
+        @Test
+        @DisplayName("Should load sold seats and ignore places without a seat")
+        void shouldLoadSoldSeats() {
+            // Given
+            BitSet sold = new BitSet();
+            sold.set(0);
+            sold.set(2);
+
+            // When
+            SeatGrid grid = grid(List.of("..oo"), sold);
+
+            // Then
+            assertThat(grid.render()).containsExactly("..xo");
+            assertThat(BitSet.valueOf(grid.soldSeats())).isEqualTo(BitSet.valueOf(new long[] { 0b100 }));
+        }
+    }
+
+    @Nested
+    @DisplayName("Taking seats")
+    class TakeTests {
+
+        @Test
+        @DisplayName("Should take all the seats or none")
+        void shouldTakeAllOrNone() {
+            // Given
+            SeatGrid grid = grid(List.of("oooo"), new BitSet());
+            assertThat(grid.take(new int[] { 1, 2 })).isTrue();
+
+            // When & Then
+            assertThat(grid.take(new int[] { 0, 1 })).isFalse();
+            assertThat(grid.render()).containsExactly("oxxo");
+            assertThat(grid.take(new int[] { 0, -1 })).isFalse();
+            assertThat(grid.available()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should put freed seats back on sale unless sold")
+        void shouldFreeUnsoldSeats() {
+            // Given
+            SeatGrid grid = grid(List.of("oooo"), new BitSet());
+            grid.take(new int[] { 0, 1, 2 });
+            grid.sell(new int[] { 1 });
+
+            // When
+            grid.free(new int[] { 0, 1, 2 });
+
+            // Then
+            assertThat(grid.render()).containsExactly("oxoo");
+        }
+    }
+
+    @Nested
+    @DisplayName("Best available")
+    class BestAvailableTests {
+
+        @Test
+        @DisplayName("Should center the block on the preferred seat")
+        void shouldCenterOnPreferredSeat() {
+            // Given
+            SeatGrid grid = grid(List.of("oooooooooo", "oooooooooo"), new BitSet());
+
+            // When
+            int[] seats = grid.takeBest(4, 0, 5);
+
+            // Then
+            assertThat(seats).containsExactly(4, 5, 6, 7);
+        }
+
+        @Test
+        @DisplayName("Should stay in the preferred row away from the center rather than move rows")
+        void shouldPreferSameRowOverOtherRows() {
+            // Given the middle of the front row is taken
+            SeatGrid grid = grid(List.of("oooooooooo", "oooooooooo"), new BitSet());
+            grid.take(new int[] { 3, 4, 5, 6 });
+
+            // When
+            int[] seats = grid.takeBest(2, 0, 5);
+
+            // Then seats 7 and 8 are 2.5 seats off, a row back would weigh 4
+            assertThat(seats).containsExactly(7, 8);
+        }
+
+        @Test
+        @DisplayName("Should move rows when the preferred row has no block left")
+        void shouldMoveRowsWhenRowIsFull() {
+            // Given
+            SeatGrid grid = grid(List.of("oooo", "oooo", "oooo"), new BitSet());
+            grid.take(new int[] { 5, 6 });
+
+            // When
+            int[] seats = grid.takeBest(3, 1, 1);
+
+            // Then the row in front and the row behind are as close, the front row is looked at first
+            assertThat(seats).containsExactly(0, 1, 2);
+        }
+
+        @Test
+        @DisplayName("Should not leave a single seat alone when it can be avoided")
+        void shouldAvoidOrphanSeats() {
+            // Given a run of seats 1 to 5 around a preferred seat 2
+            SeatGrid grid = grid(List.of("ooooooo"), new BitSet());
+            grid.take(new int[] { 0, 6 });
+
+            // When
+            int[] seats = grid.takeBest(2, 0, 2);
+
+            // Then seats 2 and 3 would leave seat 1 alone
+            assertThat(seats).containsExactly(1, 2);
+        }
+
+        @Test
+        @DisplayName("Should never take seats across an aisle or across rows")
+        void shouldNotCrossGaps() {
+            // Given
+            SeatGrid grid = grid(List.of("oo.oo", "ooo.."), new BitSet());
+
+            // When & Then
+            assertThat(grid.takeBest(3, 0, 2)).containsExactly(5, 6, 7);
+            assertThat(grid.takeBest(3, 0, 2)).isNull();
+            assertThat(grid.takeBest(6, 0, 2)).isNull();
+            assertThat(grid.available()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should sell out a section without giving a seat twice")
+        void shouldSellOutWithoutDuplicates() {
+            // Given
+            SeatGrid grid = grid(List.of("oooooooooo".repeat(5), "ooooo.ooooo".repeat(4), "oooooooooo".repeat(5)), new BitSet());
+            BitSet taken = new BitSet();
+            int total = grid.available();
+
+            // When
+            int[] seats;
+            int sold = 0;
+            while ((seats = grid.takeBest(1 + sold % 3, 0, 25)) != null || (seats = grid.takeBest(1, 0, 25)) != null) {
+                for (int seat : seats) {
+                    assertThat(taken.get(seat)).isFalse();
+                    taken.set(seat);
+                }
+                sold += seats.length;
+            }
+
+            // Then
+            assertThat(sold).isEqualTo(total);
+            assertThat(grid.available()).isZero();
+        }
+    }
+
+    private static SeatGrid grid(List<String> rows, BitSet sold) {
+        int width = rows.stream().mapToInt(String::length).max().orElseThrow();
+        return new SeatGrid(rows.size(), width, SeatGrid.parseLayout(rows, width), sold);
+    }
+}
@@ -0,0 +1,212 @@
+package com.lagab.eventz.app.event.seating;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.lagab.eventz.app.common.exception.BusinessException;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.seating.BestAvailableRequest;
+import com.lagab.eventz.app.domain.event.dto.seating.CreateSeatSectionRequest;
+import com.lagab.eventz.app.domain.event.dto.seating.SeatDTO;
+import com.lagab.eventz.app.domain.event.dto.seating.SeatHoldDTO;
+import com.lagab.eventz.app.domain.event.dto.seating.SeatSectionDTO;
+import com.lagab.eventz.app.domain.event.exception.TicketsSoldOutException;
+import com.lagab.eventz.app.domain.event.mapper.CapacityPoolMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapperImpl;
+import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.queue.WaitingRoom;
+import com.lagab.eventz.app.domain.event.repository.SeatSectionRepository;
+import com.lagab.eventz.app.domain.event.repository.TicketHoldRepository;
+import com.lagab.eventz.app.domain.event.reservation.TicketHoldExpirer;
+import com.lagab.eventz.app.domain.event.reservation.TicketInventory;
+import com.lagab.eventz.app.domain.event.reservation.TicketReservationService;
+import com.lagab.eventz.app.domain.event.reservation.TicketHoldCoalescer;
+import com.lagab.eventz.app.domain.event.seating.SeatMap;
+import com.lagab.eventz.app.domain.event.service.CapacityPoolService;
+import com.lagab.eventz.app.domain.event.service.SalesStatsService;
+import com.lagab.eventz.app.domain.event.service.SeatSectionService;
+import com.lagab.eventz.app.domain.event.service.TicketHoldService;
+import com.lagab.eventz.app.domain.event.service.TicketTypeService;
+import com.lagab.eventz.app.domain.org.model.Organization;
+import com.lagab.eventz.app.domain.ticket.entity.SeatSection;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+import com.lagab.eventz.app.domain.user.model.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Seats held, sold and released against the database, each step in its own transaction as in production.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ TicketReservationService.class, TicketInventory.class, TicketHoldCoalescer.class, TicketTypeService.class, SalesStatsService.class,
+        TicketHoldService.class, TicketHoldExpirer.class, CapacityPoolService.class, TicketTypeMapperImpl.class,
+        CapacityPoolMapperImpl.class, WaitingRoom.class, SimpleMeterRegistry.class, SeatSectionService.class, SeatMap.class })
+@DisplayName("Seat map Tests")
+class SeatMapIntegrationTest {
+
+    @Autowired
+    private SeatMap seatMap;
+
+    @Autowired
+    private SeatSectionService seatSectionService;
+
+    @Autowired
+    private TicketReservationService reservationService;
+
+    @Autowired
+    private SeatSectionRepository seatSectionRepository;
+
+    @Autowired
+    private TicketHoldRepository ticketHoldRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Long userId;
+    private String organizationId;
+    private Long eventId;
+    private Long ticketTypeId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            User user = new User();
+            user.setFirstName("Test");
+            user.setLastName("Buyer");
+            user.setEmail("seating@example.com");
+            user.setPassword("password");
+            entityManager.persist(user);
+
+            Organization organization = new Organization();
+            organization.setName("Seating Organization");
+            organization.setSlug("seating-organization");
+            organization.setEmail("seating@example.com");
+            entityManager.persist(organization);
+
+            Event event = new Event();
+            event.setName("Symphony");
+            event.setType(EventType.CONCERT);
+            event.setStatus(EventStatus.PUBLISHED);
+            event.setIsFree(false);
+            event.setIsPublic(true);
+            event.setStartDate(LocalDateTime.now().plusDays(30));
+            event.setEndDate(LocalDateTime.now().plusDays(31));
+            event.setOrganizer(user);
+            event.setOrganization(organization);
+            entityManager.persist(event);
+
+            TicketType ticketType = new TicketType();
+            ticketType.setName("Orchestra");
+            ticketType.setPrice(BigDecimal.TEN);
+            ticketType.setFee(BigDecimal.ZERO);
+            ticketType.setQuantityAvailable(9);
+            ticketType.setQuantitySold(0);
+            ticketType.setMaxQuantity(4);
+            ticketType.setEvent(event);
+            entityManager.persist(ticketType);
+
+            userId = user.getId();
+            organizationId = organization.getId();
+            eventId = event.getId();
+            ticketTypeId = ticketType.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM TicketHold h WHERE h.ticketType.id = :id").setParameter("id", ticketTypeId).executeUpdate();
+            entityManager.createQuery("DELETE FROM SeatSection s WHERE s.event.id = :id").setParameter("id", eventId).executeUpdate();
+            entityManager.createQuery("DELETE FROM TicketType tt WHERE tt.event.id = :id").setParameter("id", eventId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Event e WHERE e.id = :id").setParameter("id", eventId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Organization o WHERE o.id = :id").setParameter("id", organizationId).executeUpdate();
+            entityManager.createQuery("DELETE FROM User u WHERE u.id = :id").setParameter("id", userId).executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("Seats should be held, sold and released with their holds, and survive a restart")
+    void seatsShouldFollowTheirHolds() {
+        // Given a section of 9 seats with an aisle in the second row
+        SeatSectionDTO section = seatSectionService.createSeatSection(eventId,
+                new CreateSeatSectionRequest("Parterre", ticketTypeId, List.of("ooooo", "oo.oo")));
+        assertThat(section.seatsAvailable()).isEqualTo(9);
+
+        // When
+        SeatHoldDTO best = seatMap.holdBestAvailable(eventId, new BestAvailableRequest(ticketTypeId, 3, null, null, null), userId, null);
+        SeatHoldDTO chosen = seatMap.holdSeats(eventId, section.id(), List.of(new SeatDTO(2, 1), new SeatDTO(2, 2)), userId, null);
+
+        // Then the front row is kept from leaving single seats on both sides of the block
+        assertThat(best.seats()).containsExactly(new SeatDTO(1, 1), new SeatDTO(1, 2), new SeatDTO(1, 3));
+        assertThat(seatMap.getSeatSections(eventId)).singleElement()
+                                                    .satisfies(found -> assertThat(found.rows()).containsExactly("xxxoo", "xx.oo"));
+        assertThatThrownBy(() -> seatMap.holdSeats(eventId, section.id(), List.of(new SeatDTO(2, 2), new SeatDTO(2, 4)), userId, null))
+                .isInstanceOf(TicketsSoldOutException.class);
+        assertThatThrownBy(() -> seatMap.holdBestAvailable(eventId, new BestAvailableRequest(ticketTypeId, 3, null, null, null), userId, null))
+                .isInstanceOf(TicketsSoldOutException.class);
+
+        // When the first hold is confirmed and the second released
+        reservationService.confirmHold(best.id(), userId);
+        reservationService.releaseHolds(List.of(chosen.id()), userId);
+
+        // Then
+        assertThat(seatMap.getSeatSections(eventId).getFirst().rows()).containsExactly("xxxoo", "oo.oo");
+        assertThatThrownBy(() -> seatSectionService.deleteSeatSection(eventId, section.id())).isInstanceOf(BusinessException.class);
+
+        // When the sold seats are written and the seats of a new hold are not
+        seatMap.flush();
+        SeatHoldDTO pending = seatMap.holdSeats(eventId, section.id(), List.of(new SeatDTO(2, 5)), userId, null);
+
+        // Then a fresh seat map reads the snapshot and the active hold back
+        SeatSection saved = seatSectionRepository.findById(section.id()).orElseThrow();
+        assertThat(saved.getSoldSeats()).isNotNull();
+        assertThat(saved.getSeatsUpdatedAt()).isNotNull();
+        assertThat(restarted().getSeatSections(eventId).getFirst().rows()).containsExactly("xxxoo", "oo.ox");
+        assertThat(pending.seats()).containsExactly(new SeatDTO(2, 5));
+    }
+
+    @Test
+    @DisplayName("Seats sold after the last snapshot should be read back from their holds")
+    void seatsSoldAfterSnapshotShouldBeReadFromHolds() {
+        // Given
+        SeatSectionDTO section = seatSectionService.createSeatSection(eventId,
+                new CreateSeatSectionRequest("Balcony", ticketTypeId, List.of("oooo")));
+        SeatHoldDTO hold = seatMap.holdSeats(eventId, section.id(), List.of(new SeatDTO(1, 4)), userId, null);
+
+        // When confirmed but never flushed
+        reservationService.confirmHold(hold.id(), userId);
+
+        // Then
+        assertThat(seatSectionRepository.findById(section.id()).orElseThrow().getSoldSeats()).isNull();
+        assertThat(restarted().getSeatSections(eventId).getFirst().rows()).containsExactly("ooox");
+    }
+
+    private SeatMap restarted() {
+        return new SeatMap(seatSectionRepository, ticketHoldRepository, seatSectionService, reservationService, new EventProperties());
+    }
+}
@@ -0,0 +1,245 @@
+package com.lagab.eventz.app.event.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.lagab.eventz.app.common.exception.BusinessException;
+import com.lagab.eventz.app.domain.event.dto.ticket.CapacityPoolDTO;
+import com.lagab.eventz.app.domain.event.dto.ticket.CreateCapacityPoolRequest;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketHoldRequest;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketTypeStatsDTO;
+import com.lagab.eventz.app.domain.event.dto.ticket.UpdateCapacityPoolRequest;
+import com.lagab.eventz.app.domain.event.exception.TicketsSoldOutException;
+import com.lagab.eventz.app.domain.event.mapper.CapacityPoolMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapperImpl;
+import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.event.service.CapacityPoolService;
+import com.lagab.eventz.app.domain.event.service.SalesStatsService;
+import com.lagab.eventz.app.domain.event.service.TicketHoldService;
+import com.lagab.eventz.app.domain.event.service.TicketTypeService;
+import com.lagab.eventz.app.domain.org.model.Organization;
+import com.lagab.eventz.app.domain.ticket.entity.TicketHold;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+import com.lagab.eventz.app.domain.user.model.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({ CapacityPoolService.class, TicketTypeService.class, SalesStatsService.class, TicketHoldService.class, CapacityPoolMapperImpl.class,
+        TicketTypeMapperImpl.class })
+@DisplayName("Capacity pools Tests")
+class CapacityPoolIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CapacityPoolService capacityPoolService;
+
+    @Autowired
+    private TicketTypeService ticketTypeService;
+
+    @Autowired
+    private TicketHoldService ticketHoldService;
+
+    @Autowired
+    private TicketTypeRepository ticketTypeRepository;
+
+    private Long eventId;
+    private Long regularId;
+    private Long vipId;
+
+    @BeforeEach
+    void setUp() {
+        User organizer = new User();
+        organizer.setFirstName("Test");
+        organizer.setLastName("Organizer");
+        organizer.setEmail("pools@example.com");
+        organizer.setPassword("password");
+        entityManager.persist(organizer);
+
+        Organization organization = new Organization();
+        organization.setName("Pools Organization");
+        organization.setSlug("pools-organization");
+        organization.setEmail("pools@example.com");
+        entityManager.persist(organization);
+
+        Event event = new Event();
+        event.setName("Festival");
+        event.setType(EventType.CONCERT);
+        event.setStatus(EventStatus.PUBLISHED);
+        event.setIsFree(false);
+        event.setIsPublic(true);
+        event.setStartDate(LocalDateTime.now().plusDays(30));
+        event.setEndDate(LocalDateTime.now().plusDays(31));
+        event.setOrganizer(organizer);
+        event.setOrganization(organization);
+        entityManager.persist(event);
+
+        eventId = event.getId();
+        regularId = persistTicketType(event, "Regular", 8, 2);
+        vipId = persistTicketType(event, "VIP", 8, 0);
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Adding a ticket type should move its sales into the pool")
+    void addingTicketTypeShouldMoveItsSales() {
+        // Given
+        CapacityPoolDTO pool = capacityPoolService.createCapacityPool(eventId, new CreateCapacityPoolRequest("Venue", 10, null));
+
+        // When
+        capacityPoolService.addTicketType(eventId, pool.id(), regularId);
+        capacityPoolService.addTicketType(eventId, pool.id(), vipId);
+
+        // Then
+        assertThat(pools())
+                .singleElement()
+                .satisfies(found -> {
+                    assertThat(found.quantitySold()).isEqualTo(2);
+                    assertThat(found.quantityRemaining()).isEqualTo(8);
+                });
+        assertThatThrownBy(() -> capacityPoolService.updateCapacityPool(eventId, pool.id(), new UpdateCapacityPoolRequest(null, 1)))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("Sales should take from the ticket type and its pool together or not at all")
+    void salesShouldTakeFromTicketTypeAndPoolTogether() {
+        // Given a pool of 10 shared by two ticket types of 8
+        Long poolId = pool("Venue", 10, null);
+
+        // When
+        ticketTypeService.updateQuantitySold(vipId, 6);
+
+        // Then the regular ticket type still has room but the pool only has 2 left
+        assertThatThrownBy(() -> ticketTypeService.updateQuantitySold(regularId, 3)).isInstanceOf(TicketsSoldOutException.class);
+        assertThat(quantitySold(regularId)).isEqualTo(2);
+        assertThat(ticketTypeRepository.getAvailableQuantity(regularId)).contains(2);
+        assertThat(ticketTypeService.isTicketTypeAvailable(regularId, 3)).isFalse();
+
+        // When
+        ticketTypeService.updateQuantitySold(regularId, 2);
+
+        // Then
+        assertThat(quantitySold(regularId)).isEqualTo(4);
+        assertThat(pools()).singleElement()
+                           .satisfies(pool -> {
+                               assertThat(pool.id()).isEqualTo(poolId);
+                               assertThat(pool.quantityRemaining()).isZero();
+                           });
+        assertThat(event().getSoldOut()).isTrue();
+        assertThat(event().getTicketsRemaining()).isZero();
+    }
+
+    @Test
+    @DisplayName("Batched holds should share out what the pool has left")
+    void batchedHoldsShouldShareOutThePool() {
+        // Given
+        pool("Venue", 5, null);
+
+        // When
+        var holds = ticketHoldService.shareOutHolds(vipId, List.of(new TicketHoldRequest(null, 2), new TicketHoldRequest(null, 2),
+                new TicketHoldRequest(null, 2), new TicketHoldRequest(null, 1)), LocalDateTime.now(), LocalDateTime.now().plusMinutes(10));
+
+        // Then the regular sales leave 3 tickets in the pool
+        assertThat(holds).extracting(hold -> hold != null).containsExactly(true, false, false, true);
+        assertThat(pools()).extracting(CapacityPoolDTO::quantityHeld).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("A group pool should be bounded by its event-level pool")
+    void groupPoolShouldBeBoundedByEventPool() {
+        // Given a group pool of 8 drawing from an event-level pool of 5
+        Long venueId = capacityPoolService.createCapacityPool(eventId, new CreateCapacityPoolRequest("Venue", 5, null)).id();
+        Long groupId = capacityPoolService.createCapacityPool(eventId, new CreateCapacityPoolRequest("Floor", 8, venueId)).id();
+        capacityPoolService.addTicketType(eventId, groupId, vipId);
+        entityManager.flush();
+
+        // When
+        TicketHold hold = ticketHoldService.createHold(vipId, 4, null, LocalDateTime.now(), LocalDateTime.now().plusMinutes(10));
+
+        // Then
+        assertThatThrownBy(() -> ticketHoldService.createHold(vipId, 2, null, LocalDateTime.now(), LocalDateTime.now().plusMinutes(10)))
+                .isInstanceOf(TicketsSoldOutException.class);
+        assertThat(pools()).extracting(CapacityPoolDTO::quantityHeld).containsExactly(4, 4);
+        assertThatThrownBy(() -> capacityPoolService.createCapacityPool(eventId, new CreateCapacityPoolRequest("Nested", 2, groupId)))
+                .isInstanceOf(BusinessException.class);
+
+        // When
+        ticketHoldService.expireHolds(List.of(hold.getId()));
+
+        // Then
+        assertThat(pools()).allSatisfy(pool -> assertThat(pool.quantityHeld()).isZero());
+    }
+
+    @Test
+    @DisplayName("Stats should report the usage of the pools")
+    void statsShouldReportPoolUsage() {
+        // Given
+        pool("Venue", 10, null);
+        ticketTypeService.updateQuantitySold(vipId, 3);
+
+        // When
+        entityManager.clear();
+        TicketTypeStatsDTO stats = ticketTypeService.getEventTicketTypeStats(eventId);
+
+        // Then
+        assertThat(stats.capacityPools()).singleElement()
+                                         .satisfies(pool -> {
+                                             assertThat(pool.capacity()).isEqualTo(10);
+                                             assertThat(pool.quantitySold()).isEqualTo(5);
+                                             assertThat(pool.quantityRemaining()).isEqualTo(5);
+                                         });
+    }
+
+    // Creates an event-level pool both ticket types draw from
+    private Long pool(String name, int capacity, Long parentId) {
+        Long poolId = capacityPoolService.createCapacityPool(eventId, new CreateCapacityPoolRequest(name, capacity, parentId)).id();
+        capacityPoolService.addTicketType(eventId, poolId, regularId);
+        capacityPoolService.addTicketType(eventId, poolId, vipId);
+        entityManager.flush();
+        entityManager.clear();
+        return poolId;
+    }
+
+    private List<CapacityPoolDTO> pools() {
+        entityManager.clear();
+        return capacityPoolService.getCapacityPoolsByEventId(eventId);
+    }
+
+    private int quantitySold(Long ticketTypeId) {
+        entityManager.clear();
+        return entityManager.find(TicketType.class, ticketTypeId).getQuantitySold();
+    }
+
+    private Event event() {
+        entityManager.clear();
+        return entityManager.find(Event.class, eventId);
+    }
+
+    private Long persistTicketType(Event event, String name, int quantityAvailable, int quantitySold) {
+        TicketType ticketType = new TicketType();
+        ticketType.setName(name);
+        ticketType.setPrice(BigDecimal.TEN);
+        ticketType.setFee(BigDecimal.ZERO);
+        ticketType.setQuantityAvailable(quantityAvailable);
+        ticketType.setQuantitySold(quantitySold);
+        ticketType.setEvent(event);
+        entityManager.persist(ticketType);
+        return ticketType.getId();
+    }
+}
@@ -0,0 +1,183 @@
+package com.lagab.eventz.app.event.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.lagab.eventz.app.domain.event.dto.ticket.CreateTicketTypeRequest;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketTypeDTO;
+import com.lagab.eventz.app.domain.event.dto.ticket.UpdateTicketTypeRequest;
+import com.lagab.eventz.app.domain.event.mapper.CapacityPoolMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapperImpl;
+import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.repository.EventRepository;
+import com.lagab.eventz.app.domain.event.service.CapacityPoolService;
+import com.lagab.eventz.app.domain.event.service.EventAvailabilityReconciler;
+import com.lagab.eventz.app.domain.event.service.SalesStatsService;
+import com.lagab.eventz.app.domain.event.service.TicketTypeService;
+import com.lagab.eventz.app.domain.event.specification.EventSpecifications;
+import com.lagab.eventz.app.domain.org.model.Organization;
+import com.lagab.eventz.app.domain.user.model.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ TicketTypeService.class, SalesStatsService.class, CapacityPoolService.class, EventAvailabilityReconciler.class, TicketTypeMapperImpl.class,
+        CapacityPoolMapperImpl.class })
+@DisplayName("Event availability counters Tests")
+class EventAvailabilityIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TicketTypeService ticketTypeService;
+
+    @Autowired
+    private EventAvailabilityReconciler reconciler;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private User organizer;
+    private Organization organization;
+
+    @BeforeEach
+    void setUp() {
+        organizer = new User();
+        organizer.setFirstName("Test");
+        organizer.setLastName("Organizer");
+        organizer.setEmail("availability@example.com");
+        organizer.setPassword("password");
+        entityManager.persist(organizer);
+
+        organization = new Organization();
+        organization.setName("Availability Organization");
+        organization.setSlug("availability-organization");
+        organization.setEmail("availability@example.com");
+        entityManager.persist(organization);
+    }
+
+    @Test
+    @DisplayName("Counters should follow ticket type creation, sales, updates and deletion")
+    void countersShouldFollowTicketTypeWrites() {
+        // Given
+        Long eventId = persistEvent("Concert");
+
+        // When / Then
+        TicketTypeDTO regular = ticketTypeService.createTicketType(eventId, createRequest("Regular", 100));
+        TicketTypeDTO vip = ticketTypeService.createTicketType(eventId, createRequest("VIP", 10));
+        assertAvailability(eventId, 110, false);
+
+        ticketTypeService.updateQuantitySold(regular.id(), 40);
+        assertAvailability(eventId, 70, false);
+
+        ticketTypeService.updateTicketType(regular.id(), updateRequest(50));
+        assertAvailability(eventId, 20, false);
+
+        ticketTypeService.deleteTicketType(vip.id());
+        assertAvailability(eventId, 10, false);
+
+        ticketTypeService.updateQuantitySold(regular.id(), 10);
+        assertAvailability(eventId, 0, true);
+    }
+
+    @Test
+    @DisplayName("An event without ticket types should have no tickets left without being sold out")
+    void eventWithoutTicketTypesShouldNotBeSoldOut() {
+        // Given
+        Long eventId = persistEvent("Empty");
+
+        // Then
+        assertAvailability(eventId, 0, false);
+        assertThat(reconciler.reconcile()).isZero();
+    }
+
+    @Test
+    @DisplayName("Reconciliation should repair only the counters that drifted")
+    void reconciliationShouldRepairDriftedCounters() {
+        // Given
+        Long driftedId = persistEvent("Drifted");
+        Long consistentId = persistEvent("Consistent");
+        ticketTypeService.createTicketType(driftedId, createRequest("Regular", 30));
+        ticketTypeService.createTicketType(consistentId, createRequest("Regular", 20));
+        entityManager.flush();
+        entityManager.getEntityManager()
+                     .createNativeQuery("UPDATE events SET tickets_remaining = 999, sold_out = true WHERE id = :id")
+                     .setParameter("id", driftedId)
+                     .executeUpdate();
+
+        // When
+        int repaired = reconciler.reconcile();
+
+        // Then
+        assertThat(repaired).isEqualTo(1);
+        assertAvailability(driftedId, 30, false);
+        assertAvailability(consistentId, 20, false);
+        assertThat(reconciler.reconcile()).isZero();
+    }
+
+    @Test
+    @DisplayName("Available tickets filter should return each event with tickets left once")
+    void availableTicketsFilterShouldReturnEachEventOnce() {
+        // Given
+        Long availableId = persistEvent("Available");
+        Long soldOutId = persistEvent("Sold out");
+        ticketTypeService.createTicketType(availableId, createRequest("Regular", 10));
+        ticketTypeService.createTicketType(availableId, createRequest("VIP", 5));
+        TicketTypeDTO soldOut = ticketTypeService.createTicketType(soldOutId, createRequest("Regular", 5));
+        ticketTypeService.updateQuantitySold(soldOut.id(), 5);
+        entityManager.clear();
+
+        // When
+        List<Event> events = eventRepository.findAll(EventSpecifications.hasAvailableTickets());
+
+        // Then
+        assertThat(events).extracting(Event::getId).containsExactly(availableId);
+    }
+
+    private void assertAvailability(Long eventId, int ticketsRemaining, boolean soldOut) {
+        entityManager.flush();
+        entityManager.clear();
+        Event event = entityManager.find(Event.class, eventId);
+        assertThat(event.getTicketsRemaining()).isEqualTo(ticketsRemaining);
+        assertThat(event.getSoldOut()).isEqualTo(soldOut);
+    }
+
+    private Long persistEvent(String name) {
+        Event event = new Event();
+        event.setName(name);
+        event.setDescription("Description of " + name);
+        event.setType(EventType.CONCERT);
+        event.setStatus(EventStatus.PUBLISHED);
+        event.setIsFree(false);
+        event.setIsPublic(true);
+        event.setStartDate(LocalDateTime.now().plusDays(30));
+        event.setEndDate(LocalDateTime.now().plusDays(31));
+        event.setOrganizer(organizer);
+        event.setOrganization(organization);
+        entityManager.persist(event);
+        entityManager.flush();
+        return event.getId();
+    }
+
+    private CreateTicketTypeRequest createRequest(String name, int quantityAvailable) {
+        return new CreateTicketTypeRequest(name, null, BigDecimal.TEN, null, null, null, quantityAvailable,
+                null, null, null, null);
+    }
+
+    private UpdateTicketTypeRequest updateRequest(int quantityAvailable) {
+        return new UpdateTicketTypeRequest(null, null, null, null, null, null, quantityAvailable,
+                null, null, null, null, null);
+    }
+}
@@ -0,0 +1,167 @@
+package com.lagab.eventz.app.event.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.lagab.eventz.app.domain.event.dto.EventDTO;
+import com.lagab.eventz.app.domain.event.dto.UpdateEventDTO;
+import com.lagab.eventz.app.domain.event.mapper.AddressMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.EventMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapperImpl;
+import com.lagab.eventz.app.domain.event.model.Address;
+import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.service.AddressService;
+import com.lagab.eventz.app.domain.event.service.EventService;
+import com.lagab.eventz.app.domain.org.model.Organization;
+import com.lagab.eventz.app.domain.org.service.OrganizationService;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+import com.lagab.eventz.app.domain.user.model.User;
+import com.lagab.eventz.app.support.QueryCountConfiguration;
+import com.lagab.eventz.app.support.QueryCountConfiguration.QueryCounter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ QueryCountConfiguration.class, EventService.class, AddressService.class, EventMapperImpl.class,
+        AddressMapperImpl.class, TicketTypeMapperImpl.class })
+@DisplayName("EventService statement count Tests")
+class EventDetailQueryCountIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @MockitoBean
+    private OrganizationService organizationService;
+
+    private User organizer;
+    private Long eventId;
+
+    @BeforeEach
+    void setUp() {
+        organizer = new User();
+        organizer.setFirstName("Test");
+        organizer.setLastName("Organizer");
+        organizer.setEmail("detail@example.com");
+        organizer.setPassword("password");
+        entityManager.persist(organizer);
+
+        Organization organization = new Organization();
+        organization.setName("Detail Organization");
+        organization.setSlug("detail-organization");
+        organization.setEmail("detail@example.com");
+        entityManager.persist(organization);
+
+        Event event = new Event();
+        event.setName("Detail Event");
+        event.setDescription("Description");
+        event.setType(EventType.CONCERT);
+        event.setStatus(EventStatus.DRAFT);
+        event.setStartDate(LocalDateTime.now().plusDays(30));
+        event.setEndDate(LocalDateTime.now().plusDays(31));
+        event.setOrganizer(organizer);
+        event.setOrganization(organization);
+        entityManager.persist(event);
+        eventId = event.getId();
+
+        Address address = new Address();
+        address.setCity("Paris");
+        address.setCountry("France");
+        address.setEvent(event);
+        entityManager.persist(address);
+
+        persistTicketType(event, "Regular");
+        persistTicketType(event, "VIP");
+
+        entityManager.flush();
+        entityManager.clear();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(organizer, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Event detail should load the event and everything it maps in a single statement")
+    void detailShouldUseSingleStatement() {
+        queryCounter.reset();
+        EventDTO event = eventService.getEventById(eventId);
+
+        assertThat(queryCounter.count()).isEqualTo(1);
+        assertThat(event.organizerName()).isNotBlank();
+        assertThat(event.organizationName()).isEqualTo("Detail Organization");
+        assertThat(event.address().city()).isEqualTo("Paris");
+        assertThat(event.ticketTypes()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Org-admin update should issue one select and one update")
+    void updateShouldUseSelectAndUpdate() {
+        UpdateEventDTO update = new UpdateEventDTO("Renamed Event", null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null);
+
+        long statements = countStatements(() -> eventService.updateEvent(eventId, update));
+
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Cancel should issue one select and one update")
+    void cancelShouldUseSelectAndUpdate() {
+        long statements = countStatements(() -> eventService.cancelEvent(eventId));
+
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Publish should validate and map the event from a single select")
+    void publishShouldUseSelectAndUpdate() {
+        queryCounter.reset();
+        EventDTO published = eventService.publishEvent(eventId);
+        entityManager.flush();
+
+        assertThat(queryCounter.count()).isEqualTo(2);
+        assertThat(published.status()).isEqualTo(EventStatus.PUBLISHED);
+        assertThat(published.ticketTypes()).hasSize(2);
+    }
+
+    private long countStatements(Runnable runnable) {
+        queryCounter.reset();
+        runnable.run();
+        entityManager.flush();
+        return queryCounter.count();
+    }
+
+    private void persistTicketType(Event event, String name) {
+        TicketType ticketType = new TicketType();
+        ticketType.setName(name);
+        ticketType.setPrice(BigDecimal.TEN);
+        ticketType.setFee(BigDecimal.ZERO);
+        ticketType.setQuantityAvailable(100);
+        ticketType.setEvent(event);
+        entityManager.persist(ticketType);
+    }
+}
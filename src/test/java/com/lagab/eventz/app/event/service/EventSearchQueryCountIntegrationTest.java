@@ -0,0 +1,253 @@
+package com.lagab.eventz.app.event.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.lagab.eventz.app.common.dto.CursorPageResponse;
+import com.lagab.eventz.app.domain.event.catalog.EventCatalog;
+import com.lagab.eventz.app.domain.event.dto.EventCursorRequest;
+import com.lagab.eventz.app.domain.event.dto.EventSearchDTO;
+import com.lagab.eventz.app.domain.event.dto.EventSummaryDTO;
+import com.lagab.eventz.app.domain.event.geo.EventGeoIndex;
+import com.lagab.eventz.app.domain.event.mapper.AddressMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.EventMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapperImpl;
+import com.lagab.eventz.app.domain.event.model.Address;
+import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.repository.EventRepository;
+import com.lagab.eventz.app.domain.event.search.EventSearchIndex;
+import com.lagab.eventz.app.domain.event.service.EventSearchService;
+import com.lagab.eventz.app.domain.event.service.EventSummaryEnricher;
+import com.lagab.eventz.app.domain.org.model.Organization;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+import com.lagab.eventz.app.domain.user.model.User;
+import com.lagab.eventz.app.support.QueryCountConfiguration;
+import com.lagab.eventz.app.support.QueryCountConfiguration.QueryCounter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ QueryCountConfiguration.class, EventSearchService.class, EventSummaryEnricher.class,
+        EventSearchIndex.class, EventGeoIndex.class, EventCatalog.class, EventMapperImpl.class, AddressMapperImpl.class,
+        TicketTypeMapperImpl.class })
+@DisplayName("EventSearchService statement count Tests")
+class EventSearchQueryCountIntegrationTest {
+
+    // page query + count query + grouped availability query
+    private static final long STATEMENTS_PER_PAGE = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EventSearchService eventSearchService;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @Autowired
+    private EventCatalog eventCatalog;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private Organization organization;
+
+    @BeforeEach
+    void setUp() {
+        User organizer = new User();
+        organizer.setFirstName("Test");
+        organizer.setLastName("Organizer");
+        organizer.setEmail("count@example.com");
+        organizer.setPassword("password");
+        entityManager.persist(organizer);
+
+        organization = new Organization();
+        organization.setName("Count Organization");
+        organization.setSlug("count-organization");
+        organization.setEmail("count@example.com");
+        entityManager.persist(organization);
+
+        for (int i = 0; i < 60; i++) {
+            persistEvent(organizer, "Event " + i, i % 2 == 0 ? "Paris" : "Lyon", i % 10);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Search should issue the same number of statements for small and large pages")
+    void searchShouldUseFixedStatementCountPerPage() {
+        EventSearchDTO searchDTO = new EventSearchDTO();
+
+        long smallPage = countStatements(() -> eventSearchService.searchEvents(searchDTO, PageRequest.of(0, 5, Sort.by("startDate"))));
+        long largePage = countStatements(() -> eventSearchService.searchEvents(searchDTO, PageRequest.of(0, 50, Sort.by("startDate"))));
+
+        assertThat(smallPage).isEqualTo(STATEMENTS_PER_PAGE);
+        assertThat(largePage).isEqualTo(STATEMENTS_PER_PAGE);
+    }
+
+    @Test
+    @DisplayName("Organization listing should issue a fixed number of statements and compute availability")
+    void organizationListingShouldUseFixedStatementCount() {
+        EventSearchDTO searchDTO = new EventSearchDTO(
+                null, null, EventStatus.PUBLISHED, "Paris", null, null, null,
+                null, null, null, null, organization.getId()
+        );
+
+        queryCounter.reset();
+        Page<EventSummaryDTO> page = eventSearchService.searchEvents(searchDTO, PageRequest.of(0, 20, Sort.by("startDate")));
+
+        assertThat(queryCounter.count()).isEqualTo(STATEMENTS_PER_PAGE);
+        assertThat(page.getContent()).hasSize(20);
+        assertThat(page.getContent()).extracting(EventSummaryDTO::availableTickets).containsOnly(75);
+        assertThat(page.getContent()).extracting(EventSummaryDTO::city).containsOnly("Paris");
+    }
+
+    @Test
+    // The loaded catalog would otherwise serve the searches of the other tests
+    @DirtiesContext
+    @DisplayName("Catalog search should match the database and only hydrate the page")
+    void catalogSearchShouldMatchDatabase() {
+        EventSearchDTO searchDTO = new EventSearchDTO(
+                null, EventType.CONCERT, EventStatus.PUBLISHED, "paris", LocalDateTime.of(2030, 1, 3, 0, 0), null, false,
+                null, null, null, null, organization.getId()
+        );
+        PageRequest pageRequest = PageRequest.of(1, 4, Sort.by(Sort.Order.desc("startDate"), Sort.Order.asc("id")));
+        Page<EventSummaryDTO> fromDatabase = eventSearchService.searchEvents(searchDTO, pageRequest);
+        entityManager.clear();
+
+        try (var snapshots = eventRepository.streamAllSnapshots()) {
+            eventCatalog.rebuild(snapshots);
+        }
+        queryCounter.reset();
+        Page<EventSummaryDTO> fromCatalog = eventSearchService.searchEvents(searchDTO, pageRequest);
+
+        // page hydration + grouped availability query, no count query
+        assertThat(queryCounter.count()).isEqualTo(2);
+        assertThat(fromCatalog.getTotalElements()).isEqualTo(fromDatabase.getTotalElements()).isEqualTo(24);
+        assertThat(fromCatalog.getContent()).extracting(EventSummaryDTO::id)
+                                            .containsExactlyElementsOf(fromDatabase.map(EventSummaryDTO::id).getContent());
+        assertThat(fromCatalog.getContent()).extracting(EventSummaryDTO::availableTickets).containsOnly(75);
+    }
+
+    @Test
+    @DisplayName("Upcoming listing should issue a fixed number of statements")
+    void upcomingListingShouldUseFixedStatementCount() {
+        long statements = countStatements(() -> eventSearchService.findUpcomingEventsByOrganizer(
+                null, PageRequest.of(0, 40, Sort.by("startDate"))));
+
+        assertThat(statements).isEqualTo(STATEMENTS_PER_PAGE);
+    }
+
+    @Test
+    @DisplayName("Cursor scroll should match offset ordering with a constant statement count at any depth")
+    void cursorScrollShouldMatchOffsetOrdering() {
+        EventSearchDTO searchDTO = new EventSearchDTO();
+        List<Long> offsetIds = eventSearchService.searchEvents(searchDTO, PageRequest.of(0, 60, Sort.by("startDate", "id")))
+                                                 .map(EventSummaryDTO::id).getContent();
+
+        List<Long> scrolledIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            queryCounter.reset();
+            CursorPageResponse<EventSummaryDTO> page = eventSearchService.scrollEvents(searchDTO,
+                    EventCursorRequest.of(cursor, "startDate", Sort.Direction.ASC, 7));
+            // page query + grouped availability query, no count query
+            assertThat(queryCounter.count()).isEqualTo(2);
+            entityManager.clear();
+
+            page.data().forEach(dto -> scrolledIds.add(dto.id()));
+            cursor = page.pagination().nextCursor();
+        } while (cursor != null);
+
+        assertThat(scrolledIds).containsExactlyElementsOf(offsetIds);
+    }
+
+    @Test
+    @DisplayName("Organization scroll should match the organization listing without a count query")
+    void organizationScrollShouldMatchOrganizationListing() {
+        EventSearchDTO searchDTO = new EventSearchDTO(
+                null, null, EventStatus.PUBLISHED, "Paris", null, null, null,
+                null, null, null, null, organization.getId()
+        );
+        List<Long> offsetIds = eventSearchService.searchEvents(searchDTO, PageRequest.of(0, 60, Sort.by("startDate", "id")))
+                                                 .map(EventSummaryDTO::id).getContent();
+
+        List<Long> scrolledIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            queryCounter.reset();
+            CursorPageResponse<EventSummaryDTO> page = eventSearchService.scrollEvents(searchDTO,
+                    EventCursorRequest.of(cursor, "startDate", Sort.Direction.ASC, 20));
+            assertThat(queryCounter.count()).isEqualTo(2);
+            entityManager.clear();
+
+            page.data().forEach(dto -> scrolledIds.add(dto.id()));
+            cursor = page.pagination().nextCursor();
+        } while (cursor != null);
+
+        assertThat(scrolledIds).hasSize(30).containsExactlyElementsOf(offsetIds);
+    }
+
+    private long countStatements(Runnable runnable) {
+        queryCounter.reset();
+        runnable.run();
+        entityManager.clear();
+        return queryCounter.count();
+    }
+
+    private void persistEvent(User organizer, String name, String city, int dayOffset) {
+        Event event = new Event();
+        event.setName(name);
+        event.setDescription("Description of " + name);
+        event.setType(EventType.CONCERT);
+        event.setStatus(EventStatus.PUBLISHED);
+        event.setIsFree(false);
+        event.setIsPublic(true);
+        // Several events share a start date so the id tie-breaker is exercised
+        LocalDateTime startDate = LocalDateTime.of(2030, 1, 1, 20, 0).plusDays(dayOffset);
+        event.setStartDate(startDate);
+        event.setEndDate(startDate.plusDays(1));
+        event.setOrganizer(organizer);
+        event.setOrganization(organization);
+        entityManager.persist(event);
+
+        Address address = new Address();
+        address.setCity(city);
+        address.setCountry("France");
+        address.setEvent(event);
+        entityManager.persist(address);
+
+        persistTicketType(event, "Regular", 100, 40);
+        persistTicketType(event, "VIP", 20, 5);
+    }
+
+    private void persistTicketType(Event event, String name, int available, int sold) {
+        TicketType ticketType = new TicketType();
+        ticketType.setName(name);
+        ticketType.setPrice(BigDecimal.TEN);
+        ticketType.setFee(BigDecimal.ZERO);
+        ticketType.setQuantityAvailable(available);
+        ticketType.setQuantitySold(sold);
+        ticketType.setEvent(event);
+        entityManager.persist(ticketType);
+    }
+}
@@ -2,7 +2,7 @@ package com.lagab.eventz.app.event.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,18 +15,22 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
+import com.lagab.eventz.app.domain.event.catalog.EventCatalog;
 import com.lagab.eventz.app.domain.event.dto.EventSearchDTO;
 import com.lagab.eventz.app.domain.event.dto.EventSummaryDTO;
-import com.lagab.eventz.app.domain.event.mapper.EventMapper;
-import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.geo.EventGeoIndex;
 import com.lagab.eventz.app.domain.event.model.EventStatus;
 import com.lagab.eventz.app.domain.event.model.EventType;
 import com.lagab.eventz.app.domain.event.repository.EventRepository;
+import com.lagab.eventz.app.domain.event.search.EventSearchIndex;
 import com.lagab.eventz.app.domain.event.service.EventSearchService;
+import com.lagab.eventz.app.domain.event.service.EventSummaryEnricher;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -37,64 +41,58 @@ class EventSearchServiceTest {
     private EventRepository eventRepository;
 
     @Mock
-    private EventMapper eventMapper;
+    private EventSummaryEnricher eventSummaryEnricher;
+
+    @Mock
+    private EventSearchIndex eventSearchIndex;
+
+    @Mock
+    private EventGeoIndex eventGeoIndex;
+
+    @Mock
+    private EventCatalog eventCatalog;
 
     @InjectMocks
     private EventSearchService eventSearchService;
 
-    //@Mock
-    //private ReviewRepository reviewRepository;
-
     @Test
     void testSearchEvents() {
         EventSearchDTO searchDTO = new EventSearchDTO();
         Pageable pageable = PageRequest.of(0, 10);
-        Event event = new Event();
         EventSummaryDTO dto = getSampleDTO();
 
-        when(eventRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(new PageImpl<>(List.of(event)));
-        when(eventMapper.toSummaryDto(event)).thenReturn(dto);
-        //when(reviewRepository.calculateAverageRating(dto.id())).thenReturn(4.5);
-        //when(reviewRepository.countByEventId(dto.id())).thenReturn(10L);
-        when(eventRepository.findById(dto.id())).thenReturn(Optional.of(event));
+        when(eventRepository.findSummaries(any(Specification.class), eq(pageable))).thenReturn(new PageImpl<>(List.of(dto)));
+        when(eventSummaryEnricher.enrich(any(Page.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Page<EventSummaryDTO> result = eventSearchService.searchEvents(searchDTO, pageable);
 
         assertThat(result).hasSize(1);
-        verify(eventRepository).findAll(any(Specification.class), eq(pageable));
+        verify(eventRepository).findSummaries(any(Specification.class), eq(pageable));
     }
 
     @Test
     void testFindUpcomingFreeEvents() {
         Pageable pageable = PageRequest.of(0, 10);
-        Event event = new Event();
         EventSummaryDTO dto = getSampleDTO();
 
-        when(eventRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(event)));
-        when(eventMapper.toSummaryDto(event)).thenReturn(dto);
-        //when(reviewRepository.calculateAverageRating(dto.id())).thenReturn(3.8);
-        //when(reviewRepository.countByEventId(dto.id())).thenReturn(5L);
-        when(eventRepository.findById(dto.id())).thenReturn(Optional.of(event));
+        when(eventRepository.findSummaries(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(dto)));
+        when(eventSummaryEnricher.enrich(any(Page.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Page<EventSummaryDTO> result = eventSearchService.findUpcomingFreeEvents(pageable);
 
         assertThat(result).hasSize(1);
-        verify(eventRepository).findAll(any(Specification.class), eq(pageable));
+        verify(eventRepository).findSummaries(any(Specification.class), eq(pageable));
     }
 
     @Test
     void testFindEventsWithAvailableTickets() {
         Pageable pageable = PageRequest.of(0, 10);
-        Event event = new Event();
         EventSummaryDTO dto = getSampleDTO();
 
-        when(eventRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(event)));
-        when(eventMapper.toSummaryDto(event)).thenReturn(dto);
-        //when(reviewRepository.calculateAverageRating(dto.id())).thenReturn(4.2);
-        //when(reviewRepository.countByEventId(dto.id())).thenReturn(8L);
-        when(eventRepository.findById(dto.id())).thenReturn(Optional.of(event));
+        when(eventRepository.findSummaries(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(dto)));
+        when(eventSummaryEnricher.enrich(any(Page.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Page<EventSummaryDTO> result = eventSearchService.findEventsWithAvailableTickets(pageable);
 
@@ -102,22 +100,47 @@ class EventSearchServiceTest {
     }
 
     @Test
-    void testEnrichEventSummaryDTO_shouldReturnDTOWithNullEvent() {
-        Long eventId = 99L;
-        EventSummaryDTO dto = getSampleDTO(eventId);
+    void testSearchEvents_shouldEnrichTheWholePageAtOnce() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(eventRepository.findSummaries(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(getSampleDTO(1L), getSampleDTO(2L))));
+        when(eventSummaryEnricher.enrich(any(Page.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        eventSearchService.searchEvents(new EventSearchDTO(), pageable);
+
+        verify(eventSummaryEnricher, times(1)).enrich(any(Page.class));
+        verify(eventRepository, never()).findById(any());
+    }
 
-        //when(reviewRepository.calculateAverageRating(eventId)).thenReturn(2.5);
-        //when(reviewRepository.countByEventId(eventId)).thenReturn(3L);
-        when(eventRepository.findById(eventId)).thenReturn(Optional.empty());
+    @Test
+    void testSearchEvents_withKeyword_shouldNotQueryWhenIndexHasNoHit() {
+        Pageable pageable = PageRequest.of(0, 10);
+        EventSearchDTO searchDTO = new EventSearchDTO("opera", null, null, null, null, null, null,
+                null, null, null, null, null);
+
+        when(eventSearchIndex.canServe("opera")).thenReturn(true);
+        when(eventSearchIndex.search("opera")).thenReturn(Map.of());
+
+        Page<EventSummaryDTO> result = eventSearchService.searchEvents(searchDTO, pageable);
+
+        assertThat(result).isEmpty();
+        verify(eventRepository, never()).findSummaries(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void testSearchEvents_withKeyword_shouldFallBackToDatabaseWhenIndexCannotServe() {
+        Pageable pageable = PageRequest.of(0, 10);
+        EventSearchDTO searchDTO = new EventSearchDTO("jazz", null, null, null, null, null, null,
+                null, null, null, null, null);
 
-        Page<Event> eventPage = new PageImpl<>(List.of(new Event()));
-        when(eventRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(eventPage);
-        when(eventMapper.toSummaryDto(any())).thenReturn(dto);
+        when(eventSearchIndex.canServe("jazz")).thenReturn(false);
+        when(eventRepository.findSummaries(any(Specification.class), eq(pageable))).thenReturn(new PageImpl<>(List.of()));
+        when(eventSummaryEnricher.enrich(any(Page.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        Page<EventSummaryDTO> result = eventSearchService.searchEvents(new EventSearchDTO(), PageRequest.of(0, 10));
+        eventSearchService.searchEvents(searchDTO, pageable);
 
-        EventSummaryDTO enriched = result.getContent().get(0);
-        assertThat(enriched.availableTickets()).isZero();
+        verify(eventSearchIndex, never()).search(any());
+        verify(eventRepository).findSummaries(any(Specification.class), eq(pageable));
     }
 
     // Utility
@@ -0,0 +1,91 @@
+package com.lagab.eventz.app.event.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.lagab.eventz.app.domain.event.dto.EventSummaryDTO;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.projection.EventAvailabilityProjection;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.event.service.EventSummaryEnricher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventSummaryEnricher Tests")
+class EventSummaryEnricherTest {
+
+    @Mock
+    private TicketTypeRepository ticketTypeRepository;
+
+    @InjectMocks
+    private EventSummaryEnricher eventSummaryEnricher;
+
+    @Test
+    @DisplayName("Should fetch availability for the whole page in a single query")
+    void shouldFetchAvailabilityForWholePageInSingleQuery() {
+        // Given
+        Page<EventSummaryDTO> page = new PageImpl<>(List.of(summary(1L), summary(2L), summary(3L)), PageRequest.of(0, 3), 10);
+        when(ticketTypeRepository.sumAvailableTicketsByEventIds(anyCollection()))
+                .thenReturn(List.of(availability(1L, 40L), availability(3L, 5L)));
+
+        // When
+        Page<EventSummaryDTO> result = eventSummaryEnricher.enrich(page);
+
+        // Then
+        verify(ticketTypeRepository, times(1)).sumAvailableTicketsByEventIds(List.of(1L, 2L, 3L));
+        assertThat(result.getContent()).extracting(EventSummaryDTO::availableTickets).containsExactly(40, 0, 5);
+        assertThat(result.getTotalElements()).isEqualTo(10);
+        assertThat(result.getContent()).extracting(EventSummaryDTO::reviewCount).containsOnly(0L);
+    }
+
+    @Test
+    @DisplayName("Should not query anything for an empty page")
+    void shouldNotQueryForEmptyPage() {
+        // When
+        Page<EventSummaryDTO> result = eventSummaryEnricher.enrich(Page.empty());
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(ticketTypeRepository);
+    }
+
+    private EventSummaryDTO summary(Long id) {
+        return new EventSummaryDTO(
+                id, "Event " + id, "Summary", LocalDateTime.now(),
+                LocalDateTime.now().plusDays(1), EventStatus.PUBLISHED, EventType.CONCERT, "img.jpg",
+                true, false, "EUR", "Paris", "France",
+                null, null, null
+        );
+    }
+
+    private EventAvailabilityProjection availability(Long eventId, Long availableTickets) {
+        return new EventAvailabilityProjection() {
+            @Override
+            public Long getEventId() {
+                return eventId;
+            }
+
+            @Override
+            public Long getAvailableTickets() {
+                return availableTickets;
+            }
+        };
+    }
+}
@@ -0,0 +1,209 @@
+package com.lagab.eventz.app.event.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.lagab.eventz.app.domain.event.dto.ticket.OrganizationSalesStatsDTO;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketTypeStatsDTO;
+import com.lagab.eventz.app.domain.event.mapper.CapacityPoolMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapperImpl;
+import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.projection.SalesTotalsProjection;
+import com.lagab.eventz.app.domain.event.repository.EventSalesStatsRepository;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.event.service.CapacityPoolService;
+import com.lagab.eventz.app.domain.event.service.SalesStatsReconciler;
+import com.lagab.eventz.app.domain.event.service.SalesStatsService;
+import com.lagab.eventz.app.domain.event.service.TicketHoldService;
+import com.lagab.eventz.app.domain.event.service.TicketTypeService;
+import com.lagab.eventz.app.domain.org.model.Organization;
+import com.lagab.eventz.app.domain.ticket.entity.SalesTotals;
+import com.lagab.eventz.app.domain.ticket.entity.TicketHold;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+import com.lagab.eventz.app.domain.user.model.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ SalesStatsService.class, SalesStatsReconciler.class, TicketTypeService.class, TicketHoldService.class,
+        CapacityPoolService.class, TicketTypeMapperImpl.class, CapacityPoolMapperImpl.class })
+@DisplayName("Sales stats Tests")
+class SalesStatsIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SalesStatsService salesStatsService;
+
+    @Autowired
+    private SalesStatsReconciler salesStatsReconciler;
+
+    @Autowired
+    private TicketTypeService ticketTypeService;
+
+    @Autowired
+    private TicketHoldService ticketHoldService;
+
+    @Autowired
+    private TicketTypeRepository ticketTypeRepository;
+
+    @Autowired
+    private EventSalesStatsRepository eventSalesStatsRepository;
+
+    private Long buyerId;
+    private String organizationId;
+    private Long eventId;
+    private Long otherEventId;
+    private Long regularId;
+    private Long vipId;
+
+    @BeforeEach
+    void setUp() {
+        User organizer = new User();
+        organizer.setFirstName("Test");
+        organizer.setLastName("Organizer");
+        organizer.setEmail("stats@example.com");
+        organizer.setPassword("password");
+        entityManager.persist(organizer);
+        buyerId = organizer.getId();
+
+        Organization organization = new Organization();
+        organization.setName("Stats Organization");
+        organization.setSlug("stats-organization");
+        organization.setEmail("stats@example.com");
+        entityManager.persist(organization);
+        organizationId = organization.getId();
+
+        Event event = persistEvent("Festival", organizer, organization);
+        Event other = persistEvent("Club night", organizer, organization);
+        eventId = event.getId();
+        otherEventId = other.getId();
+        regularId = persistTicketType(event, "Regular", new BigDecimal("12.50"), 10);
+        vipId = persistTicketType(event, "VIP", new BigDecimal("40.00"), 2);
+        persistTicketType(other, "Entry", new BigDecimal("8.00"), 100);
+        entityManager.flush();
+
+        // Ticket types created through the service rebuild the stats of their event the same way
+        salesStatsService.rebuild(eventId);
+        salesStatsService.rebuild(otherEventId);
+    }
+
+    @Test
+    @DisplayName("Sales and refunds should move the totals of the event and its organization")
+    void salesShouldMoveTotals() {
+        // When
+        ticketTypeService.updateQuantitySold(regularId, 3);
+        ticketTypeService.updateQuantitySold(vipId, 2);
+        ticketTypeService.updateQuantitySold(regularId, -1);
+
+        // Then
+        TicketTypeStatsDTO stats = ticketTypeService.getEventTicketTypeStats(eventId);
+        assertThat(stats.totalTicketTypes()).isEqualTo(2L);
+        assertThat(stats.soldOutTicketTypes()).isEqualTo(1L);
+        assertThat(stats.totalSold()).isEqualTo(4);
+        assertThat(stats.totalRemaining()).isEqualTo(8);
+        assertThat(stats.totalRevenue()).isEqualByComparingTo("105.00");
+        assertThat(stats.averagePrice()).isEqualTo(26.25);
+        assertThat(stats.sellThroughRate()).isEqualTo(4.0 / 12 * 100);
+        assertMatchesTicketTypes(eventId);
+
+        OrganizationSalesStatsDTO organization = salesStatsService.getOrganizationStats(organizationId);
+        assertThat(organization.totalTicketTypes()).isEqualTo(3L);
+        assertThat(organization.totalSold()).isEqualTo(4L);
+        assertThat(organization.totalRemaining()).isEqualTo(108L);
+        assertThat(organization.totalRevenue()).isEqualByComparingTo("105.00");
+    }
+
+    @Test
+    @DisplayName("Holds should take tickets off the remaining ones until they are confirmed or released")
+    void holdsShouldMoveRemaining() {
+        // When
+        TicketHold confirmed = ticketHoldService.createHold(vipId, 2, buyerId, LocalDateTime.now(), LocalDateTime.now().plusMinutes(10));
+        TicketHold released = ticketHoldService.createHold(regularId, 4, buyerId, LocalDateTime.now(), LocalDateTime.now().plusMinutes(10));
+
+        // Then the held VIP tickets count as sold out but not as sold
+        SalesTotals totals = salesStatsService.getEventTotals(eventId);
+        assertThat(totals.getSold()).isZero();
+        assertThat(totals.getRemaining()).isEqualTo(6);
+        assertThat(totals.getSoldOutTicketTypes()).isEqualTo(1);
+        assertMatchesTicketTypes(eventId);
+
+        // When
+        ticketHoldService.confirmHold(confirmed.getId(), buyerId, LocalDateTime.now());
+        ticketHoldService.releaseHolds(List.of(released.getId()), buyerId);
+
+        // Then
+        totals = salesStatsService.getEventTotals(eventId);
+        assertThat(totals.getSold()).isEqualTo(2);
+        assertThat(totals.getRemaining()).isEqualTo(10);
+        assertThat(totals.getRevenue()).isEqualTo(8_000);
+        assertThat(totals.getSoldOutTicketTypes()).isEqualTo(1);
+        assertMatchesTicketTypes(eventId);
+    }
+
+    @Test
+    @DisplayName("Reconciliation should repair the totals that drifted from the ticket types")
+    void reconciliationShouldRepairDrift() {
+        // Given stats moved by a write that bypassed the services
+        eventSalesStatsRepository.addTotals(eventId, new SalesTotals(0, 0, 0, 0, 5, -5, 1_000, 0));
+        ticketTypeRepository.updateQuantitySold(regularId, 2);
+        // The nightly job runs in a transaction of its own
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        int repaired = salesStatsReconciler.reconcile();
+
+        // Then the event and its organization are back in line, the other event untouched
+        assertThat(repaired).isEqualTo(2);
+        assertMatchesTicketTypes(eventId);
+        assertMatchesTicketTypes(otherEventId);
+        assertThat(salesStatsService.getOrganizationStats(organizationId).totalSold()).isEqualTo(2L);
+        entityManager.clear();
+        assertThat(salesStatsReconciler.reconcile()).isZero();
+    }
+
+    private void assertMatchesTicketTypes(Long eventId) {
+        assertThat(salesStatsService.getEventTotals(eventId))
+                .isEqualTo(ticketTypeRepository.findSalesTotalsByEventId(eventId).map(SalesTotalsProjection::toTotals).orElseThrow());
+    }
+
+    private Event persistEvent(String name, User organizer, Organization organization) {
+        Event event = new Event();
+        event.setName(name);
+        event.setType(EventType.CONCERT);
+        event.setStatus(EventStatus.PUBLISHED);
+        event.setIsFree(false);
+        event.setIsPublic(true);
+        event.setStartDate(LocalDateTime.now().plusDays(30));
+        event.setEndDate(LocalDateTime.now().plusDays(31));
+        event.setOrganizer(organizer);
+        event.setOrganization(organization);
+        entityManager.persist(event);
+        return event;
+    }
+
+    private Long persistTicketType(Event event, String name, BigDecimal price, int quantityAvailable) {
+        TicketType ticketType = new TicketType();
+        ticketType.setName(name);
+        ticketType.setPrice(price);
+        ticketType.setFee(BigDecimal.ZERO);
+        ticketType.setCapacity(quantityAvailable);
+        ticketType.setQuantityAvailable(quantityAvailable);
+        ticketType.setEvent(event);
+        entityManager.persist(ticketType);
+        return ticketType.getId();
+    }
+}
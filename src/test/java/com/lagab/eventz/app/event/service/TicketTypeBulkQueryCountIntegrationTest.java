@@ -0,0 +1,186 @@
+package com.lagab.eventz.app.event.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.lagab.eventz.app.domain.event.dto.ticket.BulkUpdateTicketTypeRequest;
+import com.lagab.eventz.app.domain.event.dto.ticket.BulkUpdateTicketTypeRequest.TicketTypeUpdate;
+import com.lagab.eventz.app.domain.event.dto.ticket.CreateTicketTypeRequest;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketTypeDTO;
+import com.lagab.eventz.app.domain.event.dto.ticket.UpdateTicketTypeRequest;
+import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapperImpl;
+import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.service.CapacityPoolService;
+import com.lagab.eventz.app.domain.event.service.SalesStatsService;
+import com.lagab.eventz.app.domain.event.service.TicketTypeService;
+import com.lagab.eventz.app.domain.org.model.Organization;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+import com.lagab.eventz.app.domain.user.model.User;
+import com.lagab.eventz.app.support.QueryCountConfiguration;
+import com.lagab.eventz.app.support.QueryCountConfiguration.QueryCounter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ QueryCountConfiguration.class, TicketTypeService.class, SalesStatsService.class, TicketTypeMapperImpl.class })
+@DisplayName("TicketTypeService bulk statement count Tests")
+class TicketTypeBulkQueryCountIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TicketTypeService ticketTypeService;
+
+    @Autowired
+    private SalesStatsService salesStatsService;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @MockitoBean
+    private CapacityPoolService capacityPoolService;
+
+    private Event event;
+    private List<Long> ticketTypeIds;
+
+    @BeforeEach
+    void setUp() {
+        User organizer = new User();
+        organizer.setFirstName("Test");
+        organizer.setLastName("Organizer");
+        organizer.setEmail("bulk@example.com");
+        organizer.setPassword("password");
+        entityManager.persist(organizer);
+
+        Organization organization = new Organization();
+        organization.setName("Bulk Organization");
+        organization.setSlug("bulk-organization");
+        organization.setEmail("bulk@example.com");
+        entityManager.persist(organization);
+
+        event = new Event();
+        event.setName("Bulk Event");
+        event.setDescription("Description");
+        event.setType(EventType.CONCERT);
+        event.setStatus(EventStatus.DRAFT);
+        event.setStartDate(LocalDateTime.now().plusDays(30));
+        event.setEndDate(LocalDateTime.now().plusDays(31));
+        event.setOrganizer(organizer);
+        event.setOrganization(organization);
+        entityManager.persist(event);
+
+        ticketTypeIds = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            TicketType ticketType = new TicketType();
+            ticketType.setName("Ticket " + i);
+            ticketType.setPrice(BigDecimal.TEN);
+            ticketType.setFee(BigDecimal.ZERO);
+            ticketType.setQuantityAvailable(100);
+            ticketType.setSortOrder(i + 1);
+            ticketType.setEvent(event);
+            entityManager.persist(ticketType);
+            ticketTypeIds.add(ticketType.getId());
+        }
+
+        salesStatsService.rebuild(event.getId());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Bulk update should issue the same statements for 5 and 50 ticket types")
+    void bulkUpdateShouldNotDependOnListSize() {
+        long few = countStatements(() -> ticketTypeService.updateBulkTicketTypes(renameRequest(ticketTypeIds.subList(0, 5), "Few")));
+        long many = countStatements(() -> ticketTypeService.updateBulkTicketTypes(renameRequest(ticketTypeIds, "Many")));
+
+        // One select, one batch of updates, one refresh of the event availability, and the rebuild of the sales stats:
+        // aggregate and read of the totals, left alone as the descriptions do not change them
+        assertThat(few).isEqualTo(5);
+        assertThat(many).isEqualTo(few);
+        entityManager.clear();
+        assertThat(entityManager.find(TicketType.class, ticketTypeIds.get(49)).getDescription()).isEqualTo("Many");
+    }
+
+    @Test
+    @DisplayName("Reorder should issue the same statements for 5 and 50 ticket types")
+    void reorderShouldNotDependOnListSize() {
+        List<Long> reversed = new ArrayList<>(ticketTypeIds);
+        Collections.reverse(reversed);
+
+        long few = countStatements(() -> ticketTypeService.reorderTicketTypes(event.getId(), reversed.subList(0, 5)));
+        entityManager.clear();
+        List<TicketTypeDTO> reordered = new ArrayList<>();
+        long many = countStatements(() -> reordered.addAll(ticketTypeService.reorderTicketTypes(event.getId(), reversed)));
+
+        // One update of every sort order, one select of the reordered ticket types
+        assertThat(few).isEqualTo(2);
+        assertThat(many).isEqualTo(few);
+        assertThat(reordered).extracting(TicketTypeDTO::id).containsExactlyElementsOf(reversed);
+    }
+
+    @Test
+    @DisplayName("Deactivate should issue the same statements for 5 and 50 ticket types")
+    void deactivateShouldNotDependOnListSize() {
+        long few = countStatements(() -> ticketTypeService.updateActiveStatus(event.getId(), ticketTypeIds.subList(0, 5), false));
+        long many = countStatements(() -> ticketTypeService.updateActiveStatus(event.getId(), ticketTypeIds, false));
+
+        // One update, one select of the updated ticket types, and the rebuild of the sales stats: aggregate, read of
+        // the totals, update of the event and organization totals
+        assertThat(few).isEqualTo(6);
+        assertThat(many).isEqualTo(few);
+        assertThat(ticketTypeService.getActiveTicketTypesByEventId(event.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Bulk create should batch the inserts whatever the number of ticket types")
+    void bulkCreateShouldBatchInserts() {
+        long few = countStatements(() -> ticketTypeService.createBulkTicketTypes(event.getId(), createRequests("Few", 5)));
+        long many = countStatements(() -> ticketTypeService.createBulkTicketTypes(event.getId(), createRequests("Many", 50)));
+
+        // Select of the event, max sort order, one batch of inserts, refresh of the event availability, rebuild of the
+        // sales stats, and one call to the sequence when the block of 50 ids in hand runs out
+        assertThat(few).isBetween(8L, 9L);
+        assertThat(many).isBetween(8L, 9L);
+        assertThat(ticketTypeService.getTicketTypesByEventId(event.getId()))
+                .hasSize(105)
+                .last()
+                .satisfies(last -> assertThat(last.name()).isEqualTo("Many 49"));
+    }
+
+    private long countStatements(Runnable runnable) {
+        queryCounter.reset();
+        runnable.run();
+        entityManager.flush();
+        return queryCounter.count();
+    }
+
+    private static BulkUpdateTicketTypeRequest renameRequest(List<Long> ids, String description) {
+        return new BulkUpdateTicketTypeRequest(ids.stream()
+                                                  .map(id -> new TicketTypeUpdate(id, new UpdateTicketTypeRequest(null, description,
+                                                          null, null, null, null, null, null, null, null, null, null)))
+                                                  .toList());
+    }
+
+    private static List<CreateTicketTypeRequest> createRequests(String prefix, int count) {
+        return IntStream.range(0, count)
+                        .mapToObj(i -> new CreateTicketTypeRequest(prefix + " " + i, null, BigDecimal.TEN, BigDecimal.ZERO,
+                                null, 100, 100, null, null, 1, 10))
+                        .toList();
+    }
+}
@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,19 +14,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.lagab.eventz.app.common.exception.BusinessException;
+import com.lagab.eventz.app.domain.event.change.TicketTypeChange;
+import com.lagab.eventz.app.domain.event.change.TicketTypeSettingsChange;
 import com.lagab.eventz.app.domain.event.dto.ticket.BulkUpdateTicketTypeRequest;
+import com.lagab.eventz.app.domain.event.dto.ticket.CapacityPoolDTO;
 import com.lagab.eventz.app.domain.event.dto.ticket.CreateTicketTypeRequest;
 import com.lagab.eventz.app.domain.event.dto.ticket.TicketTypeDTO;
 import com.lagab.eventz.app.domain.event.dto.ticket.TicketTypeStatsDTO;
 import com.lagab.eventz.app.domain.event.dto.ticket.UpdateTicketTypeRequest;
+import com.lagab.eventz.app.domain.event.exception.TicketsSoldOutException;
 import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapper;
 import com.lagab.eventz.app.domain.event.model.Event;
-import com.lagab.eventz.app.domain.event.projection.TicketTypeStatsProjection;
+import com.lagab.eventz.app.domain.event.projection.TicketTypeInventoryProjection;
 import com.lagab.eventz.app.domain.event.repository.EventRepository;
+import com.lagab.eventz.app.domain.event.repository.SeatSectionRepository;
+import com.lagab.eventz.app.domain.event.repository.TicketHoldRepository;
 import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.event.repository.WaitlistEntryRepository;
+import com.lagab.eventz.app.domain.event.service.CapacityPoolService;
+import com.lagab.eventz.app.domain.event.service.SalesStatsService;
 import com.lagab.eventz.app.domain.event.service.TicketTypeService;
+import com.lagab.eventz.app.domain.ticket.entity.SalesTotals;
 import com.lagab.eventz.app.domain.ticket.entity.TicketType;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -37,9 +49,10 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,12 +62,30 @@ class TicketTypeServiceTest {
     @Mock
     private TicketTypeRepository ticketTypeRepository;
 
+    @Mock
+    private TicketHoldRepository ticketHoldRepository;
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private SeatSectionRepository seatSectionRepository;
+
     @Mock
     private EventRepository eventRepository;
 
+    @Mock
+    private CapacityPoolService capacityPoolService;
+
+    @Mock
+    private SalesStatsService salesStatsService;
+
     @Mock
     private TicketTypeMapper ticketTypeMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TicketTypeService ticketTypeService;
 
@@ -342,7 +373,7 @@ class TicketTypeServiceTest {
             // Given
             when(ticketTypeRepository.findOnSaleByEventId(eq(1L), any(LocalDateTime.class)))
                     .thenReturn(List.of(mockTicketType));
-            when(ticketTypeMapper.toDTOList(anyList())).thenReturn(List.of(mockTicketTypeDTO));
+            when(ticketTypeMapper.toDTOList(anyList(), any(LocalDateTime.class))).thenReturn(List.of(mockTicketTypeDTO));
 
             // When
             List<TicketTypeDTO> result = ticketTypeService.getOnSaleTicketTypesByEventId(1L);
@@ -372,6 +403,9 @@ class TicketTypeServiceTest {
             assertThat(result).isNotNull();
             verify(ticketTypeMapper).updateEntityFromDTO(updateRequest, mockTicketType);
             verify(ticketTypeRepository).save(mockTicketType);
+            verify(eventRepository).refreshAvailability(1L);
+            verify(eventPublisher).publishEvent(new TicketTypeChange(1L));
+            verify(eventPublisher).publishEvent(new TicketTypeSettingsChange(1L));
         }
 
         @Test
@@ -451,8 +485,7 @@ class TicketTypeServiceTest {
             mockTicketType2.setId(2L);
             mockTicketType2.setEvent(mockEvent);
 
-            when(ticketTypeRepository.findById(1L)).thenReturn(Optional.of(mockTicketType));
-            when(ticketTypeRepository.findById(2L)).thenReturn(Optional.of(mockTicketType2));
+            when(ticketTypeRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(mockTicketType, mockTicketType2));
             when(ticketTypeRepository.saveAll(anyList()))
                     .thenReturn(List.of(mockTicketType, mockTicketType2));
             when(ticketTypeMapper.toDTOList(anyList()))
@@ -465,6 +498,7 @@ class TicketTypeServiceTest {
             assertThat(result).hasSize(2);
             verify(ticketTypeMapper, times(2)).updateEntityFromDTO(eq(updateRequest), any(TicketType.class));
             verify(ticketTypeRepository).saveAll(anyList());
+            verify(ticketTypeRepository, never()).findById(any());
         }
 
         @Test
@@ -476,7 +510,7 @@ class TicketTypeServiceTest {
             BulkUpdateTicketTypeRequest bulkRequest =
                     new BulkUpdateTicketTypeRequest(List.of(update));
 
-            when(ticketTypeRepository.findById(999L)).thenReturn(Optional.empty());
+            when(ticketTypeRepository.findAllById(Set.of(999L))).thenReturn(List.of());
 
             // When & Then
             assertThatThrownBy(() -> ticketTypeService.updateBulkTicketTypes(bulkRequest))
@@ -500,6 +534,8 @@ class TicketTypeServiceTest {
             ticketTypeService.deleteTicketType(1L);
 
             // Then
+            verify(waitlistEntryRepository).deleteByTicketTypeId(1L);
+            verify(seatSectionRepository).deleteByTicketTypeId(1L);
             verify(ticketTypeRepository).delete(mockTicketType);
         }
 
@@ -588,6 +624,43 @@ class TicketTypeServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Bulk Active Status Tests")
+    class BulkActiveStatusTests {
+
+        @Test
+        @DisplayName("Should deactivate ticket types in a single update")
+        void shouldDeactivateTicketTypesInSingleUpdate() {
+            // Given
+            when(ticketTypeRepository.updateActiveStatus(1L, Set.of(1L, 2L), false)).thenReturn(2);
+            when(ticketTypeRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(mockTicketType));
+            when(ticketTypeMapper.toDTOList(anyList())).thenReturn(List.of(mockTicketTypeDTO, mockTicketTypeDTO));
+
+            // When
+            List<TicketTypeDTO> result = ticketTypeService.updateActiveStatus(1L, List.of(1L, 2L, 1L), false);
+
+            // Then
+            assertThat(result).hasSize(2);
+            verify(ticketTypeRepository).updateActiveStatus(1L, Set.of(1L, 2L), false);
+            verify(eventPublisher).publishEvent(new TicketTypeSettingsChange(1L));
+            verify(eventPublisher).publishEvent(new TicketTypeSettingsChange(2L));
+            verify(ticketTypeRepository, never()).save(any(TicketType.class));
+        }
+
+        @Test
+        @DisplayName("Should throw BusinessException when ticket type doesn't belong to event")
+        void shouldThrowBusinessExceptionWhenTicketTypeDoesntBelongToEvent() {
+            // Given
+            when(ticketTypeRepository.updateActiveStatus(1L, Set.of(1L, 999L), true)).thenReturn(1);
+
+            // When & Then
+            assertThatThrownBy(() -> ticketTypeService.updateActiveStatus(1L, List.of(1L, 999L), true))
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessage("Some ticket types don't belong to this event");
+            verify(eventPublisher, never()).publishEvent(any(TicketTypeSettingsChange.class));
+        }
+    }
+
     @Nested
     @DisplayName("Update Quantity Sold Tests")
     class UpdateQuantitySoldTests {
@@ -605,6 +678,36 @@ class TicketTypeServiceTest {
             verify(ticketTypeRepository).updateQuantitySold(1L, 5);
         }
 
+        @Test
+        @DisplayName("Should refresh the availability counters and notify the sale for the event of the ticket type")
+        void shouldPublishTicketTypeChangeForEvent() {
+            // Given
+            when(ticketTypeRepository.updateQuantitySold(1L, 5)).thenReturn(1);
+            when(ticketTypeRepository.findInventoryById(1L)).thenReturn(Optional.of(inventory(42L, null)));
+
+            // When
+            ticketTypeService.updateQuantitySold(1L, 5);
+
+            // Then
+            verify(eventRepository).refreshAvailability(42L);
+            verify(eventPublisher).publishEvent(new TicketTypeChange(42L));
+        }
+
+        @Test
+        @DisplayName("Should give the sale back to the ticket type when its capacity pool refuses it")
+        void shouldGiveSaleBackWhenPoolRefuses() {
+            // Given
+            when(ticketTypeRepository.updateQuantitySold(1L, 5)).thenReturn(1);
+            when(ticketTypeRepository.findInventoryById(1L)).thenReturn(Optional.of(inventory(42L, 7L)));
+            when(capacityPoolService.updateQuantitySold(List.of(7L), 5)).thenReturn(false);
+
+            // When & Then
+            assertThatThrownBy(() -> ticketTypeService.updateQuantitySold(1L, 5))
+                    .isInstanceOf(TicketsSoldOutException.class);
+            verify(ticketTypeRepository).updateQuantitySold(1L, -5);
+            verify(eventRepository, never()).refreshAvailability(any());
+        }
+
         @Test
         @DisplayName("Should throw EntityNotFoundException when no rows updated")
         void shouldThrowEntityNotFoundExceptionWhenNoRowsUpdated() {
@@ -616,6 +719,33 @@ class TicketTypeServiceTest {
                     .isInstanceOf(EntityNotFoundException.class)
                     .hasMessage("Ticket type not found with ID: 1");
         }
+
+        @Test
+        @DisplayName("Should throw TicketsSoldOutException when the sale exceeds the available quantity")
+        void shouldThrowSoldOutWhenCapacityExceeded() {
+            // Given
+            when(ticketTypeRepository.updateQuantitySold(1L, 5)).thenReturn(0);
+            when(ticketTypeRepository.existsById(1L)).thenReturn(true);
+
+            // When & Then
+            assertThatThrownBy(() -> ticketTypeService.updateQuantitySold(1L, 5))
+                    .isInstanceOf(TicketsSoldOutException.class)
+                    .hasMessage("Not enough tickets left for ticket type: 1");
+            verify(eventRepository, never()).refreshAvailability(any());
+        }
+
+        @Test
+        @DisplayName("Should refuse to release more tickets than were sold")
+        void shouldRefuseToReleaseMoreThanSold() {
+            // Given
+            when(ticketTypeRepository.updateQuantitySold(1L, -5)).thenReturn(0);
+            when(ticketTypeRepository.existsById(1L)).thenReturn(true);
+
+            // When & Then
+            assertThatThrownBy(() -> ticketTypeService.updateQuantitySold(1L, -5))
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessage("Cannot release more tickets than were sold");
+        }
     }
 
     @Nested
@@ -626,7 +756,7 @@ class TicketTypeServiceTest {
         @DisplayName("Should get event ticket type stats successfully")
         void shouldGetEventTicketTypeStatsSuccessfully() {
             // Given
-            TicketTypeStatsProjection mockProjection = mock(TicketTypeStatsProjection.class);
+            SalesTotals totals = new SalesTotals(3, 2, 1, 300, 150, 150, 1_500_000, 30_000);
 
             TicketTypeStatsDTO expectedStats = new TicketTypeStatsDTO(
                     3L, // totalTicketTypes
@@ -637,12 +767,14 @@ class TicketTypeServiceTest {
                     150, // totalRemaining
                     BigDecimal.valueOf(15000), // totalRevenue
                     100.0, // averagePrice
-                    50.0  // sellThroughRate (calculated: totalSold / totalCapacity * 100)
+                    50.0, // sellThroughRate (calculated: totalSold / totalCapacity * 100)
+                    List.of() // capacityPools
             );
 
-            when(ticketTypeRepository.getStatsByEventId(1L))
-                    .thenReturn(Optional.of(mockProjection));
-            when(ticketTypeMapper.toDTO(mockProjection)).thenReturn(expectedStats);
+            when(salesStatsService.getEventTotals(1L)).thenReturn(totals);
+            when(ticketTypeMapper.toDTO(totals)).thenReturn(expectedStats);
+            CapacityPoolDTO pool = new CapacityPoolDTO(5L, null, "Venue", 250, 150, 0, 100);
+            when(capacityPoolService.getCapacityPoolsByEventId(1L)).thenReturn(List.of(pool));
 
             // When
             TicketTypeStatsDTO result = ticketTypeService.getEventTicketTypeStats(1L);
@@ -658,16 +790,19 @@ class TicketTypeServiceTest {
             assertThat(result.totalRevenue()).isEqualTo(BigDecimal.valueOf(15000));
             assertThat(result.averagePrice()).isEqualTo(100.0);
             assertThat(result.sellThroughRate()).isEqualTo(50.0); // Calculated field
+            assertThat(result.capacityPools()).containsExactly(pool);
 
-            verify(ticketTypeRepository).getStatsByEventId(1L);
-            verify(ticketTypeMapper).toDTO(mockProjection);
+            verify(salesStatsService).getEventTotals(1L);
+            verify(ticketTypeMapper).toDTO(totals);
+            verifyNoInteractions(ticketTypeRepository);
         }
 
         @Test
         @DisplayName("Should return default stats when no data found")
         void shouldReturnDefaultStatsWhenNoDataFound() {
             // Given
-            when(ticketTypeRepository.getStatsByEventId(1L)).thenReturn(Optional.empty());
+            when(salesStatsService.getEventTotals(1L)).thenReturn(SalesTotals.ZERO);
+            when(ticketTypeMapper.toDTO(SalesTotals.ZERO)).thenCallRealMethod();
 
             // When
             TicketTypeStatsDTO result = ticketTypeService.getEventTicketTypeStats(1L);
@@ -680,7 +815,7 @@ class TicketTypeServiceTest {
             assertThat(result.totalCapacity()).isEqualTo(0);
             assertThat(result.totalSold()).isEqualTo(0);
             assertThat(result.totalRemaining()).isEqualTo(0);
-            assertThat(result.totalRevenue()).isEqualTo(BigDecimal.ZERO);
+            assertThat(result.totalRevenue()).isEqualByComparingTo(BigDecimal.ZERO);
             assertThat(result.averagePrice()).isEqualTo(0.0);
             assertThat(result.sellThroughRate()).isEqualTo(0.0);
         }
@@ -740,18 +875,17 @@ class TicketTypeServiceTest {
             // Given
             TicketType ticketType1 = new TicketType();
             ticketType1.setId(1L);
-            ticketType1.setSortOrder(1);
+            ticketType1.setSortOrder(2);
 
             TicketType ticketType2 = new TicketType();
             ticketType2.setId(2L);
-            ticketType2.setSortOrder(2);
+            ticketType2.setSortOrder(1);
 
-            List<TicketType> existingTicketTypes = List.of(ticketType1, ticketType2);
             List<Long> newOrder = List.of(2L, 1L);
 
+            when(ticketTypeRepository.updateSortOrders(1L, newOrder)).thenReturn(2);
             when(ticketTypeRepository.findByEventIdOrderBySortOrderAscIdAsc(1L))
-                    .thenReturn(existingTicketTypes);
-            when(ticketTypeRepository.saveAll(anyList())).thenReturn(existingTicketTypes);
+                    .thenReturn(List.of(ticketType2, ticketType1));
             when(ticketTypeMapper.toDTOList(anyList())).thenReturn(List.of(mockTicketTypeDTO, mockTicketTypeDTO));
 
             // When
@@ -759,25 +893,30 @@ class TicketTypeServiceTest {
 
             // Then
             assertThat(result).hasSize(2);
-            verify(ticketTypeRepository).saveAll(argThat(ticketTypes -> {
-                List<TicketType> list = (List<TicketType>) ticketTypes;
-                return list.stream().anyMatch(tt -> tt.getId().equals(2L) && tt.getSortOrder() == 1) &&
-                        list.stream().anyMatch(tt -> tt.getId().equals(1L) && tt.getSortOrder() == 2);
-            }));
+            verify(ticketTypeRepository).updateSortOrders(1L, newOrder);
+            verify(ticketTypeRepository, never()).saveAll(anyList());
+        }
+
+        @Test
+        @DisplayName("Should number repeated IDs once, at their first place")
+        void shouldIgnoreRepeatedIds() {
+            // Given
+            when(ticketTypeRepository.updateSortOrders(1L, List.of(2L, 1L))).thenReturn(2);
+
+            // When
+            ticketTypeService.reorderTicketTypes(1L, List.of(2L, 1L, 2L));
+
+            // Then
+            verify(ticketTypeRepository).updateSortOrders(1L, List.of(2L, 1L));
         }
 
         @Test
         @DisplayName("Should throw BusinessException when ticket type doesn't belong to event")
         void shouldThrowBusinessExceptionWhenTicketTypeDoesntBelongToEvent() {
             // Given
-            TicketType ticketType1 = new TicketType();
-            ticketType1.setId(1L);
-
-            List<TicketType> existingTicketTypes = List.of(ticketType1);
             List<Long> newOrder = List.of(1L, 999L); // 999L doesn't exist
 
-            when(ticketTypeRepository.findByEventIdOrderBySortOrderAscIdAsc(1L))
-                    .thenReturn(existingTicketTypes);
+            when(ticketTypeRepository.updateSortOrders(1L, newOrder)).thenReturn(1);
 
             // When & Then
             assertThatThrownBy(() -> ticketTypeService.reorderTicketTypes(1L, newOrder))
@@ -1045,7 +1184,6 @@ class TicketTypeServiceTest {
             // Given
             when(ticketTypeRepository.findByEventIdOrderBySortOrderAscIdAsc(1L))
                     .thenReturn(List.of());
-            when(ticketTypeRepository.saveAll(List.of())).thenReturn(List.of());
             when(ticketTypeMapper.toDTOList(List.of())).thenReturn(List.of());
 
             // When
@@ -1209,6 +1347,23 @@ class TicketTypeServiceTest {
             // In a real integration test, we would verify that no write operations are performed
         }
     }
-}
-
 
+    private static TicketTypeInventoryProjection inventory(Long eventId, Long capacityPoolId) {
+        return new TicketTypeInventoryProjection() {
+            @Override
+            public Long getEventId() {
+                return eventId;
+            }
+
+            @Override
+            public Long getCapacityPoolId() {
+                return capacityPoolId;
+            }
+
+            @Override
+            public Long getParentCapacityPoolId() {
+                return null;
+            }
+        };
+    }
+}
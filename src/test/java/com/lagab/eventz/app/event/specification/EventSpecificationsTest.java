@@ -454,48 +454,6 @@ class EventSpecificationsTest {
             verify(criteriaBuilder).conjunction();
             assertEquals(mockPredicate, result);
         }
-
-        @Test
-        @DisplayName("Should create distance calculation predicate when all parameters are provided")
-        void shouldCreateDistanceCalculationPredicateWhenAllParametersAreProvided() {
-            // Given
-            Double latitude = 48.8566;
-            Double longitude = 2.3522;
-            Double radius = 10.0;
-
-            Path<Object> addressPath = mock(Path.class);
-            Path<Double> latitudePath = mock(Path.class);
-            Path<Double> longitudePath = mock(Path.class);
-            Expression<Double> diffLatExpression = mock(Expression.class);
-            Expression<Double> diffLngExpression = mock(Expression.class);
-            Expression<Double> powerLatExpression = mock(Expression.class);
-            Expression<Double> powerLngExpression = mock(Expression.class);
-            Expression<Double> sumExpression = mock(Expression.class);
-            Expression<Double> sqrtExpression = mock(Expression.class);
-            Expression<Integer> literalExpression = mock(Expression.class);
-
-            when(root.get("address")).thenReturn(addressPath);
-            when(addressPath.get("latitude")).thenReturn((Path) latitudePath);
-            when(addressPath.get("longitude")).thenReturn((Path) longitudePath);
-            when(criteriaBuilder.diff(latitudePath, latitude)).thenReturn(diffLatExpression);
-            when(criteriaBuilder.diff(longitudePath, longitude)).thenReturn(diffLngExpression);
-            when(criteriaBuilder.literal(2)).thenReturn(literalExpression);
-            when(criteriaBuilder.function("POWER", Double.class, diffLatExpression, literalExpression)).thenReturn(powerLatExpression);
-            when(criteriaBuilder.function("POWER", Double.class, diffLngExpression, literalExpression)).thenReturn(powerLngExpression);
-            when(criteriaBuilder.sum(powerLatExpression, powerLngExpression)).thenReturn(sumExpression);
-            when(criteriaBuilder.function("SQRT", Double.class, sumExpression)).thenReturn(sqrtExpression);
-            when(criteriaBuilder.lessThanOrEqualTo(sqrtExpression, radius / 111.0)).thenReturn(mockPredicate);
-
-            Specification<Event> spec = EventSpecifications.isWithinRadius(latitude, longitude, radius);
-
-            // When
-            Predicate result = spec.toPredicate(root, query, criteriaBuilder);
-
-            // Then
-            verify(criteriaBuilder).function("SQRT", Double.class, sumExpression);
-            verify(criteriaBuilder).lessThanOrEqualTo(sqrtExpression, radius / 111.0);
-            assertEquals(mockPredicate, result);
-        }
     }
 
     @Nested
@@ -503,17 +461,13 @@ class EventSpecificationsTest {
     class HasAvailableTicketsTests {
 
         @Test
-        @DisplayName("Should create join and compare quantities")
-        void shouldCreateJoinAndCompareQuantities() {
+        @DisplayName("Should compare the maintained counter without joining ticket types")
+        void shouldCompareMaintainedCounterWithoutJoin() {
             // Given
-            Join<Object, Object> ticketTypesJoin = mock(Join.class);
-            Path<Integer> quantityAvailablePath = mock(Path.class);
-            Path<Integer> quantitySoldPath = mock(Path.class);
+            Path<Integer> ticketsRemainingPath = mock(Path.class);
 
-            when(root.join("ticketTypes")).thenReturn(ticketTypesJoin);
-            when(ticketTypesJoin.get("quantityAvailable")).thenReturn((Path) quantityAvailablePath);
-            when(ticketTypesJoin.get("quantitySold")).thenReturn((Path) quantitySoldPath);
-            when(criteriaBuilder.greaterThan(quantityAvailablePath, quantitySoldPath)).thenReturn(mockPredicate);
+            when(root.get("ticketsRemaining")).thenReturn((Path) ticketsRemainingPath);
+            when(criteriaBuilder.greaterThan(ticketsRemainingPath, 0)).thenReturn(mockPredicate);
 
             Specification<Event> spec = EventSpecifications.hasAvailableTickets();
 
@@ -521,8 +475,8 @@ class EventSpecificationsTest {
             Predicate result = spec.toPredicate(root, query, criteriaBuilder);
 
             // Then
-            verify(root).join("ticketTypes");
-            verify(criteriaBuilder).greaterThan(quantityAvailablePath, quantitySoldPath);
+            verify(root, never()).join("ticketTypes");
+            verify(criteriaBuilder).greaterThan(ticketsRemainingPath, 0);
             assertEquals(mockPredicate, result);
         }
     }
@@ -846,57 +800,6 @@ class EventSpecificationsTest {
             verify(criteriaBuilder).like(lowerNameExpression, "%" + specialKeyword.toLowerCase() + "%");
             assertEquals(mockPredicate, result);
         }
-
-        @Test
-        @DisplayName("Should handle zero radius")
-        void shouldHandleZeroRadius() {
-            // Given
-            Double latitude = 48.8566;
-            Double longitude = 2.3522;
-            Double radius = 0.0;
-
-            Path<Object> addressPath = mock(Path.class);
-            Path<Double> latitudePath = mock(Path.class);
-            Path<Double> longitudePath = mock(Path.class);
-            Expression<Double> sqrtExpression = mock(Expression.class);
-
-            when(root.get("address")).thenReturn(addressPath);
-            when(addressPath.get("latitude")).thenReturn((Path) latitudePath);
-            when(addressPath.get("longitude")).thenReturn((Path) longitudePath);
-
-            // Setup the complex function chain
-            setupGeographicCalculationMocks(latitude, longitude, latitudePath, longitudePath, sqrtExpression);
-
-            when(criteriaBuilder.lessThanOrEqualTo(sqrtExpression, 0.0)).thenReturn(mockPredicate);
-
-            Specification<Event> spec = EventSpecifications.isWithinRadius(latitude, longitude, radius);
-
-            // When
-            Predicate result = spec.toPredicate(root, query, criteriaBuilder);
-
-            // Then
-            verify(criteriaBuilder).lessThanOrEqualTo(sqrtExpression, 0.0);
-            assertEquals(mockPredicate, result);
-        }
-
-        private void setupGeographicCalculationMocks(Double latitude, Double longitude,
-                Path<Double> latitudePath, Path<Double> longitudePath,
-                Expression<Double> sqrtExpression) {
-            Expression<Double> diffLatExpression = mock(Expression.class);
-            Expression<Double> diffLngExpression = mock(Expression.class);
-            Expression<Double> powerLatExpression = mock(Expression.class);
-            Expression<Double> powerLngExpression = mock(Expression.class);
-            Expression<Double> sumExpression = mock(Expression.class);
-            Expression<Integer> literalExpression = mock(Expression.class);
-
-            when(criteriaBuilder.diff(latitudePath, latitude)).thenReturn(diffLatExpression);
-            when(criteriaBuilder.diff(longitudePath, longitude)).thenReturn(diffLngExpression);
-            when(criteriaBuilder.literal(2)).thenReturn(literalExpression);
-            when(criteriaBuilder.function("POWER", Double.class, diffLatExpression, literalExpression)).thenReturn(powerLatExpression);
-            when(criteriaBuilder.function("POWER", Double.class, diffLngExpression, literalExpression)).thenReturn(powerLngExpression);
-            when(criteriaBuilder.sum(powerLatExpression, powerLngExpression)).thenReturn(sumExpression);
-            when(criteriaBuilder.function("SQRT", Double.class, sumExpression)).thenReturn(sqrtExpression);
-        }
     }
 
 }
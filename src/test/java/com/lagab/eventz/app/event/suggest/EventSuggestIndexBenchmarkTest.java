@@ -0,0 +1,85 @@
+package com.lagab.eventz.app.event.suggest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.lagab.eventz.app.domain.event.change.EventSnapshot;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.event.suggest.EventSuggestIndex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Typeahead latency for every prefix length of random event names, exact and one typo away.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("EventSuggestIndex Benchmark")
+class EventSuggestIndexBenchmarkTest {
+
+    private static final List<String> WORDS = List.of(
+            "rock", "jazz", "festival", "night", "summer", "winter", "electro", "classical", "opera", "comedy",
+            "theatre", "workshop", "conference", "tech", "startup", "food", "wine", "market", "marathon", "cinema");
+    private static final List<String> CITIES = List.of(
+            "Paris", "Lyon", "Marseille", "Toulouse", "Nice", "Nantes", "Strasbourg", "Montpellier", "Bordeaux", "Lille");
+    private static final int QUERIES = 10_000;
+
+    @ParameterizedTest(name = "{0} events")
+    @ValueSource(ints = { 10_000, 100_000 })
+    void suggestions(int events) {
+        Random random = new Random(7);
+        LocalDateTime now = LocalDateTime.now();
+        EventSuggestIndex index = new EventSuggestIndex(new EventProperties(), mock(TicketTypeRepository.class));
+
+        long buildStart = System.nanoTime();
+        index.rebuild(IntStream.range(0, events).mapToObj(i -> new EventSnapshot(
+                (long) i, name(random) + " " + i, null, null, CITIES.get(random.nextInt(CITIES.size())), "France",
+                null, null, null, EventStatus.PUBLISHED, true, false, now.plusDays(1 + random.nextInt(365)),
+                now.plusDays(400), now, 1L, "org-" + random.nextInt(events / 10), "Organization " + name(random),
+                random.nextInt(1_000))));
+        long buildNanos = System.nanoTime() - buildStart;
+
+        List<String> queries = IntStream.range(0, QUERIES).mapToObj(i -> {
+            String name = name(random);
+            return name.substring(0, 1 + random.nextInt(name.length()));
+        }).toList();
+
+        // Warm up
+        queries.forEach(query -> index.suggest(query, 10));
+
+        long exactHits = 0;
+        long exactStart = System.nanoTime();
+        for (String query : queries) {
+            exactHits += index.suggest(query, 10).size();
+        }
+        long exactNanos = System.nanoTime() - exactStart;
+
+        long fuzzyStart = System.nanoTime();
+        for (String query : queries) {
+            index.suggest(query.length() > 3 ? query.substring(1) + "x" : query, 10);
+        }
+        long fuzzyNanos = System.nanoTime() - fuzzyStart;
+
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf("%,d events: build %d ms, %.1f us/query, %.1f us/query with typos, %.1f hits/query, heap %d MB%n",
+                events, buildNanos / 1_000_000, exactNanos / 1_000.0 / QUERIES, fuzzyNanos / 1_000.0 / QUERIES,
+                (double) exactHits / QUERIES, (runtime.totalMemory() - runtime.freeMemory()) / 1_000_000);
+
+        assertThat(index.size()).isEqualTo(events);
+        assertThat(exactHits).isPositive();
+    }
+
+    private static String name(Random random) {
+        return WORDS.get(random.nextInt(WORDS.size())) + " " + WORDS.get(random.nextInt(WORDS.size()));
+    }
+}
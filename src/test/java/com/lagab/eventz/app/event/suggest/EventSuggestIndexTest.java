@@ -0,0 +1,252 @@
+package com.lagab.eventz.app.event.suggest;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.lagab.eventz.app.domain.event.change.EventSnapshot;
+import com.lagab.eventz.app.domain.event.change.TicketTypeChange;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.EventSuggestionDTO;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.event.suggest.EventSuggestIndex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("EventSuggestIndex Tests")
+class EventSuggestIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 1, 12, 0);
+
+    private TicketTypeRepository ticketTypeRepository;
+    private MutableClock clock;
+    private EventSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ticketTypeRepository = mock(TicketTypeRepository.class);
+        clock = new MutableClock(NOW);
+        index = new EventSuggestIndex(new EventProperties(), ticketTypeRepository, clock);
+        index.rebuild(Stream.of(
+                snapshot(1L, "Rock en Seine", "Saint-Cloud", "org-1", "Rock Productions", 20, 0),
+                snapshot(2L, "Rock Festival", "Lyon", "org-1", "Rock Productions", 5, 0),
+                snapshot(3L, "Jazz à Vienne", "Vienne", "org-2", "Jazz Club", 10, 0),
+                snapshot(4L, "Paris Jazz Night", "Paris", "org-2", "Jazz Club", 30, 0)
+        ));
+    }
+
+    @Nested
+    @DisplayName("Completion")
+    class CompletionTests {
+
+        @Test
+        @DisplayName("Should complete event names, sooner events first")
+        void shouldCompleteEventNamesSoonerFirst() {
+            // When
+            List<EventSuggestionDTO> suggestions = events(index.suggest("roc", 10));
+
+            // Then
+            assertThat(suggestions).extracting(EventSuggestionDTO::eventId).containsExactly(2L, 1L);
+        }
+
+        @Test
+        @DisplayName("Should complete any word of a name, ignoring case and accents")
+        void shouldCompleteAnyWord() {
+            assertThat(events(index.suggest("SEI", 10))).extracting(EventSuggestionDTO::text).containsExactly("Rock en Seine");
+            assertThat(events(index.suggest("a vie", 10))).extracting(EventSuggestionDTO::eventId).containsExactly(3L);
+        }
+
+        @Test
+        @DisplayName("Should suggest cities and organizations once with their best event weight")
+        void shouldSuggestCitiesAndOrganizations() {
+            // When
+            List<EventSuggestionDTO> suggestions = index.suggest("jazz", 10);
+
+            // Then
+            assertThat(suggestions).extracting(EventSuggestionDTO::type, EventSuggestionDTO::text, EventSuggestionDTO::organizationId)
+                                   .containsExactlyInAnyOrder(
+                                           tuple(EventSuggestionDTO.Type.EVENT, "Jazz à Vienne", null),
+                                           tuple(EventSuggestionDTO.Type.ORGANIZATION, "Jazz Club", "org-2"),
+                                           tuple(EventSuggestionDTO.Type.EVENT, "Paris Jazz Night", null));
+            assertThat(index.suggest("lyo", 10)).extracting(EventSuggestionDTO::type, EventSuggestionDTO::text)
+                                                .containsExactly(tuple(EventSuggestionDTO.Type.CITY, "Lyon"));
+        }
+
+        @Test
+        @DisplayName("Should honour the limit and the configured maximum")
+        void shouldHonourLimit() {
+            assertThat(index.suggest("r", 1)).hasSize(1);
+            assertThat(index.suggest("r", 0)).isEmpty();
+            assertThat(index.suggest("  ", 10)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Typo tolerance")
+    class TypoToleranceTests {
+
+        @Test
+        @DisplayName("Should tolerate one substituted, missing, extra or swapped character")
+        void shouldTolerateOneTypo() {
+            assertThat(events(index.suggest("jazx", 10))).extracting(EventSuggestionDTO::eventId).containsExactly(3L, 4L);
+            assertThat(events(index.suggest("jaz nig", 10))).extracting(EventSuggestionDTO::eventId).containsExactly(4L);
+            assertThat(events(index.suggest("festtiv", 10))).extracting(EventSuggestionDTO::eventId).containsExactly(2L);
+            assertThat(events(index.suggest("fsetiv", 10))).extracting(EventSuggestionDTO::eventId).containsExactly(2L);
+        }
+
+        @Test
+        @DisplayName("Should rank exact completions before fuzzy ones")
+        void shouldRankExactBeforeFuzzy() {
+            // Given "rock" is one substitution away from "roch"
+            index.index(snapshot(5L, "Roche Concert", "Nice", null, null, 1, 0));
+
+            // When
+            List<EventSuggestionDTO> suggestions = events(index.suggest("roch", 10));
+
+            // Then
+            assertThat(suggestions).extracting(EventSuggestionDTO::eventId).containsExactly(5L, 2L, 1L);
+        }
+
+        @Test
+        @DisplayName("Should not apply typo tolerance to very short prefixes")
+        void shouldNotApplyTypoToleranceToShortPrefixes() {
+            assertThat(index.suggest("jx", 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should not suggest anything two typos away")
+        void shouldNotSuggestTwoTyposAway() {
+            assertThat(index.suggest("jxzx", 10)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Updates")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should move popular events forward")
+        void shouldMovePopularEventsForward() {
+            // Given Rock en Seine starts 15 days after Rock Festival, e^3 sales move it 21 days forward
+            when(ticketTypeRepository.sumQuantitySoldByEventId(1L)).thenReturn(20);
+
+            // When
+            index.onTicketTypeChange(new TicketTypeChange(1L));
+
+            // Then
+            assertThat(events(index.suggest("rock", 10))).extracting(EventSuggestionDTO::eventId).containsExactly(1L, 2L);
+        }
+
+        @Test
+        @DisplayName("Should not read sales of events that cannot be suggested")
+        void shouldNotReadSalesOfUnknownEvents() {
+            // When
+            index.onTicketTypeChange(new TicketTypeChange(99L));
+
+            // Then
+            verify(ticketTypeRepository, never()).sumQuantitySoldByEventId(99L);
+        }
+
+        @Test
+        @DisplayName("Should keep known sales when a snapshot comes without ticket types")
+        void shouldKeepKnownSales() {
+            // Given
+            index.index(snapshot(1L, "Rock en Seine", "Saint-Cloud", "org-1", "Rock Productions", 20, 20));
+
+            // When
+            index.index(snapshot(1L, "Rock en Seine 2030", "Saint-Cloud", "org-1", "Rock Productions", 20, null));
+
+            // Then
+            assertThat(events(index.suggest("rock", 10))).extracting(EventSuggestionDTO::text)
+                                                         .containsExactly("Rock en Seine 2030", "Rock Festival");
+        }
+
+        @Test
+        @DisplayName("Should drop renamed, unpublished and deleted events and their emptied groups")
+        void shouldDropRemovedEvents() {
+            // When
+            index.index(snapshot(2L, "Electro Festival", "Lyon", "org-1", "Rock Productions", 5, 0));
+            index.index(unpublished(3L));
+            index.remove(4L);
+
+            // Then
+            assertThat(index.suggest("rock fest", 10)).isEmpty();
+            assertThat(index.suggest("jazz", 10)).isEmpty();
+            assertThat(index.suggest("electro", 10)).extracting(EventSuggestionDTO::eventId).containsExactly(2L);
+            assertThat(index.size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should stop suggesting ended events and prune them")
+        void shouldStopSuggestingEndedEvents() {
+            // Given Rock Festival ends 6 days from now
+            clock.set(NOW.plusDays(7));
+
+            // When
+            List<EventSuggestionDTO> beforePrune = index.suggest("rock", 10);
+            index.prune();
+
+            // Then
+            assertThat(beforePrune).extracting(EventSuggestionDTO::text).containsExactly("Rock Productions", "Rock en Seine");
+            assertThat(index.size()).isEqualTo(3);
+            assertThat(index.suggest("lyon", 10)).isEmpty();
+        }
+    }
+
+    private static List<EventSuggestionDTO> events(List<EventSuggestionDTO> suggestions) {
+        return suggestions.stream().filter(suggestion -> suggestion.type() == EventSuggestionDTO.Type.EVENT).toList();
+    }
+
+    private static EventSnapshot snapshot(Long id, String name, String city, String organizationId,
+            String organizationName, int startInDays, Integer ticketsSold) {
+        return new EventSnapshot(id, name, null, null, city, "France", null, null, null, EventStatus.PUBLISHED,
+                true, false, NOW.plusDays(startInDays), NOW.plusDays(startInDays + 1), NOW, 1L, organizationId,
+                organizationName, ticketsSold);
+    }
+
+    private static EventSnapshot unpublished(Long id) {
+        return new EventSnapshot(id, "Draft", null, null, null, null, null, null, null, EventStatus.DRAFT,
+                true, false, NOW.plusDays(1), NOW.plusDays(2), NOW, 1L, null, null, 0);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private LocalDateTime now;
+
+        private MutableClock(LocalDateTime now) {
+            this.now = now;
+        }
+
+        private void set(LocalDateTime now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public java.time.Instant instant() {
+            return now.toInstant(ZoneOffset.UTC);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.lagab.eventz.app.event.waitlist;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.lagab.eventz.app.common.exception.ValidationException;
+import com.lagab.eventz.app.domain.event.config.EventProperties;
+import com.lagab.eventz.app.domain.event.dto.ticket.JoinWaitlistRequest;
+import com.lagab.eventz.app.domain.event.dto.ticket.WaitlistEntryDTO;
+import com.lagab.eventz.app.domain.event.projection.WaitlistEntryProjection;
+import com.lagab.eventz.app.domain.event.repository.TicketTypeRepository;
+import com.lagab.eventz.app.domain.event.repository.WaitlistEntryRepository;
+import com.lagab.eventz.app.domain.event.service.WaitlistService;
+import com.lagab.eventz.app.domain.event.waitlist.TicketWaitlist;
+import com.lagab.eventz.app.domain.event.waitlist.WaitlistPlace;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+import com.lagab.eventz.app.domain.ticket.entity.WaitlistEntryStatus;
+
+import jakarta.persistence.EntityNotFoundException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TicketWaitlist Tests")
+class TicketWaitlistTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 1, 12, 0);
+
+    private WaitlistEntryRepository waitlistEntryRepository;
+    private TicketTypeRepository ticketTypeRepository;
+    private WaitlistService waitlistService;
+    private TicketWaitlist waitlist;
+
+    @BeforeEach
+    void setUp() {
+        waitlistEntryRepository = mock(WaitlistEntryRepository.class);
+        ticketTypeRepository = mock(TicketTypeRepository.class);
+        waitlistService = mock(WaitlistService.class);
+        EventProperties eventProperties = new EventProperties();
+        eventProperties.getWaitlist().setFlushBatchSize(2);
+        waitlist = new TicketWaitlist(waitlistEntryRepository, ticketTypeRepository, waitlistService, eventProperties,
+                Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        when(ticketTypeRepository.findAllById(anyList())).thenReturn(List.of(ticketType(1L), ticketType(2L)));
+    }
+
+    @Nested
+    @DisplayName("Joining and leaving")
+    class JoinTests {
+
+        @Test
+        @DisplayName("Should give places in order of arrival")
+        void shouldGivePlacesInOrder() {
+            // When
+            waitlist.join(10L, List.of(new JoinWaitlistRequest(1L, 2)));
+            waitlist.join(11L, List.of(new JoinWaitlistRequest(1L, 1), new JoinWaitlistRequest(2L, 3)));
+            List<WaitlistEntryDTO> again = waitlist.join(10L, List.of(new JoinWaitlistRequest(1L, 4)));
+
+            // Then the first place is kept, with its quantity
+            assertThat(again).containsExactly(new WaitlistEntryDTO(1L, 2, 1));
+            assertThat(waitlist.join(12L, List.of(new JoinWaitlistRequest(1L, 1)))).containsExactly(new WaitlistEntryDTO(1L, 1, 3));
+            assertThat(waitlist.waiting(1L)).isEqualTo(3);
+            assertThat(waitlist.waiting(2L)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should move buyers up when others leave")
+        void shouldMoveBuyersUpWhenOthersLeave() {
+            // Given
+            waitlist.join(10L, List.of(new JoinWaitlistRequest(1L, 1), new JoinWaitlistRequest(2L, 1)));
+            waitlist.join(11L, List.of(new JoinWaitlistRequest(1L, 1)));
+
+            // When
+            int left = waitlist.leave(10L, List.of(1L, 2L, 3L));
+
+            // Then
+            assertThat(left).isEqualTo(2);
+            assertThat(waitlist.join(11L, List.of(new JoinWaitlistRequest(1L, 1)))).containsExactly(new WaitlistEntryDTO(1L, 1, 1));
+            assertThat(waitlist.waiting(2L)).isZero();
+        }
+
+        @Test
+        @DisplayName("Should check the ticket types and quantities before joining any waitlist")
+        void shouldCheckRequests() {
+            // When & Then
+            assertThatThrownBy(() -> waitlist.join(10L, List.of(new JoinWaitlistRequest(1L, 1), new JoinWaitlistRequest(3L, 1))))
+                    .isInstanceOf(EntityNotFoundException.class);
+            assertThatThrownBy(() -> waitlist.join(10L, List.of(new JoinWaitlistRequest(1L, 5))))
+                    .isInstanceOf(ValidationException.class);
+            assertThat(waitlist.waiting(1L)).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Persistence")
+    class PersistenceTests {
+
+        @Test
+        @DisplayName("Should write the changes in batches")
+        @SuppressWarnings("unchecked")
+        void shouldWriteChangesInBatches() {
+            // Given three joins, one of them gone before being written
+            when(waitlistService.saveChanges(anyList(), anyMap())).thenAnswer(invocation -> ids(invocation.getArgument(0)));
+            waitlist.join(10L, List.of(new JoinWaitlistRequest(1L, 1)));
+            waitlist.join(11L, List.of(new JoinWaitlistRequest(1L, 1)));
+            waitlist.join(12L, List.of(new JoinWaitlistRequest(1L, 1)));
+            waitlist.leave(12L, List.of(1L));
+
+            // When
+            waitlist.flush();
+
+            // Then two batches insert the places still waiting
+            ArgumentCaptor<List<WaitlistPlace>> inserts = ArgumentCaptor.forClass(List.class);
+            verify(waitlistService, times(2)).saveChanges(inserts.capture(), anyMap());
+            assertThat(inserts.getAllValues().stream().flatMap(List::stream).map(WaitlistPlace::userId))
+                    .containsExactlyInAnyOrder(10L, 11L);
+
+            // When a written place leaves
+            waitlist.leave(10L, List.of(1L));
+            waitlist.flush();
+
+            // Then
+            ArgumentCaptor<Map<WaitlistEntryStatus, List<String>>> updates = ArgumentCaptor.forClass(Map.class);
+            verify(waitlistService, times(3)).saveChanges(anyList(), updates.capture());
+            assertThat(updates.getValue()).containsOnlyKeys(WaitlistEntryStatus.LEFT);
+            assertThat(updates.getValue().get(WaitlistEntryStatus.LEFT)).containsExactly("entry-10");
+        }
+
+        @Test
+        @DisplayName("Should keep the changes for the next flush when writing fails")
+        void shouldRetryFailedWrites() {
+            // Given
+            when(waitlistService.saveChanges(anyList(), anyMap()))
+                    .thenThrow(new IllegalStateException("connection lost"))
+                    .thenAnswer(invocation -> ids(invocation.getArgument(0)));
+            waitlist.join(10L, List.of(new JoinWaitlistRequest(1L, 1)));
+
+            // When
+            waitlist.flush();
+            waitlist.flush();
+            waitlist.flush();
+
+            // Then
+            verify(waitlistService, times(2)).saveChanges(anyList(), anyMap());
+        }
+
+        @Test
+        @DisplayName("Should rebuild the waitlists in order")
+        void shouldRebuildInOrder() {
+            // Given
+            when(waitlistEntryRepository.findWaiting()).thenReturn(List.of(entry("a", 11L, 5), entry("b", 10L, 7)));
+            when(waitlistEntryRepository.findMaxPosition()).thenReturn(9L);
+
+            // When
+            waitlist.rebuild();
+
+            // Then
+            assertThat(waitlist.waiting(1L)).isEqualTo(2);
+            assertThat(waitlist.join(10L, List.of(new JoinWaitlistRequest(1L, 1)))).containsExactly(new WaitlistEntryDTO(1L, 2, 2));
+            waitlist.join(12L, List.of(new JoinWaitlistRequest(1L, 1)));
+            waitlist.flush();
+            verify(waitlistService).saveChanges(org.mockito.ArgumentMatchers.argThat(places -> places.size() == 1
+                    && places.get(0).position() == 10L), anyMap());
+            verify(waitlistEntryRepository, never()).save(any());
+        }
+    }
+
+    private static List<String> ids(List<WaitlistPlace> places) {
+        return places.stream().map(place -> "entry-" + place.userId()).toList();
+    }
+
+    private static WaitlistEntryProjection entry(String id, Long userId, long position) {
+        return new WaitlistEntryProjection() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public Long getTicketTypeId() {
+                return 1L;
+            }
+
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Integer getQuantity() {
+                return 2;
+            }
+
+            @Override
+            public Long getPosition() {
+                return position;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return NOW;
+            }
+        };
+    }
+
+    private static TicketType ticketType(Long id) {
+        TicketType ticketType = new TicketType();
+        ticketType.setId(id);
+        ticketType.setName("Regular");
+        ticketType.setIsActive(true);
+        ticketType.setMaxQuantity(4);
+        return ticketType;
+    }
+}
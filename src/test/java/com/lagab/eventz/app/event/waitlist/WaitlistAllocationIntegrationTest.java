@@ -0,0 +1,224 @@
+package com.lagab.eventz.app.event.waitlist;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.lagab.eventz.app.domain.auth.service.EmailService;
+import com.lagab.eventz.app.domain.event.dto.ticket.JoinWaitlistRequest;
+import com.lagab.eventz.app.domain.event.dto.ticket.TicketHoldDTO;
+import com.lagab.eventz.app.domain.event.mapper.CapacityPoolMapperImpl;
+import com.lagab.eventz.app.domain.event.mapper.TicketTypeMapperImpl;
+import com.lagab.eventz.app.domain.event.model.Event;
+import com.lagab.eventz.app.domain.event.model.EventStatus;
+import com.lagab.eventz.app.domain.event.model.EventType;
+import com.lagab.eventz.app.domain.event.queue.WaitingRoom;
+import com.lagab.eventz.app.domain.event.reservation.TicketHoldExpirer;
+import com.lagab.eventz.app.domain.event.reservation.TicketInventory;
+import com.lagab.eventz.app.domain.event.reservation.TicketReservationService;
+import com.lagab.eventz.app.domain.event.reservation.TicketHoldCoalescer;
+import com.lagab.eventz.app.domain.event.service.CapacityPoolService;
+import com.lagab.eventz.app.domain.event.service.SalesStatsService;
+import com.lagab.eventz.app.domain.event.service.TicketHoldService;
+import com.lagab.eventz.app.domain.event.service.TicketTypeService;
+import com.lagab.eventz.app.domain.event.service.WaitlistService;
+import com.lagab.eventz.app.domain.event.waitlist.TicketWaitlist;
+import com.lagab.eventz.app.domain.event.waitlist.WaitlistAllocator;
+import com.lagab.eventz.app.domain.org.model.Organization;
+import com.lagab.eventz.app.domain.ticket.entity.TicketHold;
+import com.lagab.eventz.app.domain.ticket.entity.TicketType;
+import com.lagab.eventz.app.domain.ticket.entity.WaitlistEntry;
+import com.lagab.eventz.app.domain.ticket.entity.WaitlistEntryStatus;
+import com.lagab.eventz.app.domain.user.model.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Waitlisted buyers served from released tickets, each step in its own transaction as in production.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ TicketReservationService.class, TicketInventory.class, TicketHoldCoalescer.class, TicketTypeService.class, SalesStatsService.class,
+        TicketHoldService.class, TicketHoldExpirer.class, CapacityPoolService.class, TicketTypeMapperImpl.class,
+        CapacityPoolMapperImpl.class, WaitingRoom.class, SimpleMeterRegistry.class, TicketWaitlist.class,
+        WaitlistService.class, WaitlistAllocator.class })
+@DisplayName("Waitlist allocation Tests")
+class WaitlistAllocationIntegrationTest {
+
+    @Autowired
+    private TicketReservationService reservationService;
+
+    @Autowired
+    private TicketWaitlist ticketWaitlist;
+
+    @Autowired
+    private WaitlistAllocator waitlistAllocator;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private TransactionTemplate transaction;
+    private String organizationId;
+    private Long eventId;
+    private Long ticketTypeId;
+    private Long holderId;
+    private Long firstId;
+    private Long secondId;
+    private Long thirdId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            holderId = persistUser("holder@example.com");
+            firstId = persistUser("first@example.com");
+            secondId = persistUser("second@example.com");
+            thirdId = persistUser("third@example.com");
+
+            Organization organization = new Organization();
+            organization.setName("Waitlist Organization");
+            organization.setSlug("waitlist-organization");
+            organization.setEmail("waitlist@example.com");
+            entityManager.persist(organization);
+
+            Event event = new Event();
+            event.setName("Sold out show");
+            event.setType(EventType.CONCERT);
+            event.setStatus(EventStatus.PUBLISHED);
+            event.setIsFree(false);
+            event.setIsPublic(true);
+            event.setStartDate(LocalDateTime.now().plusDays(30));
+            event.setEndDate(LocalDateTime.now().plusDays(31));
+            event.setOrganizer(entityManager.find(User.class, holderId));
+            event.setOrganization(organization);
+            entityManager.persist(event);
+
+            TicketType ticketType = new TicketType();
+            ticketType.setName("Regular");
+            ticketType.setPrice(BigDecimal.TEN);
+            ticketType.setFee(BigDecimal.ZERO);
+            ticketType.setQuantityAvailable(3);
+            ticketType.setQuantitySold(0);
+            ticketType.setMaxQuantity(4);
+            ticketType.setEvent(event);
+            entityManager.persist(ticketType);
+
+            organizationId = organization.getId();
+            eventId = event.getId();
+            ticketTypeId = ticketType.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM WaitlistEntry w WHERE w.ticketType.id = :id").setParameter("id", ticketTypeId).executeUpdate();
+            entityManager.createQuery("DELETE FROM TicketHold h WHERE h.ticketType.id = :id").setParameter("id", ticketTypeId).executeUpdate();
+            entityManager.createQuery("DELETE FROM TicketType tt WHERE tt.event.id = :id").setParameter("id", eventId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Event e WHERE e.id = :id").setParameter("id", eventId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Organization o WHERE o.id = :id").setParameter("id", organizationId).executeUpdate();
+            entityManager.createQuery("DELETE FROM User u WHERE u.id IN :ids")
+                         .setParameter("ids", List.of(holderId, firstId, secondId, thirdId))
+                         .executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("Released tickets should be offered to the waitlist in order of arrival")
+    void releasedTicketsShouldBeOfferedInOrder() {
+        // Given a sold out ticket type and three buyers waiting for 2, 1 and 2 tickets
+        TicketHoldDTO sellOut = reservationService.hold(ticketTypeId, 3, holderId);
+        ticketWaitlist.join(firstId, List.of(new JoinWaitlistRequest(ticketTypeId, 2)));
+        ticketWaitlist.join(secondId, List.of(new JoinWaitlistRequest(ticketTypeId, 1)));
+        ticketWaitlist.join(thirdId, List.of(new JoinWaitlistRequest(ticketTypeId, 2)));
+        ticketWaitlist.flush();
+        assertThat(entries()).extracting(WaitlistEntry::getStatus).containsOnly(WaitlistEntryStatus.WAITING).hasSize(3);
+
+        // When the tickets are released
+        reservationService.releaseHolds(List.of(sellOut.id()), holderId);
+        waitlistAllocator.allocate();
+
+        // Then the first two buyers get holds, the third one needs 2 of the 0 left
+        assertThat(holdsOf(firstId)).containsExactly(2);
+        assertThat(holdsOf(secondId)).containsExactly(1);
+        assertThat(holdsOf(thirdId)).isEmpty();
+        verify(emailService).sendWaitlistOffer(argThat(user -> user.getId().equals(firstId)), eq("Sold out show"), eq("Regular"),
+                anyString(), eq(2), any(LocalDateTime.class));
+        verify(emailService).sendWaitlistOffer(argThat(user -> user.getId().equals(secondId)), eq("Sold out show"), eq("Regular"),
+                anyString(), eq(1), any(LocalDateTime.class));
+        verify(emailService, never()).sendWaitlistOffer(argThat(user -> user.getId().equals(thirdId)), anyString(), anyString(),
+                anyString(), anyInt(), any(LocalDateTime.class));
+        assertThat(ticketWaitlist.waiting(ticketTypeId)).isEqualTo(1);
+
+        ticketWaitlist.flush();
+        assertThat(entries()).extracting(entry -> entry.getUser().getId(), WaitlistEntry::getStatus)
+                             .containsExactlyInAnyOrder(tuple(firstId, WaitlistEntryStatus.OFFERED),
+                                     tuple(secondId, WaitlistEntryStatus.OFFERED), tuple(thirdId, WaitlistEntryStatus.WAITING));
+
+        // When the first buyer lets their claim go
+        String claim = transaction.execute(status -> entityManager
+                .createQuery("SELECT h.id FROM TicketHold h WHERE h.user.id = :id", String.class)
+                .setParameter("id", firstId)
+                .getSingleResult());
+        reservationService.releaseHolds(List.of(claim), firstId);
+        waitlistAllocator.allocate();
+
+        // Then
+        assertThat(holdsOf(thirdId)).containsExactly(2);
+        assertThat(ticketWaitlist.waiting(ticketTypeId)).isZero();
+    }
+
+    private Long persistUser(String email) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("Buyer");
+        user.setEmail(email);
+        user.setPassword("password");
+        entityManager.persist(user);
+        return user.getId();
+    }
+
+    private List<Integer> holdsOf(Long userId) {
+        return transaction.execute(status -> entityManager
+                .createQuery("SELECT h.quantity FROM TicketHold h WHERE h.user.id = :id AND h.status = 'ACTIVE'", Integer.class)
+                .setParameter("id", userId)
+                .getResultList());
+    }
+
+    private List<WaitlistEntry> entries() {
+        return transaction.execute(status -> entityManager
+                .createQuery("SELECT w FROM WaitlistEntry w JOIN FETCH w.user WHERE w.ticketType.id = :id", WaitlistEntry.class)
+                .setParameter("id", ticketTypeId)
+                .getResultList());
+    }
+}
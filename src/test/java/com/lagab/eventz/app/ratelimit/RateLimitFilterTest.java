@@ -0,0 +1,198 @@
+package com.lagab.eventz.app.ratelimit;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lagab.eventz.app.domain.auth.dto.apikey.ApiKeyAuthenticationPrincipal;
+import com.lagab.eventz.app.domain.auth.model.ApiKey;
+import com.lagab.eventz.app.domain.user.model.Role;
+import com.lagab.eventz.app.domain.user.model.User;
+import com.lagab.eventz.app.infrastructure.ratelimit.RateLimitFilter;
+import com.lagab.eventz.app.infrastructure.ratelimit.RateLimitProperties;
+import com.lagab.eventz.app.infrastructure.ratelimit.RateLimiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RateLimitFilter Tests")
+class RateLimitFilterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private MeterRegistry meterRegistry;
+    private RateLimitProperties properties;
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        // Callers are anonymous unless a test authenticates them
+        SecurityContextHolder.clearContext();
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new RateLimitProperties();
+        properties.getAnonymous().setLimit(2);
+        properties.getUser().setLimit(3);
+        properties.getApiKey().setLimit(5);
+        properties.getRoles().put(Role.ADMIN, new RateLimitProperties.Policy(10, Duration.ofMinutes(1)));
+        properties.getClientTypes().put("IA_AGENT", new RateLimitProperties.Policy(1, Duration.ofMinutes(1)));
+        rateLimitFilter = new RateLimitFilter(new RateLimiter(properties, meterRegistry, nanos::get), properties,
+                new ObjectMapper(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should let requests through with the rate limit headers until the limit is reached")
+    void shouldSetHeaders() throws Exception {
+        // When
+        MockHttpServletResponse first = send("10.0.0.1");
+        MockHttpServletResponse second = send("10.0.0.1");
+
+        // Then
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("2");
+        assertThat(first.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("1");
+        assertThat(first.getHeader(RateLimitFilter.RESET_HEADER)).isEqualTo("30");
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(second.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("0");
+        assertThat(second.getHeader(RateLimitFilter.RESET_HEADER)).isEqualTo("60");
+    }
+
+    @Test
+    @DisplayName("Should answer a 429 with Retry-After once over the limit, other callers unaffected")
+    void shouldRejectOverLimit() throws Exception {
+        // Given
+        send("10.0.0.1");
+        send("10.0.0.1");
+
+        // When
+        MockHttpServletResponse rejected = send("10.0.0.1");
+
+        // Then
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("30");
+        assertThat(rejected.getContentAsString()).contains("Too many requests");
+        assertThat(send("10.0.0.2").getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("rate-limit.rejected").tag("caller", "anonymous").counter().count()).isEqualTo(1);
+
+        // When the next token accrues
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        // Then
+        assertThat(send("10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should not give a new bucket to a caller rotating a spoofed X-Forwarded-For")
+    void shouldIgnoreSpoofedForwardedFor() throws Exception {
+        // Given
+        send("203.0.113.7", "198.51.100.1");
+        send("203.0.113.7", "198.51.100.2");
+
+        // When
+        MockHttpServletResponse rejected = send("203.0.113.7", "198.51.100.3");
+
+        // Then
+        assertThat(rejected.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Should limit users by the policy of their role rather than by client IP")
+    void shouldLimitUsersByRole() throws Exception {
+        // Given
+        authenticate(user(1L, Role.USER));
+        MockHttpServletResponse user = send("10.0.0.1");
+        authenticate(user(2L, Role.ADMIN));
+        MockHttpServletResponse admin = send("10.0.0.1");
+
+        // Then
+        assertThat(user.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("3");
+        assertThat(admin.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("10");
+        SecurityContextHolder.clearContext();
+        assertThat(send("10.0.0.1").getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Should limit API keys by the policy of their client type")
+    void shouldLimitApiKeysByClientType() throws Exception {
+        // Given
+        authenticate(new ApiKeyAuthenticationPrincipal(apiKey(1L, "IA_AGENT")));
+
+        // When
+        MockHttpServletResponse first = send("10.0.0.1");
+        MockHttpServletResponse second = send("10.0.0.1");
+        authenticate(new ApiKeyAuthenticationPrincipal(apiKey(2L, "SERVICE_EXTERNE")));
+        MockHttpServletResponse other = send("10.0.0.1");
+
+        // Then
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(429);
+        assertThat(other.getStatus()).isEqualTo(200);
+        assertThat(other.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("5");
+        assertThat(meterRegistry.get("rate-limit.rejected").tag("caller", "api_key").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should let every request through when disabled")
+    void shouldSkipWhenDisabled() throws Exception {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        send("10.0.0.1");
+        send("10.0.0.1");
+        MockHttpServletResponse response = send("10.0.0.1");
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(RateLimitFilter.LIMIT_HEADER)).isNull();
+    }
+
+    private MockHttpServletResponse send(String remoteAddr) throws Exception {
+        return send(remoteAddr, null);
+    }
+
+    private MockHttpServletResponse send(String remoteAddr, String forwardedFor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events/search");
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static void authenticate(Object principal) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private static User user(Long id, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setRole(role);
+        return user;
+    }
+
+    private static ApiKey apiKey(Long id, String clientType) {
+        ApiKey apiKey = new ApiKey("Agent", clientType, Set.of(Role.USER));
+        apiKey.setId(id);
+        return apiKey;
+    }
+}
@@ -0,0 +1,103 @@
+package com.lagab.eventz.app.ratelimit;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lagab.eventz.app.infrastructure.ratelimit.RateLimitCounterRepository;
+import com.lagab.eventz.app.infrastructure.ratelimit.RateLimitProperties;
+import com.lagab.eventz.app.infrastructure.ratelimit.RateLimitSynchronizer;
+import com.lagab.eventz.app.infrastructure.ratelimit.RateLimiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Rate limits shared across nodes Tests")
+class RateLimitSynchronizerIntegrationTest {
+
+    private static final String KEY = "api-key:1";
+
+    @Autowired
+    private RateLimitCounterRepository counterRepository;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private RateLimitProperties.Policy policy;
+    private RateLimiter nodeA;
+    private RateLimiter nodeB;
+    private RateLimitSynchronizer synchronizerA;
+    private RateLimitSynchronizer synchronizerB;
+
+    @BeforeEach
+    void setUp() {
+        counterRepository.deleteAll();
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDistributed().setEnabled(true);
+        policy = new RateLimitProperties.Policy(10, Duration.ofMinutes(1));
+        Clock clock = Clock.fixed(Instant.parse("2030-06-01T12:00:00Z"), ZoneOffset.UTC);
+        nodeA = new RateLimiter(properties, new SimpleMeterRegistry(), nanos::get);
+        nodeB = new RateLimiter(properties, new SimpleMeterRegistry(), nanos::get);
+        synchronizerA = new RateLimitSynchronizer(nodeA, counterRepository, properties, clock);
+        synchronizerB = new RateLimitSynchronizer(nodeB, counterRepository, properties, clock);
+    }
+
+    @Test
+    @DisplayName("Each node should be charged with the requests the other nodes let through")
+    void nodesShouldShareCounts() {
+        // Given both nodes know the caller
+        send(nodeA, 1);
+        send(nodeB, 1);
+        synchronizerA.synchronize();
+        synchronizerB.synchronize();
+
+        // When node A lets 6 more requests through, node B none
+        send(nodeA, 6);
+        synchronizerA.synchronize();
+        synchronizerB.synchronize();
+
+        // Then each node only lets through what is left of the limit shared by both, node B having missed the first
+        // request of node A made before it knew the caller
+        assertThat(counterRepository.findById(KEY)).get().extracting(counter -> counter.getConsumed()).isEqualTo(8L);
+        assertThat(send(nodeB, 10)).isEqualTo(3);
+        assertThat(send(nodeA, 10)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should drop the counters of callers idle for longer than the idle expiry")
+    void shouldPurgeIdleCounters() {
+        // Given
+        send(nodeA, 1);
+        synchronizerA.synchronize();
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitSynchronizer later = new RateLimitSynchronizer(nodeA, counterRepository, properties,
+                Clock.fixed(Instant.parse("2030-06-01T12:11:00Z"), ZoneOffset.UTC));
+
+        // When
+        later.purge();
+
+        // Then
+        assertThat(counterRepository.count()).isZero();
+    }
+
+    private long send(RateLimiter node, int requests) {
+        long allowed = 0;
+        for (int i = 0; i < requests; i++) {
+            if (node.tryAcquire(KEY, policy).allowed()) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+}
@@ -0,0 +1,95 @@
+package com.lagab.eventz.app.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Wraps the test {@link DataSource} so tests can assert how many statements a use case sends to the database.
+ * <p>
+ * Every statement prepared or created on a connection counts as one, so a JDBC batch counts once no matter
+ * how many rows it carries.
+ */
+@TestConfiguration
+public class QueryCountConfiguration {
+
+    @Bean
+    public QueryCounter queryCounter() {
+        return new QueryCounter();
+    }
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor(QueryCounter queryCounter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())) {
+                    return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                        Object result = invoke(target, method, args);
+                        return result instanceof Connection connection
+                                ? proxy(Connection.class, connection, countingConnectionHandler(queryCounter))
+                                : result;
+                    });
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static InvocationHandlerWithTarget countingConnectionHandler(QueryCounter queryCounter) {
+        return (target, method, args) -> {
+            if (QueryCounter.STATEMENT_FACTORIES.contains(method.getName())) {
+                queryCounter.increment();
+            }
+            return invoke(target, method, args);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandlerWithTarget handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.invoke(target, method, args);
+        return (T) Proxy.newProxyInstance(QueryCountConfiguration.class.getClassLoader(), new Class<?>[] { type }, invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @FunctionalInterface
+    private interface InvocationHandlerWithTarget {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    public static class QueryCounter {
+
+        private static final Set<String> STATEMENT_FACTORIES = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+        private final AtomicLong count = new AtomicLong();
+
+        public void reset() {
+            count.set(0);
+        }
+
+        public long count() {
+            return count.get();
+        }
+
+        private void increment() {
+            count.incrementAndGet();
+        }
+    }
+}